@@ -8,6 +8,8 @@
 
 package org.opendaylight.dsbenchmark;
 
+import com.google.common.collect.ImmutableList;
+import java.util.List;
 import java.util.Random;
 
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
@@ -68,4 +70,15 @@ public abstract class DatastoreAbstractWriter {
         }
         return dsType;
     }
+
+    /**
+     * Return the data store types each write should be applied to. This is a single type, except for
+     * {@link DataStore#MULTISHARD}, where writes go to both data stores so that each transaction spans multiple shards.
+     */
+    protected List<LogicalDatastoreType> getDataStoreTypes() {
+        if (dataStore == DataStore.MULTISHARD) {
+            return ImmutableList.of(LogicalDatastoreType.CONFIGURATION, LogicalDatastoreType.OPERATIONAL);
+        }
+        return ImmutableList.of(getDataStoreType());
+    }
 }
@@ -42,7 +42,7 @@ public class SimpletxBaWrite extends DatastoreAbstractWriter {
 
     @Override
     public void executeList() {
-        final LogicalDatastoreType dsType = getDataStoreType();
+        final List<LogicalDatastoreType> dsTypes = getDataStoreTypes();
 
         WriteTransaction tx = dataBroker.newWriteOnlyTransaction();
         long writeCnt = 0;
@@ -50,10 +50,12 @@ public class SimpletxBaWrite extends DatastoreAbstractWriter {
         for (OuterList element : this.list) {
             InstanceIdentifier<OuterList> iid = InstanceIdentifier.create(TestExec.class)
                                                     .child(OuterList.class, element.getKey());
-            if (oper == StartTestInput.Operation.PUT) {
-                tx.put(dsType, iid, element);
-            } else {
-                tx.merge(dsType, iid, element);
+            for (LogicalDatastoreType dsType : dsTypes) {
+                if (oper == StartTestInput.Operation.PUT) {
+                    tx.put(dsType, iid, element);
+                } else {
+                    tx.merge(dsType, iid, element);
+                }
             }
 
             writeCnt++;
@@ -44,7 +44,7 @@ public class SimpletxDomWrite extends DatastoreAbstractWriter {
 
     @Override
     public void executeList() {
-        final LogicalDatastoreType dsType = getDataStoreType();
+        final List<LogicalDatastoreType> dsTypes = getDataStoreTypes();
         final YangInstanceIdentifier pid =
                 YangInstanceIdentifier.builder().node(TestExec.QNAME).node(OuterList.QNAME).build();
 
@@ -55,10 +55,12 @@ public class SimpletxDomWrite extends DatastoreAbstractWriter {
             YangInstanceIdentifier yid =
                     pid.node(new NodeIdentifierWithPredicates(OuterList.QNAME, element.getIdentifier().getKeyValues()));
 
-            if (oper == StartTestInput.Operation.PUT) {
-                tx.put(dsType, yid, element);
-            } else {
-                tx.merge(dsType, yid, element);
+            for (LogicalDatastoreType dsType : dsTypes) {
+                if (oper == StartTestInput.Operation.PUT) {
+                    tx.put(dsType, yid, element);
+                } else {
+                    tx.merge(dsType, yid, element);
+                }
             }
 
             writeCnt++;
@@ -22,6 +22,7 @@ import org.opendaylight.yang.gen.v1.rpcbench.payload.rev150702.RpcbenchPayloadSe
 import org.opendaylight.yang.gen.v1.rpcbench.payload.rev150702.RpcbenchRpcRoutes;
 import org.opendaylight.yang.gen.v1.rpcbench.payload.rev150702.rpcbench.rpc.routes.RpcRoute;
 import org.opendaylight.yang.gen.v1.rpcbench.payload.rev150702.rpcbench.rpc.routes.RpcRouteKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.CrossNodeServersInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.RpcbenchmarkService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.StartTestInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.StartTestOutput;
@@ -40,10 +41,12 @@ public class RpcbenchmarkProvider implements AutoCloseable, RpcbenchmarkService
 
     private static final Logger LOG = LoggerFactory.getLogger(RpcbenchmarkProvider.class);
     private static final int testTimeout = 5;
+    private static final String CROSS_NODE_ROUTE_PREFIX = "cross-node-";
 
     private final GlobalBindingRTCServer globalServer;
     private final AtomicReference<ExecStatus> execStatus = new AtomicReference<>(ExecStatus.Idle);
     private final RpcProviderRegistry providerRegistry;
+    private final List<RoutedRpcRegistration<?>> crossNodeRegs = new ArrayList<>();
 
     public RpcbenchmarkProvider(final RpcProviderRegistry providerRegistry, final GlobalBindingRTCServer globalServer) {
         this.providerRegistry = providerRegistry;
@@ -56,9 +59,38 @@ public class RpcbenchmarkProvider implements AutoCloseable, RpcbenchmarkService
 
     @Override
     public void close() {
+        closeCrossNodeServers();
         LOG.info("RpcbenchmarkProvider closed");
     }
 
+    @Override
+    public synchronized Future<RpcResult<Void>> crossNodeServers(final CrossNodeServersInput input) {
+        LOG.debug("crossNodeServers {}", input);
+
+        closeCrossNodeServers();
+        for (int i = 0; i < input.getNumServers().intValue(); i++) {
+            RoutedRpcRegistration<RpcbenchPayloadService> routedReg =
+                    providerRegistry.addRoutedRpcImplementation(RpcbenchPayloadService.class,
+                        new GlobalBindingRTCServer());
+            routedReg.registerPath(NodeContext.class, routeIid(CROSS_NODE_ROUTE_PREFIX + i));
+            crossNodeRegs.add(routedReg);
+        }
+
+        LOG.info("Registered {} cross-node RPC servers", crossNodeRegs.size());
+        return RpcResultBuilder.<Void>success().buildFuture();
+    }
+
+    private synchronized void closeCrossNodeServers() {
+        for (RoutedRpcRegistration<?> routedRpcRegistration : crossNodeRegs) {
+            routedRpcRegistration.close();
+        }
+        crossNodeRegs.clear();
+    }
+
+    private static KeyedInstanceIdentifier<RpcRoute, RpcRouteKey> routeIid(final String key) {
+        return InstanceIdentifier.create(RpcbenchRpcRoutes.class).child(RpcRoute.class, new RpcRouteKey(key));
+    }
+
     @Override
     public Future<RpcResult<StartTestOutput>> startTest(final StartTestInput input) {
         LOG.debug("startTest {}", input);
@@ -74,10 +106,7 @@ public class RpcbenchmarkProvider implements AutoCloseable, RpcbenchmarkService
                 RoutedRpcRegistration<RpcbenchPayloadService> routedReg =
                         providerRegistry.addRoutedRpcImplementation(RpcbenchPayloadService.class, server);
 
-                KeyedInstanceIdentifier<RpcRoute, RpcRouteKey> iid =
-                        InstanceIdentifier
-                            .create(RpcbenchRpcRoutes.class)
-                            .child(RpcRoute.class, new RpcRouteKey(Integer.toString(i)));
+                KeyedInstanceIdentifier<RpcRoute, RpcRouteKey> iid = routeIid(Integer.toString(i));
                 routeIid.add(iid);
                 routedReg.registerPath(NodeContext.class, iid);
                 rpcRegs.add(routedReg);
@@ -86,6 +115,16 @@ public class RpcbenchmarkProvider implements AutoCloseable, RpcbenchmarkService
             client = new RoutedBindingRTClient(providerRegistry, input.getPayloadSize().intValue(), routeIid);
             break;
 
+        case CROSSNODERTC:
+            // Servers are registered on another node via crossNodeServers(), hence every call goes remote
+            List<InstanceIdentifier<?>> crossNodeIid = new ArrayList<>();
+            for (int i = 0; i < input.getNumServers().intValue(); i++) {
+                crossNodeIid.add(routeIid(CROSS_NODE_ROUTE_PREFIX + i));
+            }
+
+            client = new RoutedBindingRTClient(providerRegistry, input.getPayloadSize().intValue(), crossNodeIid);
+            break;
+
         case GLOBALRTC:
             client = new GlobalBindingRTCClient(providerRegistry, input.getPayloadSize().intValue());
             break;
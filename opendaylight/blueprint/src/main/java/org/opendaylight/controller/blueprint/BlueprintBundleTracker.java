@@ -64,6 +64,7 @@ public class BlueprintBundleTracker implements BundleActivator, BundleTrackerCus
     private volatile QuiesceParticipant quiesceParticipant;
     private volatile ServiceRegistration<?> blueprintContainerRestartReg;
     private volatile BlueprintContainerRestartServiceImpl restartService;
+    private volatile BlueprintContainerStartupScheduler startupScheduler;
     private volatile boolean shuttingDown;
     private ServiceRegistration<?> eventHandlerReg;
     private ServiceRegistration<?> namespaceReg;
@@ -139,6 +140,10 @@ public class BlueprintBundleTracker implements BundleActivator, BundleTrackerCus
     private BlueprintExtenderService onBlueprintExtenderServiceAdded(
             final ServiceReference<BlueprintExtenderService> reference) {
         blueprintExtenderService = reference.getBundle().getBundleContext().getService(reference);
+
+        startupScheduler = new BlueprintContainerStartupScheduler(blueprintExtenderService);
+        startupScheduler.registerMBean();
+
         bundleTracker.open();
 
         bundleContext.addBundleListener(BlueprintBundleTracker.this);
@@ -176,6 +181,10 @@ public class BlueprintBundleTracker implements BundleActivator, BundleTrackerCus
         blueprintExtenderServiceTracker.close();
         quiesceParticipantTracker.close();
 
+        if (startupScheduler != null) {
+            startupScheduler.close();
+        }
+
         AriesFrameworkUtil.safeUnregisterService(eventHandlerReg);
         AriesFrameworkUtil.safeUnregisterService(namespaceReg);
         AriesFrameworkUtil.safeUnregisterService(blueprintContainerRestartReg);
@@ -215,9 +224,9 @@ public class BlueprintBundleTracker implements BundleActivator, BundleTrackerCus
             List<Object> paths = findBlueprintPaths(bundle);
 
             if (!paths.isEmpty()) {
-                LOG.info("Creating blueprint container for bundle {} with paths {}", bundle, paths);
+                LOG.debug("Scheduling blueprint container for bundle {} with paths {}", bundle, paths);
 
-                blueprintExtenderService.createContainer(bundle, paths);
+                startupScheduler.schedule(bundle, paths);
             }
         }
     }
@@ -227,7 +236,9 @@ public class BlueprintBundleTracker implements BundleActivator, BundleTrackerCus
      */
     @Override
     public void removedBundle(final Bundle bundle, final BundleEvent event, final Bundle object) {
-        // BlueprintExtenderService will handle this.
+        // BlueprintExtenderService will handle destroying the container, we just need to make sure a pending
+        // container is not created.
+        startupScheduler.cancel(bundle);
     }
 
     /**
@@ -237,12 +248,21 @@ public class BlueprintBundleTracker implements BundleActivator, BundleTrackerCus
      */
     @Override
     public void handleEvent(final Event event) {
+        final BlueprintContainerStartupScheduler scheduler = startupScheduler;
         if (EventConstants.TOPIC_CREATED.equals(event.getTopic())) {
             LOG.info("Blueprint container for bundle {} was successfully created",
                     event.getProperty(EventConstants.BUNDLE));
+            if (scheduler != null) {
+                scheduler.containerCreated((Bundle) event.getProperty(EventConstants.BUNDLE));
+            }
             return;
         }
 
+        // Containers waiting for this one can proceed, even if they will likely fail as well
+        if (EventConstants.TOPIC_FAILURE.equals(event.getTopic()) && scheduler != null) {
+            scheduler.containerFailed((Bundle) event.getProperty(EventConstants.BUNDLE));
+        }
+
         // If the container timed out waiting for dependencies, we'll destroy it and start it again. This
         // is indicated via a non-null DEPENDENCIES property containing the missing dependencies. The
         // default timeout is 5 min and ideally we would set this to infinite but the timeout can only
@@ -275,6 +295,7 @@ public class BlueprintBundleTracker implements BundleActivator, BundleTrackerCus
         shuttingDown = true;
 
         restartService.close();
+        startupScheduler.close();
 
         // Close all CSS modules first.
         ConfigSystemService configSystem = getOSGiService(ConfigSystemService.class);
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.blueprint;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.opendaylight.controller.blueprint.ext.OpendaylightNamespaceHandler;
+import org.opendaylight.controller.config.util.xml.XmlUtil;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.controller.sal.binding.api.RpcProviderRegistry;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeSerializer;
+import org.opendaylight.mdsal.dom.api.DOMSchemaService;
+import org.osgi.framework.Bundle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * The services a blueprint container provides and requires, as declared in its blueprint XML files. Services are
+ * identified by interface name. RPCs implemented or consumed through the opendaylight extensions are identified by
+ * their interface name prefixed with {@value #RPC_PREFIX}, as a consumer waits for the RPC implementation to become
+ * available rather than for an OSGi service.
+ *
+ * <p>
+ * This is an approximation, used only to order container creation - the service filters, the odl:type attribute and
+ * beans registering services programmatically are not taken into account.
+ */
+final class BlueprintContainerDependencies {
+    static final String RPC_PREFIX = "rpc:";
+
+    private static final Logger LOG = LoggerFactory.getLogger(BlueprintContainerDependencies.class);
+    private static final String BLUEPRINT_NAMESPACE = "http://www.osgi.org/xmlns/blueprint/v1.0.0";
+    private static final String INTERFACE_ATTR = "interface";
+    private static final Set<String> RPC_SERVICE_REQUIREMENTS = ImmutableSet.of(RpcProviderRegistry.class.getName(),
+        DOMSchemaService.class.getName(), DOMRpcService.class.getName());
+    private static final Set<String> APP_CONFIG_REQUIREMENTS = ImmutableSet.of(DataBroker.class.getName(),
+        BindingNormalizedNodeSerializer.class.getName());
+
+    private final Set<String> provided = new HashSet<>();
+    private final Set<String> required = new HashSet<>();
+
+    private BlueprintContainerDependencies() {
+    }
+
+    static BlueprintContainerDependencies parse(final Bundle bundle, final List<Object> paths) {
+        final BlueprintContainerDependencies ret = new BlueprintContainerDependencies();
+        for (Object path : paths) {
+            if (!(path instanceof URL)) {
+                continue;
+            }
+
+            try (InputStream is = ((URL) path).openStream()) {
+                ret.addDocument(XmlUtil.readXmlToElement(is));
+            } catch (IOException | SAXException e) {
+                // Aries will report the actual problem when it parses the file, we just lose the ordering hint
+                LOG.debug("Failed to parse blueprint file {} of bundle {}", path, bundle, e);
+            }
+        }
+
+        // Whatever the container provides itself is not a dependency
+        ret.required.removeAll(ret.provided);
+        return ret;
+    }
+
+    Set<String> getProvided() {
+        return provided;
+    }
+
+    Set<String> getRequired() {
+        return required;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("provided", provided).add("required", required).toString();
+    }
+
+    private void addDocument(final Element root) {
+        for (Element service : elements(root, BLUEPRINT_NAMESPACE, "service")) {
+            addInterface(provided, "", service);
+            for (Element value : elements(service, BLUEPRINT_NAMESPACE, "value")) {
+                addName(provided, "", value.getTextContent());
+            }
+        }
+
+        for (Element reference : elements(root, BLUEPRINT_NAMESPACE, "reference")) {
+            if (!"optional".equals(reference.getAttribute("availability"))) {
+                addInterface(required, "", reference);
+            }
+        }
+
+        final String odl = OpendaylightNamespaceHandler.NAMESPACE_1_0_0;
+        for (String name : new String[] { "rpc-implementation", "routed-rpc-implementation", "action-provider" }) {
+            for (Element element : elements(root, odl, name)) {
+                addInterface(provided, RPC_PREFIX, element);
+            }
+        }
+
+        for (String name : new String[] { "rpc-service", "action-service" }) {
+            for (Element element : elements(root, odl, name)) {
+                addInterface(required, RPC_PREFIX, element);
+                required.addAll(RPC_SERVICE_REQUIREMENTS);
+            }
+        }
+
+        for (Element element : elements(root, odl, "static-reference")) {
+            addInterface(required, "", element);
+        }
+
+        if (!elements(root, odl, "clustered-app-config").isEmpty()) {
+            required.addAll(APP_CONFIG_REQUIREMENTS);
+        }
+    }
+
+    private static void addInterface(final Set<String> to, final String prefix, final Element element) {
+        addName(to, prefix, element.getAttribute(INTERFACE_ATTR));
+    }
+
+    private static void addName(final Set<String> to, final String prefix, final String name) {
+        final String trimmed = Strings.nullToEmpty(name).trim();
+        if (!trimmed.isEmpty()) {
+            to.add(prefix + trimmed);
+        }
+    }
+
+    private static List<Element> elements(final Element root, final String namespace, final String localName) {
+        final NodeList nodes = root.getElementsByTagNameNS(namespace, localName);
+        final List<Element> ret = new ArrayList<>(nodes.getLength());
+        for (int i = 0; i < nodes.getLength(); ++i) {
+            final Node node = nodes.item(i);
+            if (node instanceof Element) {
+                ret.add((Element) node);
+            }
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.blueprint;
+
+import java.util.List;
+
+/**
+ * MXBean exposing the startup timeline of the blueprint containers deployed by the {@link BlueprintBundleTracker}.
+ */
+public interface BlueprintContainerStartupMXBean {
+    /**
+     * Returns the startup timeline of all containers, in the order their bundles were found.
+     *
+     * @return container startup records
+     */
+    List<ContainerStartupRecord> getContainerStartupTimeline();
+
+    /**
+     * Returns the number of containers which have not been created or failed yet.
+     *
+     * @return number of pending containers
+     */
+    int getPendingContainers();
+}
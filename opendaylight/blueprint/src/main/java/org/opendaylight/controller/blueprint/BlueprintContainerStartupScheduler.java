@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.blueprint;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.aries.blueprint.services.BlueprintExtenderService;
+import org.osgi.framework.Bundle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedules the creation of the blueprint containers found by the {@link BlueprintBundleTracker}. The creation of
+ * a container is held back until the pending containers providing the services it requires have been created (or
+ * have failed), so containers do not sit in their grace period, holding on to a thread and possibly timing out,
+ * while their dependencies are still being brought up. Containers with no pending dependencies are created
+ * concurrently on a bounded pool, whose size can be set via the {@value #STARTUP_THREADS_PROP} system property.
+ * Containers depending on each other, directly or transitively, are created together. A container is never held back
+ * for longer than the time set via the {@value #MAX_HOLD_BACK_PROP} system property (in seconds), after which it is
+ * created anyway and left to wait for its dependencies in its grace period.
+ *
+ * <p>
+ * The startup timeline of each container is exposed via {@link BlueprintContainerStartupMXBean}.
+ */
+final class BlueprintContainerStartupScheduler implements AutoCloseable, BlueprintContainerStartupMXBean {
+    private static final Logger LOG = LoggerFactory.getLogger(BlueprintContainerStartupScheduler.class);
+    private static final String STARTUP_THREADS_PROP = "org.opendaylight.controller.blueprint.startupThreads";
+    private static final String MAX_HOLD_BACK_PROP = "org.opendaylight.controller.blueprint.maxHoldBackSeconds";
+    private static final int DEFAULT_MAX_HOLD_BACK_SECONDS = 300;
+    private static final String MBEAN_NAME = "org.opendaylight.controller:type=BlueprintContainerStartup";
+
+    private enum State {
+        WAITING,
+        STARTING,
+        CREATED,
+        FAILED,
+        CANCELLED
+    }
+
+    private static final class Container {
+        final Bundle bundle;
+        final List<Object> paths;
+        final BlueprintContainerDependencies dependencies;
+        final long scheduledTime = System.currentTimeMillis();
+        final long scheduledNanos = System.nanoTime();
+        final Set<String> waitedFor = new TreeSet<>();
+        State state = State.WAITING;
+        ScheduledFuture<?> holdBackTimeout;
+        long startedNanos;
+        long completedNanos;
+
+        Container(final Bundle bundle, final List<Object> paths, final BlueprintContainerDependencies dependencies) {
+            this.bundle = bundle;
+            this.paths = paths;
+            this.dependencies = dependencies;
+        }
+
+        ContainerStartupRecord toRecord(final long nowNanos) {
+            long waitEndNanos = startedNanos;
+            if (waitEndNanos == 0) {
+                waitEndNanos = completedNanos != 0 ? completedNanos : nowNanos;
+            }
+            final long startupMillis = startedNanos != 0 && completedNanos != 0
+                    ? TimeUnit.NANOSECONDS.toMillis(completedNanos - startedNanos) : -1;
+            return new ContainerStartupRecord(bundle.getSymbolicName() + " " + bundle.getVersion(), state.name(),
+                scheduledTime, TimeUnit.NANOSECONDS.toMillis(waitEndNanos - scheduledNanos), startupMillis,
+                new ArrayList<>(waitedFor));
+        }
+    }
+
+    private final BlueprintExtenderService blueprintExtenderService;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timer;
+    private final long maxHoldBackNanos;
+
+    @GuardedBy("this")
+    private final Map<Bundle, Container> containers = new LinkedHashMap<>();
+    @GuardedBy("this")
+    private final Map<Bundle, Container> pending = new LinkedHashMap<>();
+    @GuardedBy("this")
+    private final SetMultimap<String, Container> providers = HashMultimap.create();
+    // Waiting containers by the services they require, so only the containers affected by a change are re-checked
+    @GuardedBy("this")
+    private final SetMultimap<String, Container> waiters = HashMultimap.create();
+    @GuardedBy("this")
+    private long batchStartNanos;
+    @GuardedBy("this")
+    private int batchSize;
+    @GuardedBy("this")
+    private boolean closed;
+
+    private volatile ObjectName objectName;
+
+    BlueprintContainerStartupScheduler(final BlueprintExtenderService blueprintExtenderService) {
+        this(blueprintExtenderService, Integer.getInteger(STARTUP_THREADS_PROP,
+            Runtime.getRuntime().availableProcessors()),
+            Integer.getInteger(MAX_HOLD_BACK_PROP, DEFAULT_MAX_HOLD_BACK_SECONDS), TimeUnit.SECONDS);
+    }
+
+    BlueprintContainerStartupScheduler(final BlueprintExtenderService blueprintExtenderService, final int threads,
+            final long maxHoldBack, final TimeUnit unit) {
+        Preconditions.checkArgument(threads > 0, "Invalid number of startup threads %s", threads);
+        Preconditions.checkArgument(maxHoldBack >= 0, "Invalid maximum hold-back time %s", maxHoldBack);
+        this.blueprintExtenderService = Preconditions.checkNotNull(blueprintExtenderService);
+        this.maxHoldBackNanos = unit.toNanos(maxHoldBack);
+
+        executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("BlueprintContainerStartup-%d").build());
+        executor.allowCoreThreadTimeOut(true);
+
+        timer = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("BlueprintContainerStartupTimer-%d").build());
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    void registerMBean() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName name = new ObjectName(MBEAN_NAME);
+            server.registerMBean(this, name);
+            objectName = name;
+        } catch (JMException e) {
+            LOG.warn("Failed to register {}", MBEAN_NAME, e);
+        }
+    }
+
+    /**
+     * Schedule the creation of the blueprint container for a bundle.
+     *
+     * @param bundle the bundle
+     * @param paths the blueprint XML files of the bundle
+     */
+    void schedule(final Bundle bundle, final List<Object> paths) {
+        final BlueprintContainerDependencies dependencies = BlueprintContainerDependencies.parse(bundle, paths);
+        LOG.debug("Scheduling blueprint container for bundle {} with {}", bundle, dependencies);
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            final Set<Container> affected = new LinkedHashSet<>();
+            final Container previous = pending.get(bundle);
+            if (previous != null) {
+                complete(previous, State.CANCELLED);
+                affected.addAll(waitersOf(previous));
+            }
+
+            if (pending.isEmpty()) {
+                batchStartNanos = System.nanoTime();
+                batchSize = 0;
+            }
+
+            final Container container = new Container(bundle, paths, dependencies);
+            containers.remove(bundle);
+            containers.put(bundle, container);
+            pending.put(bundle, container);
+            batchSize++;
+            for (String service : dependencies.getProvided()) {
+                providers.put(service, container);
+            }
+            for (String service : dependencies.getRequired()) {
+                waiters.put(service, container);
+            }
+
+            // The new container may close a dependency cycle, which releases the waiting containers it depends on
+            affected.add(container);
+            affected.addAll(collectProviders(container));
+            dispatchReady(affected);
+        }
+    }
+
+    /**
+     * Report the blueprint container for a bundle has been created.
+     *
+     * @param bundle the bundle
+     */
+    synchronized void containerCreated(final Bundle bundle) {
+        completePending(bundle, State.CREATED);
+    }
+
+    /**
+     * Report the blueprint container for a bundle has failed.
+     *
+     * @param bundle the bundle
+     */
+    synchronized void containerFailed(final Bundle bundle) {
+        completePending(bundle, State.FAILED);
+    }
+
+    /**
+     * Report the bundle has gone away, hence its blueprint container will not be created.
+     *
+     * @param bundle the bundle
+     */
+    synchronized void cancel(final Bundle bundle) {
+        completePending(bundle, State.CANCELLED);
+    }
+
+    @Override
+    public synchronized List<ContainerStartupRecord> getContainerStartupTimeline() {
+        final long now = System.nanoTime();
+        final List<ContainerStartupRecord> ret = new ArrayList<>(containers.size());
+        for (Container container : containers.values()) {
+            ret.add(container.toRecord(now));
+        }
+        return ret;
+    }
+
+    @Override
+    public synchronized int getPendingContainers() {
+        return pending.size();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+
+        executor.shutdownNow();
+        timer.shutdownNow();
+
+        final ObjectName name = objectName;
+        if (name != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            } catch (JMException e) {
+                LOG.debug("Failed to unregister {}", name, e);
+            }
+            objectName = null;
+        }
+    }
+
+    @GuardedBy("this")
+    private void completePending(final Bundle bundle, final State state) {
+        final Container container = pending.get(bundle);
+        if (container != null) {
+            complete(container, state);
+            if (!closed) {
+                dispatchReady(waitersOf(container));
+            }
+        }
+    }
+
+    @GuardedBy("this")
+    private void complete(final Container container, final State state) {
+        cancelHoldBackTimeout(container);
+        pending.remove(container.bundle);
+        for (String service : container.dependencies.getProvided()) {
+            providers.remove(service, container);
+        }
+        removeWaiter(container);
+
+        container.state = state;
+        container.completedNanos = System.nanoTime();
+        LOG.debug("Blueprint container for bundle {} completed as {}", container.bundle, state);
+
+        if (pending.isEmpty()) {
+            LOG.info("Startup of {} blueprint containers completed in {} ms", batchSize,
+                TimeUnit.NANOSECONDS.toMillis(container.completedNanos - batchStartNanos));
+        }
+    }
+
+    @GuardedBy("this")
+    private void dispatchReady(final Collection<Container> candidates) {
+        for (Container container : candidates) {
+            if (pending.get(container.bundle) == container && container.state == State.WAITING) {
+                final Set<String> blockers = findBlockers(container);
+                if (blockers.isEmpty()) {
+                    start(container);
+                } else {
+                    container.waitedFor.addAll(blockers);
+                    if (container.holdBackTimeout == null) {
+                        container.holdBackTimeout = timer.schedule(() -> holdBackExpired(container),
+                            maxHoldBackNanos, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the services required by a container which are provided by other pending containers. Providers which
+     * themselves depend on the container are not considered, as otherwise neither of them would ever be created.
+     */
+    @GuardedBy("this")
+    private Set<String> findBlockers(final Container container) {
+        Set<String> ret = Collections.emptySet();
+        for (String service : container.dependencies.getRequired()) {
+            for (Container provider : providers.get(service)) {
+                if (provider != container && !dependsOn(provider, container)) {
+                    if (ret.isEmpty()) {
+                        ret = new TreeSet<>();
+                    }
+                    ret.add(service);
+                    break;
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Find the waiting containers which require any of the services provided by a container.
+     */
+    @GuardedBy("this")
+    private Set<Container> waitersOf(final Container container) {
+        final Set<Container> ret = new LinkedHashSet<>();
+        for (String service : container.dependencies.getProvided()) {
+            ret.addAll(waiters.get(service));
+        }
+        return ret;
+    }
+
+    @GuardedBy("this")
+    private void removeWaiter(final Container container) {
+        for (String service : container.dependencies.getRequired()) {
+            waiters.remove(service, container);
+        }
+    }
+
+    /**
+     * Find the pending containers a container depends on, directly or transitively.
+     */
+    @GuardedBy("this")
+    private Set<Container> collectProviders(final Container from) {
+        final Set<Container> ret = new LinkedHashSet<>();
+        final Deque<Container> queue = new ArrayDeque<>();
+        queue.add(from);
+
+        while (!queue.isEmpty()) {
+            for (String service : queue.poll().dependencies.getRequired()) {
+                for (Container provider : providers.get(service)) {
+                    if (provider != from && ret.add(provider)) {
+                        queue.add(provider);
+                    }
+                }
+            }
+        }
+        return ret;
+    }
+
+    @GuardedBy("this")
+    private boolean dependsOn(final Container from, final Container target) {
+        final Map<Container, Boolean> visited = new IdentityHashMap<>();
+        final Deque<Container> queue = new ArrayDeque<>();
+        queue.add(from);
+        visited.put(from, Boolean.TRUE);
+
+        while (!queue.isEmpty()) {
+            for (String service : queue.poll().dependencies.getRequired()) {
+                for (Container provider : providers.get(service)) {
+                    if (provider == target) {
+                        return true;
+                    }
+                    if (visited.put(provider, Boolean.TRUE) == null) {
+                        queue.add(provider);
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private synchronized void holdBackExpired(final Container container) {
+        if (!closed && pending.get(container.bundle) == container && container.state == State.WAITING) {
+            LOG.warn("Blueprint container for bundle {} held back for {} ms waiting for {}, creating it anyway",
+                container.bundle, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - container.scheduledNanos),
+                findBlockers(container));
+            start(container);
+        }
+    }
+
+    private static void cancelHoldBackTimeout(final Container container) {
+        if (container.holdBackTimeout != null) {
+            container.holdBackTimeout.cancel(false);
+            container.holdBackTimeout = null;
+        }
+    }
+
+    @GuardedBy("this")
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void start(final Container container) {
+        cancelHoldBackTimeout(container);
+        removeWaiter(container);
+        container.state = State.STARTING;
+        container.startedNanos = System.nanoTime();
+
+        executor.execute(() -> {
+            LOG.info("Creating blueprint container for bundle {} with paths {}", container.bundle,
+                container.paths);
+
+            final boolean created;
+            try {
+                created = blueprintExtenderService.createContainer(container.bundle, container.paths);
+            } catch (RuntimeException e) {
+                LOG.error("Failed to create blueprint container for bundle {}", container.bundle, e);
+                completeStarted(container, State.FAILED);
+                return;
+            }
+
+            // The extender did not create a container, for example because the bundle already has one or is not
+            // active anymore, hence no blueprint event will tell us the outcome
+            if (!created) {
+                LOG.warn("Blueprint container for bundle {} was not created", container.bundle);
+                completeStarted(container, State.CANCELLED);
+            }
+        });
+    }
+
+    private synchronized void completeStarted(final Container container, final State state) {
+        if (pending.get(container.bundle) == container) {
+            complete(container, state);
+            if (!closed) {
+                dispatchReady(waitersOf(container));
+            }
+        }
+    }
+}
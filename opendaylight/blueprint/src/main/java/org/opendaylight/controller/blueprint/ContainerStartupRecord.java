@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.blueprint;
+
+import com.google.common.collect.ImmutableList;
+import java.beans.ConstructorProperties;
+import java.util.List;
+
+/**
+ * Startup timeline of a single blueprint container, as reported by {@link BlueprintContainerStartupMXBean}.
+ */
+public final class ContainerStartupRecord {
+    private final String bundle;
+    private final String state;
+    private final long scheduledTime;
+    private final long waitMillis;
+    private final long startupMillis;
+    private final List<String> waitedFor;
+
+    @ConstructorProperties({ "bundle", "state", "scheduledTime", "waitMillis", "startupMillis", "waitedFor" })
+    public ContainerStartupRecord(final String bundle, final String state, final long scheduledTime,
+            final long waitMillis, final long startupMillis, final List<String> waitedFor) {
+        this.bundle = bundle;
+        this.state = state;
+        this.scheduledTime = scheduledTime;
+        this.waitMillis = waitMillis;
+        this.startupMillis = startupMillis;
+        this.waitedFor = ImmutableList.copyOf(waitedFor);
+    }
+
+    /**
+     * Returns the bundle owning the container.
+     *
+     * @return bundle symbolic name and version
+     */
+    public String getBundle() {
+        return bundle;
+    }
+
+    /**
+     * Returns the startup state of the container: WAITING, STARTING, CREATED, FAILED or CANCELLED.
+     *
+     * @return startup state
+     */
+    public String getState() {
+        return state;
+    }
+
+    /**
+     * Returns the time the bundle was found to have a blueprint container.
+     *
+     * @return wall-clock time in milliseconds since the epoch
+     */
+    public long getScheduledTime() {
+        return scheduledTime;
+    }
+
+    /**
+     * Returns how long the container creation was held back waiting for the containers it depends on.
+     *
+     * @return wait time in milliseconds, or the time waited so far if it is still waiting
+     */
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    /**
+     * Returns how long it took from requesting the container creation to the container being created or failing.
+     *
+     * @return startup time in milliseconds, or -1 if it has not completed yet
+     */
+    public long getStartupMillis() {
+        return startupMillis;
+    }
+
+    /**
+     * Returns the services the container creation was held back for.
+     *
+     * @return service interface names
+     */
+    public List<String> getWaitedFor() {
+        return waitedFor;
+    }
+}
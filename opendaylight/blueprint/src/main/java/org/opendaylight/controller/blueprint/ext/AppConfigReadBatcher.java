@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.blueprint.ext;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads app config data from the config data store on behalf of {@link DataStoreAppConfigMetadata}. Reads requested
+ * while a batch is in progress, as happens when many containers start at the same time, are issued together in the
+ * next batch, using a single read-only transaction. A batch holds back the next one for at most
+ * {@link #MAX_BATCH_WAIT_MILLIS}, so a slow read does not block the containers queued behind it.
+ */
+final class AppConfigReadBatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(AppConfigReadBatcher.class);
+    private static final long MAX_BATCH_WAIT_MILLIS = 1000;
+    private static final ScheduledThreadPoolExecutor TIMER;
+
+    static {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+            .setDaemon(true).setNameFormat("AppConfigReadBatcherTimer-%d").build());
+        timer.setRemoveOnCancelPolicy(true);
+        TIMER = timer;
+    }
+
+    // There is normally a single DataBroker service, we switch over if it is replaced
+    private static volatile AppConfigReadBatcher instance;
+
+    private static final class ReadRequest {
+        final InstanceIdentifier<DataObject> path;
+        final SettableFuture<Optional<DataObject>> future = SettableFuture.create();
+
+        ReadRequest(final InstanceIdentifier<DataObject> path) {
+            this.path = path;
+        }
+    }
+
+    private final DataBroker dataBroker;
+    private final ScheduledExecutorService timer;
+    private final long maxBatchWaitMillis;
+
+    @GuardedBy("this")
+    private List<ReadRequest> pending = new ArrayList<>();
+    @GuardedBy("this")
+    private boolean batchInProgress;
+
+    @VisibleForTesting
+    AppConfigReadBatcher(final DataBroker dataBroker, final ScheduledExecutorService timer,
+            final long maxBatchWaitMillis) {
+        this.dataBroker = Preconditions.checkNotNull(dataBroker);
+        this.timer = Preconditions.checkNotNull(timer);
+        this.maxBatchWaitMillis = maxBatchWaitMillis;
+    }
+
+    static AppConfigReadBatcher forDataBroker(final DataBroker dataBroker) {
+        AppConfigReadBatcher local = instance;
+        if (local == null || local.dataBroker != dataBroker) {
+            synchronized (AppConfigReadBatcher.class) {
+                local = instance;
+                if (local == null || local.dataBroker != dataBroker) {
+                    local = new AppConfigReadBatcher(dataBroker, TIMER, MAX_BATCH_WAIT_MILLIS);
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Read the data at the specified path from the config data store.
+     *
+     * @param path the path to read
+     * @return future completing with the result of the read
+     */
+    ListenableFuture<Optional<DataObject>> read(final InstanceIdentifier<DataObject> path) {
+        final ReadRequest request = new ReadRequest(path);
+        final List<ReadRequest> batch;
+        synchronized (this) {
+            pending.add(request);
+            if (batchInProgress) {
+                return request.future;
+            }
+
+            batchInProgress = true;
+            batch = takePending();
+        }
+
+        executeBatch(batch);
+        return request.future;
+    }
+
+    @GuardedBy("this")
+    private List<ReadRequest> takePending() {
+        final List<ReadRequest> ret = pending;
+        pending = new ArrayList<>();
+        return ret;
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void executeBatch(final List<ReadRequest> batch) {
+        LOG.debug("Reading {} app configs", batch.size());
+
+        final ReadOnlyTransaction readOnlyTx;
+        try {
+            readOnlyTx = dataBroker.newReadOnlyTransaction();
+        } catch (RuntimeException e) {
+            batch.forEach(request -> request.future.setException(e));
+            onBatchComplete();
+            return;
+        }
+
+        // The next batch is started either when all reads of this batch complete, or when it has waited long
+        // enough, whichever happens first.
+        final AtomicBoolean released = new AtomicBoolean();
+        final ScheduledFuture<?> timeout = timer.schedule(() -> {
+            if (released.compareAndSet(false, true)) {
+                LOG.debug("Reading {} app configs is taking longer than {}ms, not waiting for it", batch.size(),
+                    maxBatchWaitMillis);
+                onBatchComplete();
+            }
+        }, maxBatchWaitMillis, TimeUnit.MILLISECONDS);
+
+        final AtomicInteger remaining = new AtomicInteger(batch.size());
+        final Runnable readCompleted = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                readOnlyTx.close();
+                if (released.compareAndSet(false, true)) {
+                    timeout.cancel(false);
+                    onBatchComplete();
+                }
+            }
+        };
+
+        for (ReadRequest request : batch) {
+            final ListenableFuture<Optional<DataObject>> read;
+            try {
+                read = readOnlyTx.read(LogicalDatastoreType.CONFIGURATION, request.path);
+            } catch (RuntimeException e) {
+                LOG.debug("Failed to issue read of {}", request.path, e);
+                request.future.setException(e);
+                readCompleted.run();
+                continue;
+            }
+
+            Futures.addCallback(read, new FutureCallback<Optional<DataObject>>() {
+                @Override
+                public void onSuccess(final Optional<DataObject> result) {
+                    request.future.set(result);
+                    readCompleted.run();
+                }
+
+                @Override
+                public void onFailure(final Throwable failure) {
+                    request.future.setException(failure);
+                    readCompleted.run();
+                }
+            }, MoreExecutors.directExecutor());
+        }
+    }
+
+    private void onBatchComplete() {
+        final List<ReadRequest> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                batchInProgress = false;
+                return;
+            }
+
+            batch = takePending();
+        }
+
+        executeBatch(batch);
+    }
+}
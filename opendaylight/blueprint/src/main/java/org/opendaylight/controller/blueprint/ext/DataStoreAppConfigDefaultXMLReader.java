@@ -100,17 +100,24 @@ public class DataStoreAppConfigDefaultXMLReader<T extends DataObject> {
         });
     }
 
-    @SuppressWarnings("unchecked")
     public T createDefaultInstance(final FallbackConfigProvider fallback) throws ConfigXMLReaderException,
             URISyntaxException, ParserConfigurationException, XMLStreamException, SAXException, IOException {
-        YangInstanceIdentifier yangPath = bindingSerializer.toYangInstanceIdentifier(bindingContext.appConfigPath);
-
-        LOG.debug("{}: Creating app config instance from path {}, Qname: {}", logName, yangPath,
-                bindingContext.bindingQName);
-
         checkNotNull(schemaService, "%s: Could not obtain the SchemaService OSGi service", logName);
 
-        SchemaContext schemaContext = schemaService.getGlobalContext();
+        return fromNormalizedNode(createDefaultNode(schemaService.getGlobalContext(), fallback));
+    }
+
+    /**
+     * Creates the default app config data, without converting it to the binding instance.
+     *
+     * @param schemaContext the schema context to parse the data against
+     * @param fallback provider of the data if the default XML file is not present
+     * @return the default app config data
+     */
+    public NormalizedNode<?, ?> createDefaultNode(final SchemaContext schemaContext,
+            final FallbackConfigProvider fallback) throws ConfigXMLReaderException, URISyntaxException,
+            ParserConfigurationException, XMLStreamException, SAXException, IOException {
+        LOG.debug("{}: Creating app config data for Qname: {}", logName, bindingContext.bindingQName);
 
         Module module = schemaContext.findModuleByNamespaceAndRevision(bindingContext.bindingQName.getNamespace(),
                 bindingContext.bindingQName.getRevision());
@@ -126,9 +133,25 @@ public class DataStoreAppConfigDefaultXMLReader<T extends DataObject> {
 
         NormalizedNode<?, ?> dataNode = parsePossibleDefaultAppConfigXMLFile(schemaContext, dataSchema);
         if (dataNode == null) {
-            dataNode = fallback.get(schemaService.getGlobalContext(), dataSchema);
+            dataNode = fallback.get(schemaContext, dataSchema);
         }
 
+        return dataNode;
+    }
+
+    /**
+     * Converts app config data, as returned by {@link #createDefaultNode(SchemaContext, FallbackConfigProvider)},
+     * to the binding instance.
+     *
+     * @param dataNode the app config data
+     * @return the binding app config instance
+     */
+    @SuppressWarnings("unchecked")
+    public T fromNormalizedNode(final NormalizedNode<?, ?> dataNode) throws ConfigXMLReaderException {
+        YangInstanceIdentifier yangPath = bindingSerializer.toYangInstanceIdentifier(bindingContext.appConfigPath);
+
+        LOG.debug("{}: Creating app config instance from path {}", logName, yangPath);
+
         DataObject appConfig = bindingSerializer.fromNormalizedNode(yangPath, dataNode).getValue();
 
         // This shouldn't happen but need to handle it in case...
@@ -152,12 +175,7 @@ public class DataStoreAppConfigDefaultXMLReader<T extends DataObject> {
 
     private NormalizedNode<?, ?> parsePossibleDefaultAppConfigXMLFile(final SchemaContext schemaContext,
             final DataSchemaNode dataSchema) throws ConfigXMLReaderException {
-
-        String appConfigFileName = defaultAppConfigFileName;
-        if (Strings.isNullOrEmpty(appConfigFileName)) {
-            String moduleName = findYangModuleName(bindingContext.bindingQName, schemaContext);
-            appConfigFileName = moduleName + "_" + bindingContext.bindingQName.getLocalName() + ".xml";
-        }
+        String appConfigFileName = getAppConfigFileName(schemaContext);
 
         Optional<URL> optionalURL;
         try {
@@ -187,6 +205,22 @@ public class DataStoreAppConfigDefaultXMLReader<T extends DataObject> {
         }
     }
 
+    /**
+     * Returns the name of the default app config XML file, which is either explicitly configured or derived from
+     * the YANG module name and the app config container name.
+     *
+     * @param schemaContext the schema context
+     * @return the file name
+     */
+    public String getAppConfigFileName(final SchemaContext schemaContext) throws ConfigXMLReaderException {
+        if (!Strings.isNullOrEmpty(defaultAppConfigFileName)) {
+            return defaultAppConfigFileName;
+        }
+
+        String moduleName = findYangModuleName(bindingContext.bindingQName, schemaContext);
+        return moduleName + "_" + bindingContext.bindingQName.getLocalName() + ".xml";
+    }
+
     private String findYangModuleName(final QName qname, final SchemaContext schemaContext)
             throws ConfigXMLReaderException {
         for (Module m : schemaContext.getModules()) {
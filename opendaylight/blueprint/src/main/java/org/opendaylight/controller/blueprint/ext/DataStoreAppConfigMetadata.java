@@ -30,7 +30,6 @@ import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
 import org.opendaylight.controller.md.sal.binding.api.DataObjectModification.ModificationType;
 import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
 import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
-import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeSerializer;
 import org.opendaylight.mdsal.dom.api.DOMSchemaService;
@@ -159,23 +158,20 @@ public class DataStoreAppConfigMetadata extends AbstractDependentComponentFactor
     }
 
     private void readInitialAppConfig(final DataBroker dataBroker) {
-        final ReadOnlyTransaction readOnlyTx = dataBroker.newReadOnlyTransaction();
-        ListenableFuture<Optional<DataObject>> future = readOnlyTx.read(
-                LogicalDatastoreType.CONFIGURATION, bindingContext.appConfigPath);
+        // The read is batched with reads of other containers starting at the same time
+        ListenableFuture<Optional<DataObject>> future = AppConfigReadBatcher.forDataBroker(dataBroker)
+                .read(bindingContext.appConfigPath);
         Futures.addCallback(future, new FutureCallback<Optional<DataObject>>() {
             @Override
             public void onSuccess(final Optional<DataObject> possibleAppConfig) {
                 LOG.debug("{}: Read of app config {} succeeded: {}", logName(), bindingContext
                         .appConfigBindingClass.getName(), possibleAppConfig);
 
-                readOnlyTx.close();
                 setInitialAppConfig(possibleAppConfig);
             }
 
             @Override
             public void onFailure(final Throwable failure) {
-                readOnlyTx.close();
-
                 // We may have gotten the app config via the data tree change listener so only retry if not.
                 if (readingInitialAppConfig.get()) {
                     LOG.warn("{}: Read of app config {} failed - retrying", logName(),
@@ -256,19 +252,31 @@ public class DataStoreAppConfigMetadata extends AbstractDependentComponentFactor
                 return Optional.of(appConfigFile.toURI().toURL());
             };
 
+            DOMSchemaService schemaService = getOSGiService(DOMSchemaService.class);
             DataStoreAppConfigDefaultXMLReader<?> reader = new DataStoreAppConfigDefaultXMLReader<>(logName(),
-                    defaultAppConfigFileName, getOSGiService(DOMSchemaService.class), bindingSerializer, bindingContext,
-                    inputStreamProvider);
-            return reader.createDefaultInstance((schemaContext, dataSchema) -> {
-                // Fallback if file cannot be read, try XML from Config
-                NormalizedNode<?, ?> dataNode = parsePossibleDefaultAppConfigElement(schemaContext, dataSchema);
-                if (dataNode == null) {
-                    // or, as last resort, defaults from the model
-                    return bindingContext.newDefaultNode(dataSchema);
-                } else {
-                    return dataNode;
-                }
-            });
+                    defaultAppConfigFileName, schemaService, bindingSerializer, bindingContext, inputStreamProvider);
+            if (schemaService == null) {
+                // Let the reader report the missing service
+                return reader.createDefaultInstance(this::parseFallbackDefaultAppConfig);
+            }
+
+            // The parsed data only depends on the bundle, the schema and the default config file, so it is cached
+            // across container restarts and only needs to be converted to the binding instance.
+            SchemaContext schemaContext = schemaService.getGlobalContext();
+            File appConfigFile = new File(DEFAULT_APP_CONFIG_FILE_PATH, reader.getAppConfigFileName(schemaContext));
+            DefaultAppConfigCache.Key cacheKey = new DefaultAppConfigCache.Key(container().getBundleContext()
+                    .getBundle(), getId(), schemaContext, appConfigFile.lastModified());
+
+            DefaultAppConfigCache cache = DefaultAppConfigCache.getInstance();
+            NormalizedNode<?, ?> dataNode = cache.get(cacheKey);
+            if (dataNode == null) {
+                dataNode = reader.createDefaultNode(schemaContext, this::parseFallbackDefaultAppConfig);
+                cache.put(cacheKey, dataNode);
+            } else {
+                LOG.debug("{}: Using cached default app config {}", logName(), cacheKey);
+            }
+
+            return reader.fromNormalizedNode(dataNode);
 
         } catch (final ConfigXMLReaderException | IOException | SAXException | XMLStreamException
                 | ParserConfigurationException | URISyntaxException e) {
@@ -281,6 +289,19 @@ public class DataStoreAppConfigMetadata extends AbstractDependentComponentFactor
         }
     }
 
+    private NormalizedNode<?, ?> parseFallbackDefaultAppConfig(final SchemaContext schemaContext,
+            final DataSchemaNode dataSchema) throws URISyntaxException, IOException, ParserConfigurationException,
+            SAXException, XMLStreamException {
+        // Fallback if file cannot be read, try XML from Config
+        NormalizedNode<?, ?> dataNode = parsePossibleDefaultAppConfigElement(schemaContext, dataSchema);
+        if (dataNode == null) {
+            // or, as last resort, defaults from the model
+            return bindingContext.newDefaultNode(dataSchema);
+        } else {
+            return dataNode;
+        }
+    }
+
     @Nullable
     private NormalizedNode<?, ?> parsePossibleDefaultAppConfigElement(final SchemaContext schemaContext,
             final DataSchemaNode dataSchema) throws URISyntaxException, IOException, ParserConfigurationException,
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.blueprint.ext;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableSet;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.osgi.framework.Bundle;
+
+/**
+ * Cache of the default app config data parsed by {@link DataStoreAppConfigMetadata}, shared by all blueprint
+ * containers, so that restarting a container does not parse and convert the default XML again. Entries are keyed
+ * by the bundle revision, the component, the modules present in the schema context and the modification time of
+ * the default config file, so any change to the inputs of the parse results in a cache miss.
+ *
+ * <p>
+ * The cache is held in memory only, hence the first start of each container after a controller restart parses its
+ * default config.
+ */
+final class DefaultAppConfigCache {
+    private static final int MAX_ENTRIES = 4096;
+
+    // Computing the fingerprint walks all modules, so we do that once per SchemaContext instance
+    private static final LoadingCache<SchemaContext, ImmutableSet<QNameModule>> FINGERPRINTS = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<SchemaContext, ImmutableSet<QNameModule>>() {
+                @Override
+                public ImmutableSet<QNameModule> load(final SchemaContext key) {
+                    final ImmutableSet.Builder<QNameModule> builder = ImmutableSet.builder();
+                    for (Module module : key.getModules()) {
+                        builder.add(module.getQNameModule());
+                    }
+                    return builder.build();
+                }
+            });
+
+    private static final DefaultAppConfigCache INSTANCE = new DefaultAppConfigCache();
+
+    static final class Key {
+        private final long bundleId;
+        private final long bundleLastModified;
+        private final String componentId;
+        private final ImmutableSet<QNameModule> schemaFingerprint;
+        private final long configFileLastModified;
+        private final int hashCode;
+
+        Key(final Bundle bundle, final String componentId, final SchemaContext schemaContext,
+                final long configFileLastModified) {
+            this.bundleId = bundle.getBundleId();
+            this.bundleLastModified = bundle.getLastModified();
+            this.componentId = Preconditions.checkNotNull(componentId);
+            this.schemaFingerprint = FINGERPRINTS.getUnchecked(schemaContext);
+            this.configFileLastModified = configFileLastModified;
+            this.hashCode = Objects.hash(bundleId, bundleLastModified, componentId, schemaFingerprint,
+                configFileLastModified);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return bundleId == other.bundleId && bundleLastModified == other.bundleLastModified
+                    && configFileLastModified == other.configFileLastModified
+                    && componentId.equals(other.componentId) && schemaFingerprint.equals(other.schemaFingerprint);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("bundleId", bundleId)
+                    .add("bundleLastModified", bundleLastModified).add("componentId", componentId)
+                    .add("configFileLastModified", configFileLastModified).toString();
+        }
+    }
+
+    private final Cache<Key, NormalizedNode<?, ?>> defaults = CacheBuilder.newBuilder()
+            .maximumSize(MAX_ENTRIES).build();
+
+    @VisibleForTesting
+    DefaultAppConfigCache() {
+        // Hidden on purpose
+    }
+
+    static DefaultAppConfigCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the cached default app config data.
+     *
+     * @param key the cache key
+     * @return the cached data, or null if not cached
+     */
+    @Nullable
+    NormalizedNode<?, ?> get(final Key key) {
+        return defaults.getIfPresent(key);
+    }
+
+    /**
+     * Caches default app config data.
+     *
+     * @param key the cache key
+     * @param data the data
+     */
+    void put(final Key key, final NormalizedNode<?, ?> data) {
+        defaults.put(key, data);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.blueprint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.net.URL;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.controller.sal.binding.api.RpcProviderRegistry;
+import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeSerializer;
+import org.opendaylight.mdsal.dom.api.DOMSchemaService;
+import org.osgi.framework.Bundle;
+
+/**
+ * Unit tests for {@link BlueprintContainerDependencies}.
+ */
+public class BlueprintContainerDependenciesTest {
+    private final Bundle bundle = mock(Bundle.class);
+
+    @Test
+    public void testParse() {
+        final BlueprintContainerDependencies dependencies = BlueprintContainerDependencies.parse(bundle,
+            paths("dependencies.xml"));
+
+        assertEquals(ImmutableSet.of("org.example.Self", "org.example.Other", "rpc:org.example.ProvidedRpc"),
+            dependencies.getProvided());
+        assertEquals(ImmutableSet.of("org.example.Foo", "rpc:org.example.RequiredRpc",
+            RpcProviderRegistry.class.getName(), DOMSchemaService.class.getName(), DOMRpcService.class.getName(),
+            DataBroker.class.getName(), BindingNormalizedNodeSerializer.class.getName()),
+            dependencies.getRequired());
+    }
+
+    @Test
+    public void testParseAcrossFiles() {
+        final BlueprintContainerDependencies dependencies = BlueprintContainerDependencies.parse(bundle,
+            paths("consumer.xml", "provider.xml"));
+
+        assertEquals(ImmutableSet.of("org.example.Foo"), dependencies.getProvided());
+        assertTrue(dependencies.getRequired().isEmpty());
+    }
+
+    @Test
+    public void testParseUnreadable() throws Exception {
+        final BlueprintContainerDependencies dependencies = BlueprintContainerDependencies.parse(bundle,
+            ImmutableList.<Object>of("not a URL", new URL("file:/nonexistent/blueprint.xml")));
+
+        assertTrue(dependencies.getProvided().isEmpty());
+        assertTrue(dependencies.getRequired().isEmpty());
+    }
+
+    static List<Object> paths(final String... names) {
+        final ImmutableList.Builder<Object> builder = ImmutableList.builder();
+        for (String name : names) {
+            builder.add(BlueprintContainerDependenciesTest.class.getResource("/startup/" + name));
+        }
+        return builder.build();
+    }
+}
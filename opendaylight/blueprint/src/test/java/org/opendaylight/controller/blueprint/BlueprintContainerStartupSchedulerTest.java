@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.blueprint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.opendaylight.controller.blueprint.BlueprintContainerDependenciesTest.paths;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.aries.blueprint.services.BlueprintExtenderService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Version;
+
+/**
+ * Unit tests for {@link BlueprintContainerStartupScheduler}.
+ */
+public class BlueprintContainerStartupSchedulerTest {
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private final Bundle provider = mockBundle("provider");
+    private final Bundle consumer = mockBundle("consumer");
+    private final List<Object> providerPaths = paths("provider.xml");
+    private final List<Object> consumerPaths = paths("consumer.xml");
+
+    private BlueprintExtenderService extender;
+    private BlueprintContainerStartupScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        extender = mock(BlueprintExtenderService.class);
+        doReturn(true).when(extender).createContainer(any(Bundle.class), anyListOf(Object.class));
+        scheduler = new BlueprintContainerStartupScheduler(extender, 2, 1, TimeUnit.HOURS);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    public void testDependencyOrdering() {
+        scheduler.schedule(provider, providerPaths);
+        scheduler.schedule(consumer, consumerPaths);
+
+        verify(extender, timeout(TIMEOUT_MILLIS)).createContainer(provider, providerPaths);
+        verify(extender, never()).createContainer(consumer, consumerPaths);
+        assertEquals("WAITING", record("consumer").getState());
+        assertEquals(ImmutableList.of("org.example.Foo"), record("consumer").getWaitedFor());
+        assertEquals(2, scheduler.getPendingContainers());
+
+        scheduler.containerCreated(provider);
+        assertEquals("CREATED", record("provider").getState());
+        verify(extender, timeout(TIMEOUT_MILLIS)).createContainer(consumer, consumerPaths);
+
+        scheduler.containerCreated(consumer);
+        assertEquals("CREATED", record("consumer").getState());
+        assertEquals(0, scheduler.getPendingContainers());
+    }
+
+    @Test
+    public void testCyclicDependenciesReleasedTogether() {
+        final Bundle bundleA = mockBundle("a");
+        final Bundle bundleB = mockBundle("b");
+        final List<Object> pathsA = paths("cycle-a.xml");
+        final List<Object> pathsB = paths("cycle-b.xml");
+
+        scheduler.schedule(bundleA, pathsA);
+        scheduler.schedule(bundleB, pathsB);
+
+        verify(extender, timeout(TIMEOUT_MILLIS)).createContainer(bundleA, pathsA);
+        verify(extender, timeout(TIMEOUT_MILLIS)).createContainer(bundleB, pathsB);
+        assertEquals(2, scheduler.getPendingContainers());
+    }
+
+    @Test
+    public void testFailureReleasesDependents() {
+        scheduleProviderAndConsumer();
+
+        scheduler.containerFailed(provider);
+        assertEquals("FAILED", record("provider").getState());
+        verify(extender, timeout(TIMEOUT_MILLIS)).createContainer(consumer, consumerPaths);
+    }
+
+    @Test
+    public void testCancelReleasesDependents() {
+        scheduleProviderAndConsumer();
+
+        scheduler.cancel(provider);
+        assertEquals("CANCELLED", record("provider").getState());
+        verify(extender, timeout(TIMEOUT_MILLIS)).createContainer(consumer, consumerPaths);
+    }
+
+    @Test
+    public void testCancelWaiting() {
+        scheduleProviderAndConsumer();
+
+        scheduler.cancel(consumer);
+        assertEquals("CANCELLED", record("consumer").getState());
+
+        scheduler.containerCreated(provider);
+        assertEquals("CANCELLED", record("consumer").getState());
+        assertEquals(0, scheduler.getPendingContainers());
+    }
+
+    @Test
+    public void testCreateContainerException() {
+        doThrow(new IllegalStateException("mock")).when(extender).createContainer(provider, providerPaths);
+
+        scheduler.schedule(provider, providerPaths);
+        scheduler.schedule(consumer, consumerPaths);
+
+        verify(extender, timeout(TIMEOUT_MILLIS)).createContainer(consumer, consumerPaths);
+        assertEquals("FAILED", record("provider").getState());
+        assertEquals(1, scheduler.getPendingContainers());
+    }
+
+    @Test
+    public void testContainerNotCreated() {
+        doReturn(false).when(extender).createContainer(provider, providerPaths);
+
+        scheduler.schedule(provider, providerPaths);
+        scheduler.schedule(consumer, consumerPaths);
+
+        verify(extender, timeout(TIMEOUT_MILLIS)).createContainer(consumer, consumerPaths);
+        assertEquals("CANCELLED", record("provider").getState());
+        assertEquals(1, scheduler.getPendingContainers());
+    }
+
+    @Test
+    public void testHoldBackBounded() {
+        scheduler.close();
+        scheduler = new BlueprintContainerStartupScheduler(extender, 2, 100, TimeUnit.MILLISECONDS);
+
+        scheduler.schedule(provider, providerPaths);
+        scheduler.schedule(consumer, consumerPaths);
+
+        verify(extender, timeout(TIMEOUT_MILLIS)).createContainer(consumer, consumerPaths);
+        assertEquals("STARTING", record("provider").getState());
+        assertEquals("STARTING", record("consumer").getState());
+        assertEquals(2, scheduler.getPendingContainers());
+    }
+
+    private void scheduleProviderAndConsumer() {
+        scheduler.schedule(provider, providerPaths);
+        scheduler.schedule(consumer, consumerPaths);
+        verify(extender, timeout(TIMEOUT_MILLIS)).createContainer(provider, providerPaths);
+        assertEquals("WAITING", record("consumer").getState());
+    }
+
+    private ContainerStartupRecord record(final String name) {
+        for (ContainerStartupRecord record : scheduler.getContainerStartupTimeline()) {
+            if (record.getBundle().equals(name + " " + Version.emptyVersion)) {
+                return record;
+            }
+        }
+
+        fail("No startup record for " + name);
+        return null;
+    }
+
+    private static Bundle mockBundle(final String name) {
+        final Bundle bundle = mock(Bundle.class);
+        doReturn(name).when(bundle).getSymbolicName();
+        doReturn(Version.emptyVersion).when(bundle).getVersion();
+        return bundle;
+    }
+}
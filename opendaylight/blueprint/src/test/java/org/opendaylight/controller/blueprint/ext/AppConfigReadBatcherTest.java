@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.blueprint.ext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.store.rev140422.Lists;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.store.rev140422.lists.OrderedContainer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.store.rev140422.lists.UnorderedContainer;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Unit tests for {@link AppConfigReadBatcher}.
+ */
+public class AppConfigReadBatcherTest {
+    private static final InstanceIdentifier<DataObject> LISTS_PATH = path(InstanceIdentifier.create(Lists.class));
+    private static final InstanceIdentifier<DataObject> ORDERED_PATH = path(InstanceIdentifier.builder(Lists.class)
+        .child(OrderedContainer.class).build());
+    private static final InstanceIdentifier<DataObject> UNORDERED_PATH = path(
+        InstanceIdentifier.builder(Lists.class).child(UnorderedContainer.class).build());
+
+    private DataBroker dataBroker;
+    private ReadOnlyTransaction firstTx;
+    private ReadOnlyTransaction secondTx;
+
+    @Before
+    public void setUp() {
+        dataBroker = mock(DataBroker.class);
+        firstTx = mock(ReadOnlyTransaction.class);
+        secondTx = mock(ReadOnlyTransaction.class);
+        doReturn(firstTx).doReturn(secondTx).when(dataBroker).newReadOnlyTransaction();
+    }
+
+    @Test
+    public void testForDataBroker() {
+        final AppConfigReadBatcher batcher = AppConfigReadBatcher.forDataBroker(dataBroker);
+        assertSame(batcher, AppConfigReadBatcher.forDataBroker(dataBroker));
+        assertNotSame(batcher, AppConfigReadBatcher.forDataBroker(mock(DataBroker.class)));
+    }
+
+    @Test
+    public void testReadsBatchedWhileInProgress() throws Exception {
+        final SettableFuture<Optional<DataObject>> firstRead = SettableFuture.create();
+        doReturn(Futures.makeChecked(firstRead, ReadFailedException.MAPPER)).when(firstTx)
+            .read(LogicalDatastoreType.CONFIGURATION, LISTS_PATH);
+
+        final Optional<DataObject> ordered = Optional.of(mock(DataObject.class));
+        doReturn(Futures.immediateCheckedFuture(ordered)).when(secondTx)
+            .read(LogicalDatastoreType.CONFIGURATION, ORDERED_PATH);
+        doReturn(Futures.immediateCheckedFuture(Optional.absent())).when(secondTx)
+            .read(LogicalDatastoreType.CONFIGURATION, UNORDERED_PATH);
+
+        final AppConfigReadBatcher batcher = AppConfigReadBatcher.forDataBroker(dataBroker);
+        final ListenableFuture<Optional<DataObject>> listsFuture = batcher.read(LISTS_PATH);
+        final ListenableFuture<Optional<DataObject>> orderedFuture = batcher.read(ORDERED_PATH);
+        final ListenableFuture<Optional<DataObject>> unorderedFuture = batcher.read(UNORDERED_PATH);
+
+        // The later reads wait for the first batch to complete
+        verify(dataBroker).newReadOnlyTransaction();
+        assertFalse(orderedFuture.isDone());
+        assertFalse(unorderedFuture.isDone());
+
+        firstRead.set(Optional.absent());
+        assertEquals(Optional.absent(), listsFuture.get());
+        verify(firstTx).close();
+
+        // ... and are then issued together
+        verify(dataBroker, times(2)).newReadOnlyTransaction();
+        assertEquals(ordered, orderedFuture.get());
+        assertEquals(Optional.absent(), unorderedFuture.get());
+        verify(secondTx).close();
+    }
+
+    @Test
+    public void testReadFailure() throws Exception {
+        final ReadFailedException cause = new ReadFailedException("mock");
+        doReturn(Futures.immediateFailedCheckedFuture(cause)).when(firstTx)
+            .read(LogicalDatastoreType.CONFIGURATION, LISTS_PATH);
+        doReturn(Futures.immediateCheckedFuture(Optional.absent())).when(secondTx)
+            .read(LogicalDatastoreType.CONFIGURATION, LISTS_PATH);
+
+        final AppConfigReadBatcher batcher = AppConfigReadBatcher.forDataBroker(dataBroker);
+        assertFailedWith(cause, batcher.read(LISTS_PATH));
+        verify(firstTx).close();
+
+        // A failed batch does not prevent subsequent reads
+        assertEquals(Optional.absent(), batcher.read(LISTS_PATH).get());
+    }
+
+    @Test
+    public void testTransactionCreationFailure() throws Exception {
+        final IllegalStateException cause = new IllegalStateException("mock");
+        doThrow(cause).doReturn(secondTx).when(dataBroker).newReadOnlyTransaction();
+        doReturn(Futures.immediateCheckedFuture(Optional.absent())).when(secondTx)
+            .read(LogicalDatastoreType.CONFIGURATION, LISTS_PATH);
+
+        final AppConfigReadBatcher batcher = AppConfigReadBatcher.forDataBroker(dataBroker);
+        assertFailedWith(cause, batcher.read(LISTS_PATH));
+        verify(firstTx, never()).close();
+
+        assertEquals(Optional.absent(), batcher.read(LISTS_PATH).get());
+    }
+
+    @Test
+    public void testReadIssueFailure() throws Exception {
+        final IllegalStateException cause = new IllegalStateException("mock");
+        doThrow(cause).when(firstTx).read(LogicalDatastoreType.CONFIGURATION, LISTS_PATH);
+        doReturn(Futures.immediateCheckedFuture(Optional.absent())).when(secondTx)
+            .read(LogicalDatastoreType.CONFIGURATION, LISTS_PATH);
+
+        final AppConfigReadBatcher batcher = AppConfigReadBatcher.forDataBroker(dataBroker);
+        assertFailedWith(cause, batcher.read(LISTS_PATH));
+        verify(firstTx).close();
+
+        // A read which failed to be issued does not prevent subsequent reads
+        assertEquals(Optional.absent(), batcher.read(LISTS_PATH).get());
+    }
+
+    @Test
+    public void testSlowBatchDoesNotBlockNext() throws Exception {
+        final ScheduledExecutorService timer = mock(ScheduledExecutorService.class);
+        doReturn(mock(ScheduledFuture.class)).when(timer).schedule(any(Runnable.class), anyLong(),
+            any(TimeUnit.class));
+
+        final SettableFuture<Optional<DataObject>> firstRead = SettableFuture.create();
+        doReturn(Futures.makeChecked(firstRead, ReadFailedException.MAPPER)).when(firstTx)
+            .read(LogicalDatastoreType.CONFIGURATION, LISTS_PATH);
+        final Optional<DataObject> ordered = Optional.of(mock(DataObject.class));
+        doReturn(Futures.immediateCheckedFuture(ordered)).when(secondTx)
+            .read(LogicalDatastoreType.CONFIGURATION, ORDERED_PATH);
+
+        final AppConfigReadBatcher batcher = new AppConfigReadBatcher(dataBroker, timer, 1000);
+        final ListenableFuture<Optional<DataObject>> listsFuture = batcher.read(LISTS_PATH);
+        final ListenableFuture<Optional<DataObject>> orderedFuture = batcher.read(ORDERED_PATH);
+        assertFalse(orderedFuture.isDone());
+
+        // The first batch waited long enough, the next one is issued without waiting for it
+        final ArgumentCaptor<Runnable> timeout = ArgumentCaptor.forClass(Runnable.class);
+        verify(timer).schedule(timeout.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        timeout.getValue().run();
+        verify(dataBroker, times(2)).newReadOnlyTransaction();
+        assertEquals(ordered, orderedFuture.get());
+        assertFalse(listsFuture.isDone());
+
+        // The slow read still completes and closes its transaction, without starting another batch
+        firstRead.set(Optional.absent());
+        assertEquals(Optional.absent(), listsFuture.get());
+        verify(firstTx).close();
+        verify(dataBroker, times(2)).newReadOnlyTransaction();
+    }
+
+    private static void assertFailedWith(final Throwable cause, final ListenableFuture<?> future)
+            throws InterruptedException {
+        assertTrue(future.isDone());
+        try {
+            future.get();
+            fail("Expected failure");
+        } catch (ExecutionException e) {
+            assertSame(cause, e.getCause());
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static InstanceIdentifier<DataObject> path(final InstanceIdentifier<?> path) {
+        return (InstanceIdentifier) path;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.blueprint.ext;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.test.AbstractConcurrentDataBrokerTest;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.test.store.rev140422.Lists;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.osgi.framework.Bundle;
+
+/**
+ * Unit tests for {@link DefaultAppConfigCache}.
+ */
+public class DefaultAppConfigCacheTest extends AbstractConcurrentDataBrokerTest {
+    private static final String COMPONENT_ID = "test-config";
+    private static final long CONFIG_FILE_LAST_MODIFIED = 100;
+
+    private final Bundle bundle = mockBundle(1);
+
+    private SchemaContext schemaContext;
+    private NormalizedNode<?, ?> dataNode;
+
+    @Before
+    public void setUp() throws Exception {
+        schemaContext = getDataBrokerTestCustomizer().getSchemaService().getGlobalContext();
+        dataNode = new DataStoreAppConfigDefaultXMLReader<>(getClass(), "/opendaylight-sal-test-store-config.xml",
+            getDataBrokerTestCustomizer().getSchemaService(), getDataBrokerTestCustomizer().getBindingToNormalized(),
+            Lists.class).createDefaultNode(schemaContext, (context, dataSchema) -> null);
+    }
+
+    @Test
+    public void testKeyInvalidation() {
+        final DefaultAppConfigCache cache = new DefaultAppConfigCache();
+        final DefaultAppConfigCache.Key key = newKey(bundle, COMPONENT_ID, schemaContext, CONFIG_FILE_LAST_MODIFIED);
+        cache.put(key, dataNode);
+
+        final DefaultAppConfigCache.Key sameKey = newKey(bundle, COMPONENT_ID, schemaContext,
+            CONFIG_FILE_LAST_MODIFIED);
+        assertEquals(key, sameKey);
+        assertEquals(dataNode, cache.get(sameKey));
+
+        // Bundle revision
+        assertInvalidated(cache, key, newKey(mockBundle(2), COMPONENT_ID, schemaContext, CONFIG_FILE_LAST_MODIFIED));
+        // Schema fingerprint
+        assertInvalidated(cache, key, newKey(bundle, COMPONENT_ID, mock(SchemaContext.class),
+            CONFIG_FILE_LAST_MODIFIED));
+        // Config file modification time
+        assertInvalidated(cache, key, newKey(bundle, COMPONENT_ID, schemaContext, CONFIG_FILE_LAST_MODIFIED + 1));
+        // Component
+        assertInvalidated(cache, key, newKey(bundle, "other-config", schemaContext, CONFIG_FILE_LAST_MODIFIED));
+    }
+
+    private static void assertInvalidated(final DefaultAppConfigCache cache, final DefaultAppConfigCache.Key key,
+            final DefaultAppConfigCache.Key otherKey) {
+        assertNotEquals(key, otherKey);
+        assertNull(cache.get(otherKey));
+    }
+
+    private static DefaultAppConfigCache.Key newKey(final Bundle bundle, final String componentId,
+            final SchemaContext schemaContext, final long configFileLastModified) {
+        return new DefaultAppConfigCache.Key(bundle, componentId, schemaContext, configFileLastModified);
+    }
+
+    private static Bundle mockBundle(final long lastModified) {
+        final Bundle bundle = mock(Bundle.class);
+        doReturn(1L).when(bundle).getBundleId();
+        doReturn(lastModified).when(bundle).getLastModified();
+        return bundle;
+    }
+}
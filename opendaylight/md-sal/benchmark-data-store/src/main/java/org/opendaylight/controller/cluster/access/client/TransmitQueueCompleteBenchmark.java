@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.client;
+
+import akka.actor.ActorSystem;
+import com.typesafe.config.ConfigFactory;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.access.ABIVersion;
+import org.opendaylight.controller.cluster.access.commands.TransactionPurgeRequest;
+import org.opendaylight.controller.cluster.access.commands.TransactionPurgeResponse;
+import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendType;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.MemberName;
+import org.opendaylight.controller.cluster.access.concepts.SuccessEnvelope;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.messaging.MessageSlicer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark measuring the cost of completing a request in a {@link TransmitQueue} holding a large number of in-flight
+ * requests. Responses are completed in random order and each completed request is replaced with a new one, so the
+ * number of in-flight requests remains constant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class TransmitQueueCompleteBenchmark {
+    private static final FrontendIdentifier FRONTEND =
+            FrontendIdentifier.create(MemberName.forName("benchmark"), FrontendType.forName("benchmark"));
+    private static final LocalHistoryIdentifier HISTORY =
+            new LocalHistoryIdentifier(ClientIdentifier.create(FRONTEND, 0), 0);
+
+    @Param({ "10000", "100000" })
+    public int inflightCount;
+
+    private ActorSystem system;
+    private TransmitQueue queue;
+    private TransmittedConnectionEntry[] inflight;
+    private long nextTransaction;
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        system = ActorSystem.create("TransmitQueueCompleteBenchmark",
+            ConfigFactory.parseString("akka.log-dead-letters = off"));
+
+        // Requests are sent to dead letters, we only care about the queue's bookkeeping
+        final BackendInfo backend = new BackendInfo(system.deadLetters(), 0L, ABIVersion.current(), inflightCount);
+        final MessageSlicer slicer = MessageSlicer.builder().logContext("benchmark").build();
+        queue = new TransmitQueue.Transmitting(new TransmitQueue.Halted(0), inflightCount, backend, now, slicer);
+
+        inflight = new TransmittedConnectionEntry[inflightCount];
+        for (int i = 0; i < inflightCount; ++i) {
+            inflight[i] = enqueue();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        system.terminate();
+    }
+
+    @Benchmark
+    public Optional<TransmittedConnectionEntry> completeRandom() {
+        final int slot = ThreadLocalRandom.current().nextInt(inflightCount);
+        final TransmittedConnectionEntry entry = inflight[slot];
+        final TransactionPurgeRequest request = (TransactionPurgeRequest) entry.getRequest();
+
+        final Optional<TransmittedConnectionEntry> ret = queue.complete(new SuccessEnvelope(
+            new TransactionPurgeResponse(request.getTarget(), request.getSequence()), entry.getSessionId(),
+            entry.getTxSequence(), 0), ++now);
+
+        inflight[slot] = enqueue();
+        return ret;
+    }
+
+    private TransmittedConnectionEntry enqueue() {
+        final TransactionPurgeRequest request = new TransactionPurgeRequest(
+            new TransactionIdentifier(HISTORY, nextTransaction++), 0, system.deadLetters());
+        queue.enqueueOrForward(new ConnectionEntry(request, response -> { }, now), now);
+        return queue.getInflight().peekLast();
+    }
+}
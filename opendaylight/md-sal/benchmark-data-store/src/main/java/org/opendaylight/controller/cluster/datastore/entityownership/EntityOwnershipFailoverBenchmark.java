@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.entityownership;
+
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.CANDIDATE_NODE_ID;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_ID_QNAME;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_OWNERS_PATH;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_OWNER_NODE_ID;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_OWNER_QNAME;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_QNAME;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_TYPE_QNAME;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.candidateMapEntry;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.entityOwnersWithEntityTypeEntry;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.entityPath;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.dispatch.Dispatchers;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendType;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.MemberName;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
+import org.opendaylight.controller.cluster.datastore.DatastoreContext;
+import org.opendaylight.controller.cluster.datastore.entityownership.messages.RegisterListenerLocal;
+import org.opendaylight.controller.cluster.datastore.entityownership.selectionstrategy.EntityOwnerSelectionStrategyConfig;
+import org.opendaylight.controller.cluster.datastore.identifiers.ShardIdentifier;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedModifications;
+import org.opendaylight.controller.cluster.datastore.messages.PeerDown;
+import org.opendaylight.controller.cluster.datastore.messages.PeerUp;
+import org.opendaylight.controller.cluster.datastore.modification.Modification;
+import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
+import org.opendaylight.controller.cluster.raft.client.messages.FindLeader;
+import org.opendaylight.controller.cluster.raft.client.messages.FindLeaderReply;
+import org.opendaylight.mdsal.eos.dom.api.DOMEntityOwnershipChange;
+import org.opendaylight.mdsal.eos.dom.api.DOMEntityOwnershipListener;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.controller.md.sal.clustering.entity.owners.rev150804.entity.owners.EntityType;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableOrderedMapNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import scala.concurrent.Await;
+import scala.concurrent.duration.Duration;
+
+/**
+ * Benchmark measuring the time an {@link EntityOwnershipShard} leader takes to move the ownership of all entities
+ * owned by a member which went down to the remaining candidate. Each operation delivers a {@link PeerDown} and waits
+ * until a local listener has been notified of all ownership changes, which covers owner reselection, the commit of
+ * the new owners and listener notification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+public class EntityOwnershipFailoverBenchmark {
+    private static final File PERSISTENCE_DIR = new File("target/eos-benchmark");
+    private static final Timeout TIMEOUT = new Timeout(Duration.create(60, TimeUnit.SECONDS));
+    private static final String ENTITY_TYPE = "benchmark";
+    private static final QName BENCHMARK_QNAME = QName.create("urn:benchmark", "2017-01-01", "entity");
+    private static final MemberName LOCAL_MEMBER = MemberName.forName("member-1");
+    private static final MemberName REMOTE_MEMBER = MemberName.forName("member-2");
+    private static final String REMOTE_PEER_ID = ShardIdentifier.create("entity-ownership", REMOTE_MEMBER,
+        "operational").toString();
+
+    @Param({ "1000", "10000", "50000" })
+    public int entities;
+
+    private final CountingListener listener = new CountingListener();
+    private ActorSystem system;
+    private ActorRef shard;
+    private LocalHistoryIdentifier historyId;
+    private long txCounter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        FileUtils.deleteQuietly(PERSISTENCE_DIR);
+
+        final Config config = ConfigFactory.parseString(
+              "akka.log-dead-letters = off\n"
+            + "akka.persistence.journal.plugin = \"akka.persistence.journal.leveldb\"\n"
+            + "akka.persistence.journal.leveldb.dir = \"" + new File(PERSISTENCE_DIR, "journal") + "\"\n"
+            + "akka.persistence.journal.leveldb.native = off\n"
+            + "akka.persistence.snapshot-store.plugin = \"akka.persistence.snapshot-store.local\"\n"
+            + "akka.persistence.snapshot-store.local.dir = \"" + new File(PERSISTENCE_DIR, "snapshots") + "\"\n")
+                .withFallback(ConfigFactory.load());
+        system = ActorSystem.create("eos-benchmark", config);
+
+        final ShardIdentifier shardId = ShardIdentifier.create("entity-ownership", LOCAL_MEMBER, "operational");
+        final SchemaContext schemaContext = createSchemaContext();
+        shard = system.actorOf(EntityOwnershipShard.newBuilder().id(shardId).peerAddresses(Collections.emptyMap())
+            .datastoreContext(DatastoreContext.newBuilder().persistent(false).shardHeartbeatIntervalInMillis(100)
+                .build())
+            .schemaContextProvider(() -> schemaContext).localMemberName(LOCAL_MEMBER)
+            .ownerSelectionStrategyConfig(EntityOwnerSelectionStrategyConfig.newBuilder().build())
+            .props().withDispatcher(Dispatchers.DefaultDispatcherId()), shardId.toString());
+        waitUntilLeader();
+
+        historyId = new LocalHistoryIdentifier(ClientIdentifier.create(FrontendIdentifier.create(LOCAL_MEMBER,
+            FrontendType.forName("eos-benchmark")), 0), 0);
+
+        // Populate the entities with the remote member as the owner and the local member as the other candidate
+        final CollectionNodeBuilder<MapEntryNode, ?> entityMap = ImmutableNodes.mapNodeBuilder(ENTITY_QNAME);
+        for (int i = 0; i < entities; ++i) {
+            entityMap.withChild(ImmutableNodes.mapEntryBuilder(ENTITY_QNAME, ENTITY_ID_QNAME, entityId(i))
+                .withChild(ImmutableNodes.leafNode(ENTITY_OWNER_QNAME, REMOTE_MEMBER.getName()))
+                .withChild(ImmutableOrderedMapNodeBuilder.create().withNodeIdentifier(CANDIDATE_NODE_ID)
+                    .withChild(candidateMapEntry(REMOTE_MEMBER.getName()))
+                    .withChild(candidateMapEntry(LOCAL_MEMBER.getName())).build())
+                .build());
+        }
+        commit(Collections.singletonList(new WriteModification(ENTITY_OWNERS_PATH, entityOwnersWithEntityTypeEntry(
+            ImmutableNodes.mapEntryBuilder(EntityType.QNAME, ENTITY_TYPE_QNAME, ENTITY_TYPE)
+                .withChild(entityMap.build()).build()))));
+
+        // The listener is notified of the existing owner of each entity once registered
+        listener.initial = new CountDownLatch(entities);
+        Await.result(Patterns.ask(shard, new RegisterListenerLocal(listener, ENTITY_TYPE), TIMEOUT), Duration.Inf());
+        if (!listener.initial.await(TIMEOUT.duration().toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Listener was not notified of the owners of all entities");
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void restoreRemoteOwner() throws Exception {
+        shard.tell(new PeerUp(REMOTE_MEMBER, REMOTE_PEER_ID), ActorRef.noSender());
+
+        if (listener.gained != null) {
+            // Move the entities back to the remote member
+            listener.lost = new CountDownLatch(entities);
+
+            final List<Modification> modifications = new ArrayList<>(entities);
+            for (int i = 0; i < entities; ++i) {
+                modifications.add(new WriteModification(entityPath(ENTITY_TYPE, entityId(i)).node(ENTITY_OWNER_QNAME),
+                    ImmutableNodes.leafNode(ENTITY_OWNER_NODE_ID, REMOTE_MEMBER.getName())));
+            }
+            commit(modifications);
+            listener.lost.await(TIMEOUT.duration().toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        listener.gained = new CountDownLatch(entities);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Await.result(system.terminate(), Duration.Inf());
+        FileUtils.deleteQuietly(PERSISTENCE_DIR);
+    }
+
+    @Benchmark
+    public boolean failover() throws InterruptedException {
+        shard.tell(new PeerDown(REMOTE_MEMBER, REMOTE_PEER_ID), ActorRef.noSender());
+        return listener.gained.await(TIMEOUT.duration().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void commit(final List<Modification> modifications) throws Exception {
+        final BatchedModifications batch = new BatchedModifications(new TransactionIdentifier(historyId,
+            ++txCounter), DataStoreVersions.CURRENT_VERSION);
+        batch.addModifications(modifications);
+        batch.setDoCommitOnReady(true);
+        batch.setReady(true);
+        batch.setTotalMessagesSent(1);
+        Await.result(Patterns.ask(shard, batch, TIMEOUT), Duration.Inf());
+    }
+
+    private void waitUntilLeader() throws Exception {
+        for (int i = 0; i < 100; ++i) {
+            final FindLeaderReply reply = (FindLeaderReply) Await.result(Patterns.ask(shard, FindLeader.INSTANCE,
+                TIMEOUT), Duration.Inf());
+            if (reply.getLeaderActor().isPresent()) {
+                return;
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+
+        throw new IllegalStateException("Shard did not become leader");
+    }
+
+    private static YangInstanceIdentifier entityId(final int id) {
+        return YangInstanceIdentifier.of(QName.create(BENCHMARK_QNAME, "entity-" + id));
+    }
+
+    private static SchemaContext createSchemaContext() {
+        try {
+            return YangParserTestUtils.parseYangStreams(Collections.singletonList(
+                EntityOwnershipFailoverBenchmark.class.getResourceAsStream("/META-INF/yang/entity-owners.yang")));
+        } catch (ReactorException e) {
+            throw new RuntimeException("Unable to build entity-owners schema context", e);
+        }
+    }
+
+    private static final class CountingListener implements DOMEntityOwnershipListener {
+        volatile CountDownLatch initial;
+        volatile CountDownLatch gained;
+        volatile CountDownLatch lost;
+
+        @Override
+        public void ownershipChanged(final DOMEntityOwnershipChange ownershipChange) {
+            if (ownershipChange.getState().isOwner()) {
+                gained.countDown();
+            } else if (ownershipChange.getState().wasOwner()) {
+                lost.countDown();
+            } else {
+                initial.countDown();
+            }
+        }
+    }
+}
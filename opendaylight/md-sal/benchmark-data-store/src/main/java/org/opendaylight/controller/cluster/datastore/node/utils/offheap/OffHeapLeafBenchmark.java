@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.offheap;
+
+import com.google.common.base.Strings;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.md.sal.dom.store.benchmark.BenchmarkModel;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Soak benchmark for a large operational data tree with and without an {@link OffHeapLeafArena}. The tree is
+ * populated with a number of list entries carrying a large string leaf, then entries are continuously rewritten.
+ * The retained heap, the live off-heap memory and the garbage collection time accumulated since the start of the
+ * trial are reported as secondary results at the end of each iteration. Run with {@code -prof gc} to also get
+ * allocation rates and GC counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = { "-Xmx2g", "-XX:MaxDirectMemorySize=4g" })
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+public class OffHeapLeafBenchmark {
+    private static final QName OUTER_CHOICE_QNAME = QName.create(BenchmarkModel.TEST_QNAME, "outer-choice");
+    private static final QName ONE_QNAME = QName.create(BenchmarkModel.TEST_QNAME, "one");
+
+    @Param({ "false", "true" })
+    public boolean offHeap;
+
+    @Param({ "100000" })
+    public int entries;
+
+    @Param({ "512" })
+    public int valueSize;
+
+    private DataTree dataTree;
+    private OffHeapLeafArena arena;
+    private String value;
+    private long gcTimeAtStart;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class MemoryCounters {
+        public long retainedHeapMiB;
+        public long offHeapMiB;
+        public long gcTimeMillis;
+
+        @TearDown(Level.Iteration)
+        public void sample(final OffHeapLeafBenchmark benchmark) {
+            System.gc();
+            final Runtime runtime = Runtime.getRuntime();
+            retainedHeapMiB = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+            offHeapMiB = benchmark.arena == null ? 0 : benchmark.arena.getLiveBytes() >> 20;
+            gcTimeMillis = gcTime() - benchmark.gcTimeAtStart;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws DataValidationFailedException {
+        dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(BenchmarkModel.createTestContext());
+        arena = offHeap ? new OffHeapLeafArena() : null;
+        value = Strings.repeat("x", valueSize);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(BenchmarkModel.TEST_PATH, ImmutableNodes.containerNode(BenchmarkModel.TEST_QNAME));
+        mod.write(BenchmarkModel.OUTER_LIST_PATH, ImmutableNodes.mapNodeBuilder(BenchmarkModel.OUTER_LIST_QNAME)
+            .build());
+        for (int i = 0; i < entries; ++i) {
+            mod.write(entryPath(i), offload(entry(i)));
+        }
+        commit(mod);
+
+        gcTimeAtStart = gcTime();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataTree = null;
+        arena = null;
+    }
+
+    @Benchmark
+    public void rewriteEntry(final MemoryCounters counters) throws DataValidationFailedException {
+        final int id = ThreadLocalRandom.current().nextInt(entries);
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(entryPath(id), offload(entry(id)));
+        commit(mod);
+    }
+
+    @Benchmark
+    public Object readEntry(final MemoryCounters counters) {
+        final int id = ThreadLocalRandom.current().nextInt(entries);
+        return dataTree.takeSnapshot().readNode(entryPath(id).node(OUTER_CHOICE_QNAME).node(ONE_QNAME)).get()
+                .getValue();
+    }
+
+    private NormalizedNode<?, ?> offload(final NormalizedNode<?, ?> node) {
+        return arena == null ? node : arena.offload(node);
+    }
+
+    private MapEntryNode entry(final int id) {
+        return ImmutableNodes.mapEntryBuilder(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, id)
+                .withChild(Builders.choiceBuilder().withNodeIdentifier(new NodeIdentifier(OUTER_CHOICE_QNAME))
+                    .withChild(ImmutableNodes.leafNode(ONE_QNAME, value)).build())
+                .build();
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        dataTree.commit(candidate);
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return YangInstanceIdentifier.builder(BenchmarkModel.OUTER_LIST_PATH)
+                .nodeWithKey(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, id).build();
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark comparing encoding and decoding of {@link NormalizedNodeStreamVersion} streams. The data shape mimics
+ * dsbenchmark: a container holding an outer list, each entry of which holds an inner list of string leaves.
+ * The {@code encodeOnChannel} benchmark encodes the data repeatedly using a dictionary shared across streams, as done
+ * for messages sent to a single transaction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class NormalizedNodeStreamBenchmark {
+    private static final String NAMESPACE = "urn:opendaylight:params:xml:ns:yang:dsbenchmark";
+    private static final String REVISION = "2015-01-05";
+    private static final QName TEST_EXEC = QName.create(NAMESPACE, REVISION, "test-exec");
+    private static final QName OUTER_LIST = QName.create(NAMESPACE, REVISION, "outer-list");
+    private static final QName INNER_LIST = QName.create(NAMESPACE, REVISION, "inner-list");
+    private static final QName ID = QName.create(NAMESPACE, REVISION, "id");
+    private static final QName NAME = QName.create(NAMESPACE, REVISION, "name");
+    private static final QName VALUE = QName.create(NAMESPACE, REVISION, "value");
+
+    @Param({ "1000", "10000" })
+    public int outerListSize;
+
+    @Param({ "1", "10" })
+    public int innerListSize;
+
+    @Param({ "LITHIUM", "NITROGEN" })
+    public NormalizedNodeStreamVersion version;
+
+    private NormalizedNode<?, ?> data;
+    private byte[] encoded;
+    private NormalizedNodeOutputDictionary dictionary;
+    private int channelStreamSize;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class StreamCounters {
+        public long streamBytes;
+        public long channelStreamBytes;
+
+        @TearDown(Level.Iteration)
+        public void sample(final NormalizedNodeStreamBenchmark benchmark) {
+            streamBytes = benchmark.encoded.length;
+            channelStreamBytes = benchmark.channelStreamSize;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        final CollectionNodeBuilder<MapEntryNode, ?> outer = Builders.mapBuilder()
+                .withNodeIdentifier(new NodeIdentifier(OUTER_LIST));
+        for (int i = 0; i < outerListSize; ++i) {
+            final CollectionNodeBuilder<MapEntryNode, ?> inner = Builders.mapBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(INNER_LIST));
+            for (int j = 0; j < innerListSize; ++j) {
+                inner.withChild(ImmutableNodes.mapEntryBuilder(INNER_LIST, NAME, j)
+                    .withChild(ImmutableNodes.leafNode(VALUE, "Item-" + i + "-" + j)).build());
+            }
+
+            outer.withChild(ImmutableNodes.mapEntryBuilder(OUTER_LIST, ID, i).withChild(inner.build()).build());
+        }
+
+        data = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TEST_EXEC))
+                .withChild(outer.build()).build();
+        encoded = encode(null);
+        dictionary = new NormalizedNodeOutputDictionary();
+        encodeOnChannel(null);
+        channelStreamSize = encodeOnChannel(null).length;
+    }
+
+    @Benchmark
+    public byte[] encode(final StreamCounters counters) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(bos), version).writeNormalizedNode(data);
+        return bos.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeOnChannel(final StreamCounters counters) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(bos), dictionary).writeNormalizedNode(data);
+        return bos.toByteArray();
+    }
+
+    @Benchmark
+    public NormalizedNode<?, ?> decode(final StreamCounters counters) throws IOException {
+        return NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(encoded)).readNormalizedNode();
+    }
+}
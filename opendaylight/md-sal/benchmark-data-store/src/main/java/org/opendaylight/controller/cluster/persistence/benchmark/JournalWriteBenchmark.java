@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence.benchmark;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.pattern.Patterns;
+import akka.persistence.UntypedPersistentActor;
+import akka.util.Timeout;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import scala.concurrent.Await;
+import scala.concurrent.duration.Duration;
+
+/**
+ * Benchmark comparing the write throughput of the LevelDB journal and the segmented, memory-mapped journal. Each
+ * operation persists a batch of payloads through a persistent actor and waits for all of them to be acknowledged,
+ * which mirrors how RaftActor persists replicated log entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class JournalWriteBenchmark {
+    private static final File JOURNAL_DIR = new File("target/journal-benchmark");
+    private static final Timeout TIMEOUT = new Timeout(Duration.create(30, TimeUnit.SECONDS));
+
+    @Param({ "akka.persistence.journal.leveldb", "akka.persistence.journal.segmented-file" })
+    public String journalPlugin;
+
+    @Param({ "1", "100" })
+    public int batchSize;
+
+    @Param({ "256", "16384" })
+    public int payloadSize;
+
+    private ActorSystem system;
+    private ActorRef writer;
+    private byte[][] batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FileUtils.deleteQuietly(JOURNAL_DIR);
+
+        final Config config = ConfigFactory.parseString(
+              "akka.log-dead-letters = off\n"
+            + "akka.persistence.journal.leveldb.dir = \"" + new File(JOURNAL_DIR, "leveldb") + "\"\n"
+            + "akka.persistence.journal.leveldb.native = off\n"
+            + "akka.persistence.journal.segmented-file {\n"
+            + "  class = \"org.opendaylight.controller.cluster.persistence.SegmentedFileJournal\"\n"
+            + "  root-directory = \"" + new File(JOURNAL_DIR, "segmented") + "\"\n"
+            + "  max-segment-size = 16MiB\n"
+            + "  migrate-from = \"\"\n"
+            + "}\n").withFallback(ConfigFactory.load());
+
+        system = ActorSystem.create("journal-benchmark", config);
+        writer = system.actorOf(Props.create(WriterActor.class, journalPlugin));
+
+        batch = new byte[batchSize][];
+        for (int i = 0; i < batchSize; ++i) {
+            batch[i] = new byte[payloadSize];
+            ThreadLocalRandom.current().nextBytes(batch[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Await.result(system.terminate(), Duration.Inf());
+        FileUtils.deleteQuietly(JOURNAL_DIR);
+    }
+
+    @Benchmark
+    public Object persistBatch() throws Exception {
+        return Await.result(Patterns.ask(writer, batch, TIMEOUT), Duration.Inf());
+    }
+
+    static final class WriterActor extends UntypedPersistentActor {
+        private final String journalPluginId;
+
+        WriterActor(final String journalPluginId) {
+            this.journalPluginId = journalPluginId;
+        }
+
+        @Override
+        public String persistenceId() {
+            return "benchmark-" + journalPluginId;
+        }
+
+        @Override
+        public String journalPluginId() {
+            return journalPluginId;
+        }
+
+        @Override
+        public void onReceiveRecover(final Object message) {
+            // No-op
+        }
+
+        @Override
+        public void onReceiveCommand(final Object message) {
+            if (message instanceof byte[][]) {
+                final byte[][] payloads = (byte[][]) message;
+                final ActorRef replyTo = getSender();
+                final int[] remaining = { payloads.length };
+                persistAll(Arrays.asList(payloads), payload -> {
+                    if (--remaining[0] == 0) {
+                        replyTo.tell(Boolean.TRUE, getSelf());
+                    }
+                });
+            } else {
+                unhandled(message);
+            }
+        }
+    }
+}
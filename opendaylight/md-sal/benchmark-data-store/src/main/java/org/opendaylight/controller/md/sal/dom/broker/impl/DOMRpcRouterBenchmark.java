@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link DOMRpcRouter} with a large number of routed RPC contexts, such as when each mounted device
+ * registers its own implementation. {@link #registrationStorm(StormState)} measures how long it takes to register
+ * an implementation for each of the contexts one by one, {@link #invokeRoutedRpc(InvokeState)} measures the latency
+ * of invoking the RPC on a random context while all of them are registered. The context identifiers are the instances
+ * used for registration, which is what callers reusing their identifiers achieve, whereas
+ * {@link #invokeRoutedRpcWithEqualContext(InvokeState)} uses equal, but distinct instances, which need to be hashed
+ * and compared on each invocation. {@link #invokeHotRoutedRpc(InvokeState)} targets a few contexts only, as is
+ * typical for high-rate RPCs such as flow programming towards a handful of devices.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+public class DOMRpcRouterBenchmark {
+    private static final QName ROUTED_RPC_QNAME = QName.create(
+        "urn:opendaylight:params:xml:ns:yang:controller:md:sal:test:rpc:routing", "2014-07-01", "routed-simple-route");
+    private static final QName ROUTE_QNAME = QName.create(ROUTED_RPC_QNAME, "route");
+    private static final NodeIdentifier INPUT_ID = new NodeIdentifier(QName.create(ROUTED_RPC_QNAME, "input"));
+    private static final SchemaPath ROUTED_RPC_TYPE = SchemaPath.create(true, ROUTED_RPC_QNAME);
+    private static final CheckedFuture<DOMRpcResult, DOMRpcException> RESULT =
+            Futures.immediateCheckedFuture(new DefaultDOMRpcResult());
+    private static final DOMRpcImplementation IMPLEMENTATION = (rpc, input) -> RESULT;
+    private static final int HOT_CONTEXTS = 16;
+
+    @State(Scope.Benchmark)
+    public static class StormState {
+        @Param({ "1000", "10000", "50000" })
+        public int contexts;
+
+        DOMRpcRouter router;
+        List<DOMRpcIdentifier> identifiers;
+
+        @Setup(Level.Trial)
+        public void setUpIdentifiers() {
+            identifiers = createIdentifiers(contexts);
+        }
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            router = createRouter();
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            router.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class InvokeState {
+        @Param({ "1000", "10000", "50000" })
+        public int contexts;
+
+        DOMRpcRouter router;
+        List<ContainerNode> inputs;
+        List<ContainerNode> equalInputs;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            router = createRouter();
+            inputs = new ArrayList<>(contexts);
+            equalInputs = new ArrayList<>(contexts);
+            for (DOMRpcIdentifier id : createIdentifiers(contexts)) {
+                router.registerRpcImplementation(IMPLEMENTATION, id);
+                inputs.add(createInput(id.getContextReference()));
+                equalInputs.add(createInput(YangInstanceIdentifier.create(
+                    id.getContextReference().getPathArguments())));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            router.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<DOMRpcImplementationRegistration<?>> registrationStorm(final StormState state) {
+        final List<DOMRpcImplementationRegistration<?>> ret = new ArrayList<>(state.contexts);
+        for (DOMRpcIdentifier id : state.identifiers) {
+            ret.add(state.router.registerRpcImplementation(IMPLEMENTATION, id));
+        }
+        return ret;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public CheckedFuture<DOMRpcResult, DOMRpcException> invokeRoutedRpc(final InvokeState state) {
+        return state.router.invokeRpc(ROUTED_RPC_TYPE,
+            state.inputs.get(ThreadLocalRandom.current().nextInt(state.contexts)));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public CheckedFuture<DOMRpcResult, DOMRpcException> invokeHotRoutedRpc(final InvokeState state) {
+        return state.router.invokeRpc(ROUTED_RPC_TYPE,
+            state.inputs.get(ThreadLocalRandom.current().nextInt(Math.min(HOT_CONTEXTS, state.contexts))));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public CheckedFuture<DOMRpcResult, DOMRpcException> invokeRoutedRpcWithEqualContext(final InvokeState state) {
+        return state.router.invokeRpc(ROUTED_RPC_TYPE,
+            state.equalInputs.get(ThreadLocalRandom.current().nextInt(state.contexts)));
+    }
+
+    static ContainerNode createInput(final YangInstanceIdentifier context) {
+        return ImmutableContainerNodeBuilder.create().withNodeIdentifier(INPUT_ID)
+                .withChild(ImmutableNodes.leafNode(ROUTE_QNAME, context)).build();
+    }
+
+    static DOMRpcRouter createRouter() {
+        final DOMRpcRouter router = new DOMRpcRouter();
+        router.onGlobalContextUpdated(createSchemaContext());
+        return router;
+    }
+
+    static List<DOMRpcIdentifier> createIdentifiers(final int count) {
+        final List<DOMRpcIdentifier> ret = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            ret.add(DOMRpcIdentifier.create(ROUTED_RPC_TYPE,
+                YangInstanceIdentifier.of(QName.create(ROUTED_RPC_QNAME, "device-" + i))));
+        }
+        return ret;
+    }
+
+    private static SchemaContext createSchemaContext() {
+        try {
+            return YangParserTestUtils.parseYangStreams(ImmutableList.of(
+                DOMRpcRouterBenchmark.class.getResourceAsStream("/META-INF/yang/yang-ext.yang"),
+                DOMRpcRouterBenchmark.class.getResourceAsStream("/META-INF/yang/opendaylight-test-routed-rpc.yang")));
+        } catch (ReactorException e) {
+            throw new RuntimeException("Unable to build routed RPC schema context", e);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.client;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Adaptive limit on the number of concurrent operations towards a single backend. The limit follows an AIMD scheme
+ * driven by a latency gradient: it grows additively by roughly one each time a full limit's worth of operations
+ * completes within {@link #LATENCY_TOLERANCE} times the lowest observed latency, and is reduced multiplicatively when
+ * the smoothed latency exceeds that bound or an operation is dropped. Decreases are applied at most once per window
+ * of completed operations, so a single burst of slow responses does not collapse the limit.
+ *
+ * <p>
+ * The limit can be used either to admit operations through {@link #tryAdmit()} and {@link #release(long, long)},
+ * which never blocks, or by callers which track outstanding operations themselves through {@link #getLimit()},
+ * {@link #onSample(long)} and {@link #onDrop()}.
+ *
+ * <p>
+ * The number of operations which were not admitted is maintained for monitoring purposes.
+ */
+@Beta
+@ThreadSafe
+public final class AdaptiveConcurrencyLimit {
+    /**
+     * Default initial limit.
+     */
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+    /**
+     * Ratio of smoothed latency to minimum latency above which the limit is decreased.
+     */
+    static final double LATENCY_TOLERANCE = 2.0;
+
+    // Multiplicative decrease factors applied on latency build-up and on dropped operations
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double DROP_RATIO = 0.5;
+    // Weight of a new sample in the exponentially-weighted latency average
+    private static final double SMOOTHING = 0.1;
+    // Number of samples after which the minimum latency is re-seeded, so the baseline can follow backend changes
+    private static final long BASELINE_RESET_SAMPLES = 1000;
+
+    private final Lock lock = new ReentrantLock();
+    private final int minLimit;
+    private final int maxLimit;
+
+    @GuardedBy("lock")
+    private double limit;
+    @GuardedBy("lock")
+    private int inFlight;
+    @GuardedBy("lock")
+    private long minLatencyNanos = Long.MAX_VALUE;
+    @GuardedBy("lock")
+    private double smoothedLatencyNanos;
+    @GuardedBy("lock")
+    private long samples;
+    @GuardedBy("lock")
+    private long nextDecreaseSample;
+    @GuardedBy("lock")
+    private long rejectedCount;
+
+    public AdaptiveConcurrencyLimit(final int initialLimit, final int minLimit, final int maxLimit) {
+        Preconditions.checkArgument(minLimit > 0, "Minimum limit has to be positive, not %s", minLimit);
+        Preconditions.checkArgument(maxLimit >= minLimit, "Maximum limit %s is lower than minimum limit %s", maxLimit,
+            minLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public AdaptiveConcurrencyLimit(final int maxLimit) {
+        this(DEFAULT_INITIAL_LIMIT, 1, maxLimit);
+    }
+
+    /**
+     * Admit an operation if the number of admitted operations is below the limit. This method does not block:
+     * if the limit has been reached, the rejection is recorded and the operation is not admitted.
+     *
+     * @return Time at which the operation was admitted, as reported by {@link System#nanoTime()}, or empty if it was
+     *         not admitted
+     */
+    public OptionalLong tryAdmit() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                rejectedCount++;
+                return OptionalLong.empty();
+            }
+
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+
+        return OptionalLong.of(System.nanoTime());
+    }
+
+    /**
+     * Release an operation admitted through {@link #tryAdmit()}.
+     *
+     * @param admittedNanos Time returned by {@link #tryAdmit()}
+     * @param nowNanos Current time, as reported by {@link System#nanoTime()}
+     */
+    public void release(final long admittedNanos, final long nowNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            lockedSample(nowNanos - admittedNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release an operation admitted through {@link #tryAdmit()}, which failed or was aborted.
+     */
+    public void releaseDropped() {
+        lock.lock();
+        try {
+            inFlight--;
+            lockedDrop();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release an operation admitted through {@link #tryAdmit()}, which has not been started, for example because
+     * admission to another backend has been refused. This does not affect the limit.
+     */
+    public void cancel() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record completion of an operation which is not tracked by this object.
+     *
+     * @param latencyNanos Time the operation took, in nanoseconds
+     */
+    public void onSample(final long latencyNanos) {
+        lock.lock();
+        try {
+            lockedSample(latencyNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Record a timed out or otherwise dropped operation which is not tracked by this object.
+     */
+    public void onDrop() {
+        lock.lock();
+        try {
+            lockedDrop();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejectedCount() {
+        lock.lock();
+        try {
+            return rejectedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getSmoothedLatency(final TimeUnit unit) {
+        lock.lock();
+        try {
+            return unit.convert((long) smoothedLatencyNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return MoreObjects.toStringHelper(this).add("limit", (int) limit).add("inFlight", inFlight)
+                    .add("minLatency", minLatencyNanos).add("smoothedLatency", (long) smoothedLatencyNanos)
+                    .add("rejected", rejectedCount).toString();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @GuardedBy("lock")
+    private void lockedSample(final long latencyNanos) {
+        samples++;
+        if (smoothedLatencyNanos == 0) {
+            smoothedLatencyNanos = latencyNanos;
+        } else {
+            smoothedLatencyNanos += SMOOTHING * (latencyNanos - smoothedLatencyNanos);
+        }
+
+        if (samples % BASELINE_RESET_SAMPLES == 0) {
+            minLatencyNanos = Math.min(latencyNanos, (long) smoothedLatencyNanos);
+        } else if (latencyNanos < minLatencyNanos) {
+            minLatencyNanos = latencyNanos;
+        }
+
+        if (smoothedLatencyNanos > LATENCY_TOLERANCE * Math.max(minLatencyNanos, 1)) {
+            decrease(BACKOFF_RATIO);
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    @GuardedBy("lock")
+    private void lockedDrop() {
+        samples++;
+        decrease(DROP_RATIO);
+    }
+
+    @GuardedBy("lock")
+    private void decrease(final double ratio) {
+        if (samples >= nextDecreaseSample) {
+            limit = Math.max(minLimit, limit * ratio);
+            nextDecreaseSample = samples + (long) Math.ceil(limit);
+        }
+    }
+}
@@ -11,7 +11,9 @@ import akka.actor.ActorRef;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Preconditions;
+import java.util.Optional;
 import org.opendaylight.controller.cluster.access.ABIVersion;
+import org.opendaylight.controller.cluster.access.concepts.Request;
 
 /**
  * Basic information about how to talk to the backend. ClientActorBehavior uses this information to dispatch requests
@@ -29,13 +31,24 @@ public class BackendInfo {
     private final ActorRef actor;
     private final int maxMessages;
     private final long sessionId;
+    private final Optional<AdaptiveConcurrencyLimit> concurrencyLimit;
 
     protected BackendInfo(final ActorRef actor, final long sessionId, final ABIVersion version, final int maxMessages) {
+        this(actor, sessionId, version, maxMessages, Optional.empty());
+    }
+
+    /**
+     * Constructor attaching an adaptive concurrency limit, which can be shared across connections to the same backend,
+     * so that it does not have to be re-learned when a connection is re-established.
+     */
+    protected BackendInfo(final ActorRef actor, final long sessionId, final ABIVersion version, final int maxMessages,
+            final Optional<AdaptiveConcurrencyLimit> concurrencyLimit) {
         this.version = Preconditions.checkNotNull(version);
         this.actor = Preconditions.checkNotNull(actor);
         Preconditions.checkArgument(maxMessages > 0, "Maximum messages has to be positive, not %s", maxMessages);
         this.maxMessages = maxMessages;
         this.sessionId = sessionId;
+        this.concurrencyLimit = Preconditions.checkNotNull(concurrencyLimit);
     }
 
     public final ActorRef getActor() {
@@ -54,6 +67,29 @@ public class BackendInfo {
         return sessionId;
     }
 
+    /**
+     * Return the adaptive concurrency limit attached to this backend, if any. Connections only observe the limit:
+     * they feed it with the latency of the requests selected by {@link #isLatencySample(Request)}, but do not enforce
+     * it. The number of requests in flight towards this backend is always capped at {@link #getMaxMessages()} and
+     * requests deferred by that cap are not reported to the limit.
+     *
+     * @return Optional concurrency limit
+     */
+    public final Optional<AdaptiveConcurrencyLimit> getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * Determine whether the latency of a request should be reported to the concurrency limit. The default
+     * implementation reports all requests.
+     *
+     * @param request the request
+     * @return True if the latency of the request should be reported
+     */
+    protected boolean isLatencySample(final Request<?, ?> request) {
+        return true;
+    }
+
     @Override
     public final int hashCode() {
         return super.hashCode();
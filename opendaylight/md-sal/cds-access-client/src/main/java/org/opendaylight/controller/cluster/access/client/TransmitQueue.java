@@ -14,10 +14,13 @@ import com.google.common.base.Verify;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
+import java.util.Set;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.controller.cluster.access.concepts.Request;
 import org.opendaylight.controller.cluster.access.concepts.RequestEnvelope;
@@ -51,6 +54,12 @@ import org.slf4j.LoggerFactory;
  * scenario, hence we consciously ignore it to keep the design relatively simple.
  *
  * <p>
+ * Responses are matched to requests through an index keyed by request target, which is maintained alongside each
+ * of the queues, so that completing a request does not require a linear scan of the queues. As with a scan, only
+ * the oldest request of a target can be completed; responses with an unexpected sequence are ignored. Entries
+ * completed out of order are skipped once they reach the head of their queue, rather than being searched for.
+ *
+ * <p>
  * This class is not thread-safe, as it is expected to be guarded by {@link AbstractClientConnection}.
  *
  * @author Robert Varga
@@ -81,6 +90,16 @@ abstract class TransmitQueue {
         @Override
         void preComplete(ResponseEnvelope<?> envelope) {
         }
+
+        @Override
+        void onCompleted(final TransmittedConnectionEntry entry, final long now) {
+            // No backend to account against
+        }
+
+        @Override
+        void onDropped(final TransmittedConnectionEntry entry) {
+            // No backend to account against
+        }
     }
 
     static final class Transmitting extends TransmitQueue {
@@ -142,12 +161,155 @@ abstract class TransmitQueue {
                 currentSlicedEnvSequenceId = NOT_SLICING;
             }
         }
+
+        @Override
+        void onCompleted(final TransmittedConnectionEntry entry, final long now) {
+            // Entries transmitted by a previous connection do not reflect this backend's latency
+            if (entry.getSessionId() == backend.getSessionId()) {
+                sampledLimit(entry).ifPresent(limit -> limit.onSample(now - entry.getTxTicks()));
+            }
+        }
+
+        @Override
+        void onDropped(final TransmittedConnectionEntry entry) {
+            if (entry.getSessionId() == backend.getSessionId()) {
+                sampledLimit(entry).ifPresent(AdaptiveConcurrencyLimit::onDrop);
+            }
+        }
+
+        private Optional<AdaptiveConcurrencyLimit> sampledLimit(final ConnectionEntry entry) {
+            final Optional<AdaptiveConcurrencyLimit> limit = backend.getConcurrencyLimit();
+            return limit.isPresent() && backend.isLatencySample(entry.getRequest()) ? limit : Optional.empty();
+        }
+    }
+
+    /**
+     * A queue of entries, indexed by their request target. Entries completed from the middle of the queue are not
+     * removed from the backing deque, which would require a linear search, but are marked as removed and skipped
+     * once they reach either end of it.
+     *
+     * <p>
+     * The index holds the entries of each target in queue order, so the oldest entry of a target, which is the only
+     * one a response can legally complete, is found in constant time.
+     */
+    private static final class EntryQueue<T extends ConnectionEntry> {
+        private final Deque<T> queue = new ArrayDeque<>();
+        private final Map<Object, Deque<T>> index = new HashMap<>();
+        private final Set<T> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        int size() {
+            return queue.size() - removed.size();
+        }
+
+        boolean isEmpty() {
+            return size() == 0;
+        }
+
+        T first(final Object target) {
+            final Deque<T> entries = index.get(target);
+            return entries == null ? null : entries.peekFirst();
+        }
+
+        T peek() {
+            trimHead();
+            return queue.peek();
+        }
+
+        T poll() {
+            trimHead();
+            final T entry = queue.poll();
+            if (entry != null) {
+                unindex(entry);
+            }
+            return entry;
+        }
+
+        void addLast(final T entry) {
+            queue.addLast(entry);
+            index.computeIfAbsent(entry.getRequest().getTarget(), k -> new ArrayDeque<>(2)).addLast(entry);
+        }
+
+        void remove(final T entry) {
+            unindex(entry);
+
+            // Responses typically arrive in the order in which requests were sent, hence the entry is usually at
+            // the head of the queue
+            if (queue.peekFirst() == entry) {
+                queue.pollFirst();
+                trimHead();
+            } else if (queue.peekLast() == entry) {
+                queue.pollLast();
+                trimTail();
+            } else {
+                removed.add(entry);
+            }
+        }
+
+        void drainTo(final Collection<? super T> to) {
+            for (T entry : queue) {
+                if (!removed.contains(entry)) {
+                    to.add(entry);
+                }
+            }
+            clear();
+        }
+
+        void poison(final RequestException cause) {
+            for (T entry : queue) {
+                if (!removed.contains(entry)) {
+                    final Request<?, ?> request = entry.getRequest();
+                    LOG.trace("Poisoning request {}", request, cause);
+                    entry.complete(request.toRequestFailure(cause));
+                }
+            }
+            clear();
+        }
+
+        void clear() {
+            queue.clear();
+            index.clear();
+            removed.clear();
+        }
+
+        Deque<T> deque() {
+            return queue;
+        }
+
+        private void unindex(final T entry) {
+            final Object target = entry.getRequest().getTarget();
+            final Deque<T> entries = index.get(target);
+            if (entries == null) {
+                return;
+            }
+
+            // Entries are removed in queue order, hence this is usually the first entry
+            if (entries.peekFirst() == entry) {
+                entries.pollFirst();
+            } else {
+                entries.removeFirstOccurrence(entry);
+            }
+            if (entries.isEmpty()) {
+                index.remove(target);
+            }
+        }
+
+        private void trimHead() {
+            while (!removed.isEmpty() && removed.remove(queue.peekFirst())) {
+                queue.pollFirst();
+            }
+        }
+
+        private void trimTail() {
+            while (!removed.isEmpty() && removed.remove(queue.peekLast())) {
+                queue.pollLast();
+            }
+        }
     }
 
     private static final Logger LOG = LoggerFactory.getLogger(TransmitQueue.class);
 
-    private final Deque<TransmittedConnectionEntry> inflight = new ArrayDeque<>();
-    private final Deque<ConnectionEntry> pending = new ArrayDeque<>();
+    private final EntryQueue<TransmittedConnectionEntry> inflight = new EntryQueue<>();
+    private final EntryQueue<ConnectionEntry> pending = new EntryQueue<>();
     private final AveragingProgressTracker tracker;  // Cannot be just ProgressTracker as we are inheriting limits.
     private ReconnectForwarder successor;
 
@@ -188,10 +350,8 @@ abstract class TransmitQueue {
      */
     final Collection<ConnectionEntry> drain() {
         final Collection<ConnectionEntry> ret = new ArrayDeque<>(inflight.size() + pending.size());
-        ret.addAll(inflight);
-        ret.addAll(pending);
-        inflight.clear();
-        pending.clear();
+        inflight.drainTo(ret);
+        pending.drainTo(ret);
         return ret;
     }
 
@@ -220,6 +380,7 @@ abstract class TransmitQueue {
 
         final TransmittedConnectionEntry entry = maybeEntry.get();
         tracker.closeTask(now, entry.getEnqueuedTicks(), entry.getTxTicks(), envelope.getExecutionTimeNanos());
+        onCompleted(entry, now);
 
         // We have freed up a slot, try to transmit something
         tryTransmit(now);
@@ -256,7 +417,8 @@ abstract class TransmitQueue {
             return false;
         }
 
-        inflight.addLast(maybeTransmitted.get());
+        final TransmittedConnectionEntry transmitted = maybeTransmitted.get();
+        inflight.addLast(transmitted);
         return true;
     }
 
@@ -325,6 +487,16 @@ abstract class TransmitQueue {
 
     abstract void preComplete(ResponseEnvelope<?> envelope);
 
+    /**
+     * Account for a transmitted entry completing.
+     */
+    abstract void onCompleted(TransmittedConnectionEntry entry, long now);
+
+    /**
+     * Account for a transmitted entry being removed without a response, for example due to a timeout.
+     */
+    abstract void onDropped(TransmittedConnectionEntry entry);
+
     final boolean isEmpty() {
         return inflight.isEmpty() && pending.isEmpty();
     }
@@ -339,8 +511,8 @@ abstract class TransmitQueue {
     }
 
     final void poison(final RequestException cause) {
-        poisonQueue(inflight, cause);
-        poisonQueue(pending, cause);
+        inflight.poison(cause);
+        pending.poison(cause);
     }
 
     final void setForwarder(final ReconnectForwarder forwarder, final long now) {
@@ -374,21 +546,22 @@ abstract class TransmitQueue {
     final void remove(final long now) {
         final TransmittedConnectionEntry txe = inflight.poll();
         if (txe == null) {
-            final ConnectionEntry entry = pending.pop();
+            final ConnectionEntry entry = pending.poll();
             tracker.closeTask(now, entry.getEnqueuedTicks(), 0, 0);
         } else {
             tracker.closeTask(now, txe.getEnqueuedTicks(), txe.getTxTicks(), 0);
+            onDropped(txe);
         }
     }
 
     @VisibleForTesting
     Deque<TransmittedConnectionEntry> getInflight() {
-        return inflight;
+        return inflight.deque();
     }
 
     @VisibleForTesting
     Deque<ConnectionEntry> getPending() {
-        return pending;
+        return pending.deque();
     }
 
     /*
@@ -399,58 +572,42 @@ abstract class TransmitQueue {
      */
     @SuppressFBWarnings(value = "NP_OPTIONAL_RETURN_NULL",
             justification = "Returning null Optional is documented in the API contract.")
-    private static Optional<TransmittedConnectionEntry> findMatchingEntry(final Queue<? extends ConnectionEntry> queue,
-            final ResponseEnvelope<?> envelope) {
-        // Try to find the request in a queue. Responses may legally come back in a different order, hence we need
-        // to use an iterator
-        final Iterator<? extends ConnectionEntry> it = queue.iterator();
-        while (it.hasNext()) {
-            final ConnectionEntry e = it.next();
-            final Request<?, ?> request = e.getRequest();
-            final Response<?, ?> response = envelope.getMessage();
-
-            // First check for matching target, or move to next entry
-            if (!request.getTarget().equals(response.getTarget())) {
-                continue;
-            }
-
-            // Sanity-check logical sequence, ignore any out-of-order messages
-            if (request.getSequence() != response.getSequence()) {
-                LOG.debug("Expecting sequence {}, ignoring response {}", request.getSequence(), envelope);
-                return Optional.empty();
-            }
-
-            // Check if the entry has (ever) been transmitted
-            if (!(e instanceof TransmittedConnectionEntry)) {
-                return Optional.empty();
-            }
-
-            final TransmittedConnectionEntry te = (TransmittedConnectionEntry) e;
+    private static <T extends ConnectionEntry> Optional<TransmittedConnectionEntry> findMatchingEntry(
+            final EntryQueue<T> queue, final ResponseEnvelope<?> envelope) {
+        // Responses to different targets may legally come back in a different order, hence we look the request up
+        // by its target instead of scanning the queue
+        final Response<?, ?> response = envelope.getMessage();
+        final T e = queue.first(response.getTarget());
+        if (e == null) {
+            return null;
+        }
 
-            // Now check session match
-            if (envelope.getSessionId() != te.getSessionId()) {
-                LOG.debug("Expecting session {}, ignoring response {}", te.getSessionId(), envelope);
-                return Optional.empty();
-            }
-            if (envelope.getTxSequence() != te.getTxSequence()) {
-                LOG.warn("Expecting txSequence {}, ignoring response {}", te.getTxSequence(), envelope);
-                return Optional.empty();
-            }
+        // Sanity-check logical sequence, ignore any out-of-order messages
+        final Request<?, ?> request = e.getRequest();
+        if (request.getSequence() != response.getSequence()) {
+            LOG.debug("Expecting sequence {}, ignoring response {}", request.getSequence(), envelope);
+            return Optional.empty();
+        }
 
-            LOG.debug("Completing request {} with {}", request, envelope);
-            it.remove();
-            return Optional.of(te);
+        // Check if the entry has (ever) been transmitted
+        if (!(e instanceof TransmittedConnectionEntry)) {
+            return Optional.empty();
         }
 
-        return null;
-    }
+        final TransmittedConnectionEntry te = (TransmittedConnectionEntry) e;
 
-    private static void poisonQueue(final Queue<? extends ConnectionEntry> queue, final RequestException cause) {
-        for (ConnectionEntry e : queue) {
-            final Request<?, ?> request = e.getRequest();
-            LOG.trace("Poisoning request {}", request, cause);
-            e.complete(request.toRequestFailure(cause));
+        // Now check session match
+        if (envelope.getSessionId() != te.getSessionId()) {
+            LOG.debug("Expecting session {}, ignoring response {}", te.getSessionId(), envelope);
+            return Optional.empty();
         }
-        queue.clear();
+        if (envelope.getTxSequence() != te.getTxSequence()) {
+            LOG.warn("Expecting txSequence {}, ignoring response {}", te.getTxSequence(), envelope);
+            return Optional.empty();
+        }
+
+        LOG.debug("Completing request {} with {}", request, envelope);
+        queue.remove(e);
+        return Optional.of(te);
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class AdaptiveConcurrencyLimitTest {
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testAdditiveIncrease() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+        for (int i = 0; i < 100; ++i) {
+            limit.onSample(MILLISECOND);
+        }
+
+        final int grown = limit.getLimit();
+        assertTrue("Limit " + grown + " did not grow", grown > 10);
+        assertTrue("Limit " + grown + " grew too fast", grown < 30);
+    }
+
+    @Test
+    public void testMaximumLimit() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 5);
+        for (int i = 0; i < 1000; ++i) {
+            limit.onSample(MILLISECOND);
+        }
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    public void testLatencyBackoff() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100);
+        for (int i = 0; i < 50; ++i) {
+            limit.onSample(MILLISECOND);
+        }
+        final int before = limit.getLimit();
+
+        for (int i = 0; i < 50; ++i) {
+            limit.onSample(10 * MILLISECOND);
+        }
+        final int after = limit.getLimit();
+        assertTrue("Limit " + after + " not lower than " + before, after < before);
+        assertTrue(limit.getSmoothedLatency(TimeUnit.MILLISECONDS) > 2);
+    }
+
+    @Test
+    public void testDrop() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100);
+        limit.onDrop();
+        assertEquals(10, limit.getLimit());
+
+        // Subsequent drops within the same window are ignored
+        limit.onDrop();
+        assertEquals(10, limit.getLimit());
+
+        for (int i = 0; i < 10; ++i) {
+            limit.onDrop();
+        }
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    public void testMinimumLimit() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 2, 100);
+        for (int i = 0; i < 100; ++i) {
+            limit.onDrop();
+        }
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    public void testTryAdmit() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1);
+        final OptionalLong first = limit.tryAdmit();
+        assertTrue(first.isPresent());
+        assertEquals(0, limit.getRejectedCount());
+
+        assertFalse(limit.tryAdmit().isPresent());
+        assertEquals(1, limit.getInFlight());
+        assertEquals(1, limit.getRejectedCount());
+
+        limit.release(first.getAsLong(), System.nanoTime());
+        assertEquals(0, limit.getInFlight());
+        assertTrue(limit.tryAdmit().isPresent());
+        limit.releaseDropped();
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    public void testCancel() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100);
+        assertTrue(limit.tryAdmit().isPresent());
+        limit.cancel();
+        assertEquals(0, limit.getInFlight());
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    public void testRejectedCount() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1);
+        assertTrue(limit.tryAdmit().isPresent());
+        assertFalse(limit.tryAdmit().isPresent());
+        assertFalse(limit.tryAdmit().isPresent());
+        assertEquals(2, limit.getRejectedCount());
+
+        // Operations tracked by the caller are never counted as rejected
+        limit.onSample(MILLISECOND);
+        limit.onDrop();
+        assertEquals(2, limit.getRejectedCount());
+    }
+}
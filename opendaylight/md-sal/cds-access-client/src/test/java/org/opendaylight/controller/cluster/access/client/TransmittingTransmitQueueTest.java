@@ -101,6 +101,73 @@ public class TransmittingTransmitQueueTest extends AbstractTransmitQueueTest<Tra
         assertEquals(transmittedEntry2.getCallback(), callback2);
     }
 
+    @Test
+    public void testCompleteDuplicateRequests() throws Exception {
+        final Request<?, ?> request = new TransactionPurgeRequest(TRANSACTION_IDENTIFIER, 0L, probe.ref());
+        final Consumer<Response<?, ?>> callback1 = createConsumerMock();
+        final Consumer<Response<?, ?>> callback2 = createConsumerMock();
+        final long now = now();
+        queue.enqueueOrForward(new ConnectionEntry(request, callback1, now), now);
+        queue.enqueueOrForward(new ConnectionEntry(request, callback2, now), now);
+
+        // Both requests share target and sequence, they need to be completed in transmit order
+        final RequestSuccess<?, ?> success = new TransactionPurgeResponse(TRANSACTION_IDENTIFIER, 0L);
+        final Optional<TransmittedConnectionEntry> completed1 =
+                queue.complete(new SuccessEnvelope(success, 0L, 0L, 1L), now);
+        assertEquals(callback1, completed1.orElseThrow(AssertionError::new).getCallback());
+        final Optional<TransmittedConnectionEntry> completed2 =
+                queue.complete(new SuccessEnvelope(success, 0L, 1L, 1L), now);
+        assertEquals(callback2, completed2.orElseThrow(AssertionError::new).getCallback());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testCompleteOutOfOrder() {
+        final TransactionIdentifier[] ids = new TransactionIdentifier[4];
+        final Request<?, ?>[] reqs = new Request<?, ?>[4];
+        for (int i = 0; i < 4; ++i) {
+            ids[i] = new TransactionIdentifier(HISTORY, i);
+            reqs[i] = new TransactionPurgeRequest(ids[i], 0L, probe.ref());
+        }
+        final Consumer<Response<?, ?>> callback = createConsumerMock();
+        queue.enqueueOrForward(new ConnectionEntry(reqs[0], callback, 0), 0);
+        queue.enqueueOrForward(new ConnectionEntry(reqs[1], callback, 0), 0);
+        queue.enqueueOrForward(new ConnectionEntry(reqs[2], callback, 0), 0);
+
+        // Completing the second request frees up a slot, so the fourth one is transmitted immediately
+        assertTrue(queue.complete(new SuccessEnvelope(new TransactionPurgeResponse(ids[1], 0L), 0L, 1L, 0L), 0)
+            .isPresent());
+        queue.enqueueOrForward(new ConnectionEntry(reqs[3], callback, 0), 0);
+        assertEqualRequests(queue.getPending());
+
+        // Completing the first request also drops the second one from the head of the queue
+        assertTrue(queue.complete(new SuccessEnvelope(new TransactionPurgeResponse(ids[0], 0L), 0L, 0L, 0L), 0)
+            .isPresent());
+        assertEqualRequests(queue.getInflight(), reqs[2], reqs[3]);
+        assertEquals(reqs[2], queue.peek().getRequest());
+    }
+
+    @Test
+    public void testCompleteUnexpectedSequence() {
+        final Request<?, ?> req0 = new TransactionPurgeRequest(TRANSACTION_IDENTIFIER, 0L, probe.ref());
+        final Request<?, ?> req1 = new TransactionPurgeRequest(TRANSACTION_IDENTIFIER, 1L, probe.ref());
+        final Consumer<Response<?, ?>> callback = createConsumerMock();
+        queue.enqueueOrForward(new ConnectionEntry(req0, callback, 0), 0);
+        queue.enqueueOrForward(new ConnectionEntry(req1, callback, 0), 0);
+
+        // A response to req1 while req0 is outstanding is out of order and has to be ignored
+        final SuccessEnvelope response1 = new SuccessEnvelope(new TransactionPurgeResponse(TRANSACTION_IDENTIFIER, 1L),
+            0L, 1L, 0L);
+        assertFalse(queue.complete(response1, 0).isPresent());
+        assertEqualRequests(queue.getInflight(), req0, req1);
+
+        // Once req0 completes, req1 can be completed as well
+        assertEquals(req0, queue.complete(new SuccessEnvelope(new TransactionPurgeResponse(TRANSACTION_IDENTIFIER,
+            0L), 0L, 0L, 0L), 0).orElseThrow(AssertionError::new).getRequest());
+        assertEquals(req1, queue.complete(response1, 0).orElseThrow(AssertionError::new).getRequest());
+        assertTrue(queue.isEmpty());
+    }
+
     @Test
     public void testEnqueueCanTransmit() throws Exception {
         final Request<?, ?> request = new TransactionPurgeRequest(TRANSACTION_IDENTIFIER, 0L, probe.ref());
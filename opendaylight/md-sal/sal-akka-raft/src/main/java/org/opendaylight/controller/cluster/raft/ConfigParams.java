@@ -8,6 +8,7 @@
 package org.opendaylight.controller.cluster.raft;
 
 import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.io.CompressionCodec;
 import org.opendaylight.controller.cluster.raft.policy.RaftPolicy;
 import scala.concurrent.duration.FiniteDuration;
 
@@ -139,4 +140,31 @@ public interface ConfigParams {
      * @return the threshold in terms of number of journal entries.
      */
     long getSyncIndexThreshold();
+
+    /**
+     * Returns the delay the leader applies before sending AppendEntries for newly-persisted entries, so that entries
+     * arriving in the meantime are replicated in a single batch. A value of 0 batches entries which are already
+     * queued in the actor's mailbox, a negative value disables batching.
+     *
+     * @return the replication batch delay in ms.
+     */
+    long getReplicationBatchDelayInMillis();
+
+    /**
+     * Returns the maximum number of incremental snapshots which may be persisted after a full snapshot before
+     * another full snapshot is persisted. Incremental snapshots are used only if the snapshot state supports them.
+     * A value of 0 disables incremental snapshots.
+     *
+     * @return the maximum number of incremental snapshots.
+     */
+    int getMaxIncrementalSnapshots();
+
+    /**
+     * Returns the codec used to compress the snapshots installed on followers and the slices of large AppendEntries
+     * messages. Receivers detect the codec from the stream, so followers need not be configured identically.
+     *
+     * @return the stream compression codec.
+     */
+    @Nonnull
+    CompressionCodec getStreamCompressionCodec();
 }
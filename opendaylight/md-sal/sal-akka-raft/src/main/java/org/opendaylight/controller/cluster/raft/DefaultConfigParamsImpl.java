@@ -13,6 +13,7 @@ import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.io.CompressionCodec;
 import org.opendaylight.controller.cluster.raft.policy.DefaultRaftPolicy;
 import org.opendaylight.controller.cluster.raft.policy.RaftPolicy;
 import org.slf4j.Logger;
@@ -74,6 +75,12 @@ public class DefaultConfigParamsImpl implements ConfigParams {
 
     private long syncIndexThreshold = 10;
 
+    private long replicationBatchDelayInMillis = -1;
+
+    private int maxIncrementalSnapshots = 0;
+
+    private CompressionCodec streamCompressionCodec = CompressionCodec.NONE;
+
     public void setHeartBeatInterval(final FiniteDuration heartBeatInterval) {
         this.heartBeatInterval = heartBeatInterval;
         electionTimeOutInterval = null;
@@ -206,6 +213,33 @@ public class DefaultConfigParamsImpl implements ConfigParams {
         this.syncIndexThreshold = syncIndexThreshold;
     }
 
+    @Override
+    public long getReplicationBatchDelayInMillis() {
+        return replicationBatchDelayInMillis;
+    }
+
+    public void setReplicationBatchDelayInMillis(final long replicationBatchDelayInMillis) {
+        this.replicationBatchDelayInMillis = replicationBatchDelayInMillis;
+    }
+
+    @Override
+    public int getMaxIncrementalSnapshots() {
+        return maxIncrementalSnapshots;
+    }
+
+    public void setMaxIncrementalSnapshots(final int maxIncrementalSnapshots) {
+        this.maxIncrementalSnapshots = maxIncrementalSnapshots;
+    }
+
+    @Override
+    public CompressionCodec getStreamCompressionCodec() {
+        return streamCompressionCodec;
+    }
+
+    public void setStreamCompressionCodec(@Nonnull final CompressionCodec streamCompressionCodec) {
+        this.streamCompressionCodec = Preconditions.checkNotNull(streamCompressionCodec);
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     private RaftPolicy getPolicy() {
         if (Strings.isNullOrEmpty(DefaultConfigParamsImpl.this.customRaftPolicyImplementationClass)) {
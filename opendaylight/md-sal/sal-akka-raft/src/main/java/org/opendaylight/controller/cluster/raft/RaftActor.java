@@ -39,6 +39,7 @@ import org.opendaylight.controller.cluster.raft.base.messages.CheckConsensusReac
 import org.opendaylight.controller.cluster.raft.base.messages.InitiateCaptureSnapshot;
 import org.opendaylight.controller.cluster.raft.base.messages.LeaderTransitioning;
 import org.opendaylight.controller.cluster.raft.base.messages.Replicate;
+import org.opendaylight.controller.cluster.raft.base.messages.SendPendingAppendEntries;
 import org.opendaylight.controller.cluster.raft.base.messages.SwitchBehavior;
 import org.opendaylight.controller.cluster.raft.behaviors.AbstractLeader;
 import org.opendaylight.controller.cluster.raft.behaviors.AbstractRaftActorBehavior;
@@ -50,6 +51,7 @@ import org.opendaylight.controller.cluster.raft.client.messages.FollowerInfo;
 import org.opendaylight.controller.cluster.raft.client.messages.GetOnDemandRaftState;
 import org.opendaylight.controller.cluster.raft.client.messages.OnDemandRaftState;
 import org.opendaylight.controller.cluster.raft.client.messages.Shutdown;
+import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
 import org.opendaylight.controller.cluster.raft.messages.RequestLeadership;
 import org.opendaylight.controller.cluster.raft.persisted.ApplyJournalEntries;
 import org.opendaylight.controller.cluster.raft.persisted.NoopPayload;
@@ -58,6 +60,7 @@ import org.opendaylight.controller.cluster.raft.persisted.SimpleReplicatedLogEnt
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
 import org.opendaylight.yangtools.concepts.Identifier;
 import org.opendaylight.yangtools.concepts.Immutable;
+import scala.concurrent.duration.FiniteDuration;
 
 /**
  * RaftActor encapsulates a state machine that needs to be kept synchronized
@@ -123,6 +126,11 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
 
     private boolean shuttingDown;
 
+    // Number of entries replicated since AppendEntries were last triggered and whether a SendPendingAppendEntries
+    // message is on its way
+    private int pendingReplicationBatchSize;
+    private boolean replicationBatchScheduled;
+
     protected RaftActor(String id, Map<String, String> peerAddresses,
          Optional<ConfigParams> configParams, short payloadVersion) {
 
@@ -266,6 +274,16 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
             persistData(null, null, (NoopPayload) message, false);
         } else if (message instanceof RequestLeadership) {
             onRequestLeadership((RequestLeadership) message);
+        } else if (message instanceof SendPendingAppendEntries) {
+            sendPendingAppendEntries();
+        } else if (message instanceof AppendEntries) {
+            possiblyHandleBehaviorMessage(message);
+
+            final AppendEntries appendEntries = (AppendEntries) message;
+            if (getRaftState() == RaftState.Follower
+                    && appendEntries.getTerm() == context.getTermInformation().getCurrentTerm()) {
+                onLeaderCommitIndex(appendEntries.getLeaderCommit());
+            }
         } else if (!possiblyHandleBehaviorMessage(message)) {
             handleNonRaftCommand(message);
         }
@@ -622,10 +640,77 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
         }, true);
 
         if (wasAppended && hasFollowers()) {
-            // Send log entry for replication.
+            // Send log entry for replication. If replication batching is enabled, AppendEntries are sent once
+            // the batch delay expires.
+            pendingReplicationBatchSize++;
+            final boolean sendImmediate = !scheduleReplicationBatch() && !batchHint;
             getCurrentBehavior().handleMessage(getSelf(), new Replicate(clientActor, identifier, replicatedLogEntry,
-                    !batchHint));
+                    sendImmediate));
+            if (sendImmediate) {
+                replicationBatchSent();
+            }
+        }
+    }
+
+    private boolean scheduleReplicationBatch() {
+        final long delay = context.getConfigParams().getReplicationBatchDelayInMillis();
+        if (delay < 0) {
+            return false;
+        }
+
+        if (!replicationBatchScheduled) {
+            replicationBatchScheduled = true;
+            if (delay == 0) {
+                // Let the messages already in our mailbox be processed first
+                self().tell(SendPendingAppendEntries.INSTANCE, self());
+            } else {
+                getContext().system().scheduler().scheduleOnce(FiniteDuration.create(delay, TimeUnit.MILLISECONDS),
+                    self(), SendPendingAppendEntries.INSTANCE, getContext().dispatcher(), self());
+            }
+        }
+        return true;
+    }
+
+    private void sendPendingAppendEntries() {
+        replicationBatchScheduled = false;
+        if (pendingReplicationBatchSize == 0) {
+            return;
         }
+
+        if (getCurrentBehavior() instanceof AbstractLeader) {
+            LOG.debug("{}: Sending AppendEntries for {} batched entries", persistenceId(),
+                pendingReplicationBatchSize);
+            getCurrentBehavior().handleMessage(getSelf(), SendPendingAppendEntries.INSTANCE);
+            replicationBatchSent();
+        } else {
+            // We are no longer the leader, the entries will be sent by the new leader, if they survive
+            pendingReplicationBatchSize = 0;
+        }
+    }
+
+    private void replicationBatchSent() {
+        final int batchSize = pendingReplicationBatchSize;
+        pendingReplicationBatchSize = 0;
+        onReplicationBatchSent(batchSize);
+    }
+
+    /**
+     * This method is invoked when the leader has triggered AppendEntries for a batch of newly-persisted entries.
+     *
+     * @param batchSize the number of entries replicated since the previous batch
+     */
+    protected void onReplicationBatchSent(final int batchSize) {
+    }
+
+    /**
+     * This method is invoked on a follower after it has processed an AppendEntries message from the current leader,
+     * including applying any newly-committed entries to the state machine. The difference between the leader's commit
+     * index and {@link RaftActorContext#getLastApplied()} is the number of entries this follower's state is behind the
+     * leader's.
+     *
+     * @param leaderCommitIndex the commit index reported by the leader
+     */
+    protected void onLeaderCommitIndex(final long leaderCommitIndex) {
     }
 
     private ReplicatedLog replicatedLog() {
@@ -17,6 +17,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.io.CompressionCodec;
+import org.opendaylight.controller.cluster.io.CompressionMetrics;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStream;
 import org.opendaylight.controller.cluster.raft.base.messages.ApplySnapshot;
 import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshot;
@@ -58,9 +60,19 @@ public class SnapshotManager implements SnapshotState {
 
     private Consumer<Optional<OutputStream>> createSnapshotProcedure;
 
+    // The buffer backing the (possibly compressing) stream the snapshot to install on a follower is written to
+    private FileBackedOutputStream installSnapshotBuffer;
+
     private ApplySnapshot applySnapshot;
     private RaftActorSnapshotCohort snapshotCohort = NoopRaftActorSnapshotCohort.INSTANCE;
 
+    // Tracking of the last full snapshot and the incremental snapshots persisted on top of it
+    private Snapshot.IncrementalState persistingFullState;
+    private boolean persistingIncremental;
+    private int incrementalSnapshotCount;
+    private long lastFullSnapshotSequenceNumber = -1;
+    private long lastFullSnapshotTimeStamp = -1;
+
     /**
      * Constructs an instance.
      *
@@ -127,7 +139,8 @@ public class SnapshotManager implements SnapshotState {
 
     @Nonnull
     public Snapshot.State convertSnapshot(ByteSource snapshotBytes) throws IOException {
-        return snapshotCohort.deserializeSnapshot(snapshotBytes);
+        // The leader may have compressed the snapshot, which is detected from the bytes
+        return snapshotCohort.deserializeSnapshot(CompressionCodec.decompress(snapshotBytes));
     }
 
     public long getLastSequenceNumber() {
@@ -139,10 +152,27 @@ public class SnapshotManager implements SnapshotState {
         return captureSnapshot;
     }
 
+    @VisibleForTesting
+    int getIncrementalSnapshotCount() {
+        return incrementalSnapshotCount;
+    }
+
     private boolean hasFollowers() {
         return context.hasFollowers();
     }
 
+    private OutputStream newInstallSnapshotStream(final FileBackedOutputStream buffer) throws IOException {
+        final CompressionCodec codec = context.getConfigParams().getStreamCompressionCodec();
+        return codec.compress(buffer, CompressionMetrics.forContext(persistenceId() + ".install-snapshot", codec));
+    }
+
+    private void cleanupInstallSnapshotBuffer() {
+        if (installSnapshotBuffer != null) {
+            installSnapshotBuffer.cleanup();
+            installSnapshotBuffer = null;
+        }
+    }
+
     private String persistenceId() {
         return context.getId();
     }
@@ -278,7 +308,16 @@ public class SnapshotManager implements SnapshotState {
 
             OutputStream installSnapshotStream = null;
             if (targetFollower != null) {
-                installSnapshotStream = context.getFileBackedOutputStreamFactory().newInstance();
+                installSnapshotBuffer = context.getFileBackedOutputStreamFactory().newInstance();
+                try {
+                    installSnapshotStream = newInstallSnapshotStream(installSnapshotBuffer);
+                } catch (IOException e) {
+                    cleanupInstallSnapshotBuffer();
+                    log.error("{}: Error creating the stream to install a snapshot on {}", persistenceId(),
+                            targetFollower, e);
+                    return false;
+                }
+
                 log.info("{}: Initiating snapshot capture {} to install on {}",
                         persistenceId(), captureSnapshot, targetFollower);
             } else {
@@ -295,6 +334,7 @@ public class SnapshotManager implements SnapshotState {
                 createSnapshotProcedure.accept(Optional.ofNullable(installSnapshotStream));
             } catch (Exception e) {
                 SnapshotManager.this.currentState = IDLE;
+                cleanupInstallSnapshotBuffer();
                 log.error("Error creating snapshot", e);
                 return false;
             }
@@ -352,7 +392,7 @@ public class SnapshotManager implements SnapshotState {
                     context.getTermInformation().getCurrentTerm(),
                     context.getTermInformation().getVotedFor(), context.getPeerServerInfo(true));
 
-            context.getPersistenceProvider().saveSnapshot(snapshot);
+            context.getPersistenceProvider().saveSnapshot(toPersist(snapshot));
 
             log.info("{}: Persisting of snapshot done: {}", persistenceId(), snapshot);
 
@@ -412,7 +452,9 @@ public class SnapshotManager implements SnapshotState {
             if (installSnapshotStream.isPresent()) {
                 if (context.getId().equals(currentBehavior.getLeaderId())) {
                     try {
-                        ByteSource snapshotBytes = ((FileBackedOutputStream)installSnapshotStream.get()).asByteSource();
+                        // Closing completes the compressed data, if any
+                        installSnapshotStream.get().close();
+                        ByteSource snapshotBytes = installSnapshotBuffer.asByteSource();
                         currentBehavior.handleMessage(context.getActor(),
                                 new SendInstallSnapshot(snapshot, snapshotBytes));
                     } catch (IOException e) {
@@ -420,14 +462,49 @@ public class SnapshotManager implements SnapshotState {
                                 context.getId(), e);
                     }
                 } else {
-                    ((FileBackedOutputStream)installSnapshotStream.get()).cleanup();
+                    installSnapshotBuffer.cleanup();
                 }
             }
 
+            installSnapshotBuffer = null;
+
             captureSnapshot = null;
             SnapshotManager.this.currentState = PERSISTING;
         }
 
+        /**
+         * Returns the Snapshot to be saved to persistence. This is an incremental snapshot if the state supports it
+         * and the configured number of incremental snapshots since the last full snapshot has not been reached yet.
+         * Note the full snapshot is still used for installing on followers.
+         */
+        private Snapshot toPersist(final Snapshot snapshot) {
+            persistingFullState = null;
+            persistingIncremental = false;
+
+            final Snapshot.State state = snapshot.getState();
+            final int maxIncrementalSnapshots = context.getConfigParams().getMaxIncrementalSnapshots();
+            if (maxIncrementalSnapshots <= 0 || !(state instanceof Snapshot.IncrementalState)) {
+                return snapshot;
+            }
+
+            final Snapshot.IncrementalState incrementalState = (Snapshot.IncrementalState) state;
+            if (lastFullSnapshotSequenceNumber >= 0 && incrementalSnapshotCount < maxIncrementalSnapshots) {
+                final Snapshot.DeltaState delta = incrementalState.toDeltaState();
+                if (delta != null) {
+                    log.debug("{}: Persisting incremental snapshot {} since the full snapshot at sequence number {}",
+                            persistenceId(), incrementalSnapshotCount + 1, lastFullSnapshotSequenceNumber);
+                    persistingIncremental = true;
+                    return Snapshot.create(delta, snapshot.getUnAppliedEntries(), snapshot.getLastIndex(),
+                            snapshot.getLastTerm(), snapshot.getLastAppliedIndex(), snapshot.getLastAppliedTerm(),
+                            snapshot.getElectionTerm(), snapshot.getElectionVotedFor(),
+                            snapshot.getServerConfiguration());
+                }
+            }
+
+            persistingFullState = incrementalState;
+            return snapshot;
+        }
+
         @Override
         public String toString() {
             return "Creating";
@@ -468,8 +545,26 @@ public class SnapshotManager implements SnapshotState {
                 context.getReplicatedLog().snapshotCommit();
             }
 
-            context.getPersistenceProvider().deleteSnapshots(new SnapshotSelectionCriteria(sequenceNumber,
-                    timeStamp - 1, 0L, 0L));
+            if (persistingIncremental) {
+                // Incremental snapshots are relative to the last full snapshot, hence we need to retain it and
+                // delete only the incremental snapshots persisted since.
+                context.getPersistenceProvider().deleteSnapshots(new SnapshotSelectionCriteria(sequenceNumber,
+                        timeStamp - 1, lastFullSnapshotSequenceNumber, lastFullSnapshotTimeStamp + 1));
+                incrementalSnapshotCount++;
+            } else {
+                context.getPersistenceProvider().deleteSnapshots(new SnapshotSelectionCriteria(sequenceNumber,
+                        timeStamp - 1, 0L, 0L));
+
+                // Incremental snapshots can be based only on a full snapshot whose state has been told about it
+                if (persistingFullState != null) {
+                    lastFullSnapshotSequenceNumber = sequenceNumber;
+                    lastFullSnapshotTimeStamp = timeStamp;
+                    persistingFullState.persistedInFull();
+                } else {
+                    lastFullSnapshotSequenceNumber = -1;
+                }
+                incrementalSnapshotCount = 0;
+            }
 
             context.getPersistenceProvider().deleteMessages(lastSequenceNumber);
 
@@ -497,6 +592,8 @@ public class SnapshotManager implements SnapshotState {
         private void snapshotComplete() {
             lastSequenceNumber = -1;
             applySnapshot = null;
+            persistingFullState = null;
+            persistingIncremental = false;
             SnapshotManager.this.currentState = IDLE;
 
             context.getActor().tell(SnapshotComplete.INSTANCE, context.getActor());
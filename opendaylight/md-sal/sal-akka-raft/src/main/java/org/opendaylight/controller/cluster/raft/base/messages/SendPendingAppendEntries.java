@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.base.messages;
+
+/**
+ * Internal message sent to the RaftActor when the replication batch delay expires, instructing the leader to send
+ * AppendEntries for all entries which have been replicated without being sent immediately.
+ */
+public final class SendPendingAppendEntries {
+    public static final SendPendingAppendEntries INSTANCE = new SendPendingAppendEntries();
+
+    private SendPendingAppendEntries() {
+        // Hidden on purpose
+    }
+}
@@ -28,6 +28,8 @@ import java.util.Map.Entry;
 import java.util.Queue;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.io.CompressionCodec;
+import org.opendaylight.controller.cluster.io.CompressionMetrics;
 import org.opendaylight.controller.cluster.io.SharedFileBackedOutputStream;
 import org.opendaylight.controller.cluster.messaging.MessageSlicer;
 import org.opendaylight.controller.cluster.messaging.SliceOptions;
@@ -44,6 +46,7 @@ import org.opendaylight.controller.cluster.raft.base.messages.CheckConsensusReac
 import org.opendaylight.controller.cluster.raft.base.messages.Replicate;
 import org.opendaylight.controller.cluster.raft.base.messages.SendHeartBeat;
 import org.opendaylight.controller.cluster.raft.base.messages.SendInstallSnapshot;
+import org.opendaylight.controller.cluster.raft.base.messages.SendPendingAppendEntries;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
 import org.opendaylight.controller.cluster.raft.messages.InstallSnapshot;
@@ -105,8 +108,10 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             @Nullable final AbstractLeader initializeFromLeader) {
         super(context, state);
 
+        final CompressionCodec compression = context.getConfigParams().getStreamCompressionCodec();
         appendEntriesMessageSlicer = MessageSlicer.builder().logContext(logName())
             .messageSliceSize(context.getConfigParams().getSnapshotChunkSize())
+            .compression(compression, CompressionMetrics.forContext(context.getId() + ".append-entries", compression))
             .expireStateAfterInactivity(context.getConfigParams().getElectionTimeOutInterval().toMillis() * 3,
                     TimeUnit.MILLISECONDS).build();
 
@@ -501,6 +506,10 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             handleInstallSnapshotReply((InstallSnapshotReply) message);
         } else if (message instanceof CheckConsensusReached) {
             possiblyUpdateCommitIndex();
+        } else if (message instanceof SendPendingAppendEntries) {
+            if (!followerToLog.isEmpty()) {
+                sendAppendEntries(0, false);
+            }
         } else {
             return super.handleMessage(sender, message);
         }
@@ -659,7 +668,14 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             LeaderInstallSnapshotState installSnapshotState = followerLogInformation.getInstallSnapshotState();
             if (installSnapshotState != null) {
                 // if install snapshot is in process , then sent next chunk if possible
-                if (isFollowerActive && installSnapshotState.canSendNextChunk()) {
+                if (isFollowerActive && installSnapshotState.isChunkTimedOut(
+                        context.getConfigParams().getElectionTimeOutInterval())) {
+                    // The chunk or its reply was lost - send the chunk again rather than restarting the install
+                    log.warn("{}: Timed out waiting for InstallSnapshotReply from follower {} for chunk {} - "
+                        + "re-sending", logName(), followerId, installSnapshotState.getChunkIndex());
+                    installSnapshotState.markSendStatus(false);
+                    sendSnapshotChunk(followerActor, followerLogInformation);
+                } else if (isFollowerActive && installSnapshotState.canSendNextChunk()) {
                     sendSnapshotChunk(followerActor, followerLogInformation);
                 } else if (sendHeartbeat) {
                     // we send a heartbeat even if we have not received a reply for the last chunk
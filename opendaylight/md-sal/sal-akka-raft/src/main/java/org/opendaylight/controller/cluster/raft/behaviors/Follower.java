@@ -563,7 +563,12 @@ public class Follower extends AbstractRaftActorBehavior {
             final InstallSnapshotReply reply = new InstallSnapshotReply(
                     currentTerm(), context.getId(), installSnapshot.getChunkIndex(), true);
 
-            if (snapshotTracker.addChunk(installSnapshot.getChunkIndex(), installSnapshot.getData(),
+            if (snapshotTracker.isDuplicateChunk(installSnapshot.getChunkIndex())) {
+                log.debug("{}: Chunk {} already received, returning: {}", logName(), installSnapshot.getChunkIndex(),
+                        reply);
+
+                sender.tell(reply, actor());
+            } else if (snapshotTracker.addChunk(installSnapshot.getChunkIndex(), installSnapshot.getData(),
                     installSnapshot.getLastChunkHashCode())) {
 
                 log.info("{}: Snapshot installed from leader: {}", logName(), installSnapshot.getLeaderId());
@@ -7,12 +7,16 @@
  */
 package org.opendaylight.controller.cluster.raft.behaviors;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import scala.concurrent.duration.FiniteDuration;
 
 /**
  * Encapsulates the leader state and logic for sending snapshot chunks to a follower.
@@ -43,6 +47,9 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
     private int nextChunkHashCode = INITIAL_LAST_CHUNK_HASH_CODE;
     private long snapshotSize;
     private InputStream snapshotInputStream;
+    // the last chunk read from the stream, retained so it can be re-sent if the follower fails to acknowledge it
+    private byte[] currentChunk;
+    private final Stopwatch chunkTimer = Stopwatch.createUnstarted();
 
     LeaderInstallSnapshotState(final int snapshotChunkSize, final String logName) {
         this.snapshotChunkSize = snapshotChunkSize;
@@ -101,7 +108,20 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
         return totalChunks == index;
     }
 
+    /**
+     * Checks whether the follower failed to acknowledge the last chunk sent within specified timeout. The last
+     * chunk is exempt, as the follower acknowledges it only after it has applied the snapshot.
+     *
+     * @param timeout the maximum time to wait for an acknowledgement
+     * @return true if the chunk should be re-sent
+     */
+    boolean isChunkTimedOut(final FiniteDuration timeout) {
+        return chunkTimer.isRunning() && !isLastChunk(chunkIndex)
+                && chunkTimer.elapsed(TimeUnit.NANOSECONDS) > timeout.toNanos();
+    }
+
     void markSendStatus(final boolean success) {
+        chunkTimer.reset();
         if (success) {
             // if the chunk sent was successful
             replyReceivedForOffset = offset;
@@ -115,6 +135,14 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
     }
 
     byte[] getNextChunk() throws IOException {
+        if (!replyStatus && currentChunk != null) {
+            // the previous chunk was not acknowledged, send it again
+            LOG.debug("{}: Re-sending chunk: total length={}, offset={}, size={}, hashCode={}", logName,
+                    snapshotSize, offset, currentChunk.length, nextChunkHashCode);
+            chunkTimer.reset().start();
+            return currentChunk;
+        }
+
         int start = incrementOffset();
         int size = snapshotChunkSize;
         if (snapshotChunkSize > snapshotSize) {
@@ -124,13 +152,15 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
         }
 
         byte[] nextChunk = new byte[size];
-        int numRead = snapshotInputStream.read(nextChunk);
+        int numRead = ByteStreams.read(snapshotInputStream, nextChunk, 0, size);
         if (numRead != size) {
             throw new IOException(String.format(
                     "The # of bytes read from the input stream, %d, does not match the expected # %d", numRead, size));
         }
 
         nextChunkHashCode = Arrays.hashCode(nextChunk);
+        currentChunk = nextChunk;
+        chunkTimer.reset().start();
 
         LOG.debug("{}: Next chunk: total length={}, offset={}, size={}, hashCode={}", logName,
                 snapshotSize, start, size, nextChunkHashCode);
@@ -142,6 +172,8 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
      */
     void reset() {
         closeStream();
+        chunkTimer.reset();
+        currentChunk = null;
 
         offset = 0;
         replyStatus = false;
@@ -159,6 +191,7 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
     @Override
     public void close() {
         closeStream();
+        currentChunk = null;
         snapshotBytes = null;
     }
 
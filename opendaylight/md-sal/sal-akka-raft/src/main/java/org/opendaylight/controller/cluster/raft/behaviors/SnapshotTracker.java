@@ -78,6 +78,17 @@ class SnapshotTracker implements AutoCloseable {
         return sealed;
     }
 
+    /**
+     * Checks whether a chunk has already been added to this tracker. This happens when the leader re-sends a chunk
+     * because our reply was lost.
+     *
+     * @param chunkIndex the index of the chunk
+     * @return true if the chunk is the last one added
+     */
+    boolean isDuplicateChunk(int chunkIndex) {
+        return !sealed && chunkIndex == lastChunkIndex;
+    }
+
     ByteSource getSnapshotBytes() throws IOException {
         if (!sealed) {
             throw new IllegalStateException("lastChunk not received yet");
@@ -14,6 +14,8 @@ import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.persistence.IncrementalSnapshot;
 import org.opendaylight.controller.cluster.raft.ReplicatedLogEntry;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
 
@@ -22,7 +24,7 @@ import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payloa
  *
  * @author Thomas Pantelis
  */
-public class Snapshot implements Serializable {
+public class Snapshot implements Serializable, IncrementalSnapshot {
 
     /**
      * Implementations of this interface are used as the state payload for a snapshot.
@@ -32,6 +34,38 @@ public class Snapshot implements Serializable {
     public interface State extends Serializable {
     }
 
+    /**
+     * A State which can be persisted as a {@link DeltaState} relative to the last State persisted in full.
+     */
+    public interface IncrementalState extends State {
+        /**
+         * Returns a DeltaState recording the changes since the last IncrementalState which was persisted in full,
+         * as reported via {@link #persistedInFull()}.
+         *
+         * @return a DeltaState, or null if this State has to be persisted in full
+         */
+        @Nullable DeltaState toDeltaState();
+
+        /**
+         * Invoked once this State has been persisted in full, so subsequent DeltaStates can be based on it.
+         */
+        void persistedInFull();
+    }
+
+    /**
+     * A State recording only the changes made since the last full State persisted before it.
+     */
+    public interface DeltaState extends State {
+        /**
+         * Resolves this DeltaState against the full State it is based on.
+         *
+         * @param base the full State
+         * @return the complete State
+         * @throws IOException if the base State is not compatible with this DeltaState
+         */
+        State resolve(State base) throws IOException;
+    }
+
     private static final class Proxy implements Externalizable {
         private static final long serialVersionUID = 1L;
 
@@ -165,6 +199,24 @@ public class Snapshot implements Serializable {
         return serverConfig;
     }
 
+    @Override
+    public boolean isIncremental() {
+        return state instanceof DeltaState;
+    }
+
+    @Override
+    public Snapshot resolve(final Object base) throws IOException {
+        if (!(state instanceof DeltaState)) {
+            throw new IllegalStateException("Snapshot " + this + " is not incremental");
+        }
+        if (!(base instanceof Snapshot)) {
+            throw new IOException("Cannot resolve incremental snapshot against " + base);
+        }
+
+        return new Snapshot(((DeltaState) state).resolve(((Snapshot) base).getState()), unAppliedEntries, lastIndex,
+            lastTerm, lastAppliedIndex, lastAppliedTerm, electionTerm, electionVotedFor, serverConfig);
+    }
+
     private Object writeReplace() {
         return new Proxy(this);
     }
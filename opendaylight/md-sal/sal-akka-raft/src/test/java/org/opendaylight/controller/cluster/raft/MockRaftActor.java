@@ -209,6 +209,11 @@ public class MockRaftActor extends RaftActor implements RaftActorRecoveryCohort,
         actorDelegate.onStateChanged();
     }
 
+    @Override
+    protected void onLeaderCommitIndex(final long leaderCommitIndex) {
+        actorDelegate.onLeaderCommitIndex(leaderCommitIndex);
+    }
+
     @Override
     protected Optional<ActorRef> getRoleChangeNotifier() {
         return Optional.fromNullable(roleChangeNotifier);
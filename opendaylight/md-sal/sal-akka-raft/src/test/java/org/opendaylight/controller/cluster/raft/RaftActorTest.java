@@ -15,6 +15,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
@@ -723,6 +724,48 @@ public class RaftActorTest extends AbstractActorTest {
         assertEquals(2, followerActor.getReplicatedLog().size());
     }
 
+    @Test
+    public void testOnLeaderCommitIndex() throws Exception {
+        final String persistenceId = factory.generateActorId("follower-");
+        final String leaderId = factory.generateActorId("leader-");
+
+        ActorRef leaderActor = factory.createActor(MessageCollectorActor.props());
+
+        DefaultConfigParamsImpl config = new DefaultConfigParamsImpl();
+        config.setHeartBeatInterval(new FiniteDuration(1, TimeUnit.DAYS));
+        config.setIsolatedLeaderCheckInterval(new FiniteDuration(1, TimeUnit.DAYS));
+
+        TestActorRef<MockRaftActor> mockActorRef = factory.createTestActor(MockRaftActor.props(persistenceId,
+                Collections.singletonMap(leaderId, leaderActor.path().toString()), config,
+                mock(DataPersistenceProvider.class)), persistenceId);
+
+        MockRaftActor raftActor = mockActorRef.underlyingActor();
+        raftActor.getRaftActorContext().getTermInformation().update(1, persistenceId);
+        raftActor.waitForInitializeBehaviorComplete();
+
+        raftActor.setCurrentBehavior(new Follower(raftActor.getRaftActorContext()));
+        assertEquals(RaftState.Follower, raftActor.getCurrentBehavior().state());
+
+        // AppendEntries from the current leader
+        raftActor.onReceiveCommand(new AppendEntries(1, leaderId, -1, -1, Collections.emptyList(), 3, -1,
+                (short) 0));
+        verify(raftActor.actorDelegate).onLeaderCommitIndex(3);
+
+        // AppendEntries from a stale leader
+        raftActor.onReceiveCommand(new AppendEntries(0, leaderId, -1, -1, Collections.emptyList(), 7, -1,
+                (short) 0));
+        verify(raftActor.actorDelegate, never()).onLeaderCommitIndex(7);
+
+        // AppendEntries received while not a follower
+        raftActor.setCurrentBehavior(new Leader(raftActor.getRaftActorContext()));
+        assertEquals(RaftState.Leader, raftActor.getCurrentBehavior().state());
+        raftActor.onReceiveCommand(new AppendEntries(1, leaderId, -1, -1, Collections.emptyList(), 9, -1,
+                (short) 0));
+        assertEquals(RaftState.Leader, raftActor.getCurrentBehavior().state());
+
+        verify(raftActor.actorDelegate).onLeaderCommitIndex(anyLong());
+    }
+
     @Test
     public void testFakeSnapshotsForLeaderWithInInitiateSnapshots() throws Exception {
         final String persistenceId = factory.generateActorId("leader-");
@@ -26,6 +26,7 @@ import static org.mockito.Mockito.verify;
 
 import akka.actor.ActorRef;
 import akka.persistence.SnapshotSelectionCriteria;
+import com.google.common.io.ByteSource;
 import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Optional;
@@ -37,6 +38,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.cluster.DataPersistenceProvider;
+import org.opendaylight.controller.cluster.io.CompressionCodec;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStreamFactory;
 import org.opendaylight.controller.cluster.raft.SnapshotManager.LastAppliedTermInformationReader;
 import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshot;
@@ -86,6 +88,7 @@ public class SnapshotManagerTest extends AbstractActorTest {
         doReturn(mockConfigParams).when(mockRaftActorContext).getConfigParams();
         doReturn(10L).when(mockConfigParams).getSnapshotBatchCount();
         doReturn(70).when(mockConfigParams).getSnapshotDataThresholdPercentage();
+        doReturn(CompressionCodec.NONE).when(mockConfigParams).getStreamCompressionCodec();
         doReturn(mockReplicatedLog).when(mockRaftActorContext).getReplicatedLog();
         doReturn("123").when(mockRaftActorContext).getId();
         doReturn(mockDataPersistenceProvider).when(mockRaftActorContext).getPersistenceProvider();
@@ -398,6 +401,36 @@ public class SnapshotManagerTest extends AbstractActorTest {
         assertArrayEquals("state", snapshotState.getBytes(), sendInstallSnapshot.getSnapshotBytes().read());
     }
 
+    @Test
+    public void testPersistSendCompressedInstallSnapshot() throws Exception {
+        doReturn(CompressionCodec.DEFLATE).when(mockConfigParams).getStreamCompressionCodec();
+        doReturn(Integer.MAX_VALUE).when(mockReplicatedLog).dataSize();
+        doNothing().when(mockProcedure).accept(anyObject());
+
+        assertTrue(snapshotManager.captureToInstall(new SimpleReplicatedLogEntry(9, 6,
+                new MockRaftActorContext.MockPayload()), -1, "follower-1"));
+
+        ArgumentCaptor<Optional> installSnapshotStreamCapture = ArgumentCaptor.forClass(Optional.class);
+        verify(mockProcedure).accept(installSnapshotStreamCapture.capture());
+
+        final byte[] bytes = new byte[10000];
+        Arrays.fill(bytes, (byte) 7);
+        ByteState snapshotState = ByteState.of(bytes);
+
+        Optional<OutputStream> installSnapshotStream = installSnapshotStreamCapture.getValue();
+        installSnapshotStream.get().write(snapshotState.getBytes());
+
+        snapshotManager.persist(snapshotState, installSnapshotStream, Runtime.getRuntime().totalMemory());
+
+        ArgumentCaptor<SendInstallSnapshot> sendInstallSnapshotArgumentCaptor
+                = ArgumentCaptor.forClass(SendInstallSnapshot.class);
+        verify(mockRaftActorBehavior).handleMessage(any(ActorRef.class), sendInstallSnapshotArgumentCaptor.capture());
+
+        ByteSource snapshotBytes = sendInstallSnapshotArgumentCaptor.getValue().getSnapshotBytes();
+        assertTrue("Compressed size " + snapshotBytes.size(), snapshotBytes.size() < bytes.length);
+        assertArrayEquals("state", bytes, CompressionCodec.decompress(snapshotBytes).read());
+    }
+
     @Test
     public void testCallingPersistWithoutCaptureWillDoNothing() {
         snapshotManager.persist(ByteState.empty(), Optional.empty(), Runtime.getRuntime().totalMemory());
@@ -455,6 +488,62 @@ public class SnapshotManagerTest extends AbstractActorTest {
         MessageCollectorActor.expectFirstMatching(actorRef, SnapshotComplete.class);
     }
 
+    @Test
+    public void testCommitIncrementalSnapshots() {
+        doReturn(1).when(mockConfigParams).getMaxIncrementalSnapshots();
+        doReturn(50L).when(mockDataPersistenceProvider).getLastSequenceNumber();
+
+        final Snapshot.IncrementalState mockState = mock(Snapshot.IncrementalState.class);
+        final Snapshot.DeltaState mockDelta = mock(Snapshot.DeltaState.class);
+        doReturn(mockDelta).when(mockState).toDeltaState();
+
+        // The first snapshot has to be a full one
+        snapshotManager.capture(new SimpleReplicatedLogEntry(9, 6, new MockRaftActorContext.MockPayload()), -1);
+        snapshotManager.persist(mockState, Optional.empty(), Runtime.getRuntime().totalMemory());
+
+        ArgumentCaptor<Snapshot> snapshotCaptor = ArgumentCaptor.forClass(Snapshot.class);
+        verify(mockDataPersistenceProvider).saveSnapshot(snapshotCaptor.capture());
+        assertEquals(mockState, snapshotCaptor.getValue().getState());
+
+        snapshotManager.commit(100L, 1000L);
+        verify(mockState).persistedInFull();
+        assertEquals(0, snapshotManager.getIncrementalSnapshotCount());
+
+        // The second snapshot is incremental and retains the full snapshot
+        reset(mockDataPersistenceProvider);
+        snapshotManager.capture(new SimpleReplicatedLogEntry(10, 6, new MockRaftActorContext.MockPayload()), -1);
+        snapshotManager.persist(mockState, Optional.empty(), Runtime.getRuntime().totalMemory());
+
+        snapshotCaptor = ArgumentCaptor.forClass(Snapshot.class);
+        verify(mockDataPersistenceProvider).saveSnapshot(snapshotCaptor.capture());
+        assertEquals(mockDelta, snapshotCaptor.getValue().getState());
+        assertEquals(true, snapshotCaptor.getValue().isIncremental());
+
+        snapshotManager.commit(110L, 2000L);
+
+        ArgumentCaptor<SnapshotSelectionCriteria> criteriaCaptor =
+                ArgumentCaptor.forClass(SnapshotSelectionCriteria.class);
+        verify(mockDataPersistenceProvider).deleteSnapshots(criteriaCaptor.capture());
+        assertEquals(110L, criteriaCaptor.getValue().maxSequenceNr());
+        assertEquals(1999L, criteriaCaptor.getValue().maxTimestamp());
+        assertEquals(100L, criteriaCaptor.getValue().minSequenceNr());
+        assertEquals(1001L, criteriaCaptor.getValue().minTimestamp());
+        assertEquals(1, snapshotManager.getIncrementalSnapshotCount());
+
+        // The maximum number of incremental snapshots has been reached so the third snapshot is a full one
+        reset(mockDataPersistenceProvider);
+        snapshotManager.capture(new SimpleReplicatedLogEntry(11, 6, new MockRaftActorContext.MockPayload()), -1);
+        snapshotManager.persist(mockState, Optional.empty(), Runtime.getRuntime().totalMemory());
+
+        snapshotCaptor = ArgumentCaptor.forClass(Snapshot.class);
+        verify(mockDataPersistenceProvider).saveSnapshot(snapshotCaptor.capture());
+        assertEquals(mockState, snapshotCaptor.getValue().getState());
+
+        snapshotManager.commit(120L, 3000L);
+        verify(mockState, times(2)).persistedInFull();
+        assertEquals(0, snapshotManager.getIncrementalSnapshotCount());
+    }
+
     @Test
     public void testCommitBeforePersist() {
         // when replicatedToAllIndex = -1
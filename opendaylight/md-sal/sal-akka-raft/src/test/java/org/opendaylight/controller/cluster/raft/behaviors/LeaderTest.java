@@ -59,6 +59,7 @@ import org.opendaylight.controller.cluster.raft.base.messages.ElectionTimeout;
 import org.opendaylight.controller.cluster.raft.base.messages.Replicate;
 import org.opendaylight.controller.cluster.raft.base.messages.SendHeartBeat;
 import org.opendaylight.controller.cluster.raft.base.messages.SendInstallSnapshot;
+import org.opendaylight.controller.cluster.raft.base.messages.SendPendingAppendEntries;
 import org.opendaylight.controller.cluster.raft.base.messages.TimeoutNow;
 import org.opendaylight.controller.cluster.raft.behaviors.AbstractLeader.SnapshotHolder;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
@@ -343,6 +344,49 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
         assertEquals("The number of append entries collected should be 1", 1, allMessages.size());
     }
 
+    @Test
+    public void testSendPendingAppendEntriesAfterDeferredReplicate() throws Exception {
+        logStart("testSendPendingAppendEntriesAfterDeferredReplicate");
+
+        MockRaftActorContext actorContext = createActorContextWithFollower();
+        actorContext.setConfigParams(new DefaultConfigParamsImpl() {
+            @Override
+            public FiniteDuration getHeartBeatInterval() {
+                return FiniteDuration.apply(5, TimeUnit.SECONDS);
+            }
+        });
+
+        long term = 1;
+        actorContext.getTermInformation().update(term, "");
+
+        leader = new Leader(actorContext);
+
+        // Leader will send an immediate heartbeat - ignore it.
+        MessageCollectorActor.expectFirstMatching(followerActor, AppendEntries.class);
+
+        long lastIndex = actorContext.getReplicatedLog().lastIndex();
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, true, lastIndex, term, (short)0));
+
+        followerActor.underlyingActor().clear();
+
+        for (int i = 1; i <= 3; i++) {
+            SimpleReplicatedLogEntry newEntry = new SimpleReplicatedLogEntry(lastIndex + i, term,
+                    new MockRaftActorContext.MockPayload("foo"));
+            actorContext.getReplicatedLog().append(newEntry);
+            leader.handleMessage(leaderActor, new Replicate(null, null, newEntry, false));
+        }
+
+        MessageCollectorActor.assertNoneMatching(followerActor, AppendEntries.class, 200);
+
+        leader.handleMessage(leaderActor, SendPendingAppendEntries.INSTANCE);
+
+        AppendEntries appendEntries = MessageCollectorActor.expectFirstMatching(followerActor, AppendEntries.class);
+        assertEquals("getPrevLogIndex", lastIndex, appendEntries.getPrevLogIndex());
+        assertEquals("Entries size", 3, appendEntries.getEntries().size());
+        assertEquals("First entry getIndex", lastIndex + 1, appendEntries.getEntries().get(0).getIndex());
+    }
+
     @Test
     public void testMultipleReplicateWithReplyShouldResultInAppendEntries() throws Exception {
         logStart("testMultipleReplicateWithReplyShouldResultInAppendEntries");
@@ -1229,6 +1273,41 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
         fts.close();
     }
 
+    @Test
+    public void testLeaderInstallSnapshotStateResendsUnacknowledgedChunk() throws IOException {
+        logStart("testLeaderInstallSnapshotStateResendsUnacknowledgedChunk");
+
+        byte[] barray = new byte[120];
+        for (int i = 0; i < barray.length; i++) {
+            barray[i] = (byte) i;
+        }
+
+        LeaderInstallSnapshotState fts = new LeaderInstallSnapshotState(50, "test");
+        fts.setSnapshotBytes(ByteSource.wrap(barray));
+
+        byte[] chunk = fts.getNextChunk();
+        assertTrue("Chunk should time out", fts.isChunkTimedOut(new FiniteDuration(0, TimeUnit.NANOSECONDS)));
+        assertFalse("Chunk should not time out", fts.isChunkTimedOut(new FiniteDuration(1, TimeUnit.HOURS)));
+
+        // The chunk was not acknowledged - the same chunk should be sent again
+        fts.markSendStatus(false);
+        assertFalse("Chunk should not time out", fts.isChunkTimedOut(new FiniteDuration(0, TimeUnit.NANOSECONDS)));
+        assertEquals("chunkindex not matching", 1, fts.incrementChunkIndex());
+        assertTrue("Chunk not re-sent", Arrays.equals(chunk, fts.getNextChunk()));
+
+        fts.markSendStatus(true);
+        assertEquals("chunkindex not matching", 2, fts.incrementChunkIndex());
+        assertTrue("Unexpected chunk", Arrays.equals(Arrays.copyOfRange(barray, 50, 100), fts.getNextChunk()));
+
+        fts.markSendStatus(true);
+        assertEquals("chunkindex not matching", 3, fts.incrementChunkIndex());
+        assertTrue("Unexpected chunk", Arrays.equals(Arrays.copyOfRange(barray, 100, 120), fts.getNextChunk()));
+
+        // The last chunk is acknowledged only after the snapshot is applied, hence it never times out
+        assertFalse("Last chunk should not time out", fts.isChunkTimedOut(new FiniteDuration(0, TimeUnit.NANOSECONDS)));
+        fts.close();
+    }
+
     @Override
     protected Leader createBehavior(final RaftActorContext actorContext) {
         return new Leader(actorContext);
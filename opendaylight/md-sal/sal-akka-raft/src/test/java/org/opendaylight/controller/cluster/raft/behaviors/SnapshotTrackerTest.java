@@ -9,6 +9,8 @@
 package org.opendaylight.controller.cluster.raft.behaviors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -111,6 +113,23 @@ public class SnapshotTrackerTest {
         }
     }
 
+    @Test
+    public void testDuplicateChunk() throws IOException {
+        try (SnapshotTracker tracker = new SnapshotTracker(LOG, 3, "leader", mockContext)) {
+            assertFalse(tracker.isDuplicateChunk(1));
+            tracker.addChunk(1, chunk1, Optional.of(LeaderInstallSnapshotState.INITIAL_LAST_CHUNK_HASH_CODE));
+            assertTrue(tracker.isDuplicateChunk(1));
+            assertFalse(tracker.isDuplicateChunk(2));
+            tracker.addChunk(2, chunk2, Optional.of(Arrays.hashCode(chunk1)));
+            assertTrue(tracker.isDuplicateChunk(2));
+            tracker.addChunk(3, chunk3, Optional.of(Arrays.hashCode(chunk2)));
+            assertFalse(tracker.isDuplicateChunk(3));
+
+            ByteSource snapshotBytes = tracker.getSnapshotBytes();
+            assertEquals("Deserialized", data, SerializationUtils.deserialize(snapshotBytes.read()));
+        }
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testGetSnapshotBytesWhenNotSealed() throws IOException {
         try (SnapshotTracker tracker = new SnapshotTracker(LOG, 2, "leader", mockContext)) {
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.offheap;
+
+import com.google.common.base.Preconditions;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.AttributesContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
+
+/**
+ * An arena storing leaf values outside of the Java heap. {@link #offload(NormalizedNode)} returns a copy of a
+ * NormalizedNode tree in which large string and binary leaf values are replaced by leaves referencing direct
+ * buffers. These leaves implement {@link LeafNode} and materialize their value on each access, so the tree can be
+ * used in place of the original one, while the heap holds only a small, fixed-size object per leaf.
+ *
+ * <p>
+ * Values are appended to direct buffers of a fixed slab size. A slab is released by the garbage collector once
+ * no leaf stored in it is reachable. Values smaller than a minimum size, values of other types, leaves with
+ * attributes and the key leaves of list entries, which are also part of the entries' identifiers, are kept on heap.
+ *
+ * <p>
+ * Direct memory is bounded by the JVM's -XX:MaxDirectMemorySize setting.
+ */
+@ThreadSafe
+public final class OffHeapLeafArena {
+    public static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+    public static final int DEFAULT_MIN_VALUE_SIZE = 32;
+
+    /**
+     * Tracks a buffer so its size can be subtracted from the live bytes once it has been garbage-collected.
+     */
+    private static final class BufferReference extends PhantomReference<ByteBuffer> {
+        final int size;
+
+        BufferReference(final ByteBuffer buffer, final ReferenceQueue<ByteBuffer> queue) {
+            super(buffer, queue);
+            this.size = buffer.capacity();
+        }
+    }
+
+    private final ReferenceQueue<ByteBuffer> releasedBuffers = new ReferenceQueue<>();
+    private final int slabSize;
+    private final int minValueSize;
+
+    @GuardedBy("this")
+    private ByteBuffer slab;
+    @GuardedBy("this")
+    private final Set<BufferReference> liveBuffers = new HashSet<>();
+    @GuardedBy("this")
+    private long allocatedBytes;
+    @GuardedBy("this")
+    private long liveBytes;
+    @GuardedBy("this")
+    private long storedValues;
+
+    public OffHeapLeafArena() {
+        this(DEFAULT_SLAB_SIZE, DEFAULT_MIN_VALUE_SIZE);
+    }
+
+    /**
+     * Constructs an instance.
+     *
+     * @param slabSize the size of the direct buffers allocated to hold values. Values larger than a quarter of the
+     *                 slab size get a dedicated buffer.
+     * @param minValueSize the minimum encoded size of a value to be stored off-heap
+     */
+    public OffHeapLeafArena(final int slabSize, final int minValueSize) {
+        Preconditions.checkArgument(slabSize > 0, "Invalid slab size %s", slabSize);
+        this.slabSize = slabSize;
+        this.minValueSize = minValueSize;
+    }
+
+    /**
+     * Returns a tree equivalent to the specified one, with eligible leaf values stored in this arena. Subtrees
+     * without eligible leaves are returned as-is.
+     *
+     * @param node the root of the tree
+     * @return the root of the equivalent tree
+     */
+    @Nonnull
+    public NormalizedNode<?, ?> offload(@Nonnull final NormalizedNode<?, ?> node) {
+        return transform(node, Collections.emptySet(), this::offloadLeaf);
+    }
+
+    /**
+     * Returns a tree equivalent to the specified one, with leaves stored in any arena replaced by plain on-heap
+     * leaves. Subtrees without such leaves are returned as-is. This is used to hand data to users, who may compare it
+     * against nodes they have built themselves, which do not consider off-heap leaves equal to them.
+     *
+     * @param node the root of the tree
+     * @return the root of the equivalent tree
+     */
+    @Nonnull
+    public static NormalizedNode<?, ?> onHeap(@Nonnull final NormalizedNode<?, ?> node) {
+        return transform(node, Collections.emptySet(), OffHeapLeafArena::onHeapLeaf);
+    }
+
+    /**
+     * Returns the total number of bytes of direct memory allocated by this arena, including space which may have
+     * since been released.
+     *
+     * @return the number of allocated bytes
+     */
+    public synchronized long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns the number of bytes of direct memory held by this arena, i.e. in buffers which have not been
+     * garbage-collected yet. Buffers are released once no leaf stored in them is reachable, hence this number lags
+     * behind the data actually reachable until the garbage collector catches up.
+     *
+     * @return the number of live bytes
+     */
+    public synchronized long getLiveBytes() {
+        expungeReleasedBuffers();
+        return liveBytes;
+    }
+
+    /**
+     * Returns the total number of values stored in this arena, including values which may have since been released.
+     *
+     * @return the number of stored values
+     */
+    public synchronized long getStoredValues() {
+        return storedValues;
+    }
+
+    private static NormalizedNode<?, ?> transform(final NormalizedNode<?, ?> node, final Set<QName> keys,
+            final Function<LeafNode<?>, NormalizedNode<?, ?>> leafFunction) {
+        if (node instanceof LeafNode) {
+            return keys.contains(node.getNodeType()) ? node : leafFunction.apply((LeafNode<?>) node);
+        }
+        if (node instanceof AttributesContainer && !((AttributesContainer) node).getAttributes().isEmpty()) {
+            return node;
+        }
+
+        if (node instanceof ContainerNode) {
+            return transformChildren((ContainerNode) node,
+                Builders.containerBuilder().withNodeIdentifier(((ContainerNode) node).getIdentifier()), leafFunction);
+        }
+        if (node instanceof MapEntryNode) {
+            final NodeIdentifierWithPredicates id = ((MapEntryNode) node).getIdentifier();
+            return transformChildren((MapEntryNode) node, Builders.mapEntryBuilder().withNodeIdentifier(id),
+                id.getKeyValues().keySet(), leafFunction);
+        }
+        if (node instanceof AugmentationNode) {
+            final AugmentationIdentifier id = ((AugmentationNode) node).getIdentifier();
+            return transformChildren((AugmentationNode) node, Builders.augmentationBuilder().withNodeIdentifier(id),
+                leafFunction);
+        }
+        if (node instanceof ChoiceNode) {
+            return transformChildren((ChoiceNode) node,
+                Builders.choiceBuilder().withNodeIdentifier(((ChoiceNode) node).getIdentifier()), leafFunction);
+        }
+        if (node instanceof UnkeyedListEntryNode) {
+            return transformChildren((UnkeyedListEntryNode) node,
+                Builders.unkeyedListEntryBuilder().withNodeIdentifier(((UnkeyedListEntryNode) node).getIdentifier()),
+                leafFunction);
+        }
+        if (node instanceof OrderedMapNode) {
+            return transformChildren((OrderedMapNode) node,
+                Builders.orderedMapBuilder().withNodeIdentifier(((OrderedMapNode) node).getIdentifier()), leafFunction);
+        }
+        if (node instanceof MapNode) {
+            return transformChildren((MapNode) node,
+                Builders.mapBuilder().withNodeIdentifier(((MapNode) node).getIdentifier()), leafFunction);
+        }
+        if (node instanceof UnkeyedListNode) {
+            return transformChildren((UnkeyedListNode) node,
+                Builders.unkeyedListBuilder().withNodeIdentifier(((UnkeyedListNode) node).getIdentifier()),
+                leafFunction);
+        }
+
+        // Leaf sets hold their values in the entries' identifiers, anyxml and anydata are opaque
+        return node;
+    }
+
+    private static NormalizedNode<?, ?> transformChildren(final NormalizedNodeContainer<?, ?, ?> node,
+            final NormalizedNodeContainerBuilder<?, ?, ?, ?> builder,
+            final Function<LeafNode<?>, NormalizedNode<?, ?>> leafFunction) {
+        return transformChildren(node, builder, Collections.emptySet(), leafFunction);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static NormalizedNode<?, ?> transformChildren(final NormalizedNodeContainer<?, ?, ?> node,
+            final NormalizedNodeContainerBuilder builder, final Set<QName> keys,
+            final Function<LeafNode<?>, NormalizedNode<?, ?>> leafFunction) {
+        final Collection<? extends NormalizedNode<?, ?>> children = node.getValue();
+        final List<NormalizedNode<?, ?>> transformed = new ArrayList<>(children.size());
+        boolean changed = false;
+        for (NormalizedNode<?, ?> child : children) {
+            final NormalizedNode<?, ?> transformedChild = transform(child, keys, leafFunction);
+            changed |= transformedChild != child;
+            transformed.add(transformedChild);
+        }
+
+        if (!changed) {
+            return node;
+        }
+
+        for (NormalizedNode<?, ?> child : transformed) {
+            builder.addChild(child);
+        }
+        return builder.build();
+    }
+
+    private NormalizedNode<?, ?> offloadLeaf(final LeafNode<?> leaf) {
+        if (leaf instanceof OffHeapLeafNode || !leaf.getAttributes().isEmpty()) {
+            return leaf;
+        }
+
+        final Object value = leaf.getValue();
+        final byte[] bytes;
+        final byte type;
+        if (value instanceof String) {
+            bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            type = OffHeapLeafNode.STRING;
+        } else if (value instanceof byte[]) {
+            bytes = (byte[]) value;
+            type = OffHeapLeafNode.BINARY;
+        } else {
+            return leaf;
+        }
+
+        if (bytes.length < minValueSize) {
+            return leaf;
+        }
+
+        return store(leaf.getIdentifier(), bytes, type);
+    }
+
+    private static NormalizedNode<?, ?> onHeapLeaf(final LeafNode<?> leaf) {
+        return leaf instanceof OffHeapLeafNode ? ImmutableNodes.leafNode(leaf.getIdentifier(), leaf.getValue()) : leaf;
+    }
+
+    private synchronized OffHeapLeafNode store(final NodeIdentifier identifier, final byte[] bytes,
+            final byte type) {
+        final ByteBuffer target;
+        if (bytes.length > slabSize / 4) {
+            target = allocate(bytes.length);
+        } else {
+            if (slab == null || slab.remaining() < bytes.length) {
+                slab = allocate(slabSize);
+            }
+            target = slab;
+        }
+
+        final int offset = target.position();
+        target.put(bytes);
+        storedValues++;
+        return new OffHeapLeafNode(identifier, target, offset, bytes.length, type);
+    }
+
+    @GuardedBy("this")
+    private ByteBuffer allocate(final int size) {
+        expungeReleasedBuffers();
+
+        final ByteBuffer ret = ByteBuffer.allocateDirect(size);
+        liveBuffers.add(new BufferReference(ret, releasedBuffers));
+        allocatedBytes += size;
+        liveBytes += size;
+        return ret;
+    }
+
+    @GuardedBy("this")
+    private void expungeReleasedBuffers() {
+        for (Reference<? extends ByteBuffer> ref = releasedBuffers.poll(); ref != null; ref = releasedBuffers.poll()) {
+            if (liveBuffers.remove(ref)) {
+                liveBytes -= ((BufferReference) ref).size;
+            }
+        }
+    }
+}
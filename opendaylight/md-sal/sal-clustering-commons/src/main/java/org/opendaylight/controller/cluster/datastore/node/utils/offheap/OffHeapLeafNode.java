@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.offheap;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+
+/**
+ * A {@link LeafNode} whose value is stored in an {@link OffHeapLeafArena}. The value is materialized each time
+ * {@link #getValue()} is invoked and is not retained on heap.
+ */
+final class OffHeapLeafNode implements LeafNode<Object> {
+    static final byte STRING = 0;
+    static final byte BINARY = 1;
+
+    private final NodeIdentifier identifier;
+    private final ByteBuffer slab;
+    private final int offset;
+    private final int length;
+    private final byte type;
+
+    OffHeapLeafNode(final NodeIdentifier identifier, final ByteBuffer slab, final int offset, final int length,
+            final byte type) {
+        this.identifier = Preconditions.checkNotNull(identifier);
+        this.slab = Preconditions.checkNotNull(slab);
+        this.offset = offset;
+        this.length = length;
+        this.type = type;
+    }
+
+    @Override
+    public NodeIdentifier getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public QName getNodeType() {
+        return identifier.getNodeType();
+    }
+
+    @Override
+    public Object getValue() {
+        final byte[] bytes = bytes();
+        return type == STRING ? new String(bytes, StandardCharsets.UTF_8) : bytes;
+    }
+
+    @Override
+    public Map<QName, String> getAttributes() {
+        // Leaves with attributes are not stored off-heap
+        return ImmutableMap.of();
+    }
+
+    @Override
+    public Object getAttributeValue(final QName name) {
+        return null;
+    }
+
+    private byte[] bytes() {
+        // The slab is shared with concurrent writers, hence we read through a private view
+        final ByteBuffer view = slab.duplicate();
+        view.position(offset);
+
+        final byte[] bytes = new byte[length];
+        view.get(bytes);
+        return bytes;
+    }
+
+    // Equality follows the contract of on-heap leaves: the identifier and the value, regardless of the storage. The
+    // hash code matches theirs for strings, binary values hash by content.
+    @Override
+    public int hashCode() {
+        final Object value = getValue();
+        return 31 * identifier.hashCode() + (type == STRING ? value.hashCode() : Arrays.hashCode((byte[]) value));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LeafNode)) {
+            return false;
+        }
+
+        final LeafNode<?> other = (LeafNode<?>) obj;
+        return identifier.equals(other.getIdentifier()) && other.getAttributes().isEmpty()
+                && Objects.deepEquals(getValue(), other.getValue());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier).add("length", length).toString();
+    }
+}
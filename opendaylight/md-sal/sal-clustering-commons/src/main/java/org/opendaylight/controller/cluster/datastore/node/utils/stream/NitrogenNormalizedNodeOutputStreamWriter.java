@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+
+/**
+ * NormalizedNodeOutputStreamWriter emitting {@link TokenTypes#NITROGEN_VERSION} streams. In addition to the string
+ * dictionary, each QName and QNameModule is written out only once and is referenced by its code afterwards. The
+ * dictionaries are private to the stream, unless a {@link NormalizedNodeOutputDictionary} is supplied.
+ */
+final class NitrogenNormalizedNodeOutputStreamWriter extends NormalizedNodeOutputStreamWriter {
+    private final Map<QName, Integer> qnameCodeMap;
+    private final Map<QNameModule, Integer> moduleCodeMap;
+
+    NitrogenNormalizedNodeOutputStreamWriter(final DataOutput output) {
+        this(output, new NormalizedNodeOutputDictionary());
+    }
+
+    NitrogenNormalizedNodeOutputStreamWriter(final DataOutput output,
+            final NormalizedNodeOutputDictionary dictionary) {
+        super(output, dictionary.strings);
+        this.qnameCodeMap = dictionary.qnames;
+        this.moduleCodeMap = dictionary.modules;
+    }
+
+    @Override
+    protected short streamVersion() {
+        return TokenTypes.NITROGEN_VERSION;
+    }
+
+    @Override
+    protected void writeQName(final QName qname) throws IOException {
+        final Integer value = qnameCodeMap.get(qname);
+        if (value == null) {
+            qnameCodeMap.put(qname, qnameCodeMap.size());
+            writeByte(TokenTypes.IS_QNAME_VALUE);
+            writeModule(qname);
+            writeString(qname.getLocalName());
+        } else {
+            writeByte(TokenTypes.IS_QNAME_CODE);
+            writeInt(value);
+        }
+    }
+
+    private void writeModule(final QName qname) throws IOException {
+        final QNameModule module = qname.getModule();
+        final Integer value = moduleCodeMap.get(module);
+        if (value == null) {
+            moduleCodeMap.put(module, moduleCodeMap.size());
+            writeByte(TokenTypes.IS_MODULE_VALUE);
+            writeString(qname.getNamespace().toString());
+            writeString(qname.getFormattedRevision());
+        } else {
+            writeByte(TokenTypes.IS_MODULE_CODE);
+            writeInt(value);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.annotations.Beta;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * Dictionary of strings, QNames and QNameModules, which is the reading counterpart of
+ * {@link NormalizedNodeOutputDictionary}. This class is not thread-safe.
+ */
+@Beta
+public final class NormalizedNodeInputDictionary {
+    final Map<Integer, String> strings = new HashMap<>();
+    final List<QName> qnames = new ArrayList<>();
+    final List<String> modules = new ArrayList<>();
+}
@@ -36,12 +36,37 @@ public final class NormalizedNodeInputOutput {
         final short version = input.readShort();
         switch (version) {
             case TokenTypes.LITHIUM_VERSION:
-                return new NormalizedNodeInputStreamReader(input, true);
+            case TokenTypes.NITROGEN_VERSION:
+                return new NormalizedNodeInputStreamReader(input, version);
             default:
                 throw new InvalidNormalizedNodeStreamException(String.format("Unhandled stream version %s", version));
         }
     }
 
+    /**
+     * Creates a new {@link NormalizedNodeDataInput} instance that reads a {@link NormalizedNodeStreamVersion#NITROGEN}
+     * stream from the given input, resolving codes through specified dictionary. This method first reads and
+     * validates that the input contains a valid stream of that version.
+     *
+     * @param input the DataInput to read from
+     * @param dictionary the dictionary shared with previous streams read from the same channel
+     * @return a new {@link NormalizedNodeDataInput} instance
+     * @throws IOException if an error occurs reading from the input
+     */
+    public static NormalizedNodeDataInput newDataInput(@Nonnull final DataInput input,
+            @Nonnull final NormalizedNodeInputDictionary dictionary) throws IOException {
+        final byte marker = input.readByte();
+        if (marker != TokenTypes.SIGNATURE_MARKER) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Invalid signature marker: %d", marker));
+        }
+
+        final short version = input.readShort();
+        if (version != TokenTypes.NITROGEN_VERSION) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Unexpected stream version %s", version));
+        }
+        return new NormalizedNodeInputStreamReader(input, dictionary);
+    }
+
     /**
      * Creates a new {@link NormalizedNodeDataInput} instance that reads from the given input. This method does not
      * perform any initial validation of the input stream.
@@ -62,4 +87,41 @@ public final class NormalizedNodeInputOutput {
     public static NormalizedNodeDataOutput newDataOutput(@Nonnull final DataOutput output) {
         return new NormalizedNodeOutputStreamWriter(output);
     }
+
+    /**
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes to the given output, using specified
+     * stream version. Callers should select {@link NormalizedNodeStreamVersion#NITROGEN} only when all readers of
+     * the stream are known to support it.
+     *
+     * @param output the DataOutput to write to
+     * @param version the stream version to use
+     * @return a new {@link NormalizedNodeDataOutput} instance
+     */
+    public static NormalizedNodeDataOutput newDataOutput(@Nonnull final DataOutput output,
+            @Nonnull final NormalizedNodeStreamVersion version) {
+        switch (version) {
+            case LITHIUM:
+                return new NormalizedNodeOutputStreamWriter(output);
+            case NITROGEN:
+                return new NitrogenNormalizedNodeOutputStreamWriter(output);
+            default:
+                throw new IllegalArgumentException("Unhandled stream version " + version);
+        }
+    }
+
+    /**
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes a
+     * {@link NormalizedNodeStreamVersion#NITROGEN} stream to the given output, sharing specified dictionary with
+     * previous streams written to the same channel.
+     *
+     * @param output the DataOutput to write to
+     * @param dictionary the dictionary shared with previous streams written to the same channel
+     * @return a new {@link NormalizedNodeDataOutput} instance
+     * @throws IllegalStateException if the dictionary has been invalidated
+     */
+    public static NormalizedNodeDataOutput newDataOutput(@Nonnull final DataOutput output,
+            @Nonnull final NormalizedNodeOutputDictionary dictionary) {
+        dictionary.checkValid();
+        return new NitrogenNormalizedNodeOutputStreamWriter(output, dictionary);
+    }
 }
@@ -60,7 +60,14 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
 
     private final DataInput input;
 
-    private final Map<Integer, String> codedStringMap = new HashMap<>();
+    private final Map<Integer, String> codedStringMap;
+
+    // QName and QNameModule dictionaries, used by NITROGEN_VERSION streams. Modules are kept in their string form,
+    // i.e. "(namespace?revision=revision)", which is the prefix of QName string form.
+    private final List<QName> codedQNames;
+    private final List<String> codedModules;
+
+    private short version = TokenTypes.LITHIUM_VERSION;
 
     private QName lastLeafSetQName;
 
@@ -75,10 +82,28 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     private boolean readSignatureMarker = true;
 
     NormalizedNodeInputStreamReader(final DataInput input, final boolean versionChecked) {
+        this(input, versionChecked, new NormalizedNodeInputDictionary());
+    }
+
+    NormalizedNodeInputStreamReader(final DataInput input, final NormalizedNodeInputDictionary dictionary) {
+        this(input, true, dictionary);
+        this.version = TokenTypes.NITROGEN_VERSION;
+    }
+
+    private NormalizedNodeInputStreamReader(final DataInput input, final boolean versionChecked,
+            final NormalizedNodeInputDictionary dictionary) {
         this.input = Preconditions.checkNotNull(input);
+        this.codedStringMap = dictionary.strings;
+        this.codedQNames = dictionary.qnames;
+        this.codedModules = dictionary.modules;
         readSignatureMarker = !versionChecked;
     }
 
+    NormalizedNodeInputStreamReader(final DataInput input, final short version) {
+        this(input, true);
+        this.version = version;
+    }
+
     @Override
     public NormalizedNode<?, ?> readNormalizedNode() throws IOException {
         readSignatureMarkerAndVersionIfNeeded();
@@ -95,9 +120,15 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
                         "Invalid signature marker: %d", marker));
             }
 
-            final short version = input.readShort();
-            if (version != TokenTypes.LITHIUM_VERSION) {
-                throw new InvalidNormalizedNodeStreamException(String.format("Unhandled stream version %s", version));
+            final short streamVersion = input.readShort();
+            switch (streamVersion) {
+                case TokenTypes.LITHIUM_VERSION:
+                case TokenTypes.NITROGEN_VERSION:
+                    version = streamVersion;
+                    break;
+                default:
+                    throw new InvalidNormalizedNodeStreamException(String.format("Unhandled stream version %s",
+                        streamVersion));
             }
         }
     }
@@ -237,6 +268,10 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
     private QName readQName() throws IOException {
+        if (version == TokenTypes.NITROGEN_VERSION) {
+            return readCodedQName();
+        }
+
         // Read in the same sequence of writing
         String localName = readCodedString();
         String namespace = readCodedString();
@@ -255,6 +290,48 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
 
+    private QName readCodedQName() throws IOException {
+        final byte valueType = input.readByte();
+        switch (valueType) {
+            case TokenTypes.IS_QNAME_CODE:
+                return lookupCode(codedQNames, input.readInt(), "QName");
+            case TokenTypes.IS_QNAME_VALUE:
+                final String module = readCodedModule();
+                final QName qname = QNameFactory.create(reusableStringBuilder.append(module)
+                    .append(readCodedString()).toString());
+                reusableStringBuilder.delete(0, reusableStringBuilder.length());
+                codedQNames.add(qname);
+                return qname;
+            default:
+                throw new InvalidNormalizedNodeStreamException("Unexpected QName token " + valueType);
+        }
+    }
+
+    private String readCodedModule() throws IOException {
+        final byte valueType = input.readByte();
+        switch (valueType) {
+            case TokenTypes.IS_MODULE_CODE:
+                return lookupCode(codedModules, input.readInt(), "QNameModule");
+            case TokenTypes.IS_MODULE_VALUE:
+                final String namespace = readCodedString();
+                final String revision = readCodedString();
+                final String module = Strings.isNullOrEmpty(revision) ? "(" + namespace + ")"
+                        : "(" + namespace + REVISION_ARG + revision + ")";
+                codedModules.add(module);
+                return module;
+            default:
+                throw new InvalidNormalizedNodeStreamException("Unexpected QNameModule token " + valueType);
+        }
+    }
+
+    private static <T> T lookupCode(final List<T> values, final int code, final String what)
+            throws InvalidNormalizedNodeStreamException {
+        if (code < 0 || code >= values.size()) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Invalid %s code %s", what, code));
+        }
+        return values.get(code);
+    }
+
     private String readCodedString() throws IOException {
         byte valueType = input.readByte();
         if (valueType == TokenTypes.IS_CODE_VALUE) {
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.util.HashMap;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+
+/**
+ * Dictionary of strings, QNames and QNameModules shared by a sequence of {@link NormalizedNodeStreamVersion#NITROGEN}
+ * streams sent over a single channel. A value is written out only in the first stream which uses it and is referenced
+ * by its code in all subsequent streams. The streams need to be read in the order they were written, by a reader
+ * using a single {@link NormalizedNodeInputDictionary}. This class is not thread-safe.
+ */
+@Beta
+public final class NormalizedNodeOutputDictionary {
+    final Map<String, Integer> strings = new HashMap<>();
+    final Map<QName, Integer> qnames = new HashMap<>();
+    final Map<QNameModule, Integer> modules = new HashMap<>();
+
+    private boolean invalid;
+
+    /**
+     * Invalidate this dictionary. This needs to be invoked when a stream using this dictionary was not completely
+     * written, as the dictionary may contain codes which the reader will never learn.
+     */
+    public void invalidate() {
+        invalid = true;
+    }
+
+    void checkValid() {
+        Preconditions.checkState(!invalid, "Dictionary has been invalidated");
+    }
+}
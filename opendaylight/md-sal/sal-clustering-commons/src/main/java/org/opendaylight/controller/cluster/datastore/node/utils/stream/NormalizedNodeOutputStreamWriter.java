@@ -28,11 +28,16 @@ import org.opendaylight.yangtools.yang.common.QName;
  * Based on the each node, the node type is also written to the stream, that helps in reconstructing the object,
  * while reading.
  */
-final class NormalizedNodeOutputStreamWriter extends AbstractNormalizedNodeDataOutput {
-    private final Map<String, Integer> stringCodeMap = new HashMap<>();
+class NormalizedNodeOutputStreamWriter extends AbstractNormalizedNodeDataOutput {
+    private final Map<String, Integer> stringCodeMap;
 
     NormalizedNodeOutputStreamWriter(final DataOutput output) {
+        this(output, new HashMap<>());
+    }
+
+    NormalizedNodeOutputStreamWriter(final DataOutput output, final Map<String, Integer> stringCodeMap) {
         super(output);
+        this.stringCodeMap = stringCodeMap;
     }
 
     @Override
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Enumeration of all stream versions this implementation can emit. Readers understand all of these versions.
+ */
+@Beta
+public enum NormalizedNodeStreamVersion {
+    /**
+     * Original stream version, using a per-stream dictionary for strings.
+     */
+    LITHIUM,
+    /**
+     * Stream version which additionally uses dictionaries for QNames and QNameModules, which may be shared by
+     * consecutive streams, see {@link NormalizedNodeOutputDictionary}. It cannot be read
+     * by releases which understand only {@link #LITHIUM}.
+     */
+    NITROGEN;
+}
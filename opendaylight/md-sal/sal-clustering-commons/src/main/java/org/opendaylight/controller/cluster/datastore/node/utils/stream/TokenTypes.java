@@ -23,4 +23,16 @@ final class TokenTypes {
     static final byte IS_CODE_VALUE = 1;
     static final byte IS_STRING_VALUE = 2;
     static final byte IS_NULL_VALUE = 3;
+
+    /**
+     * Revised stream version. In addition to {@link #LITHIUM_VERSION} strings, it uses per-stream dictionaries for
+     * QNames and their QNameModules, so a repeated QName is encoded as a single reference.
+     */
+    static final short NITROGEN_VERSION = 2;
+
+    // Tokens supported in NITROGEN_VERSION
+    static final byte IS_QNAME_CODE = 4;
+    static final byte IS_QNAME_VALUE = 5;
+    static final byte IS_MODULE_CODE = 6;
+    static final byte IS_MODULE_VALUE = 7;
 }
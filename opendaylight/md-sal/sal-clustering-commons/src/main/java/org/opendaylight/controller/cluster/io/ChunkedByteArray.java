@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An immutable sequence of bytes, stored as a list of {@code byte[]} chunks. It is produced by
+ * {@link ChunkedOutputStream} or read directly from a {@link DataInput}, so that large amounts of data do not require
+ * a single contiguous array. Callers must not modify the chunks.
+ */
+@ThreadSafe
+public final class ChunkedByteArray {
+    private final List<byte[]> chunks;
+    private final int size;
+
+    ChunkedByteArray(final int size, final List<byte[]> chunks) {
+        checkArgument(size >= 0, "Invalid size %s", size);
+        this.size = size;
+        this.chunks = checkNotNull(chunks);
+    }
+
+    /**
+     * Read a specified number of bytes from a {@link DataInput}, allocating chunks of at most specified size.
+     *
+     * @param in input to read from
+     * @param size number of bytes to read
+     * @param chunkSize maximum size of a single chunk
+     * @return A {@link ChunkedByteArray} containing the data
+     * @throws IOException if the input fails to provide the requested bytes
+     */
+    public static ChunkedByteArray readFrom(final DataInput in, final int size, final int chunkSize)
+            throws IOException {
+        checkArgument(size >= 0, "Invalid size %s", size);
+        checkArgument(chunkSize > 0, "Invalid chunk size %s", chunkSize);
+
+        final List<byte[]> chunks = new ArrayList<>((size + chunkSize - 1) / chunkSize);
+        int remaining = size;
+        while (remaining != 0) {
+            final byte[] buffer = new byte[Math.min(remaining, chunkSize)];
+            in.readFully(buffer);
+            chunks.add(buffer);
+            remaining -= buffer.length;
+        }
+
+        return new ChunkedByteArray(size, ImmutableList.copyOf(chunks));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Open an {@link InputStream} reading the contents of this array.
+     *
+     * @return An InputStream
+     */
+    public InputStream openStream() {
+        return new ChunkedInputStream(size, chunks.iterator());
+    }
+
+    /**
+     * Write the contents of this array to a {@link DataOutput}, one chunk at a time.
+     *
+     * @param output output to write to
+     * @throws IOException if the output fails
+     */
+    public void copyTo(final DataOutput output) throws IOException {
+        for (byte[] chunk : chunks) {
+            output.write(chunk, 0, chunk.length);
+        }
+    }
+
+    @VisibleForTesting
+    List<byte[]> getChunks() {
+        return chunks;
+    }
+}
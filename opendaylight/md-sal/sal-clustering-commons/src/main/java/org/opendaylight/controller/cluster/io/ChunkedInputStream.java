@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An {@link InputStream} reading the chunks of a {@link ChunkedByteArray}.
+ */
+@NotThreadSafe
+final class ChunkedInputStream extends InputStream {
+    private final Iterator<byte[]> remainingChunks;
+
+    private byte[] currentChunk;
+    private int currentOffset;
+    private int remainingSize;
+
+    ChunkedInputStream(final int size, final Iterator<byte[]> chunks) {
+        remainingSize = size;
+        remainingChunks = checkNotNull(chunks);
+        currentChunk = remainingChunks.hasNext() ? remainingChunks.next() : null;
+    }
+
+    @Override
+    public int available() {
+        return remainingSize;
+    }
+
+    @Override
+    public int read() {
+        if (!ensureData()) {
+            return -1;
+        }
+
+        remainingSize--;
+        return currentChunk[currentOffset++] & 0xFF;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:ParameterName")
+    public int read(final byte[] b, final int off, final int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+
+        final int count = Math.min(len, currentChunk.length - currentOffset);
+        System.arraycopy(currentChunk, currentOffset, b, off, count);
+        currentOffset += count;
+        remainingSize -= count;
+        return count;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:ParameterName")
+    public long skip(final long n) {
+        final int toSkip = (int) Math.min(Math.max(n, 0), remainingSize);
+        int skipped = 0;
+        while (skipped != toSkip && ensureData()) {
+            final int count = Math.min(toSkip - skipped, currentChunk.length - currentOffset);
+            currentOffset += count;
+            remainingSize -= count;
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    private boolean ensureData() {
+        while (currentChunk != null && currentOffset == currentChunk.length) {
+            currentChunk = remainingChunks.hasNext() ? remainingChunks.next() : null;
+            currentOffset = 0;
+        }
+        return currentChunk != null;
+    }
+}
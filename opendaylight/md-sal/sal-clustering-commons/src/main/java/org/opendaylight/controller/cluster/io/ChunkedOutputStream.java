@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An {@link OutputStream} implementation which collects data in a series of {@code byte[]} chunks, each of which has
+ * a fixed maximum size. This is generally preferable to {@link java.io.ByteArrayOutputStream}, as that can result in
+ * huge byte arrays -- which can create unnecessary pressure on the GC (as well as lot of copying) -- and results
+ * in another copy when the data is extracted.
+ *
+ * <p>
+ * Chunk size starts at the requested initial capacity and doubles with each new chunk until it reaches the maximum
+ * chunk size. Data which has already been written is never copied, except for trimming the last chunk on
+ * {@link #close()}.
+ */
+@NotThreadSafe
+public final class ChunkedOutputStream extends OutputStream {
+    private static final int MIN_ARRAY_SIZE = 32;
+
+    private final List<byte[]> result = new ArrayList<>();
+    private final int maxChunkSize;
+
+    private byte[] currentChunk;
+    private int currentOffset;
+    private int size;
+    private boolean closed;
+
+    public ChunkedOutputStream(final int requestedInitialCapacity, final int maxChunkSize) {
+        checkArgument(maxChunkSize >= MIN_ARRAY_SIZE, "Maximum chunk size %s is too small", maxChunkSize);
+        this.maxChunkSize = maxChunkSize;
+        currentChunk = new byte[Math.min(Math.max(requestedInitialCapacity, MIN_ARRAY_SIZE), maxChunkSize)];
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:ParameterName")
+    public void write(final int b) throws IOException {
+        checkNotClosed();
+        ensureOneByte();
+        currentChunk[currentOffset++] = (byte) b;
+        size++;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:ParameterName")
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (len < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkNotClosed();
+
+        int fromOffset = off;
+        int toCopy = len;
+
+        while (toCopy != 0) {
+            final int count = ensureMoreBytes(toCopy);
+            System.arraycopy(b, fromOffset, currentChunk, currentOffset, count);
+            currentOffset += count;
+            size += count;
+            fromOffset += count;
+            toCopy -= count;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            if (currentOffset != 0) {
+                result.add(currentOffset == currentChunk.length ? currentChunk
+                        : Arrays.copyOf(currentChunk, currentOffset));
+            }
+            currentChunk = null;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the data written to this stream. The stream must have been closed.
+     *
+     * @return A {@link ChunkedByteArray} containing the data
+     * @throws IllegalStateException if this stream has not been closed
+     */
+    public ChunkedByteArray toChunkedByteArray() {
+        checkState(closed, "Stream has not been closed yet");
+        return new ChunkedByteArray(size, ImmutableList.copyOf(result));
+    }
+
+    private void checkNotClosed() throws IOException {
+        if (closed) {
+            throw new IOException("Stream has already been closed");
+        }
+    }
+
+    private void ensureOneByte() {
+        if (currentOffset == currentChunk.length) {
+            nextChunk();
+        }
+    }
+
+    private int ensureMoreBytes(final int requested) {
+        int available = currentChunk.length - currentOffset;
+        if (available == 0) {
+            nextChunk();
+            available = currentChunk.length;
+        }
+        return Math.min(requested, available);
+    }
+
+    private void nextChunk() {
+        result.add(currentChunk);
+        currentChunk = new byte[Math.min(currentChunk.length * 2, maxChunkSize)];
+        currentOffset = 0;
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import java.io.BufferedInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Compression codecs applied to serialized streams, such as snapshot files, install snapshot chunks and message
+ * slices.
+ *
+ * <p>
+ * Streams produced by a codec other than {@link #NONE} start with a short header identifying the codec, which
+ * {@link #decompress(InputStream)} uses to pick the matching codec. Streams without the header, such as those
+ * written before compression was introduced, are returned unchanged, so readers need not know which codec was used.
+ */
+public enum CompressionCodec {
+    /**
+     * No compression. Streams are written as-is, without a header.
+     */
+    NONE((byte) 0) {
+        @Override
+        OutputStream newCompressingStream(final OutputStream out) {
+            return out;
+        }
+
+        @Override
+        InputStream newDecompressingStream(final InputStream in) {
+            return in;
+        }
+    },
+    /**
+     * Deflate compression as implemented by {@link Deflater}, tuned for speed.
+     */
+    DEFLATE((byte) 1) {
+        @Override
+        OutputStream newCompressingStream(final OutputStream out) {
+            return new DeflaterOutputStream(out, new Deflater(Deflater.BEST_SPEED), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        def.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        InputStream newDecompressingStream(final InputStream in) {
+            return new InflaterInputStream(in, new Inflater(), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inf.end();
+                    }
+                }
+            };
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Cannot be confused with a Java serialization stream, which starts with 0xACED
+    private static final byte[] MAGIC = { (byte) 0xC0, (byte) 0xDE, 'Z', 'S' };
+    private static final int HEADER_LENGTH = MAGIC.length + 1;
+
+    private final byte id;
+
+    CompressionCodec(final byte id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the codec with the given case-insensitive name.
+     *
+     * @param name the codec name
+     * @return the codec
+     * @throws IllegalArgumentException if there is no codec with the name
+     */
+    public static CompressionCodec forName(@Nonnull final String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Wraps an OutputStream so data written to the returned stream is compressed by this codec. The returned stream
+     * must be closed to complete the compressed data. Closing it closes the given stream.
+     *
+     * @param out the stream receiving the compressed data
+     * @param metrics the metrics to update when the returned stream is closed, or null
+     * @return a compressing OutputStream
+     * @throws IOException if an error occurs writing the header
+     */
+    public OutputStream compress(@Nonnull final OutputStream out, @Nullable final CompressionMetrics metrics)
+            throws IOException {
+        if (this == NONE) {
+            return out;
+        }
+
+        out.write(MAGIC);
+        out.write(id);
+
+        final CountingOutputStream counting = new CountingOutputStream(out);
+        final OutputStream compressing = newCompressingStream(counting);
+        return metrics == null ? compressing : new MeteredOutputStream(compressing, counting, metrics);
+    }
+
+    /**
+     * Wraps an InputStream, decompressing its data with the codec identified by its header. If the stream does not
+     * start with a header, its data is returned unchanged.
+     *
+     * @param in the stream to read from
+     * @return an InputStream returning the decompressed data
+     * @throws IOException if an error occurs reading the header or the header identifies an unknown codec
+     */
+    public static InputStream decompress(@Nonnull final InputStream in) throws IOException {
+        final BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(HEADER_LENGTH);
+
+        final byte[] header = new byte[HEADER_LENGTH];
+        final int read = ByteStreams.read(buffered, header, 0, HEADER_LENGTH);
+        if (read == HEADER_LENGTH && Arrays.equals(MAGIC, Arrays.copyOf(header, MAGIC.length))) {
+            return forId(header[MAGIC.length]).newDecompressingStream(buffered);
+        }
+
+        buffered.reset();
+        return buffered;
+    }
+
+    /**
+     * Returns a ByteSource whose streams return the data of the given source, decompressed as per
+     * {@link #decompress(InputStream)}.
+     *
+     * @param source the source of possibly compressed data
+     * @return a ByteSource of the decompressed data
+     */
+    public static ByteSource decompress(@Nonnull final ByteSource source) {
+        Preconditions.checkNotNull(source);
+        return new ByteSource() {
+            @Override
+            public InputStream openStream() throws IOException {
+                return decompress(source.openStream());
+            }
+        };
+    }
+
+    abstract OutputStream newCompressingStream(OutputStream out);
+
+    abstract InputStream newDecompressingStream(InputStream in);
+
+    private static CompressionCodec forId(final byte id) throws IOException {
+        for (CompressionCodec codec : values()) {
+            if (codec.id == id) {
+                return codec;
+            }
+        }
+
+        throw new IOException("Unknown compression codec " + id);
+    }
+
+    /**
+     * Measures the time spent compressing and the amount of data written, reporting them to
+     * {@link CompressionMetrics} once closed.
+     */
+    private static final class MeteredOutputStream extends FilterOutputStream {
+        private final CountingOutputStream compressed;
+        private final CompressionMetrics metrics;
+
+        private long uncompressedBytes;
+        private long elapsedNanos;
+        private boolean closed;
+
+        MeteredOutputStream(final OutputStream out, final CountingOutputStream compressed,
+                final CompressionMetrics metrics) {
+            super(out);
+            this.compressed = compressed;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void write(final int value) throws IOException {
+            final long start = System.nanoTime();
+            out.write(value);
+            elapsedNanos += System.nanoTime() - start;
+            uncompressedBytes++;
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int off, final int len) throws IOException {
+            final long start = System.nanoTime();
+            out.write(bytes, off, len);
+            elapsedNanos += System.nanoTime() - start;
+            uncompressedBytes += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            final long start = System.nanoTime();
+            super.close();
+            elapsedNanos += System.nanoTime() - start;
+            metrics.update(uncompressedBytes, compressed.getCount(), elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
+
+/**
+ * Metrics of the streams compressed by a {@link CompressionCodec} in a particular context, such as the snapshot
+ * store or a shard's install snapshots. The metrics are reported to {@link MetricsReporter} in the {@link #DOMAIN}
+ * domain and are therefore available over JMX:
+ * <ul>
+ *     <li>compression-time: the time spent compressing each stream</li>
+ *     <li>compression-ratio-percent: the uncompressed size of each stream in percent of its compressed size</li>
+ *     <li>uncompressed-bytes and compressed-bytes: the total number of bytes before and after compression</li>
+ * </ul>
+ */
+public final class CompressionMetrics {
+    public static final String DOMAIN = "org.opendaylight.controller.cluster.compression";
+
+    private final Timer compressionTimer;
+    private final Histogram compressionRatio;
+    private final Counter uncompressedBytes;
+    private final Counter compressedBytes;
+
+    private CompressionMetrics(final MetricRegistry registry, final String name) {
+        compressionTimer = registry.timer(MetricRegistry.name(name, "compression-time"));
+        compressionRatio = registry.histogram(MetricRegistry.name(name, "compression-ratio-percent"));
+        uncompressedBytes = registry.counter(MetricRegistry.name(name, "uncompressed-bytes"));
+        compressedBytes = registry.counter(MetricRegistry.name(name, "compressed-bytes"));
+    }
+
+    /**
+     * Returns the metrics of streams compressed by a codec in a context. Instances for the same context and codec
+     * share the underlying metrics.
+     *
+     * @param context the context, for example the name of the component compressing the streams
+     * @param codec the codec compressing the streams
+     * @return a CompressionMetrics instance
+     */
+    public static CompressionMetrics forContext(@Nonnull final String context, @Nonnull final CompressionCodec codec) {
+        return new CompressionMetrics(MetricsReporter.getInstance(DOMAIN).getMetricsRegistry(),
+            MetricRegistry.name(context, codec.name().toLowerCase(Locale.ENGLISH)));
+    }
+
+    void update(final long uncompressed, final long compressed, final long elapsedNanos) {
+        compressionTimer.update(elapsedNanos, TimeUnit.NANOSECONDS);
+        uncompressedBytes.inc(uncompressed);
+        compressedBytes.inc(compressed);
+        if (compressed > 0) {
+            compressionRatio.update(uncompressed * 100 / compressed);
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.io.CompressionCodec;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStreamFactory;
 import org.opendaylight.yangtools.concepts.Identifier;
 import org.slf4j.Logger;
@@ -180,7 +181,8 @@ public class MessageAssembler implements AutoCloseable {
     private static Object reAssembleMessage(final AssembledMessageState state) throws MessageSliceException {
         try {
             final ByteSource assembledBytes = state.getAssembledBytes();
-            try (ObjectInputStream in = new ObjectInputStream(assembledBytes.openStream())) {
+            try (ObjectInputStream in = new ObjectInputStream(CompressionCodec.decompress(
+                    assembledBytes.openStream()))) {
                 return in.readObject();
             }
 
@@ -22,6 +22,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.io.CompressionCodec;
+import org.opendaylight.controller.cluster.io.CompressionMetrics;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStream;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStreamFactory;
 import org.opendaylight.yangtools.concepts.Identifier;
@@ -45,11 +48,15 @@ public class MessageSlicer implements AutoCloseable {
     private final int maxSlicingTries;
     private final String logContext;
     private final long id;
+    private final CompressionCodec compression;
+    private final CompressionMetrics compressionMetrics;
 
     private MessageSlicer(final Builder builder) {
         this.fileBackedStreamFactory = builder.fileBackedStreamFactory;
         this.messageSliceSize = builder.messageSliceSize;
         this.maxSlicingTries = builder.maxSlicingTries;
+        this.compression = builder.compression;
+        this.compressionMetrics = builder.compressionMetrics;
 
         id = SLICER_ID_COUNTER.getAndIncrement();
         this.logContext = builder.logContext + "_slicer-id-" + id;
@@ -107,7 +114,8 @@ public class MessageSlicer implements AutoCloseable {
 
             // Serialize the message to a FileBackedOutputStream.
             fileBackedStream = fileBackedStreamFactory.newInstance();
-            try (ObjectOutputStream out = new ObjectOutputStream(fileBackedStream)) {
+            try (ObjectOutputStream out = new ObjectOutputStream(compression.compress(fileBackedStream,
+                    compressionMetrics))) {
                 out.writeObject(message);
             } catch (IOException e) {
                 LOG.debug("{}: Error serializing message for {}", logContext, identifier, e);
@@ -329,6 +337,8 @@ public class MessageSlicer implements AutoCloseable {
         private TimeUnit expireStateAfterInactivityUnit = TimeUnit.MINUTES;
         private int maxSlicingTries = DEFAULT_MAX_SLICING_TRIES;
         private String logContext = "<no-context>";
+        private CompressionCodec compression = CompressionCodec.NONE;
+        private CompressionMetrics compressionMetrics;
 
         /**
          * Sets the factory for creating FileBackedOutputStream instances used for streaming messages. This factory
@@ -395,6 +405,22 @@ public class MessageSlicer implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Sets the codec used to compress Serializable messages passed to {@link MessageSlicer#slice(SliceOptions)}.
+         * The {@link MessageAssembler} detects the codec, so it need not be configured on the receiving end. The
+         * default is {@link CompressionCodec#NONE}.
+         *
+         * @param newCompression the compression codec
+         * @param newCompressionMetrics the metrics to update on compression, or null
+         * @return this Builder
+         */
+        public Builder compression(final CompressionCodec newCompression,
+                @Nullable final CompressionMetrics newCompressionMetrics) {
+            this.compression = Preconditions.checkNotNull(newCompression);
+            this.compressionMetrics = newCompressionMetrics;
+            return this;
+        }
+
         /**
          * Builds a new MessageSlicer instance.
          *
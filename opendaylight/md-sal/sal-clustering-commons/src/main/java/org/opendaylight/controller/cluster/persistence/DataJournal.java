@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.opendaylight.controller.cluster.persistence.JournalSegment.EntryVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The journal of a single persistence identifier, stored as a sequence of {@link JournalSegment}s in a dedicated
+ * directory. Segment files are named after the sequence number of their first entry. Deletion of messages is tracked
+ * through a separate marker file, with whole segments being removed once all of their entries have been deleted.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+final class DataJournal {
+    private static final Logger LOG = LoggerFactory.getLogger(DataJournal.class);
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final String DELETED_TO_FILE = "deleted-to";
+
+    // Closed segment files, keyed by their first sequence number. Does not include the active segment.
+    private final NavigableMap<Long, File> segments = new TreeMap<>();
+    private final File directory;
+    private final int maxSegmentSize;
+
+    private JournalSegment activeSegment;
+    private long lastSequenceNr;
+    private long deletedTo;
+
+    private DataJournal(final File directory, final int maxSegmentSize) {
+        this.directory = directory;
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    static boolean exists(final File directory) {
+        return directory.isDirectory();
+    }
+
+    static DataJournal open(final File directory, final int maxSegmentSize) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            throw new IOException("Failed to create journal directory " + directory);
+        }
+
+        final DataJournal ret = new DataJournal(directory, maxSegmentSize);
+        ret.load();
+        return ret;
+    }
+
+    private void load() throws IOException {
+        final File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                final String name = file.getName();
+                try {
+                    segments.put(Long.valueOf(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    LOG.warn("Ignoring unrecognized file {}", file, e);
+                }
+            }
+        }
+
+        deletedTo = readDeletedTo();
+
+        final Entry<Long, File> last = segments.pollLastEntry();
+        if (last != null) {
+            activeSegment = JournalSegment.open(last.getValue(), last.getKey(), true);
+            lastSequenceNr = activeSegment.getLastSequenceNr();
+        } else {
+            lastSequenceNr = deletedTo;
+        }
+
+        LOG.debug("Journal {} loaded, {} closed segments, last entry {}, deleted to {}", directory, segments.size(),
+            lastSequenceNr, deletedTo);
+    }
+
+    long highestSequenceNr() {
+        return Math.max(lastSequenceNr, deletedTo);
+    }
+
+    /**
+     * Append an entry to this journal. The entry is not guaranteed to be durable until {@link #flush()} is invoked.
+     */
+    void append(final long sequenceNr, final byte[] bytes) throws IOException {
+        checkArgument(sequenceNr > highestSequenceNr(), "Sequence number %s does not follow %s", sequenceNr,
+            highestSequenceNr());
+        checkArgument(bytes.length <= Integer.MAX_VALUE - JournalSegment.HEADER_SIZE, "Entry %s is too large",
+            sequenceNr);
+
+        if (activeSegment == null || !activeSegment.hasRoomFor(bytes.length)) {
+            rollSegment(sequenceNr, bytes.length);
+        }
+
+        activeSegment.append(sequenceNr, bytes);
+        lastSequenceNr = sequenceNr;
+    }
+
+    void flush() {
+        if (activeSegment != null) {
+            activeSegment.flush();
+        }
+    }
+
+    void replay(final long fromSequenceNr, final long toSequenceNr, final long max, final EntryVisitor visitor)
+            throws IOException {
+        final long from = Math.max(fromSequenceNr, deletedTo + 1);
+        if (max <= 0 || from > toSequenceNr) {
+            return;
+        }
+
+        final long[] remaining = { max };
+        final EntryVisitor bounded = (sequenceNr, bytes) -> {
+            if (sequenceNr > toSequenceNr) {
+                return false;
+            }
+            if (!visitor.visit(sequenceNr, bytes)) {
+                return false;
+            }
+            return --remaining[0] > 0;
+        };
+
+        final Long startKey = segments.floorKey(from);
+        for (Entry<Long, File> entry : (startKey != null ? segments.tailMap(startKey, true)
+                : segments).entrySet()) {
+            if (entry.getKey() > toSequenceNr) {
+                return;
+            }
+
+            final JournalSegment segment = JournalSegment.open(entry.getValue(), entry.getKey(), false);
+            try {
+                if (!segment.scan(from, bounded)) {
+                    return;
+                }
+            } finally {
+                segment.close();
+            }
+        }
+
+        if (activeSegment != null && activeSegment.getFirstSequenceNr() <= toSequenceNr) {
+            activeSegment.scan(from, bounded);
+        }
+    }
+
+    /**
+     * Delete all entries up to and including specified sequence number. Closed segments which contain only deleted
+     * entries are removed, the active segment is retained so the highest sequence number does not regress.
+     */
+    void deleteTo(final long toSequenceNr) throws IOException {
+        final long newDeletedTo = Math.min(toSequenceNr, highestSequenceNr());
+        if (newDeletedTo <= deletedTo) {
+            return;
+        }
+
+        writeDeletedTo(newDeletedTo);
+        deletedTo = newDeletedTo;
+
+        final Iterator<Entry<Long, File>> it = segments.entrySet().iterator();
+        while (it.hasNext()) {
+            final Entry<Long, File> entry = it.next();
+            final Long nextFirst = segments.higherKey(entry.getKey());
+            final long segmentLast = (nextFirst != null ? nextFirst : activeSegment.getFirstSequenceNr()) - 1;
+            if (segmentLast > deletedTo) {
+                break;
+            }
+
+            LOG.debug("Deleting segment {}", entry.getValue());
+            if (!entry.getValue().delete()) {
+                LOG.warn("Failed to delete segment {}", entry.getValue());
+            }
+            it.remove();
+        }
+    }
+
+    /**
+     * Mark all entries up to and including specified sequence number as deleted in a journal which does not have
+     * any entries. This is used to retain the highest sequence number when importing entries.
+     */
+    void markDeletedTo(final long sequenceNr) throws IOException {
+        checkState(activeSegment == null && segments.isEmpty(), "Journal %s is not empty", directory);
+        if (sequenceNr > deletedTo) {
+            writeDeletedTo(sequenceNr);
+            deletedTo = sequenceNr;
+        }
+    }
+
+    void close() {
+        if (activeSegment != null) {
+            activeSegment.close();
+            activeSegment = null;
+        }
+    }
+
+    private void rollSegment(final long firstSequenceNr, final int entrySize) throws IOException {
+        if (activeSegment != null) {
+            activeSegment.close();
+            if (activeSegment.isEmpty()) {
+                // Should never happen, as we only roll when an entry does not fit
+                LOG.warn("Leaving behind empty segment {}", activeSegment.getFile());
+            }
+            segments.put(activeSegment.getFirstSequenceNr(), activeSegment.getFile());
+        }
+
+        final int size = Math.max(maxSegmentSize, JournalSegment.HEADER_SIZE + entrySize);
+        final File file = new File(directory, String.format("%020d%s", firstSequenceNr, SEGMENT_SUFFIX));
+        LOG.debug("Creating segment {} size {}", file, size);
+        activeSegment = JournalSegment.create(file, firstSequenceNr, size);
+    }
+
+    private long readDeletedTo() throws IOException {
+        final File file = new File(directory, DELETED_TO_FILE);
+        if (!file.exists()) {
+            return 0;
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            return raf.readLong();
+        }
+    }
+
+    private void writeDeletedTo(final long value) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(new File(directory, DELETED_TO_FILE), "rw")) {
+            raf.writeLong(value);
+            raf.getFD().sync();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DataJournal [directory=" + directory + ", last=" + lastSequenceNr + ", deletedTo=" + deletedTo + "]";
+    }
+}
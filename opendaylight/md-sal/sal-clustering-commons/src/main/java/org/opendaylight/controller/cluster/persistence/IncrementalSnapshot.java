@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import java.io.IOException;
+
+/**
+ * Interface implemented by snapshot objects which may record only the changes made since a preceding full snapshot.
+ * When {@link LocalSnapshotStore} loads such an incremental snapshot, it locates the youngest full snapshot saved
+ * before it and resolves the incremental snapshot against it, so the persistent actor is always offered a complete
+ * snapshot.
+ */
+public interface IncrementalSnapshot {
+    /**
+     * Indicates whether this snapshot records only changes since a preceding full snapshot.
+     *
+     * @return true if this snapshot needs to be resolved against a base snapshot
+     */
+    boolean isIncremental();
+
+    /**
+     * Resolve this incremental snapshot against its base snapshot.
+     *
+     * @param base the youngest full snapshot saved before this snapshot
+     * @return the complete snapshot
+     * @throws IOException if the base snapshot is not compatible with this snapshot
+     */
+    Object resolve(Object base) throws IOException;
+}
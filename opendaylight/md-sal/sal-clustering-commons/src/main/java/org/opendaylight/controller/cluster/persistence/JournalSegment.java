@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single fixed-size, append-only journal segment file, accessed through a memory mapping. Each entry is laid out as
+ * <pre>
+ *   int  length of the serialized entry (always positive)
+ *   int  CRC32 of the serialized entry
+ *   long sequence number
+ *   byte[length] serialized entry
+ * </pre>
+ * The unused tail of the file is zero-filled, hence a zero length marks the end of valid data. An entry which fails
+ * CRC validation is treated as a torn write and truncates the segment when it is opened for writing.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+final class JournalSegment {
+    @FunctionalInterface
+    interface EntryVisitor {
+        /**
+         * Visit a single entry.
+         *
+         * @param sequenceNr entry sequence number
+         * @param bytes serialized entry
+         * @return True if the scan should continue, false otherwise.
+         */
+        boolean visit(long sequenceNr, byte[] bytes);
+    }
+
+    static final int HEADER_SIZE = 16;
+
+    private static final Logger LOG = LoggerFactory.getLogger(JournalSegment.class);
+
+    private final File file;
+    private final long firstSequenceNr;
+    private final boolean writable;
+
+    private MappedByteBuffer buffer;
+    private long lastSequenceNr;
+    private int writePosition;
+    private boolean dirty;
+
+    private JournalSegment(final File file, final long firstSequenceNr, final boolean writable,
+            final MappedByteBuffer buffer) {
+        this.file = file;
+        this.firstSequenceNr = firstSequenceNr;
+        this.writable = writable;
+        this.buffer = buffer;
+        this.lastSequenceNr = firstSequenceNr - 1;
+    }
+
+    /**
+     * Create a new segment file, preallocating it to specified size.
+     */
+    static JournalSegment create(final File file, final long firstSequenceNr, final int size) throws IOException {
+        checkArgument(size > HEADER_SIZE, "Segment size %s is too small", size);
+        checkState(!file.exists(), "Segment %s already exists", file);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(size);
+        }
+
+        return map(file, firstSequenceNr, true);
+    }
+
+    /**
+     * Open an existing segment file. If it is opened for writing, the write position is established by scanning
+     * the entries and any torn data at the end is cleared.
+     */
+    static JournalSegment open(final File file, final long firstSequenceNr, final boolean writable)
+            throws IOException {
+        final JournalSegment ret = map(file, firstSequenceNr, writable);
+        if (writable) {
+            ret.recover();
+        }
+        return ret;
+    }
+
+    private static JournalSegment map(final File file, final long firstSequenceNr, final boolean writable)
+            throws IOException {
+        final MappedByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(file, writable ? "rw" : "r")) {
+            final FileChannel channel = raf.getChannel();
+            final long size = channel.size();
+            checkState(size <= Integer.MAX_VALUE, "Segment %s has unsupported size %s", file, size);
+            buffer = channel.map(writable ? MapMode.READ_WRITE : MapMode.READ_ONLY, 0, size);
+        }
+
+        // The mapping remains valid after the channel is closed, there is no need to hold on to the descriptor.
+        return new JournalSegment(file, firstSequenceNr, writable, buffer);
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    long getFirstSequenceNr() {
+        return firstSequenceNr;
+    }
+
+    long getLastSequenceNr() {
+        return lastSequenceNr;
+    }
+
+    boolean isEmpty() {
+        return writePosition == 0;
+    }
+
+    boolean hasRoomFor(final int length) {
+        return buffer.capacity() - writePosition >= HEADER_SIZE + length;
+    }
+
+    void append(final long sequenceNr, final byte[] bytes) {
+        checkState(writable, "Segment %s is not writable", file);
+        checkArgument(sequenceNr > lastSequenceNr, "Sequence number %s does not follow %s", sequenceNr,
+            lastSequenceNr);
+        checkArgument(hasRoomFor(bytes.length), "Segment %s cannot accomodate %s bytes", file, bytes.length);
+
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+
+        // Write the payload first and the length last, so a partially-written entry is less likely to look valid.
+        final ByteBuffer dup = buffer.duplicate();
+        dup.position(writePosition + 4);
+        dup.putInt((int) crc.getValue());
+        dup.putLong(sequenceNr);
+        dup.put(bytes);
+        buffer.putInt(writePosition, bytes.length);
+
+        writePosition += HEADER_SIZE + bytes.length;
+        lastSequenceNr = sequenceNr;
+        dirty = true;
+    }
+
+    /**
+     * Scan entries in this segment, invoking the visitor for each entry whose sequence number is at least
+     * {@code fromSequenceNr}.
+     *
+     * @return True if the scan reached the end of the segment, false if the visitor terminated it.
+     */
+    boolean scan(final long fromSequenceNr, final EntryVisitor visitor) {
+        final ByteBuffer dup = buffer.duplicate();
+        final int limit = writable ? writePosition : dup.capacity();
+
+        int position = 0;
+        long prevSequenceNr = firstSequenceNr - 1;
+        while (position + HEADER_SIZE <= limit) {
+            final int length = dup.getInt(position);
+            if (length <= 0 || length > limit - position - HEADER_SIZE) {
+                break;
+            }
+
+            final long sequenceNr = dup.getLong(position + 8);
+            if (sequenceNr <= prevSequenceNr) {
+                break;
+            }
+
+            final int dataStart = position + HEADER_SIZE;
+            dup.limit(dataStart + length).position(dataStart);
+            if (sequenceNr >= fromSequenceNr) {
+                final byte[] bytes = new byte[length];
+                dup.get(bytes);
+                if (!crcMatches(dup.getInt(position + 4), ByteBuffer.wrap(bytes))) {
+                    LOG.warn("Segment {} entry {} at offset {} is corrupted, ignoring the rest of the segment", file,
+                        sequenceNr, position);
+                    break;
+                }
+                if (!visitor.visit(sequenceNr, bytes)) {
+                    return false;
+                }
+            }
+
+            dup.clear();
+            prevSequenceNr = sequenceNr;
+            position = dataStart + length;
+        }
+
+        return true;
+    }
+
+    void flush() {
+        if (dirty) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    void close() {
+        flush();
+        // We cannot forcibly unmap the buffer, let the GC reclaim it
+        buffer = null;
+    }
+
+    private void recover() {
+        final ByteBuffer dup = buffer.duplicate();
+        final int limit = dup.capacity();
+
+        int position = 0;
+        long prevSequenceNr = firstSequenceNr - 1;
+        while (position + HEADER_SIZE <= limit) {
+            final int length = dup.getInt(position);
+            if (length <= 0 || length > limit - position - HEADER_SIZE) {
+                break;
+            }
+
+            final long sequenceNr = dup.getLong(position + 8);
+            if (sequenceNr <= prevSequenceNr) {
+                break;
+            }
+
+            final int dataStart = position + HEADER_SIZE;
+            dup.limit(dataStart + length).position(dataStart);
+            final boolean valid = crcMatches(dup.getInt(position + 4), dup);
+            dup.clear();
+            if (!valid) {
+                break;
+            }
+
+            prevSequenceNr = sequenceNr;
+            position = dataStart + length;
+        }
+
+        writePosition = position;
+        lastSequenceNr = prevSequenceNr;
+
+        // Clear any leftovers of a torn write, so they cannot be mistaken for valid data later
+        final int tail = Math.min(limit - position, HEADER_SIZE);
+        boolean clean = true;
+        for (int i = 0; i < tail; ++i) {
+            if (dup.get(position + i) != 0) {
+                clean = false;
+                break;
+            }
+        }
+
+        if (!clean) {
+            LOG.warn("Segment {} has torn data at offset {}, truncating it", file, position);
+            dup.position(position);
+            while (dup.hasRemaining()) {
+                dup.put((byte) 0);
+            }
+            dirty = true;
+            flush();
+        }
+    }
+
+    private static boolean crcMatches(final int expected, final ByteBuffer data) {
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue() == expected;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalSegment [file=" + file + ", first=" + firstSequenceNr + ", last=" + lastSequenceNr + "]";
+    }
+}
@@ -43,6 +43,8 @@ import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.io.CompressionCodec;
+import org.opendaylight.controller.cluster.io.CompressionMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.ExecutionContext;
@@ -64,6 +66,8 @@ public class LocalSnapshotStore extends SnapshotStore {
     private final ExecutionContext executionContext;
     private final int maxLoadAttempts;
     private final File snapshotDir;
+    private final CompressionCodec compression;
+    private final CompressionMetrics compressionMetrics;
 
     public LocalSnapshotStore(final Config config) {
         this.executionContext = context().system().dispatchers().lookup(config.getString("stream-dispatcher"));
@@ -72,7 +76,13 @@ public class LocalSnapshotStore extends SnapshotStore {
         int localMaxLoadAttempts = config.getInt("max-load-attempts");
         maxLoadAttempts = localMaxLoadAttempts > 0 ? localMaxLoadAttempts : 1;
 
-        LOG.debug("LocalSnapshotStore ctor: snapshotDir: {}, maxLoadAttempts: {}", snapshotDir, maxLoadAttempts);
+        // Files are read regardless of their compression, hence this affects only newly-saved snapshots
+        compression = config.hasPath("compression") ? CompressionCodec.forName(config.getString("compression"))
+                : CompressionCodec.NONE;
+        compressionMetrics = CompressionMetrics.forContext("local-snapshot-store", compression);
+
+        LOG.debug("LocalSnapshotStore ctor: snapshotDir: {}, maxLoadAttempts: {}, compression: {}", snapshotDir,
+                maxLoadAttempts, compression);
     }
 
     @Override
@@ -120,6 +130,10 @@ public class LocalSnapshotStore extends SnapshotStore {
 
             LOG.debug("deserialized data: {}", data);
 
+            if (isIncremental(data)) {
+                data = resolveIncremental(metadata, (IncrementalSnapshot) data);
+            }
+
             return Optional.of(new SelectedSnapshot(metadata, data));
         } catch (IOException e) {
             LOG.error("Error loading snapshot file {}, remaining attempts: {}", file, metadatas.size(), e);
@@ -132,8 +146,32 @@ public class LocalSnapshotStore extends SnapshotStore {
         }
     }
 
+    private static boolean isIncremental(final Object data) {
+        return data instanceof IncrementalSnapshot && ((IncrementalSnapshot) data).isIncremental();
+    }
+
+    private Object resolveIncremental(final SnapshotMetadata metadata, final IncrementalSnapshot snapshot)
+            throws IOException {
+        // The base is the youngest full snapshot saved before the incremental one. Older incremental snapshots
+        // may still be present if their deletion has not completed yet, hence we skip them.
+        final List<SnapshotMetadata> candidates = getSnapshotMetadatas(metadata.persistenceId(),
+            SnapshotSelectionCriteria.latest()).stream().filter(md -> compare(md, metadata) < 0)
+                .sorted(LocalSnapshotStore::compare).collect(reverse());
+
+        for (SnapshotMetadata candidate : candidates) {
+            final File file = toSnapshotFile(candidate);
+            final Object base = deserialize(file);
+            if (!isIncremental(base)) {
+                LOG.debug("Resolving incremental snapshot {} against {}", metadata, candidate);
+                return snapshot.resolve(base);
+            }
+        }
+
+        throw new IOException("No base snapshot found for incremental snapshot " + metadata);
+    }
+
     private Object deserialize(final File file) throws IOException {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+        try (ObjectInputStream in = new ObjectInputStream(CompressionCodec.decompress(new FileInputStream(file)))) {
             return in.readObject();
         } catch (ClassNotFoundException e) {
             throw new IOException("Error loading snapshot file " + file, e);
@@ -171,7 +209,8 @@ public class LocalSnapshotStore extends SnapshotStore {
 
         LOG.debug("Saving to temp file: {}", temp);
 
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(temp))) {
+        try (ObjectOutputStream out = new ObjectOutputStream(compression.compress(new FileOutputStream(temp),
+                compressionMetrics))) {
             out.writeObject(snapshot);
         } catch (IOException e) {
             LOG.error("Error saving snapshot file {}. Deleting file..", temp, e);
@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Cancellable;
+import akka.actor.Props;
+import akka.actor.UntypedActor;
+import akka.dispatch.Futures;
+import akka.dispatch.Mapper;
+import akka.dispatch.OnComplete;
+import akka.persistence.AtomicWrite;
+import akka.persistence.JournalProtocol.RecoverySuccess;
+import akka.persistence.JournalProtocol.ReplayMessages;
+import akka.persistence.JournalProtocol.ReplayMessagesFailure;
+import akka.persistence.JournalProtocol.ReplayedMessage;
+import akka.persistence.Persistence;
+import akka.persistence.PersistentRepr;
+import akka.persistence.journal.japi.AsyncWriteJournal;
+import akka.serialization.Serialization;
+import akka.serialization.SerializationExtension;
+import com.google.common.base.Strings;
+import com.typesafe.config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.Option;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+import scala.concurrent.duration.FiniteDuration;
+import scala.util.Try;
+
+/**
+ * An Akka persistence journal plugin which stores entries in fixed-size, append-only, memory-mapped segment files,
+ * one directory per persistence identifier. All entries passed to a single {@link #doAsyncWriteMessages(Iterable)}
+ * invocation are written first and then synced to disk together, so that Akka's journal batching translates into a
+ * single fsync per batch. Deleting messages removes whole segments once all of their entries are deleted, rather
+ * than deleting individual entries.
+ *
+ * <p>
+ * Like akka's LevelDB journal, all operations are performed synchronously on the journal actor. This keeps writes for
+ * a particular persistence identifier ordered without any further synchronization.
+ *
+ * <p>
+ * When the {@code migrate-from} setting names another journal plugin, a persistence identifier which does not have
+ * a journal directory yet is populated by replaying its messages from that plugin before first use. This provides
+ * a migration path from an existing LevelDB journal. The migration does not block the journal actor: operations on
+ * the persistence identifier being migrated are chained to its completion, while others proceed as usual.
+ */
+public class SegmentedFileJournal extends AsyncWriteJournal {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedFileJournal.class);
+    private static final int DEFAULT_MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final FiniteDuration DEFAULT_MIGRATION_TIMEOUT = new FiniteDuration(5, TimeUnit.MINUTES);
+
+    @FunctionalInterface
+    private interface JournalOperation<T> {
+        T apply(DataJournal journal) throws Exception;
+    }
+
+    // Journals being migrated are held as uncompleted futures. Replays may run outside of the actor.
+    private final Map<String, Future<DataJournal>> journals = new ConcurrentHashMap<>();
+    private final ExecutionContext executionContext;
+    private final Serialization serialization;
+    private final File rootDir;
+    private final int maxSegmentSize;
+    private final String migrateFrom;
+    private final FiniteDuration migrationTimeout;
+
+    public SegmentedFileJournal(final Config config) {
+        serialization = SerializationExtension.get(context().system());
+        executionContext = context().dispatcher();
+        rootDir = new File(config.getString("root-directory"));
+        maxSegmentSize = config.hasPath("max-segment-size")
+                ? Math.toIntExact(config.getBytes("max-segment-size")) : DEFAULT_MAX_SEGMENT_SIZE;
+        migrateFrom = legacyJournal(config.hasPath("migrate-from")
+                ? Strings.emptyToNull(config.getString("migrate-from")) : null);
+        migrationTimeout = config.hasPath("migration-timeout") ? new FiniteDuration(
+            config.getDuration("migration-timeout", TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS)
+                : DEFAULT_MIGRATION_TIMEOUT;
+
+        LOG.debug("SegmentedFileJournal ctor: rootDir: {}, maxSegmentSize: {}, migrateFrom: {}", rootDir,
+            maxSegmentSize, migrateFrom);
+    }
+
+    @Override
+    public void preStart() throws Exception {
+        if (!rootDir.isDirectory() && !rootDir.mkdirs() && !rootDir.isDirectory()) {
+            throw new IOException("Failed to create journal directory " + rootDir.getCanonicalPath());
+        }
+
+        super.preStart();
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        for (Future<DataJournal> journal : journals.values()) {
+            final Option<Try<DataJournal>> value = journal.value();
+            if (value.isDefined() && value.get().isSuccess()) {
+                value.get().get().close();
+            }
+        }
+        journals.clear();
+        super.postStop();
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    @Override
+    public Future<Iterable<Optional<Exception>>> doAsyncWriteMessages(final Iterable<AtomicWrite> messages) {
+        final List<Future<DataJournal>> migrating = new ArrayList<>();
+        try {
+            for (AtomicWrite write : messages) {
+                final Future<DataJournal> journal = journalFor(write.persistenceId());
+                if (!journal.isCompleted()) {
+                    migrating.add(journal);
+                }
+            }
+        } catch (Exception e) {
+            LOG.error("Failed to write messages", e);
+            return Futures.failed(e);
+        }
+
+        if (!migrating.isEmpty()) {
+            // Write the messages once the journals have been migrated
+            return Futures.sequence(migrating, executionContext).flatMap(
+                new Mapper<Iterable<DataJournal>, Future<Iterable<Optional<Exception>>>>() {
+                    @Override
+                    public Future<Iterable<Optional<Exception>>> apply(final Iterable<DataJournal> migrated) {
+                        return doAsyncWriteMessages(messages);
+                    }
+                }, executionContext);
+        }
+
+        final List<Optional<Exception>> result = new ArrayList<>();
+        final Set<DataJournal> written = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        try {
+            for (AtomicWrite write : messages) {
+                // Copy to array - workaround for eclipse "ambiguous method" errors for toIterator, toIterable etc
+                final PersistentRepr[] array = new PersistentRepr[write.payload().size()];
+                write.payload().copyToArray(array);
+
+                // Serialize all entries first, so a serialization failure rejects the entire write
+                final byte[][] serialized = new byte[array.length][];
+                try {
+                    for (int i = 0; i < array.length; ++i) {
+                        serialized[i] = serialization.serialize(array[i]).get();
+                    }
+                } catch (Exception e) {
+                    LOG.warn("Failed to serialize write for {}", write.persistenceId(), e);
+                    result.add(Optional.of(e));
+                    continue;
+                }
+
+                final DataJournal journal = journalFor(write.persistenceId()).value().get().get();
+                for (int i = 0; i < array.length; ++i) {
+                    LOG.trace("doAsyncWriteMessages: id: {}: seqNr: {}", array[i].persistenceId(),
+                        array[i].sequenceNr());
+                    journal.append(array[i].sequenceNr(), serialized[i]);
+                }
+
+                written.add(journal);
+                result.add(Optional.empty());
+            }
+
+            // Group commit: sync each affected journal once for the entire batch
+            written.forEach(DataJournal::flush);
+        } catch (Exception e) {
+            LOG.error("Failed to write messages", e);
+            return Futures.failed(e);
+        }
+
+        return Futures.successful(result);
+    }
+
+    @Override
+    public Future<Void> doAsyncDeleteMessagesTo(final String persistenceId, final long toSequenceNr) {
+        LOG.debug("doAsyncDeleteMessagesTo: {} {}", persistenceId, toSequenceNr);
+
+        return withJournal(persistenceId, "delete messages", journal -> {
+            journal.deleteTo(toSequenceNr);
+            return null;
+        });
+    }
+
+    @Override
+    public Future<Void> doAsyncReplayMessages(final String persistenceId, final long fromSequenceNr,
+            final long toSequenceNr, final long max, final Consumer<PersistentRepr> replayCallback) {
+        LOG.debug("doAsyncReplayMessages for {}: fromSequenceNr: {}, toSequenceNr: {}", persistenceId,
+            fromSequenceNr, toSequenceNr);
+
+        return withJournal(persistenceId, "replay messages", journal -> {
+            journal.replay(fromSequenceNr, toSequenceNr, max, (sequenceNr, bytes) -> {
+                replayCallback.accept(serialization.deserialize(bytes, PersistentRepr.class).get());
+                return true;
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public Future<Long> doAsyncReadHighestSequenceNr(final String persistenceId, final long fromSequenceNr) {
+        LOG.debug("doAsyncReadHighestSequenceNr for {}: fromSequenceNr: {}", persistenceId, fromSequenceNr);
+
+        return withJournal(persistenceId, "read highest sequence number",
+            journal -> Math.max(fromSequenceNr, journal.highestSequenceNr()));
+    }
+
+    /**
+     * Perform an operation on the journal of a persistence identifier. The operation is performed immediately, unless
+     * the journal is being migrated, in which case it is performed once the migration completes.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private <T> Future<T> withJournal(final String persistenceId, final String action,
+            final JournalOperation<T> operation) {
+        final Future<DataJournal> journal;
+        try {
+            journal = journalFor(persistenceId);
+            if (journal.isCompleted()) {
+                return Futures.successful(operation.apply(journal.value().get().get()));
+            }
+        } catch (Exception e) {
+            LOG.error("Failed to {} of {}", action, persistenceId, e);
+            return Futures.failed(e);
+        }
+
+        return journal.map(new Mapper<DataJournal, T>() {
+            @Override
+            public T checkedApply(final DataJournal migrated) throws Exception {
+                try {
+                    return operation.apply(migrated);
+                } catch (Exception e) {
+                    LOG.error("Failed to {} of {}", action, persistenceId, e);
+                    throw e;
+                }
+            }
+        }, executionContext);
+    }
+
+    /**
+     * Return the journal of a persistence identifier, opening it if needed. The returned future is either successful,
+     * or not completed yet if the journal is being migrated.
+     */
+    private Future<DataJournal> journalFor(final String persistenceId) throws IOException {
+        Future<DataJournal> journal = journals.get(persistenceId);
+        if (journal != null) {
+            final Option<Try<DataJournal>> value = journal.value();
+            if (value.isEmpty() || value.get().isSuccess()) {
+                return journal;
+            }
+
+            // The migration has failed and the partial journal has been removed, retry it
+            journals.remove(persistenceId, journal);
+        }
+
+        final File directory = new File(rootDir, encode(persistenceId));
+        final boolean migrate = migrateFrom != null && !DataJournal.exists(directory);
+
+        final DataJournal opened = DataJournal.open(directory, maxSegmentSize);
+        journal = migrate ? migrate(persistenceId, directory, opened) : Futures.successful(opened);
+        journals.put(persistenceId, journal);
+        return journal;
+    }
+
+    private Future<DataJournal> migrate(final String persistenceId, final File directory, final DataJournal journal) {
+        LOG.info("Migrating journal of {} from {}", persistenceId, migrateFrom);
+
+        final Promise<MigratedMessages> promise = Futures.promise();
+        final ActorSystem system = context().system();
+        final ActorRef collector = system.actorOf(MigrationCollector.props(promise));
+        final ActorRef legacy = Persistence.get(system).journalFor(migrateFrom);
+        legacy.tell(new ReplayMessages(0L, Long.MAX_VALUE, Long.MAX_VALUE, persistenceId, collector),
+            ActorRef.noSender());
+        final Cancellable timeout = system.scheduler().scheduleOnce(migrationTimeout,
+            () -> promise.tryFailure(new TimeoutException("Timed out migrating journal of " + persistenceId
+                + " after " + migrationTimeout)), executionContext);
+
+        final Promise<DataJournal> result = Futures.promise();
+        promise.future().onComplete(new OnComplete<MigratedMessages>() {
+            @Override
+            @SuppressWarnings("checkstyle:IllegalCatch")
+            public void onComplete(final Throwable failure, final MigratedMessages migrated) {
+                timeout.cancel();
+
+                Throwable cause = failure;
+                if (cause == null) {
+                    try {
+                        writeMigrated(persistenceId, journal, migrated);
+                        result.success(journal);
+                        return;
+                    } catch (Exception e) {
+                        cause = e;
+                    }
+                }
+
+                LOG.error("Failed to migrate journal of {} from {}", persistenceId, migrateFrom, cause);
+
+                // Do not leave a partial journal behind, so the migration is retried
+                journal.close();
+                deleteDirectory(directory);
+                result.failure(cause);
+            }
+        }, executionContext);
+
+        return result.future();
+    }
+
+    private void writeMigrated(final String persistenceId, final DataJournal journal, final MigratedMessages migrated)
+            throws IOException {
+        final List<PersistentRepr> messages = migrated.messages;
+
+        // Preserve the highest sequence number even if the legacy journal has no entries left
+        if (messages.isEmpty()) {
+            journal.markDeletedTo(migrated.highestSequenceNr);
+        } else {
+            journal.markDeletedTo(messages.get(0).sequenceNr() - 1);
+            for (PersistentRepr repr : messages) {
+                journal.append(repr.sequenceNr(), serialization.serialize(repr).get());
+            }
+        }
+        journal.flush();
+
+        LOG.info("Migrated {} entries of {}, highest sequence number {}", messages.size(), persistenceId,
+            journal.highestSequenceNr());
+    }
+
+    private String legacyJournal(@Nullable final String pluginId) {
+        if (pluginId == null) {
+            return null;
+        }
+
+        // Do not instantiate the legacy plugin if it has no data, as that may create an empty journal
+        final Config systemConfig = context().system().settings().config();
+        final String dirPath = pluginId + ".dir";
+        if (systemConfig.hasPath(dirPath) && !new File(systemConfig.getString(dirPath)).isDirectory()) {
+            LOG.debug("Journal {} has no data, not migrating from it", pluginId);
+            return null;
+        }
+
+        return pluginId;
+    }
+
+    private static void deleteDirectory(final File directory) {
+        final File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.delete()) {
+                    LOG.warn("Failed to delete {}", file);
+                }
+            }
+        }
+        if (!directory.delete()) {
+            LOG.warn("Failed to delete {}", directory);
+        }
+    }
+
+    private static String encode(final String str) {
+        try {
+            return URLEncoder.encode(str, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            // Shouldn't happen
+            LOG.warn("Error encoding {}", str, e);
+            return str;
+        }
+    }
+
+    private static final class MigratedMessages {
+        final List<PersistentRepr> messages;
+        final long highestSequenceNr;
+
+        MigratedMessages(final List<PersistentRepr> messages, final long highestSequenceNr) {
+            this.messages = messages;
+            this.highestSequenceNr = highestSequenceNr;
+        }
+    }
+
+    /**
+     * Actor collecting the messages replayed by the journal we are migrating from.
+     */
+    private static final class MigrationCollector extends UntypedActor {
+        private final List<PersistentRepr> messages = new ArrayList<>();
+        private final Promise<MigratedMessages> promise;
+
+        MigrationCollector(final Promise<MigratedMessages> promise) {
+            this.promise = promise;
+        }
+
+        static Props props(final Promise<MigratedMessages> promise) {
+            return Props.create(MigrationCollector.class, promise);
+        }
+
+        @Override
+        public void onReceive(final Object message) {
+            if (message instanceof ReplayedMessage) {
+                messages.add(((ReplayedMessage) message).persistent());
+            } else if (message instanceof RecoverySuccess) {
+                promise.trySuccess(new MigratedMessages(messages, ((RecoverySuccess) message).highestSequenceNr()));
+                getContext().stop(getSelf());
+            } else if (message instanceof ReplayMessagesFailure) {
+                promise.tryFailure(((ReplayMessagesFailure) message).cause());
+                getContext().stop(getSelf());
+            } else {
+                unhandled(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.offheap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Strings;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.util.TestModel;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+/**
+ * Unit tests for OffHeapLeafArena.
+ */
+public class OffHeapLeafArenaTest {
+    private static final String LONG_VALUE = Strings.repeat("off-heap", 8);
+
+    @Test
+    public void testOffloadLeaves() {
+        final LeafNode<Object> shortLeaf = ImmutableNodes.leafNode(TestModel.DESC_QNAME, "short");
+        final LeafNode<Object> longLeaf = ImmutableNodes.leafNode(TestModel.NAME_QNAME, LONG_VALUE);
+        final byte[] binary = new byte[100];
+        binary[99] = 1;
+        final LeafNode<Object> binaryLeaf = ImmutableNodes.leafNode(TestModel.SOME_BINARY_DATA_QNAME, binary);
+
+        final MapEntryNode entry = ImmutableNodes.mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME,
+            LONG_VALUE).withChild(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, LONG_VALUE)).build();
+        final ContainerNode container = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+                .withChild(shortLeaf).withChild(longLeaf).withChild(binaryLeaf)
+                .withChild(ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).withChild(entry).build())
+                .build();
+
+        final OffHeapLeafArena arena = new OffHeapLeafArena();
+        final ContainerNode offloaded = (ContainerNode) arena.offload(container);
+        assertEquals(3, arena.getStoredValues());
+        assertEquals(OffHeapLeafArena.DEFAULT_SLAB_SIZE, arena.getAllocatedBytes());
+
+        assertSame(shortLeaf, child(offloaded, TestModel.DESC_QNAME));
+        assertOffHeap(LONG_VALUE, child(offloaded, TestModel.NAME_QNAME));
+
+        final NormalizedNode<?, ?> offloadedBinary = child(offloaded, TestModel.SOME_BINARY_DATA_QNAME);
+        assertTrue(offloadedBinary instanceof OffHeapLeafNode);
+        assertArrayEquals(binary, (byte[]) offloadedBinary.getValue());
+
+        final MapEntryNode offloadedEntry = ((MapNode) child(offloaded, TestModel.OUTER_LIST_QNAME))
+                .getChild(entry.getIdentifier()).get();
+        // Key leaves are part of the entry's identifier and are not offloaded
+        assertSame(entry.getChild(new NodeIdentifier(TestModel.ID_QNAME)).get(),
+            child(offloadedEntry, TestModel.ID_QNAME));
+        assertOffHeap(LONG_VALUE, child(offloadedEntry, TestModel.VALUE_QNAME));
+
+        // Offloading again does not store values again
+        assertSame(offloaded, arena.offload(offloaded));
+        assertEquals(3, arena.getStoredValues());
+    }
+
+    @Test
+    public void testUnchangedSubtreeIsReturned() {
+        final MapEntryNode entry = ImmutableNodes.mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1)
+                .withChild(ImmutableNodes.leafNode(TestModel.NAME_QNAME, "short")).build();
+
+        final OffHeapLeafArena arena = new OffHeapLeafArena();
+        assertSame(entry, arena.offload(entry));
+        assertEquals(0, arena.getStoredValues());
+        assertEquals(0, arena.getAllocatedBytes());
+    }
+
+    @Test
+    public void testLargeValueUsesDedicatedBuffer() {
+        final OffHeapLeafArena arena = new OffHeapLeafArena(64, 1);
+        final String large = Strings.repeat("x", 100);
+
+        assertOffHeap("small", arena.offload(ImmutableNodes.leafNode(TestModel.NAME_QNAME, "small")));
+        assertOffHeap(large, arena.offload(ImmutableNodes.leafNode(TestModel.NAME_QNAME, large)));
+        assertEquals(164, arena.getAllocatedBytes());
+        assertEquals(2, arena.getStoredValues());
+    }
+
+    @Test
+    public void testLiveBytes() throws InterruptedException {
+        final OffHeapLeafArena arena = new OffHeapLeafArena(64, 1);
+        NormalizedNode<?, ?> leaf = arena.offload(ImmutableNodes.leafNode(TestModel.NAME_QNAME,
+            Strings.repeat("x", 100)));
+        assertEquals(100, arena.getLiveBytes());
+
+        // Once the leaf is gone, its buffer is released, but the total allocation is still reported
+        leaf = null;
+        for (int i = 0; i < 50 && arena.getLiveBytes() != 0; ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, arena.getLiveBytes());
+        assertEquals(100, arena.getAllocatedBytes());
+    }
+
+    @Test
+    public void testEquals() {
+        final OffHeapLeafArena arena = new OffHeapLeafArena();
+        final NormalizedNode<?, ?> first = arena.offload(ImmutableNodes.leafNode(TestModel.NAME_QNAME, LONG_VALUE));
+        final NormalizedNode<?, ?> second = arena.offload(ImmutableNodes.leafNode(TestModel.NAME_QNAME, LONG_VALUE));
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    public void testEqualsOnHeapLeaf() {
+        final LeafNode<Object> onHeap = ImmutableNodes.leafNode(TestModel.NAME_QNAME, LONG_VALUE);
+        final NormalizedNode<?, ?> offHeap = new OffHeapLeafArena().offload(onHeap);
+
+        assertEquals(offHeap, onHeap);
+        assertEquals(onHeap.hashCode(), offHeap.hashCode());
+        assertNotEquals(offHeap, ImmutableNodes.leafNode(TestModel.NAME_QNAME, LONG_VALUE + "x"));
+    }
+
+    @Test
+    public void testOnHeap() {
+        final ContainerNode container = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+                .withChild(ImmutableNodes.leafNode(TestModel.DESC_QNAME, "short"))
+                .withChild(ImmutableNodes.leafNode(TestModel.NAME_QNAME, LONG_VALUE))
+                .build();
+        final NormalizedNode<?, ?> offloaded = new OffHeapLeafArena().offload(container);
+        assertTrue(child((ContainerNode) offloaded, TestModel.NAME_QNAME) instanceof OffHeapLeafNode);
+
+        final NormalizedNode<?, ?> onHeap = OffHeapLeafArena.onHeap(offloaded);
+        assertFalse(child((ContainerNode) onHeap, TestModel.NAME_QNAME) instanceof OffHeapLeafNode);
+        assertEquals(container, onHeap);
+        assertEquals(onHeap, container);
+        assertSame(container, OffHeapLeafArena.onHeap(container));
+    }
+
+    private static NormalizedNode<?, ?> child(final ContainerNode parent, final QName name) {
+        return parent.getChild(new NodeIdentifier(name)).get();
+    }
+
+    private static NormalizedNode<?, ?> child(final MapEntryNode parent, final QName name) {
+        return parent.getChild(new NodeIdentifier(name)).get();
+    }
+
+    private static void assertOffHeap(final Object expected, final NormalizedNode<?, ?> node) {
+        assertTrue(node instanceof OffHeapLeafNode);
+        assertEquals(expected, node.getValue());
+    }
+}
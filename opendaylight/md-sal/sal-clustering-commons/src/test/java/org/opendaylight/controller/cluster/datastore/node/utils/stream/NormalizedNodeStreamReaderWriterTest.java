@@ -78,6 +78,65 @@ public class NormalizedNodeStreamReaderWriterTest {
         Assert.assertEquals(toasterContainer, node);
     }
 
+    @Test
+    public void testNitrogenNormalizedNodeStreaming() throws IOException {
+        final NormalizedNode<?, ?> testContainer = createTestContainer();
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder(TestModel.TEST_PATH)
+                .node(TestModel.OUTER_LIST_QNAME).nodeWithKey(
+                        TestModel.INNER_LIST_QNAME, TestModel.ID_QNAME, 10).build();
+
+        final ByteArrayOutputStream nitrogen = new ByteArrayOutputStream();
+        NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(nitrogen),
+            NormalizedNodeStreamVersion.NITROGEN);
+        nnout.writeNormalizedNode(testContainer);
+        nnout.writeYangInstanceIdentifier(path);
+        nnout.writeNormalizedNode(testContainer);
+
+        final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(
+            nitrogen.toByteArray()));
+        assertEquals(testContainer, nnin.readNormalizedNode());
+        assertEquals(path, nnin.readYangInstanceIdentifier());
+        assertEquals(testContainer, nnin.readNormalizedNode());
+
+        final ByteArrayOutputStream lithium = new ByteArrayOutputStream();
+        nnout = NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(lithium),
+            NormalizedNodeStreamVersion.LITHIUM);
+        nnout.writeNormalizedNode(testContainer);
+        nnout.writeYangInstanceIdentifier(path);
+        nnout.writeNormalizedNode(testContainer);
+
+        Assert.assertTrue("Nitrogen stream should be smaller", nitrogen.size() < lithium.size());
+    }
+
+    @Test
+    public void testSharedDictionaryStreaming() throws IOException {
+        final NormalizedNode<?, ?> testContainer = createTestContainer();
+        final NormalizedNodeOutputDictionary outputDictionary = new NormalizedNodeOutputDictionary();
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(first), outputDictionary)
+            .writeNormalizedNode(testContainer);
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(second), outputDictionary)
+            .writeNormalizedNode(testContainer);
+
+        // The second stream references all QNames and strings written out by the first one
+        Assert.assertTrue("Second stream should be smaller", second.size() < first.size());
+
+        final NormalizedNodeInputDictionary inputDictionary = new NormalizedNodeInputDictionary();
+        assertEquals(testContainer, NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(
+            first.toByteArray()), inputDictionary).readNormalizedNode());
+        assertEquals(testContainer, NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(
+            second.toByteArray()), inputDictionary).readNormalizedNode());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testInvalidatedDictionary() {
+        final NormalizedNodeOutputDictionary dictionary = new NormalizedNodeOutputDictionary();
+        dictionary.invalidate();
+        NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(), dictionary);
+    }
+
     private static NormalizedNode<?, ?> createTestContainer() {
         byte[] bytes1 = {1,2,3};
         LeafSetEntryNode<Object> entry1 = ImmutableLeafSetEntryNodeBuilder.create().withNodeIdentifier(
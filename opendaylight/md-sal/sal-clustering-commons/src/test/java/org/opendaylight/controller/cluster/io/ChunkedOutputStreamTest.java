@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Unit tests for ChunkedOutputStream and ChunkedByteArray.
+ */
+public class ChunkedOutputStreamTest {
+    private static final int INITIAL_SIZE = 32;
+    private static final int MAX_CHUNK_SIZE = 256;
+
+    @Test
+    public void testEmpty() throws IOException {
+        final ChunkedOutputStream out = new ChunkedOutputStream(INITIAL_SIZE, MAX_CHUNK_SIZE);
+        out.close();
+
+        final ChunkedByteArray array = out.toChunkedByteArray();
+        assertEquals(0, array.size());
+        assertEquals(0, array.getChunks().size());
+        assertEquals(-1, array.openStream().read());
+    }
+
+    @Test
+    public void testChunking() throws IOException {
+        final byte[] data = testData(1000);
+        final ChunkedOutputStream out = new ChunkedOutputStream(INITIAL_SIZE, MAX_CHUNK_SIZE);
+        out.write(data[0]);
+        out.write(data, 1, data.length - 1);
+        out.close();
+
+        final ChunkedByteArray array = out.toChunkedByteArray();
+        assertEquals(data.length, array.size());
+
+        // Chunks double in size up to the maximum, the last one is trimmed to fit: 32 + 64 + 128 + 3 * 256 + 8
+        final List<byte[]> chunks = array.getChunks();
+        assertEquals(7, chunks.size());
+        assertEquals(32, chunks.get(0).length);
+        assertEquals(256, chunks.get(3).length);
+        assertEquals(8, chunks.get(6).length);
+
+        assertArrayEquals(data, ByteStreams.toByteArray(array.openStream()));
+    }
+
+    @Test
+    public void testStreamReads() throws IOException {
+        final byte[] data = testData(600);
+        final ChunkedOutputStream out = new ChunkedOutputStream(INITIAL_SIZE, MAX_CHUNK_SIZE);
+        out.write(data);
+        out.close();
+
+        final InputStream in = out.toChunkedByteArray().openStream();
+        assertEquals(600, in.available());
+        assertEquals(data[0] & 0xFF, in.read());
+        assertEquals(100, in.skip(100));
+        final byte[] buf = new byte[10];
+        ByteStreams.readFully(in, buf);
+        for (int i = 0; i < buf.length; ++i) {
+            assertEquals(data[101 + i], buf[i]);
+        }
+        assertEquals(600 - 111, in.available());
+    }
+
+    @Test
+    public void testCopyToAndReadFrom() throws IOException {
+        final byte[] data = testData(1000);
+        final ChunkedOutputStream out = new ChunkedOutputStream(INITIAL_SIZE, MAX_CHUNK_SIZE);
+        out.write(data);
+        out.close();
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(bos)) {
+            out.toChunkedByteArray().copyTo(dos);
+        }
+        assertArrayEquals(data, bos.toByteArray());
+
+        final ChunkedByteArray read = ChunkedByteArray.readFrom(
+            new DataInputStream(new ByteArrayInputStream(bos.toByteArray())), data.length, 300);
+        assertEquals(4, read.getChunks().size());
+        assertArrayEquals(data, ByteStreams.toByteArray(read.openStream()));
+    }
+
+    @Test(expected = IOException.class)
+    public void testWriteAfterClose() throws IOException {
+        final ChunkedOutputStream out = new ChunkedOutputStream(INITIAL_SIZE, MAX_CHUNK_SIZE);
+        out.close();
+        out.write(1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testToChunkedByteArrayBeforeClose() {
+        new ChunkedOutputStream(INITIAL_SIZE, MAX_CHUNK_SIZE).toChunkedByteArray();
+    }
+
+    private static byte[] testData(final int size) {
+        final byte[] ret = new byte[size];
+        for (int i = 0; i < size; ++i) {
+            ret[i] = (byte) i;
+        }
+        return ret;
+    }
+}
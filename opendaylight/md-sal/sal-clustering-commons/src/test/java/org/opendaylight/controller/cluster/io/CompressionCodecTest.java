@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
+
+/**
+ * Unit tests for CompressionCodec.
+ */
+public class CompressionCodecTest {
+
+    @Test
+    public void testDeflateRoundTrip() throws IOException {
+        final byte[] data = testData(100000);
+        final byte[] compressed = compress(CompressionCodec.DEFLATE, data, null);
+        assertTrue("Compressed size " + compressed.length, compressed.length < data.length / 2);
+
+        assertArrayEquals(data, ByteStreams.toByteArray(CompressionCodec.decompress(
+            new ByteArrayInputStream(compressed))));
+        assertArrayEquals(data, CompressionCodec.decompress(ByteSource.wrap(compressed)).read());
+    }
+
+    @Test
+    public void testNoneIsPassThrough() throws IOException {
+        final byte[] data = testData(1000);
+        assertArrayEquals(data, compress(CompressionCodec.NONE, data, null));
+        assertArrayEquals(data, ByteStreams.toByteArray(CompressionCodec.decompress(new ByteArrayInputStream(data))));
+    }
+
+    @Test
+    public void testDecompressShortUncompressedStream() throws IOException {
+        final byte[] data = { 1, 2 };
+        assertArrayEquals(data, ByteStreams.toByteArray(CompressionCodec.decompress(new ByteArrayInputStream(data))));
+    }
+
+    @Test(expected = IOException.class)
+    public void testDecompressUnknownCodec() throws IOException {
+        final byte[] compressed = compress(CompressionCodec.DEFLATE, testData(10), null);
+        compressed[4] = 127;
+        CompressionCodec.decompress(new ByteArrayInputStream(compressed));
+    }
+
+    @Test
+    public void testMetrics() throws IOException {
+        final CompressionMetrics metrics = CompressionMetrics.forContext("test", CompressionCodec.DEFLATE);
+        final byte[] data = testData(10000);
+        final byte[] compressed = compress(CompressionCodec.DEFLATE, data, metrics);
+
+        final MetricRegistry registry = MetricsReporter.getInstance(CompressionMetrics.DOMAIN).getMetricsRegistry();
+        assertEquals(1, registry.timer("test.deflate.compression-time").getCount());
+        assertEquals(data.length, registry.counter("test.deflate.uncompressed-bytes").getCount());
+        // The compressed byte count excludes the 5-byte header
+        assertEquals(compressed.length - 5, registry.counter("test.deflate.compressed-bytes").getCount());
+        assertEquals(1, registry.histogram("test.deflate.compression-ratio-percent").getCount());
+    }
+
+    @Test
+    public void testForName() {
+        assertEquals(CompressionCodec.DEFLATE, CompressionCodec.forName("Deflate"));
+        assertEquals(CompressionCodec.NONE, CompressionCodec.forName(" none "));
+    }
+
+    private static byte[] compress(final CompressionCodec codec, final byte[] data, final CompressionMetrics metrics)
+            throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream out = codec.compress(bos, metrics)) {
+            out.write(data[0]);
+            out.write(data, 1, data.length - 1);
+        }
+        return bos.toByteArray();
+    }
+
+    private static byte[] testData(final int size) {
+        final byte[] data = new byte[size];
+        for (int i = 0; i < size; ++i) {
+            data[i] = (byte) (i % 7);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for DataJournal and JournalSegment.
+ */
+public class DataJournalTest {
+    private static final File JOURNAL_DIR = new File("target/data-journal");
+    private static final int SEGMENT_SIZE = 256;
+
+    private DataJournal journal;
+
+    @Before
+    public void setup() throws IOException {
+        FileUtils.deleteQuietly(JOURNAL_DIR);
+        journal = DataJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+    }
+
+    @After
+    public void cleanup() {
+        journal.close();
+        FileUtils.deleteQuietly(JOURNAL_DIR);
+    }
+
+    @Test
+    public void testAppendAndReplay() throws IOException {
+        appendEntries(1, 20);
+        journal.flush();
+
+        assertEquals(20, journal.highestSequenceNr());
+        assertEquals(entries(1, 20), replay(1, Long.MAX_VALUE, Long.MAX_VALUE));
+        assertEquals(entries(5, 9), replay(5, 9, Long.MAX_VALUE));
+        assertEquals(entries(3, 6), replay(3, Long.MAX_VALUE, 4));
+    }
+
+    @Test
+    public void testSegmentRolling() throws IOException {
+        appendEntries(1, 50);
+        journal.flush();
+
+        assertEquals("Segment files", true, segmentCount() > 1);
+
+        reopen();
+        assertEquals(50, journal.highestSequenceNr());
+        assertEquals(entries(1, 50), replay(1, Long.MAX_VALUE, Long.MAX_VALUE));
+
+        appendEntries(51, 60);
+        assertEquals(entries(45, 60), replay(45, Long.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testLargeEntry() throws IOException {
+        final byte[] large = new byte[SEGMENT_SIZE * 2];
+        large[SEGMENT_SIZE] = 42;
+
+        appendEntries(1, 2);
+        journal.append(3, large);
+        appendEntries(4, 5);
+
+        final List<byte[]> replayed = new ArrayList<>();
+        journal.replay(3, 3, Long.MAX_VALUE, (seqNr, bytes) -> replayed.add(bytes));
+        assertEquals(1, replayed.size());
+        assertArrayEquals(large, replayed.get(0));
+        assertEquals(entries(4, 5), replay(4, Long.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testDeleteTo() throws IOException {
+        appendEntries(1, 50);
+        final int initialSegments = segmentCount();
+
+        journal.deleteTo(30);
+        assertEquals(entries(31, 50), replay(1, Long.MAX_VALUE, Long.MAX_VALUE));
+        assertEquals("Segment files", true, segmentCount() < initialSegments);
+
+        reopen();
+        assertEquals(entries(31, 50), replay(1, Long.MAX_VALUE, Long.MAX_VALUE));
+
+        // Deleting everything retains the highest sequence number
+        journal.deleteTo(Long.MAX_VALUE);
+        assertEquals(50, journal.highestSequenceNr());
+        assertEquals(entries(1, 0), replay(1, Long.MAX_VALUE, Long.MAX_VALUE));
+
+        reopen();
+        assertEquals(50, journal.highestSequenceNr());
+        appendEntries(51, 52);
+        assertEquals(entries(51, 52), replay(1, Long.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testMarkDeletedTo() throws IOException {
+        journal.markDeletedTo(100);
+        assertEquals(100, journal.highestSequenceNr());
+
+        appendEntries(101, 105);
+        reopen();
+        assertEquals(105, journal.highestSequenceNr());
+        assertEquals(entries(101, 105), replay(1, Long.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testTornWriteRecovery() throws IOException {
+        appendEntries(1, 3);
+        journal.close();
+
+        // Corrupt the last entry's payload, which simulates a write which did not make it to the disk completely
+        final File[] files = JOURNAL_DIR.listFiles((dir, name) -> name.endsWith(".segment"));
+        assertEquals(1, files.length);
+        final int lastEntry = 2 * (JournalSegment.HEADER_SIZE + entry(1).length);
+        try (RandomAccessFile raf = new RandomAccessFile(files[0], "rw")) {
+            raf.seek(lastEntry + JournalSegment.HEADER_SIZE);
+            raf.write(0xFF);
+        }
+
+        journal = DataJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+        assertEquals(2, journal.highestSequenceNr());
+        assertEquals(entries(1, 2), replay(1, Long.MAX_VALUE, Long.MAX_VALUE));
+
+        appendEntries(3, 4);
+        reopen();
+        assertEquals(entries(1, 4), replay(1, Long.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    private void reopen() throws IOException {
+        journal.close();
+        journal = DataJournal.open(JOURNAL_DIR, SEGMENT_SIZE);
+    }
+
+    private void appendEntries(final long from, final long to) throws IOException {
+        for (long i = from; i <= to; ++i) {
+            journal.append(i, entry(i));
+        }
+    }
+
+    private List<String> replay(final long from, final long to, final long max) throws IOException {
+        final List<String> ret = new ArrayList<>();
+        journal.replay(from, to, max, (seqNr, bytes) -> {
+            assertEquals(new String(entry(seqNr)), new String(bytes));
+            return ret.add(new String(bytes));
+        });
+        return ret;
+    }
+
+    private static int segmentCount() {
+        return JOURNAL_DIR.listFiles((dir, name) -> name.endsWith(".segment")).length;
+    }
+
+    private static List<String> entries(final long from, final long to) {
+        final List<String> ret = new ArrayList<>();
+        for (long i = from; i <= to; ++i) {
+            ret.add(new String(entry(i)));
+        }
+        return ret;
+    }
+
+    private static byte[] entry(final long seqNr) {
+        return String.format("entry-%04d", seqNr).getBytes();
+    }
+}
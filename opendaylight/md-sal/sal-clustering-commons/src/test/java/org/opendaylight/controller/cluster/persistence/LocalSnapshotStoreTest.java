@@ -32,6 +32,8 @@ import com.typesafe.config.ConfigFactory;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -43,6 +45,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.cluster.io.CompressionCodec;
 import scala.Option;
 
 /**
@@ -151,6 +154,28 @@ public class LocalSnapshotStoreTest {
         assertEquals("SelectedSnapshot snapshot", "one", possibleSnapshot.get().snapshot());
     }
 
+    @Test
+    public void testDoLoadAsyncWithCompressedSnapshot() throws IOException {
+        createSnapshotFile(PERSISTENCE_ID, "one", 0, 1000);
+
+        String name = toSnapshotName(PERSISTENCE_ID, 1, 2000);
+        try (ObjectOutputStream out = new ObjectOutputStream(CompressionCodec.DEFLATE.compress(
+                new FileOutputStream(new File(SNAPSHOT_DIR, name)), null))) {
+            out.writeObject("two");
+        }
+
+        JavaTestKit probe = new JavaTestKit(system);
+        snapshotStore.tell(new LoadSnapshot(PERSISTENCE_ID,
+                SnapshotSelectionCriteria.latest(), Long.MAX_VALUE), probe.getRef());
+        LoadSnapshotResult result = probe.expectMsgClass(LoadSnapshotResult.class);
+        Option<SelectedSnapshot> possibleSnapshot = result.snapshot();
+
+        assertEquals("SelectedSnapshot present", TRUE, possibleSnapshot.nonEmpty());
+        assertEquals("SelectedSnapshot metadata", new SnapshotMetadata(PERSISTENCE_ID, 1, 2000),
+                possibleSnapshot.get().metadata());
+        assertEquals("SelectedSnapshot snapshot", "two", possibleSnapshot.get().snapshot());
+    }
+
     @SuppressWarnings("checkstyle:illegalThrows")
     @Test(expected = IOException.class)
     public void testDoLoadAsyncWithFailure() throws Throwable {
@@ -185,7 +210,47 @@ public class LocalSnapshotStoreTest {
         assertEquals("SelectedSnapshot snapshot", "one", possibleSnapshot.get().snapshot());
     }
 
-    private static void createSnapshotFile(final String persistenceId, final String payload, final int seqNr,
+    @Test
+    public void testDoLoadAsyncWithIncrementalSnapshot() throws IOException {
+        createSnapshotFile(PERSISTENCE_ID, "one", 0, 1000);
+        createSnapshotFile(PERSISTENCE_ID, "two", 1, 2000);
+        createSnapshotFile(PERSISTENCE_ID, new TestIncrementalSnapshot("-stale"), 2, 3000);
+        createSnapshotFile(PERSISTENCE_ID, new TestIncrementalSnapshot("-delta"), 3, 4000);
+
+        SnapshotMetadata metadata = new SnapshotMetadata(PERSISTENCE_ID, 3, 4000);
+
+        JavaTestKit probe = new JavaTestKit(system);
+        snapshotStore.tell(new LoadSnapshot(PERSISTENCE_ID,
+                SnapshotSelectionCriteria.latest(), Long.MAX_VALUE), probe.getRef());
+        LoadSnapshotResult result = probe.expectMsgClass(LoadSnapshotResult.class);
+        Option<SelectedSnapshot> possibleSnapshot = result.snapshot();
+
+        assertEquals("SelectedSnapshot present", TRUE, possibleSnapshot.nonEmpty());
+        assertEquals("SelectedSnapshot metadata", metadata, possibleSnapshot.get().metadata());
+        assertEquals("SelectedSnapshot snapshot", "two-delta", possibleSnapshot.get().snapshot());
+    }
+
+    @Test
+    public void testDoLoadAsyncWithIncrementalSnapshotWithoutBase() throws IOException {
+        createSnapshotFile(PERSISTENCE_ID, "one", 0, 1000);
+        createSnapshotFile(PERSISTENCE_ID, null, 1, 2000);
+        createSnapshotFile(PERSISTENCE_ID, new TestIncrementalSnapshot("-delta"), 2, 3000);
+
+        // The base of the incremental snapshot is corrupt, hence the next youngest snapshot should be loaded.
+        SnapshotMetadata metadata = new SnapshotMetadata(PERSISTENCE_ID, 0, 1000);
+
+        JavaTestKit probe = new JavaTestKit(system);
+        snapshotStore.tell(new LoadSnapshot(PERSISTENCE_ID,
+                SnapshotSelectionCriteria.latest(), Long.MAX_VALUE), probe.getRef());
+        LoadSnapshotResult result = probe.expectMsgClass(LoadSnapshotResult.class);
+        Option<SelectedSnapshot> possibleSnapshot = result.snapshot();
+
+        assertEquals("SelectedSnapshot present", TRUE, possibleSnapshot.nonEmpty());
+        assertEquals("SelectedSnapshot metadata", metadata, possibleSnapshot.get().metadata());
+        assertEquals("SelectedSnapshot snapshot", "one", possibleSnapshot.get().snapshot());
+    }
+
+    private static void createSnapshotFile(final String persistenceId, final Serializable payload, final int seqNr,
             final int timestamp) throws IOException {
         String name = toSnapshotName(persistenceId, seqNr, timestamp);
         try (FileOutputStream fos = new FileOutputStream(new File(SNAPSHOT_DIR, name))) {
@@ -195,6 +260,26 @@ public class LocalSnapshotStoreTest {
         }
     }
 
+    private static final class TestIncrementalSnapshot implements IncrementalSnapshot, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String suffix;
+
+        TestIncrementalSnapshot(final String suffix) {
+            this.suffix = suffix;
+        }
+
+        @Override
+        public boolean isIncremental() {
+            return true;
+        }
+
+        @Override
+        public Object resolve(final Object base) {
+            return base + suffix;
+        }
+    }
+
     private static String toSnapshotName(final String persistenceId, final int seqNr, final int timestamp)
             throws UnsupportedEncodingException {
         final String encodedPersistenceId = URLEncoder.encode(persistenceId, StandardCharsets.UTF_8.name());
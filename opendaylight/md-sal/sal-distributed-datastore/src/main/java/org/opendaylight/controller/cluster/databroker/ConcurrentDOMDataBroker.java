@@ -25,6 +25,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
 import org.opendaylight.controller.cluster.datastore.exceptions.ShardLeaderNotRespondingException;
 import org.opendaylight.controller.md.sal.common.api.data.DataStoreUnavailableException;
@@ -44,6 +48,11 @@ import org.slf4j.LoggerFactory;
  * commit phases (canCommit, preCommit, and commit) are performed serially and non-blocking
  * (ie async) per transaction but multiple transaction commits can run concurrent.
  *
+ * <p>
+ * By default the cohorts of a transaction are driven through each phase one after another. In parallel commit mode,
+ * each phase is started on all cohorts at once and the next phase starts once all of them have completed it. Any
+ * failure aborts all cohorts, as in the sequential mode.
+ *
  * @author Thomas Pantelis
  */
 @Beta
@@ -54,6 +63,7 @@ public class ConcurrentDOMDataBroker extends AbstractDOMBroker {
     private static final String COMMIT = "COMMIT";
 
     private final DurationStatisticsTracker commitStatsTracker;
+    private final boolean parallelCommit;
 
     /**
      * This executor is used to execute Future listener callback Runnables async.
@@ -67,9 +77,16 @@ public class ConcurrentDOMDataBroker extends AbstractDOMBroker {
 
     public ConcurrentDOMDataBroker(final Map<LogicalDatastoreType, DOMStore> datastores,
             final Executor listenableFutureExecutor, final DurationStatisticsTracker commitStatsTracker) {
+        this(datastores, listenableFutureExecutor, commitStatsTracker, false);
+    }
+
+    public ConcurrentDOMDataBroker(final Map<LogicalDatastoreType, DOMStore> datastores,
+            final Executor listenableFutureExecutor, final DurationStatisticsTracker commitStatsTracker,
+            final boolean parallelCommit) {
         super(datastores);
         this.clientFutureCallbackExecutor = Preconditions.checkNotNull(listenableFutureExecutor);
         this.commitStatsTracker = Preconditions.checkNotNull(commitStatsTracker);
+        this.parallelCommit = parallelCommit;
     }
 
     public DurationStatisticsTracker getCommitStatsTracker() {
@@ -91,11 +108,63 @@ public class ConcurrentDOMDataBroker extends AbstractDOMBroker {
         final AsyncNotifyingSettableFuture clientSubmitFuture =
                 new AsyncNotifyingSettableFuture(clientFutureCallbackExecutor);
 
-        doCanCommit(clientSubmitFuture, transaction, cohorts);
+        if (parallelCommit && cohorts.size() > 1) {
+            doParallelCanCommit(clientSubmitFuture, transaction, cohorts);
+        } else {
+            doCanCommit(clientSubmitFuture, transaction, cohorts);
+        }
 
         return MappingCheckedFuture.create(clientSubmitFuture, COMMIT_ERROR_MAPPER);
     }
 
+    private void doParallelCanCommit(final AsyncNotifyingSettableFuture clientSubmitFuture,
+            final DOMDataWriteTransaction transaction, final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
+        final long startTime = System.nanoTime();
+
+        doParallelPhase(clientSubmitFuture, transaction, cohorts, CAN_COMMIT, CAN_COMMIT_ERROR_MAPPER,
+            DOMStoreThreePhaseCommitCohort::canCommit, Boolean.TRUE::equals,
+            () -> doParallelPhase(clientSubmitFuture, transaction, cohorts, PRE_COMMIT, PRE_COMMIT_MAPPER,
+                DOMStoreThreePhaseCommitCohort::preCommit, result -> true,
+                () -> doParallelPhase(clientSubmitFuture, transaction, cohorts, COMMIT, COMMIT_ERROR_MAPPER,
+                    DOMStoreThreePhaseCommitCohort::commit, result -> true, () -> {
+                        commitStatsTracker.addDuration(System.nanoTime() - startTime);
+                        clientSubmitFuture.set();
+                    })));
+    }
+
+    private static <T> void doParallelPhase(final AsyncNotifyingSettableFuture clientSubmitFuture,
+            final DOMDataWriteTransaction transaction, final Collection<DOMStoreThreePhaseCommitCohort> cohorts,
+            final String phase, final TransactionCommitFailedExceptionMapper exMapper,
+            final Function<DOMStoreThreePhaseCommitCohort, ListenableFuture<T>> operation,
+            final Predicate<T> successful, final Runnable onPhaseCompleted) {
+        final AtomicInteger remaining = new AtomicInteger(cohorts.size());
+        final AtomicBoolean failed = new AtomicBoolean();
+
+        final FutureCallback<T> futureCallback = new FutureCallback<T>() {
+            @Override
+            public void onSuccess(final T result) {
+                if (!successful.test(result)) {
+                    onFailure(new TransactionCommitFailedException("Can Commit failed, no detailed cause available."));
+                } else if (remaining.decrementAndGet() == 0) {
+                    // All cohorts completed successfully - we can move on to the next phase
+                    onPhaseCompleted.run();
+                }
+            }
+
+            @Override
+            public void onFailure(final Throwable failure) {
+                // Only the first failure triggers the abort
+                if (failed.compareAndSet(false, true)) {
+                    handleException(clientSubmitFuture, transaction, cohorts, phase, exMapper, failure);
+                }
+            }
+        };
+
+        for (DOMStoreThreePhaseCommitCohort cohort : cohorts) {
+            Futures.addCallback(operation.apply(cohort), futureCallback, MoreExecutors.directExecutor());
+        }
+    }
+
     private void doCanCommit(final AsyncNotifyingSettableFuture clientSubmitFuture,
             final DOMDataWriteTransaction transaction,
             final Collection<DOMStoreThreePhaseCommitCohort> cohorts) {
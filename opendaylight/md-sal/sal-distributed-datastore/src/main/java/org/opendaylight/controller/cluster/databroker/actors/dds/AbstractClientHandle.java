@@ -108,6 +108,10 @@ public abstract class AbstractClientHandle<T extends AbstractProxyTransaction> e
         return local.computeIfAbsent(shard, createProxy);
     }
 
+    final boolean hasProxy(final Long shard) {
+        return getState().containsKey(shard);
+    }
+
     final AbstractClientHistory parent() {
         return parent;
     }
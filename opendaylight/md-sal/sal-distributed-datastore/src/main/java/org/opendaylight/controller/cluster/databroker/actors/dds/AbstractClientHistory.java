@@ -12,10 +12,12 @@ import com.google.common.base.Verify;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.StampedLock;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.cluster.access.client.AbstractClientConnection;
 import org.opendaylight.controller.cluster.access.client.ConnectedClientConnection;
@@ -25,6 +27,8 @@ import org.opendaylight.controller.cluster.access.commands.CreateLocalHistoryReq
 import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
 import org.opendaylight.controller.cluster.access.concepts.Response;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.FollowerReplica;
+import org.opendaylight.controller.cluster.datastore.utils.ReadCoalescer;
 import org.opendaylight.mdsal.common.api.TransactionChainClosedException;
 import org.opendaylight.yangtools.concepts.Identifiable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -111,6 +115,32 @@ public abstract class AbstractClientHistory extends LocalAbortable implements Id
         return client.resolveShardForPath(path);
     }
 
+    @Nullable
+    final ReadCoalescer getReadCoalescer() {
+        return client.getReadCoalescer();
+    }
+
+    /**
+     * Take a snapshot of the local follower replica of a shard, if bounded-staleness reads are enabled and the replica
+     * is recent enough.
+     *
+     * @param shard Shard cookie
+     * @return A snapshot of the replica, or empty if reads need to be sent to the leader
+     */
+    final Optional<FollowerReplica.Snapshot> takeFollowerSnapshot(final Long shard) {
+        return client.takeFollowerSnapshot(shard);
+    }
+
+    /**
+     * Return the version of the committed state of a shard, as reported to its local follower replica.
+     *
+     * @param shard Shard cookie
+     * @return Commit version, or empty if the shard has no usable local replica
+     */
+    final Optional<FollowerReplica.CommitVersion> getCommitVersion(final Long shard) {
+        return client.getCommitVersion(shard);
+    }
+
     @Override
     final void localAbort(final Throwable cause) {
         final State oldState = STATE_UPDATER.getAndSet(this, State.CLOSED);
@@ -272,6 +302,11 @@ public abstract class AbstractClientHistory extends LocalAbortable implements Id
         if (readyTransactions.remove(txId) == null) {
             LOG.warn("Could not find completed transaction {}", txId);
         }
+
+        final ReadCoalescer readCoalescer = getReadCoalescer();
+        if (readCoalescer != null) {
+            readCoalescer.onCommitCompleted();
+        }
     }
 
     HistoryReconnectCohort startReconnect(final ConnectedClientConnection<ShardBackendInfo> newConn) {
@@ -14,16 +14,20 @@ import com.google.common.base.Verify;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.StampedLock;
-import org.opendaylight.controller.cluster.access.client.BackendInfoResolver;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.access.client.ClientActorBehavior;
 import org.opendaylight.controller.cluster.access.client.ClientActorContext;
 import org.opendaylight.controller.cluster.access.client.ConnectedClientConnection;
 import org.opendaylight.controller.cluster.access.client.ConnectionEntry;
 import org.opendaylight.controller.cluster.access.client.ReconnectForwarder;
 import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.datastore.FollowerReplica;
+import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.ReadCoalescer;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,12 +71,13 @@ abstract class AbstractDataStoreClientBehavior extends ClientActorBehavior<Shard
     private final AtomicLong nextHistoryId = new AtomicLong(1);
     private final StampedLock lock = new StampedLock();
     private final SingleClientHistory singleHistory;
+    private final ActorContext actorContext;
 
     private volatile Throwable aborted;
 
-    AbstractDataStoreClientBehavior(final ClientActorContext context,
-            final BackendInfoResolver<ShardBackendInfo> resolver) {
+    AbstractDataStoreClientBehavior(final ClientActorContext context, final AbstractShardBackendResolver resolver) {
         super(context, resolver);
+        actorContext = resolver.actorContext();
         singleHistory = new SingleClientHistory(this, new LocalHistoryIdentifier(getIdentifier(), 0));
     }
 
@@ -222,5 +227,26 @@ abstract class AbstractDataStoreClientBehavior extends ClientActorBehavior<Shard
         context().executeInActor(this::shutdown);
     }
 
+    @Nullable
+    final ReadCoalescer getReadCoalescer() {
+        return actorContext.getReadCoalescer();
+    }
+
+    final Optional<FollowerReplica.Snapshot> takeFollowerSnapshot(final Long shard) {
+        final Optional<FollowerReplica> replica = getConnection(shard).getBackendInfo()
+                .flatMap(ShardBackendInfo::getFollowerReplica);
+        if (!replica.isPresent()) {
+            return Optional.empty();
+        }
+
+        final long maxLag = actorContext.getDatastoreContext().getFollowerReadMaxLag();
+        return maxLag > 0 ? replica.get().takeSnapshot(maxLag) : Optional.empty();
+    }
+
+    final Optional<FollowerReplica.CommitVersion> getCommitVersion(final Long shard) {
+        return getConnection(shard).getBackendInfo().flatMap(ShardBackendInfo::getFollowerReplica)
+                .flatMap(FollowerReplica::getCommitVersion);
+    }
+
     abstract Long resolveShardForPath(YangInstanceIdentifier path);
 }
@@ -12,6 +12,7 @@ import akka.util.Timeout;
 import com.google.common.base.Preconditions;
 import com.google.common.primitives.UnsignedLong;
 import java.util.concurrent.CompletableFuture;
+import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -28,9 +29,11 @@ import org.opendaylight.controller.cluster.access.commands.NotLeaderException;
 import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
 import org.opendaylight.controller.cluster.access.concepts.RequestFailure;
 import org.opendaylight.controller.cluster.common.actor.ExplicitAsk;
+import org.opendaylight.controller.cluster.datastore.FollowerReplica;
 import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
 import org.opendaylight.controller.cluster.datastore.exceptions.NotInitializedException;
 import org.opendaylight.controller.cluster.datastore.exceptions.PrimaryNotFoundException;
+import org.opendaylight.controller.cluster.datastore.messages.GetFollowerReplica;
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryShardInfo;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.slf4j.Logger;
@@ -93,6 +96,10 @@ abstract class AbstractShardBackendResolver extends BackendInfoResolver<ShardBac
             ABIVersion.current()));
     }
 
+    final ActorContext actorContext() {
+        return actorContext;
+    }
+
     protected final void flushCache(final String shardName) {
         actorContext.getPrimaryShardInfoCache().remove(shardName);
     }
@@ -161,8 +168,33 @@ abstract class AbstractShardBackendResolver extends BackendInfoResolver<ShardBac
         Preconditions.checkArgument(response instanceof ConnectClientSuccess, "Unhandled response %s",
             response);
         final ConnectClientSuccess success = (ConnectClientSuccess) response;
-        future.complete(new ShardBackendInfo(success.getBackend(), nextSessionId.getAndIncrement(),
-            success.getVersion(), shardName, UnsignedLong.fromLongBits(cookie), success.getDataTree(),
-            success.getMaxMessages()));
+        if (success.getDataTree().isPresent() || (actorContext.getDatastoreContext().getFollowerReadMaxLag() <= 0
+                && actorContext.getReadCoalescer() == null)) {
+            future.complete(newBackendInfo(shardName, cookie, success, Optional.empty()));
+            return;
+        }
+
+        // The leader is remote and we may be serving reads from the local replica, or validating cached reads against
+        // its view of the leader's commits, look it up
+        FutureConverters.toJava(actorContext.findLocalShardAsync(shardName)).thenCompose(shard -> FutureConverters
+            .toJava(actorContext.executeOperationAsync(shard, GetFollowerReplica.INSTANCE, CONNECT_TIMEOUT)))
+            .whenComplete((replica, replicaFailure) -> {
+                if (replica instanceof FollowerReplica) {
+                    LOG.debug("Shard {} resolved local follower replica {}", shardName, replica);
+                    future.complete(newBackendInfo(shardName, cookie, success,
+                        Optional.of((FollowerReplica) replica)));
+                } else {
+                    LOG.debug("Shard {} has no usable local replica ({}), reads will go to the leader", shardName,
+                        replica, replicaFailure);
+                    future.complete(newBackendInfo(shardName, cookie, success, Optional.empty()));
+                }
+            });
+    }
+
+    private ShardBackendInfo newBackendInfo(final String shardName, final long cookie,
+            final ConnectClientSuccess success, final Optional<FollowerReplica> followerReplica) {
+        return new ShardBackendInfo(success.getBackend(), nextSessionId.getAndIncrement(), success.getVersion(),
+            shardName, UnsignedLong.fromLongBits(cookie), success.getDataTree(), success.getMaxMessages(),
+            actorContext.getTransactionAdmissionController().getBackendLimit(shardName), followerReplica);
     }
 }
@@ -10,22 +10,60 @@ package org.opendaylight.controller.cluster.databroker.actors.dds;
 import com.google.common.annotations.Beta;
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.FollowerReplica;
+import org.opendaylight.controller.cluster.datastore.utils.ReadCoalescer;
+import org.opendaylight.mdsal.common.api.MappingCheckedFuture;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Snapshot of the datastore state. Note this snapshot is not consistent across shards because sub-shard snapshots are
  * created lazily.
  *
+ * <p>
+ * Snapshots allocated outside of a local history may share results of their reads with other such snapshots through
+ * a {@link ReadCoalescer}, in which case individual reads may observe different states of a shard. Results of
+ * completed reads are shared only while the local replica of the shard reports no new commit on its leader.
+ *
+ * <p>
+ * Snapshots allocated outside of a local history may also be served from the local follower replica of a shard, if
+ * bounded-staleness reads are enabled. The choice is made on the first read of each shard: if the replica lags the
+ * leader by less than the configured number of entries, a snapshot of it is taken and all subsequent reads of that
+ * shard are served from it. Otherwise all reads of that shard go to the leader. Staleness of the replica snapshot is
+ * available via {@link #getFollowerSnapshot(YangInstanceIdentifier)}.
+ *
  * @author Robert Varga
  */
 @Beta
 public class ClientSnapshot extends AbstractClientHandle<AbstractProxyTransaction> {
+    private static final Logger LOG = LoggerFactory.getLogger(ClientSnapshot.class);
+
+    private final ReadCoalescer readCoalescer;
+    private final long readVersion;
+    private final Map<Long, FollowerReplica.Snapshot> followerSnapshots;
+
     // Hidden to prevent outside instantiation
     ClientSnapshot(final AbstractClientHistory parent, final TransactionIdentifier transactionId) {
+        this(parent, transactionId, null, false);
+    }
+
+    ClientSnapshot(final AbstractClientHistory parent, final TransactionIdentifier transactionId,
+            @Nullable final ReadCoalescer readCoalescer, final boolean followerReads) {
         super(parent, transactionId);
+        this.readCoalescer = readCoalescer;
+        this.readVersion = readCoalescer == null ? 0 : readCoalescer.currentVersion();
+        this.followerSnapshots = followerReads ? new ConcurrentHashMap<>() : null;
     }
 
     private AbstractProxyTransaction createProxy(final Long shard) {
@@ -37,11 +75,70 @@ public class ClientSnapshot extends AbstractClientHandle<AbstractProxyTransactio
     }
 
     public CheckedFuture<Boolean, ReadFailedException> exists(final YangInstanceIdentifier path) {
-        return ensureSnapshotProxy(path).exists(path);
+        final FollowerReplica.Snapshot follower = ensureFollowerSnapshot(path);
+        if (follower != null) {
+            logFollowerRead(path, follower);
+            return Futures.immediateCheckedFuture(follower.getDataTreeSnapshot().readNode(path).isPresent());
+        }
+        if (readCoalescer == null) {
+            return ensureSnapshotProxy(path).exists(path);
+        }
+
+        return coalescedRead(path, true, () -> ensureSnapshotProxy(path).exists(path));
     }
 
     public CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> read(
             final YangInstanceIdentifier path) {
-        return ensureSnapshotProxy(path).read(path);
+        final FollowerReplica.Snapshot follower = ensureFollowerSnapshot(path);
+        if (follower != null) {
+            logFollowerRead(path, follower);
+            return Futures.immediateCheckedFuture(follower.getDataTreeSnapshot().readNode(path));
+        }
+        if (readCoalescer == null) {
+            return ensureSnapshotProxy(path).read(path);
+        }
+
+        return coalescedRead(path, false, () -> ensureSnapshotProxy(path).read(path));
+    }
+
+    /**
+     * Return the follower replica snapshot serving reads of the shard holding a particular path. Its staleness
+     * applies to all reads of that shard performed by this transaction.
+     *
+     * @param path Path being read
+     * @return Follower replica snapshot, or absent if reads of the shard are served by its leader or the shard has
+     *         not been read yet
+     */
+    public java.util.Optional<FollowerReplica.Snapshot> getFollowerSnapshot(final YangInstanceIdentifier path) {
+        return followerSnapshots == null ? java.util.Optional.empty()
+                : java.util.Optional.ofNullable(followerSnapshots.get(parent().resolveShardForPath(path)));
+    }
+
+    @Nullable
+    private FollowerReplica.Snapshot ensureFollowerSnapshot(final YangInstanceIdentifier path) {
+        if (followerSnapshots == null) {
+            return null;
+        }
+
+        // Once a shard is bound to either the replica or the leader, we stick with it to keep reads consistent
+        final Long shard = parent().resolveShardForPath(path);
+        if (hasProxy(shard)) {
+            return null;
+        }
+
+        return followerSnapshots.computeIfAbsent(shard, key -> parent().takeFollowerSnapshot(key).orElse(null));
+    }
+
+    private void logFollowerRead(final YangInstanceIdentifier path, final FollowerReplica.Snapshot follower) {
+        LOG.debug("Transaction {} reading {} from follower replica lagging {} entries, leader contacted {}ms ago",
+            getIdentifier(), path, follower.getLagEntries(), follower.getLeaderContactAge(TimeUnit.MILLISECONDS));
+    }
+
+    private <T> CheckedFuture<T, ReadFailedException> coalescedRead(final YangInstanceIdentifier path,
+            final boolean exists, final Supplier<ListenableFuture<T>> loader) {
+        // The commit version needs to be acquired before the read is issued, so a cached result is at least as recent
+        final Long shard = parent().resolveShardForPath(path);
+        return MappingCheckedFuture.create(readCoalescer.read(shard, path, exists, readVersion,
+            parent().getCommitVersion(shard).orElse(null), loader), ReadFailedException.MAPPER);
     }
 }
@@ -14,8 +14,15 @@ import com.google.common.primitives.UnsignedLong;
 import java.util.Optional;
 import javax.annotation.concurrent.ThreadSafe;
 import org.opendaylight.controller.cluster.access.ABIVersion;
+import org.opendaylight.controller.cluster.access.client.AdaptiveConcurrencyLimit;
 import org.opendaylight.controller.cluster.access.client.BackendInfo;
+import org.opendaylight.controller.cluster.access.commands.CommitLocalTransactionRequest;
+import org.opendaylight.controller.cluster.access.commands.ModifyTransactionRequest;
+import org.opendaylight.controller.cluster.access.commands.PersistenceProtocol;
+import org.opendaylight.controller.cluster.access.commands.TransactionDoCommitRequest;
 import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.Request;
+import org.opendaylight.controller.cluster.datastore.FollowerReplica;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 
 /**
@@ -27,6 +34,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 @ThreadSafe
 final class ShardBackendInfo extends BackendInfo {
     private final Optional<DataTree> dataTree;
+    private final Optional<FollowerReplica> followerReplica;
     private final UnsignedLong cookie;
     private final String shardName;
 
@@ -36,6 +44,17 @@ final class ShardBackendInfo extends BackendInfo {
         this.shardName = Preconditions.checkNotNull(shardName);
         this.cookie = Preconditions.checkNotNull(cookie);
         this.dataTree = Preconditions.checkNotNull(dataTree);
+        this.followerReplica = Optional.empty();
+    }
+
+    ShardBackendInfo(final ActorRef actor, final long sessionId, final ABIVersion version, final String shardName,
+        final UnsignedLong cookie, final Optional<DataTree> dataTree, final int maxMessages,
+        final Optional<AdaptiveConcurrencyLimit> concurrencyLimit, final Optional<FollowerReplica> followerReplica) {
+        super(actor, sessionId, version, maxMessages, concurrencyLimit);
+        this.shardName = Preconditions.checkNotNull(shardName);
+        this.cookie = Preconditions.checkNotNull(cookie);
+        this.dataTree = Preconditions.checkNotNull(dataTree);
+        this.followerReplica = Preconditions.checkNotNull(followerReplica);
     }
 
     UnsignedLong getCookie() {
@@ -46,10 +65,38 @@ final class ShardBackendInfo extends BackendInfo {
         return dataTree;
     }
 
+    /**
+     * Return the local follower replica of the shard, if the shard leader is remote and bounded-staleness reads are
+     * enabled.
+     *
+     * @return Local follower replica, if available
+     */
+    Optional<FollowerReplica> getFollowerReplica() {
+        return followerReplica;
+    }
+
     String getShardName() {
         return shardName;
     }
 
+    /**
+     * Only the latency of requests which commit a transaction is reported to the shard's admission control, as that
+     * is what its limit is based on.
+     */
+    @Override
+    protected boolean isLatencySample(final Request<?, ?> request) {
+        if (request instanceof CommitLocalTransactionRequest || request instanceof TransactionDoCommitRequest) {
+            return true;
+        }
+        if (request instanceof ModifyTransactionRequest) {
+            final Optional<PersistenceProtocol> protocol =
+                    ((ModifyTransactionRequest) request).getPersistenceProtocol();
+            return protocol.isPresent() && (protocol.get() == PersistenceProtocol.SIMPLE
+                    || protocol.get() == PersistenceProtocol.THREE_PHASE);
+        }
+        return false;
+    }
+
     LocalHistoryIdentifier brandHistory(final LocalHistoryIdentifier id) {
         Preconditions.checkArgument(id.getCookie() == 0, "History %s is already branded", id);
         return new LocalHistoryIdentifier(id.getClientId(), id.getHistoryId(), cookie.longValue());
@@ -58,6 +105,7 @@ final class ShardBackendInfo extends BackendInfo {
     @Override
     protected ToStringHelper addToStringAttributes(final ToStringHelper toStringHelper) {
         return super.addToStringAttributes(toStringHelper).add("cookie", cookie).add("shard", shardName)
-                .add("dataTree", getDataTree().isPresent() ? "present" : "absent");
+                .add("dataTree", getDataTree().isPresent() ? "present" : "absent")
+                .add("followerReplica", followerReplica.isPresent() ? "present" : "absent");
     }
 }
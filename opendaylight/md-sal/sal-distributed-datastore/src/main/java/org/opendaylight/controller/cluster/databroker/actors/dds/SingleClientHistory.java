@@ -30,7 +30,7 @@ final class SingleClientHistory extends AbstractClientHistory {
         final TransactionIdentifier txId = new TransactionIdentifier(getIdentifier(), nextTx());
         LOG.debug("{}: creating a new snapshot {}", this, txId);
 
-        return new ClientSnapshot(this, txId);
+        return new ClientSnapshot(this, txId, getReadCoalescer(), true);
     }
 
     @Override
@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.datastore;
 import akka.actor.ActorContext;
 import akka.actor.ActorRef;
 import akka.actor.Props;
+import com.google.common.base.Preconditions;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.controller.cluster.common.actor.Dispatchers;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
@@ -18,7 +19,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Abstract base class for a ShardDataTreeNotificationPublisher that offloads the generation and publication
- * of data tree notifications to an actor.
+ * of data tree notifications to an actor. Publication can be spread across a number of actors, called lanes, each of
+ * which is responsible for a subset of the listeners and receives all candidates.
  *
  * @author Thomas Pantelis
  */
@@ -29,16 +31,23 @@ abstract class AbstractShardDataTreeNotificationPublisherActorProxy implements S
     private final ActorContext actorContext;
     private final String actorName;
     private final String logContext;
-    private ActorRef publisherActor;
+    private final ActorRef[] publisherActors;
 
     protected AbstractShardDataTreeNotificationPublisherActorProxy(ActorContext actorContext, String actorName,
             String logContext) {
+        this(actorContext, actorName, logContext, 1);
+    }
+
+    protected AbstractShardDataTreeNotificationPublisherActorProxy(ActorContext actorContext, String actorName,
+            String logContext, int laneCount) {
+        Preconditions.checkArgument(laneCount > 0, "Invalid lane count %s", laneCount);
         this.actorContext = actorContext;
         this.actorName = actorName;
         this.logContext = logContext;
+        this.publisherActors = new ActorRef[laneCount];
     }
 
-    protected abstract Props props();
+    protected abstract Props props(String laneName);
 
     protected final String actorName() {
         return actorName;
@@ -48,19 +57,33 @@ abstract class AbstractShardDataTreeNotificationPublisherActorProxy implements S
         return logContext;
     }
 
+    protected final int laneCount() {
+        return publisherActors.length;
+    }
+
     @Override
     public void publishChanges(DataTreeCandidate candidate) {
-        publisherActor().tell(new ShardDataTreeNotificationPublisherActor.PublishNotifications(candidate),
-                ActorRef.noSender());
+        final ShardDataTreeNotificationPublisherActor.PublishNotifications message =
+                new ShardDataTreeNotificationPublisherActor.PublishNotifications(candidate);
+        for (int i = 0; i < publisherActors.length; ++i) {
+            publisherActor(i).tell(message, ActorRef.noSender());
+        }
     }
 
     protected final ActorRef publisherActor() {
+        return publisherActor(0);
+    }
+
+    protected final ActorRef publisherActor(int lane) {
+        ActorRef publisherActor = publisherActors[lane];
         if (publisherActor == null) {
+            final String name = publisherActors.length == 1 ? actorName : actorName + "-" + lane;
             String dispatcher = new Dispatchers(actorContext.system().dispatchers()).getDispatcherPath(
                     Dispatchers.DispatcherType.Notification);
-            publisherActor = actorContext.actorOf(props().withDispatcher(dispatcher), actorName);
+            publisherActor = actorContext.actorOf(props(name).withDispatcher(dispatcher), name);
+            publisherActors[lane] = publisherActor;
 
-            log.debug("{}: Created publisher actor {} with name {}", logContext, publisherActor, actorName);
+            log.debug("{}: Created publisher actor {} with name {}", logContext, publisherActor, name);
         }
 
         return publisherActor;
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.annotations.Beta;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+
+/**
+ * Marker interface for {@link DOMDataTreeChangeListener}s which are interested only in the net effect of changes.
+ * When such a listener falls behind, the changes queued for it are merged into a single aggregate
+ * {@link org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate} per subtree, hence it may not observe
+ * intermediate states and may receive fewer notifications than there were commits.
+ */
+@Beta
+public interface CoalescingDOMDataTreeChangeListener extends DOMDataTreeChangeListener {
+
+}
@@ -11,9 +11,12 @@ import akka.actor.ActorRef;
 import com.google.common.base.Preconditions;
 import com.google.common.primitives.UnsignedLong;
 import com.google.common.util.concurrent.FutureCallback;
+import java.io.IOException;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.ShardCommitCoordinator.CohortDecorator;
+import org.opendaylight.controller.cluster.datastore.messages.BatchedModifications;
 import org.opendaylight.controller.cluster.datastore.modification.Modification;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputDictionary;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 
@@ -22,6 +25,7 @@ final class CohortEntry {
     private final TransactionIdentifier transactionId;
     private final short clientVersion;
 
+    private NormalizedNodeInputDictionary dictionary;
     private RuntimeException lastBatchedModificationsException;
     private int totalBatchedModificationsReceived;
     private ShardDataTreeCohort cohort;
@@ -78,6 +82,26 @@ final class CohortEntry {
         return lastBatchedModificationsException;
     }
 
+    void decodeModifications(final BatchedModifications batched) {
+        if (!batched.isEncoded()) {
+            return;
+        }
+
+        if (dictionary == null) {
+            dictionary = new NormalizedNodeInputDictionary();
+        }
+
+        try {
+            batched.decodeModifications(dictionary, totalBatchedModificationsReceived);
+        } catch (IOException e) {
+            lastBatchedModificationsException = new IllegalArgumentException("Failed to decode modifications", e);
+            throw lastBatchedModificationsException;
+        } catch (IllegalStateException e) {
+            lastBatchedModificationsException = e;
+            throw e;
+        }
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     void applyModifications(final Iterable<Modification> modifications) {
         totalBatchedModificationsReceived++;
@@ -18,5 +18,12 @@ public interface DataStoreVersions {
     short HELIUM_2_VERSION = 2;
     short LITHIUM_VERSION = 3;
     short BORON_VERSION = 5;
-    short CURRENT_VERSION = BORON_VERSION;
+    /**
+     * Version which adds {@link org.opendaylight.controller.cluster.datastore.messages.BatchedModifications} encoded
+     * with a dictionary shared across a transaction's messages. This is the only format change, as with previous
+     * versions the shard advertises it as its raft payload version, which frontends and followers use to send
+     * messages in the version of the leader they talk to.
+     */
+    short NITROGEN_VERSION = 6;
+    short CURRENT_VERSION = NITROGEN_VERSION;
 }
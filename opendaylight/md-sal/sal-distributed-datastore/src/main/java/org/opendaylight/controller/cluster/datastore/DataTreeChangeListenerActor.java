@@ -55,6 +55,7 @@ final class DataTreeChangeListenerActor extends AbstractUntypedActor {
         if (!notificationsEnabled) {
             LOG.debug("{}: Notifications not enabled for listener {} - dropping change notification",
                     logContext, listener);
+            acknowledge();
             return;
         }
 
@@ -69,9 +70,13 @@ final class DataTreeChangeListenerActor extends AbstractUntypedActor {
             LOG.error("{}: Error notifying listener {}", logContext, this.listener, e);
         }
 
-        // TODO: do we really need this?
-        // It seems the sender is never null but it doesn't hurt to check. If the caller passes in
-        // a null sender (ActorRef.noSender()), akka translates that to the deadLetters actor.
+        acknowledge();
+    }
+
+    private void acknowledge() {
+        // The shard-side publisher waits for this reply before sending the next batch to this listener, hence it is
+        // sent even if the notification was dropped. It seems the sender is never null but it doesn't hurt to check.
+        // If the caller passes in a null sender (ActorRef.noSender()), akka translates that to the deadLetters actor.
         if (getSender() != null && !getContext().system().deadLetters().equals(getSender())) {
             getSender().tell(DataTreeChangedReply.getInstance(), getSelf());
         }
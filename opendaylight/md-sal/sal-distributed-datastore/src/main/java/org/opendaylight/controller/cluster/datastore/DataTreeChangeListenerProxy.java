@@ -106,7 +106,8 @@ final class DataTreeChangeListenerProxy<T extends DOMDataTreeChangeListener> ext
 
         Future<Object> future = actorContext.executeOperationAsync(shard,
                 new RegisterDataTreeChangeListener(registeredPath, dataChangeListenerActor,
-                        getInstance() instanceof ClusteredDOMDataTreeChangeListener),
+                        getInstance() instanceof ClusteredDOMDataTreeChangeListener,
+                        getInstance() instanceof CoalescingDOMDataTreeChangeListener),
                 actorContext.getDatastoreContext().getShardInitializationTimeout());
 
         future.onComplete(new OnComplete<Object>() {
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.DataTreeChangeListenerQueueInfo;
+import org.opendaylight.controller.cluster.datastore.utils.DataTreeCandidateAggregator;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Notification queue of a single DataTreeChangeListener. At most one batch of changes is normally in flight towards
+ * the listener. Changes generated while it is being processed are queued and delivered as a single batch once the
+ * listener acknowledges the previous one, so a slow listener receives fewer, larger batches. Once the queue reaches
+ * its maximum depth, it is sent without waiting for the acknowledgement, so the publisher never holds more than that
+ * many changes for a listener.
+ *
+ * <p>
+ * If the listener is coalescing, queued changes are additionally merged into aggregate candidates before they are
+ * sent. Reaching the maximum depth then triggers a merge of the queue, and the queue is sent early only if merging
+ * does not bring it below the limit.
+ *
+ * <p>
+ * This class is not thread-safe except for {@link #toInfo()}, which can be invoked from any thread.
+ */
+@NotThreadSafe
+final class DataTreeChangeListenerQueue {
+    /**
+     * Delivery mechanism of batches. {@link DataTreeChangeListenerQueue#onDelivered()} needs to be invoked once the
+     * listener has processed the batch.
+     */
+    @FunctionalInterface
+    interface Delivery {
+        void deliver(DataTreeChangeListenerQueue queue, List<DataTreeCandidate> changes);
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataTreeChangeListenerQueue.class);
+
+    // Time at which the oldest change of each in-flight batch was enqueued
+    private final Deque<Long> inFlight = new ArrayDeque<>();
+    private final DOMDataTreeChangeListener listener;
+    private final String lane;
+    private final int maxQueueDepth;
+    private final boolean coalescing;
+    private final Delivery delivery;
+    private final Ticker ticker;
+
+    private List<DataTreeCandidate> pending = new ArrayList<>();
+    private long pendingSince;
+
+    // Statistics, updated from the owning actor and read from JMX
+    private volatile int queueDepth;
+    private volatile int inFlightBatches;
+    private volatile long oldestOutstandingNanos;
+    private volatile long maxLagNanos;
+    private final AtomicLong deliveredBatchCount = new AtomicLong();
+    private final AtomicLong coalescedChangeCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+
+    DataTreeChangeListenerQueue(final DOMDataTreeChangeListener listener, final String lane, final int maxQueueDepth,
+            final Delivery delivery, final Ticker ticker) {
+        this(listener, lane, maxQueueDepth, false, delivery, ticker);
+    }
+
+    DataTreeChangeListenerQueue(final DOMDataTreeChangeListener listener, final String lane, final int maxQueueDepth,
+            final boolean coalescing, final Delivery delivery, final Ticker ticker) {
+        Preconditions.checkArgument(maxQueueDepth > 0, "Invalid maximum queue depth %s", maxQueueDepth);
+        this.listener = Preconditions.checkNotNull(listener);
+        this.lane = Preconditions.checkNotNull(lane);
+        this.maxQueueDepth = maxQueueDepth;
+        this.coalescing = coalescing;
+        this.delivery = Preconditions.checkNotNull(delivery);
+        this.ticker = Preconditions.checkNotNull(ticker);
+    }
+
+    DOMDataTreeChangeListener getListener() {
+        return listener;
+    }
+
+    void enqueue(final Collection<DataTreeCandidate> changes) {
+        final long now = ticker.read();
+        if (inFlight.isEmpty()) {
+            send(new ArrayList<>(changes), now);
+        } else {
+            if (pending.isEmpty()) {
+                pendingSince = now;
+            }
+            pending.addAll(changes);
+
+            if (coalescing && pending.size() >= maxQueueDepth) {
+                pending = DataTreeCandidateAggregator.aggregate(pending);
+                LOG.debug("Listener {} queue merged to {} changes", listener, pending.size());
+            }
+            if (pending.size() >= maxQueueDepth) {
+                LOG.debug("Listener {} has {} undelivered changes, sending them without waiting", listener,
+                    pending.size());
+                overflowCount.incrementAndGet();
+                flush();
+            }
+        }
+
+        updateStats();
+    }
+
+    void onDelivered() {
+        final Long since = inFlight.poll();
+        if (since == null) {
+            LOG.warn("Listener {} acknowledged a batch which is not in flight", listener);
+            return;
+        }
+
+        maxLagNanos = Math.max(maxLagNanos, ticker.read() - since);
+        if (inFlight.isEmpty() && !pending.isEmpty()) {
+            coalescedChangeCount.addAndGet(pending.size());
+            flush();
+        }
+
+        updateStats();
+    }
+
+    DataTreeChangeListenerQueueInfo toInfo() {
+        final int depth = queueDepth;
+        final int batches = inFlightBatches;
+        final long lag = depth + batches == 0 ? 0 : ticker.read() - oldestOutstandingNanos;
+
+        return new DataTreeChangeListenerQueueInfo(listener.toString(), lane, depth, batches,
+            TimeUnit.NANOSECONDS.toMillis(lag), TimeUnit.NANOSECONDS.toMillis(maxLagNanos), deliveredBatchCount.get(),
+            coalescedChangeCount.get(), overflowCount.get());
+    }
+
+    private void flush() {
+        final List<DataTreeCandidate> batch = pending;
+        pending = new ArrayList<>();
+        send(batch, pendingSince);
+    }
+
+    private void send(final List<DataTreeCandidate> batch, final long since) {
+        inFlight.add(since);
+        deliveredBatchCount.incrementAndGet();
+        delivery.deliver(this, coalescing && batch.size() > 1 ? DataTreeCandidateAggregator.aggregate(batch) : batch);
+    }
+
+    private void updateStats() {
+        final Long oldest = inFlight.peek();
+        if (oldest != null) {
+            oldestOutstandingNanos = oldest;
+        } else if (!pending.isEmpty()) {
+            oldestOutstandingNanos = pendingSince;
+        }
+
+        queueDepth = pending.size();
+        inFlightBatches = inFlight.size();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("listener", listener).add("lane", lane)
+                .add("coalescing", coalescing).add("queueDepth", pending.size()).add("inFlight", inFlight.size())
+                .toString();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.mdsal.dom.spi.AbstractDOMDataTreeChangeListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+
+/**
+ * {@link DefaultShardDataTreeChangeListenerPublisher.ListenerDispatcher} which routes notifications for remote
+ * listeners through a {@link DataTreeChangeListenerQueue} per registration. Notifications for other listeners are
+ * delivered directly. Queues are also tracked in a shard-wide registry, from which their statistics are reported.
+ */
+@NotThreadSafe
+final class DataTreeChangeListenerQueues implements DefaultShardDataTreeChangeListenerPublisher.ListenerDispatcher {
+    private final Map<AbstractDOMDataTreeChangeListenerRegistration<?>, DataTreeChangeListenerQueue> queues =
+            new HashMap<>();
+    private final Collection<DataTreeChangeListenerQueue> registry;
+    private final String lane;
+    private final int maxQueueDepth;
+    private DataTreeChangeListenerQueue.Delivery delivery;
+
+    DataTreeChangeListenerQueues(final String lane, final int maxQueueDepth,
+            final Collection<DataTreeChangeListenerQueue> registry) {
+        this.lane = Preconditions.checkNotNull(lane);
+        this.maxQueueDepth = maxQueueDepth;
+        this.registry = Preconditions.checkNotNull(registry);
+    }
+
+    void setDelivery(final DataTreeChangeListenerQueue.Delivery delivery) {
+        this.delivery = Preconditions.checkNotNull(delivery);
+    }
+
+    @Override
+    public void dispatch(final AbstractDOMDataTreeChangeListenerRegistration<?> registration,
+            final DOMDataTreeChangeListener listener, final Collection<DataTreeCandidate> changes) {
+        if (!(listener instanceof ForwardingDataTreeChangeListener)) {
+            listener.onDataTreeChanged(changes);
+            return;
+        }
+
+        queues.computeIfAbsent(registration, reg -> {
+            final DataTreeChangeListenerQueue queue = new DataTreeChangeListenerQueue(listener, lane, maxQueueDepth,
+                ((ForwardingDataTreeChangeListener) listener).isCoalescing(),
+                Preconditions.checkNotNull(delivery, "Delivery has not been set"), Ticker.systemTicker());
+            registry.add(queue);
+            return queue;
+        }).enqueue(changes);
+    }
+
+    @Override
+    public void registrationRemoved(final AbstractDOMDataTreeChangeListenerRegistration<?> registration) {
+        final DataTreeChangeListenerQueue queue = queues.remove(registration);
+        if (queue != null) {
+            registry.remove(queue);
+        }
+    }
+
+    /**
+     * Invoked when the listener has acknowledged a batch delivered from a queue. Acknowledgements for queues whose
+     * registration has been removed in the meantime are ignored.
+     *
+     * @param queue Queue which delivered the batch
+     */
+    void onDelivered(final DataTreeChangeListenerQueue queue) {
+        if (registry.contains(queue)) {
+            queue.onDelivered();
+        }
+    }
+
+    void clear() {
+        registry.removeAll(queues.values());
+        queues.clear();
+    }
+}
@@ -24,7 +24,8 @@ final class DataTreeChangeListenerSupport extends AbstractDataListenerSupport<DO
     void doRegistration(final RegisterDataTreeChangeListener message, final ActorRef registrationActor) {
         final ActorSelection listenerActor = processListenerRegistrationMessage(message);
 
-        DOMDataTreeChangeListener listener = new ForwardingDataTreeChangeListener(listenerActor);
+        DOMDataTreeChangeListener listener = new ForwardingDataTreeChangeListener(listenerActor,
+            message.isCoalescing());
 
         log().debug("{}: Registering listenerActor {} for path {}", persistenceId(), listenerActor, message.getPath());
 
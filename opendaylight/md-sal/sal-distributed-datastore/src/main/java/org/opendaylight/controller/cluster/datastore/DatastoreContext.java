@@ -19,6 +19,7 @@ import org.opendaylight.controller.cluster.access.client.AbstractClientConnectio
 import org.opendaylight.controller.cluster.access.client.ClientActorConfig;
 import org.opendaylight.controller.cluster.common.actor.AkkaConfigurationReader;
 import org.opendaylight.controller.cluster.common.actor.FileAkkaConfigurationReader;
+import org.opendaylight.controller.cluster.io.CompressionCodec;
 import org.opendaylight.controller.cluster.raft.ConfigParams;
 import org.opendaylight.controller.cluster.raft.DefaultConfigParamsImpl;
 import org.opendaylight.controller.cluster.raft.PeerAddressResolver;
@@ -41,7 +42,7 @@ public class DatastoreContext implements ClientActorConfig {
     public static final Duration DEFAULT_SHARD_TRANSACTION_IDLE_TIMEOUT = Duration.create(10, TimeUnit.MINUTES);
     public static final int DEFAULT_OPERATION_TIMEOUT_IN_MS = 5000;
     public static final int DEFAULT_SHARD_TX_COMMIT_TIMEOUT_IN_SECONDS = 30;
-    public static final int DEFAULT_JOURNAL_RECOVERY_BATCH_SIZE = 1;
+    public static final int DEFAULT_JOURNAL_RECOVERY_BATCH_SIZE = 1000;
     public static final int DEFAULT_SNAPSHOT_BATCH_COUNT = 20000;
     public static final int DEFAULT_HEARTBEAT_INTERVAL_IN_MILLIS = 500;
     public static final int DEFAULT_ISOLATED_LEADER_CHECK_INTERVAL_IN_MILLIS =
@@ -54,6 +55,9 @@ public class DatastoreContext implements ClientActorConfig {
     public static final int DEFAULT_SHARD_SNAPSHOT_DATA_THRESHOLD_PERCENTAGE = 12;
     public static final int DEFAULT_SHARD_ELECTION_TIMEOUT_FACTOR = 2;
     public static final int DEFAULT_TX_CREATION_INITIAL_RATE_LIMIT = 100;
+    public static final int DEFAULT_TX_ADMISSION_MAX_LIMIT = 1000;
+    public static final int DEFAULT_DATA_TREE_CHANGE_LISTENER_LANES = 4;
+    public static final int DEFAULT_DATA_TREE_CHANGE_LISTENER_MAX_QUEUE_DEPTH = 1000;
     public static final String UNKNOWN_DATA_STORE_TYPE = "unknown";
     public static final int DEFAULT_SHARD_BATCHED_MODIFICATION_COUNT = 1000;
     public static final long DEFAULT_SHARD_COMMIT_QUEUE_EXPIRY_TIMEOUT_IN_MS =
@@ -61,6 +65,9 @@ public class DatastoreContext implements ClientActorConfig {
     public static final int DEFAULT_MAX_MESSAGE_SLICE_SIZE = 2048 * 1000; // 2MB
 
     public static final long DEFAULT_SYNC_INDEX_THRESHOLD = 10;
+    public static final long DEFAULT_SHARD_REPLICATION_BATCH_DELAY_IN_MILLIS = -1;
+    public static final int DEFAULT_SHARD_MAX_INCREMENTAL_SNAPSHOTS = 0;
+    public static final CompressionCodec DEFAULT_SHARD_STREAM_COMPRESSION = CompressionCodec.NONE;
 
     private static final Logger LOG = LoggerFactory.getLogger(DatastoreContext.class);
 
@@ -79,6 +86,13 @@ public class DatastoreContext implements ClientActorConfig {
     private boolean persistent = DEFAULT_PERSISTENT;
     private AkkaConfigurationReader configurationReader = DEFAULT_CONFIGURATION_READER;
     private long transactionCreationInitialRateLimit = DEFAULT_TX_CREATION_INITIAL_RATE_LIMIT;
+    private boolean transactionAdmissionControlEnabled = false;
+    private int transactionAdmissionMaxLimit = DEFAULT_TX_ADMISSION_MAX_LIMIT;
+    private boolean readCoalescingEnabled = false;
+    private long followerReadMaxLag = 0;
+    private int dataTreeChangeListenerLanes = DEFAULT_DATA_TREE_CHANGE_LISTENER_LANES;
+    private int dataTreeChangeListenerMaxQueueDepth = DEFAULT_DATA_TREE_CHANGE_LISTENER_MAX_QUEUE_DEPTH;
+    private boolean parallelCommitEnabled = false;
     private String dataStoreName = UNKNOWN_DATA_STORE_TYPE;
     private LogicalDatastoreType logicalStoreType = LogicalDatastoreType.OPERATIONAL;
     private YangInstanceIdentifier storeRoot = YangInstanceIdentifier.EMPTY;
@@ -86,6 +100,7 @@ public class DatastoreContext implements ClientActorConfig {
     private boolean writeOnlyTransactionOptimizationsEnabled = true;
     private long shardCommitQueueExpiryTimeoutInMillis = DEFAULT_SHARD_COMMIT_QUEUE_EXPIRY_TIMEOUT_IN_MS;
     private boolean useTellBasedProtocol = false;
+    private boolean useOffHeapLeafStorage = false;
     private boolean transactionDebugContextEnabled = false;
     private String shardManagerPersistenceId;
     private int maximumMessageSliceSize = DEFAULT_MAX_MESSAGE_SLICE_SIZE;
@@ -105,6 +120,9 @@ public class DatastoreContext implements ClientActorConfig {
         setSnapshotDataThresholdPercentage(DEFAULT_SHARD_SNAPSHOT_DATA_THRESHOLD_PERCENTAGE);
         setElectionTimeoutFactor(DEFAULT_SHARD_ELECTION_TIMEOUT_FACTOR);
         setSyncIndexThreshold(DEFAULT_SYNC_INDEX_THRESHOLD);
+        setShardReplicationBatchDelayInMillis(DEFAULT_SHARD_REPLICATION_BATCH_DELAY_IN_MILLIS);
+        setShardMaxIncrementalSnapshots(DEFAULT_SHARD_MAX_INCREMENTAL_SNAPSHOTS);
+        setShardStreamCompression(DEFAULT_SHARD_STREAM_COMPRESSION);
         setMaximumMessageSliceSize(DEFAULT_MAX_MESSAGE_SLICE_SIZE);
     }
 
@@ -120,6 +138,13 @@ public class DatastoreContext implements ClientActorConfig {
         this.persistent = other.persistent;
         this.configurationReader = other.configurationReader;
         this.transactionCreationInitialRateLimit = other.transactionCreationInitialRateLimit;
+        this.transactionAdmissionControlEnabled = other.transactionAdmissionControlEnabled;
+        this.transactionAdmissionMaxLimit = other.transactionAdmissionMaxLimit;
+        this.readCoalescingEnabled = other.readCoalescingEnabled;
+        this.followerReadMaxLag = other.followerReadMaxLag;
+        this.dataTreeChangeListenerLanes = other.dataTreeChangeListenerLanes;
+        this.dataTreeChangeListenerMaxQueueDepth = other.dataTreeChangeListenerMaxQueueDepth;
+        this.parallelCommitEnabled = other.parallelCommitEnabled;
         this.dataStoreName = other.dataStoreName;
         this.logicalStoreType = other.logicalStoreType;
         this.storeRoot = other.storeRoot;
@@ -129,6 +154,7 @@ public class DatastoreContext implements ClientActorConfig {
         this.transactionDebugContextEnabled = other.transactionDebugContextEnabled;
         this.shardManagerPersistenceId = other.shardManagerPersistenceId;
         this.useTellBasedProtocol = other.useTellBasedProtocol;
+        this.useOffHeapLeafStorage = other.useOffHeapLeafStorage;
         this.backendAlivenessTimerInterval = other.backendAlivenessTimerInterval;
         this.requestTimeout = other.requestTimeout;
         this.noProgressTimeout = other.noProgressTimeout;
@@ -146,6 +172,9 @@ public class DatastoreContext implements ClientActorConfig {
         setTempFileDirectory(other.getTempFileDirectory());
         setFileBackedStreamingThreshold(other.getFileBackedStreamingThreshold());
         setSyncIndexThreshold(other.raftConfig.getSyncIndexThreshold());
+        setShardReplicationBatchDelayInMillis(other.raftConfig.getReplicationBatchDelayInMillis());
+        setShardMaxIncrementalSnapshots(other.raftConfig.getMaxIncrementalSnapshots());
+        setShardStreamCompression(other.raftConfig.getStreamCompressionCodec());
     }
 
     public static Builder newBuilder() {
@@ -220,6 +249,34 @@ public class DatastoreContext implements ClientActorConfig {
         return transactionCreationInitialRateLimit;
     }
 
+    public boolean isTransactionAdmissionControlEnabled() {
+        return transactionAdmissionControlEnabled;
+    }
+
+    public int getTransactionAdmissionMaxLimit() {
+        return transactionAdmissionMaxLimit;
+    }
+
+    public boolean isReadCoalescingEnabled() {
+        return readCoalescingEnabled;
+    }
+
+    public long getFollowerReadMaxLag() {
+        return followerReadMaxLag;
+    }
+
+    public int getDataTreeChangeListenerLanes() {
+        return dataTreeChangeListenerLanes;
+    }
+
+    public int getDataTreeChangeListenerMaxQueueDepth() {
+        return dataTreeChangeListenerMaxQueueDepth;
+    }
+
+    public boolean isParallelCommitEnabled() {
+        return parallelCommitEnabled;
+    }
+
     public String getShardManagerPersistenceId() {
         return shardManagerPersistenceId;
     }
@@ -297,6 +354,22 @@ public class DatastoreContext implements ClientActorConfig {
         raftConfig.setSyncIndexThreshold(syncIndexThreshold);
     }
 
+    private void setShardReplicationBatchDelayInMillis(final long replicationBatchDelay) {
+        raftConfig.setReplicationBatchDelayInMillis(replicationBatchDelay);
+    }
+
+    private void setShardMaxIncrementalSnapshots(final int maxIncrementalSnapshots) {
+        raftConfig.setMaxIncrementalSnapshots(maxIncrementalSnapshots);
+    }
+
+    private void setShardStreamCompression(final CompressionCodec compression) {
+        raftConfig.setStreamCompressionCodec(compression);
+    }
+
+    public CompressionCodec getShardStreamCompression() {
+        return raftConfig.getStreamCompressionCodec();
+    }
+
     public int getShardBatchedModificationCount() {
         return shardBatchedModificationCount;
     }
@@ -317,6 +390,10 @@ public class DatastoreContext implements ClientActorConfig {
         return useTellBasedProtocol;
     }
 
+    public boolean isUseOffHeapLeafStorage() {
+        return useOffHeapLeafStorage;
+    }
+
     @Override
     public int getMaximumMessageSliceSize() {
         return maximumMessageSliceSize;
@@ -471,6 +548,43 @@ public class DatastoreContext implements ClientActorConfig {
             return this;
         }
 
+        public Builder transactionAdmissionControlEnabled(final boolean value) {
+            datastoreContext.transactionAdmissionControlEnabled = value;
+            return this;
+        }
+
+        public Builder transactionAdmissionMaxLimit(final int maxLimit) {
+            datastoreContext.transactionAdmissionMaxLimit = maxLimit;
+            return this;
+        }
+
+        public Builder readCoalescingEnabled(final boolean value) {
+            datastoreContext.readCoalescingEnabled = value;
+            return this;
+        }
+
+        public Builder followerReadMaxLag(final long value) {
+            datastoreContext.followerReadMaxLag = value;
+            return this;
+        }
+
+        public Builder dataTreeChangeListenerLanes(final int value) {
+            Preconditions.checkArgument(value > 0, "Invalid number of lanes %s", value);
+            datastoreContext.dataTreeChangeListenerLanes = value;
+            return this;
+        }
+
+        public Builder dataTreeChangeListenerMaxQueueDepth(final int value) {
+            Preconditions.checkArgument(value > 0, "Invalid maximum queue depth %s", value);
+            datastoreContext.dataTreeChangeListenerMaxQueueDepth = value;
+            return this;
+        }
+
+        public Builder parallelCommitEnabled(final boolean value) {
+            datastoreContext.parallelCommitEnabled = value;
+            return this;
+        }
+
         public Builder logicalStoreType(final LogicalDatastoreType logicalStoreType) {
             datastoreContext.logicalStoreType = Preconditions.checkNotNull(logicalStoreType);
 
@@ -551,6 +665,11 @@ public class DatastoreContext implements ClientActorConfig {
             return this;
         }
 
+        public Builder useOffHeapLeafStorage(final boolean value) {
+            datastoreContext.useOffHeapLeafStorage = value;
+            return this;
+        }
+
         /**
          * For unit tests only.
          */
@@ -598,6 +717,21 @@ public class DatastoreContext implements ClientActorConfig {
             return this;
         }
 
+        public Builder shardReplicationBatchDelayInMillis(final long replicationBatchDelay) {
+            datastoreContext.setShardReplicationBatchDelayInMillis(replicationBatchDelay);
+            return this;
+        }
+
+        public Builder shardMaxIncrementalSnapshots(final int maxIncrementalSnapshots) {
+            datastoreContext.setShardMaxIncrementalSnapshots(maxIncrementalSnapshots);
+            return this;
+        }
+
+        public Builder shardStreamCompression(final String compression) {
+            datastoreContext.setShardStreamCompression(CompressionCodec.forName(compression));
+            return this;
+        }
+
         public Builder backendAlivenessTimerIntervalInSeconds(final long interval) {
             datastoreContext.backendAlivenessTimerInterval = TimeUnit.SECONDS.toNanos(interval);
             return this;
@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.datastore;
 import com.google.common.base.Optional;
 import java.util.Collection;
 import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.mdsal.dom.spi.AbstractDOMDataTreeChangeListenerRegistration;
@@ -29,11 +30,27 @@ import org.slf4j.LoggerFactory;
 @NotThreadSafe
 final class DefaultShardDataTreeChangeListenerPublisher extends AbstractDOMStoreTreeChangePublisher
         implements ShardDataTreeChangeListenerPublisher {
+    /**
+     * Strategy for delivering notifications to listeners, allowing them to be queued rather than delivered directly.
+     */
+    interface ListenerDispatcher {
+        void dispatch(AbstractDOMDataTreeChangeListenerRegistration<?> registration, DOMDataTreeChangeListener listener,
+                Collection<DataTreeCandidate> changes);
+
+        void registrationRemoved(AbstractDOMDataTreeChangeListenerRegistration<?> registration);
+    }
+
     private static final Logger LOG = LoggerFactory.getLogger(DefaultShardDataTreeChangeListenerPublisher.class);
+    private final ListenerDispatcher dispatcher;
     private String logContext;
 
     DefaultShardDataTreeChangeListenerPublisher(String logContext) {
+        this(logContext, null);
+    }
+
+    DefaultShardDataTreeChangeListenerPublisher(String logContext, @Nullable ListenerDispatcher dispatcher) {
         this.logContext = logContext;
+        this.dispatcher = dispatcher;
     }
 
     @Override
@@ -51,12 +68,21 @@ final class DefaultShardDataTreeChangeListenerPublisher extends AbstractDOMStore
     protected void notifyListener(AbstractDOMDataTreeChangeListenerRegistration<?> registration,
             Collection<DataTreeCandidate> changes) {
         LOG.debug("{}: notifyListener: listener: {}", logContext, registration.getInstance());
-        registration.getInstance().onDataTreeChanged(changes);
+        if (dispatcher != null && registration.getInstance() instanceof ForwardingDOMDataTreeChangeListener) {
+            final DOMDataTreeChangeListener listener =
+                    ((ForwardingDOMDataTreeChangeListener) registration.getInstance()).delegate;
+            dispatcher.dispatch(registration, listener, changes);
+        } else {
+            registration.getInstance().onDataTreeChanged(changes);
+        }
     }
 
     @Override
     protected void registrationRemoved(final AbstractDOMDataTreeChangeListenerRegistration<?> registration) {
         LOG.debug("Registration {} removed", registration);
+        if (dispatcher != null) {
+            dispatcher.registrationRemoved(registration);
+        }
     }
 
     @Override
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.Collections;
+import java.util.List;
+import scala.concurrent.Future;
+
+/**
+ * A {@link org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort}
+ * instance given out for transactions which are known to fail before they are sent for commit.
+ */
+final class FailedThreePhaseCommitCohort extends AbstractThreePhaseCommitCohort<Object> {
+    private final Exception cause;
+
+    FailedThreePhaseCommitCohort(final Exception cause) {
+        this.cause = Preconditions.checkNotNull(cause);
+    }
+
+    @Override
+    public ListenableFuture<Boolean> canCommit() {
+        return Futures.immediateFailedFuture(cause);
+    }
+
+    @Override
+    public ListenableFuture<Void> preCommit() {
+        return Futures.immediateFailedFuture(cause);
+    }
+
+    @Override
+    public ListenableFuture<Void> abort() {
+        return IMMEDIATE_VOID_SUCCESS;
+    }
+
+    @Override
+    public ListenableFuture<Void> commit() {
+        return Futures.immediateFailedFuture(cause);
+    }
+
+    @Override
+    List<Future<Object>> getCohortFutures() {
+        return Collections.emptyList();
+    }
+}
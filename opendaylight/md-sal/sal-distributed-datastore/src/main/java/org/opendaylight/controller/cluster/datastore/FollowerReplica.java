@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+
+/**
+ * The state of a local shard replica, as seen by frontends which want to read from it while it is a follower. The
+ * shard publishes the leader's commit index and its own last applied index every time it hears from the leader, which
+ * allows frontends to take a snapshot of the replica's data tree with a known upper bound on its staleness.
+ *
+ * <p>
+ * This object is updated from the shard actor and accessed from application threads.
+ */
+@ThreadSafe
+public final class FollowerReplica {
+    /**
+     * A snapshot of a follower replica, along with its staleness at the time it was taken.
+     */
+    public static final class Snapshot {
+        private final DataTreeSnapshot dataTreeSnapshot;
+        private final long lagEntries;
+        private final long leaderContactAgeNanos;
+
+        Snapshot(final DataTreeSnapshot dataTreeSnapshot, final long lagEntries, final long leaderContactAgeNanos) {
+            this.dataTreeSnapshot = Preconditions.checkNotNull(dataTreeSnapshot);
+            this.lagEntries = lagEntries;
+            this.leaderContactAgeNanos = leaderContactAgeNanos;
+        }
+
+        @Nonnull
+        public DataTreeSnapshot getDataTreeSnapshot() {
+            return dataTreeSnapshot;
+        }
+
+        /**
+         * Return the maximum number of committed journal entries which are not reflected in this snapshot.
+         *
+         * @return Number of entries this snapshot lags behind the leader, at most
+         */
+        public long getLagEntries() {
+            return lagEntries;
+        }
+
+        /**
+         * Return the time which elapsed since the replica last heard from the leader, at the time this snapshot was
+         * taken.
+         *
+         * @param unit time unit of the result
+         * @return Age of the leader's commit index this snapshot was measured against
+         */
+        public long getLeaderContactAge(final TimeUnit unit) {
+            return unit.convert(leaderContactAgeNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("lagEntries", lagEntries)
+                    .add("leaderContactAgeMillis", getLeaderContactAge(TimeUnit.MILLISECONDS)).toString();
+        }
+    }
+
+    /**
+     * Version of the leader's committed state, as last reported to a replica. Two versions are equal only if no entry
+     * was committed and the replica did not see a leader change between the two of them being acquired, hence it can
+     * be used to validate cached results of reads issued to the leader.
+     */
+    public static final class CommitVersion {
+        private final long generation;
+        private final long leaderCommitIndex;
+
+        CommitVersion(final long generation, final long leaderCommitIndex) {
+            this.generation = generation;
+            this.leaderCommitIndex = leaderCommitIndex;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(generation) * 31 + Long.hashCode(leaderCommitIndex);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CommitVersion)) {
+                return false;
+            }
+            final CommitVersion other = (CommitVersion) obj;
+            return generation == other.generation && leaderCommitIndex == other.leaderCommitIndex;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("generation", generation)
+                    .add("leaderCommitIndex", leaderCommitIndex).toString();
+        }
+    }
+
+    private final String shardName;
+    private final DataTree dataTree;
+    private final Ticker ticker;
+
+    private volatile long maxLeaderContactAgeNanos;
+    private volatile long leaderCommitIndex = -1;
+    private volatile long lastAppliedIndex = -1;
+    private volatile long leaderContactNanos;
+    // Incremented on each invalidation, so versions do not match across leader changes
+    private volatile long generation;
+    private volatile boolean valid;
+
+    FollowerReplica(final String shardName, final DataTree dataTree, final long maxLeaderContactAgeMillis) {
+        this(shardName, dataTree, maxLeaderContactAgeMillis, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    FollowerReplica(final String shardName, final DataTree dataTree, final long maxLeaderContactAgeMillis,
+            final Ticker ticker) {
+        this.shardName = Preconditions.checkNotNull(shardName);
+        this.dataTree = Preconditions.checkNotNull(dataTree);
+        this.ticker = Preconditions.checkNotNull(ticker);
+        setMaxLeaderContactAge(maxLeaderContactAgeMillis);
+    }
+
+    void setMaxLeaderContactAge(final long maxLeaderContactAgeMillis) {
+        this.maxLeaderContactAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxLeaderContactAgeMillis);
+    }
+
+    /**
+     * Invoked by the shard after it has processed a message from the current leader.
+     *
+     * @param newLeaderCommitIndex the leader's commit index
+     * @param newLastAppliedIndex the index of the last entry applied to the shard's data tree
+     */
+    void update(final long newLeaderCommitIndex, final long newLastAppliedIndex) {
+        leaderContactNanos = ticker.read();
+        leaderCommitIndex = newLeaderCommitIndex;
+        lastAppliedIndex = newLastAppliedIndex;
+        valid = true;
+    }
+
+    /**
+     * Invoked by the shard when it stops being a follower or the leader changes. Snapshots will not be handed out
+     * until the next {@link #update(long, long)}.
+     */
+    void invalidate() {
+        valid = false;
+        generation++;
+    }
+
+    @Nonnull
+    public String getShardName() {
+        return shardName;
+    }
+
+    /**
+     * Take a snapshot of this replica if it is known to lag the leader by less than specified number of entries.
+     *
+     * @param maxLagEntries maximum acceptable lag, in journal entries
+     * @return A snapshot, or empty if this replica is not a follower, has not heard from the leader recently or lags
+     *         behind too much
+     */
+    @Nonnull
+    public Optional<Snapshot> takeSnapshot(final long maxLagEntries) {
+        // Indices need to be read before the snapshot is taken, so that the lag we report is an upper bound: the data
+        // tree can only move forward in the meantime.
+        final long contact = leaderContactNanos;
+        final long lastApplied = lastAppliedIndex;
+        final long leaderCommit = leaderCommitIndex;
+        if (!valid) {
+            return Optional.empty();
+        }
+
+        final long lag = Math.max(0, leaderCommit - lastApplied);
+        final long contactAge = ticker.read() - contact;
+        if (lag >= maxLagEntries || contactAge > maxLeaderContactAgeNanos) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new Snapshot(dataTree.takeSnapshot(), lag, contactAge));
+    }
+
+    /**
+     * Return the version of the leader's committed state, as last reported to this replica.
+     *
+     * @return Commit version, or empty if this replica is not a follower or has not heard from the leader recently
+     */
+    @Nonnull
+    public Optional<CommitVersion> getCommitVersion() {
+        // The generation needs to be read first, so an invalidation racing with us is detected below
+        final long gen = generation;
+        final long contact = leaderContactNanos;
+        final long leaderCommit = leaderCommitIndex;
+        if (!valid || gen != generation || ticker.read() - contact > maxLeaderContactAgeNanos) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new CommitVersion(gen, leaderCommit));
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("shard", shardName).add("valid", valid)
+                .add("leaderCommitIndex", leaderCommitIndex).add("lastAppliedIndex", lastAppliedIndex).toString();
+    }
+}
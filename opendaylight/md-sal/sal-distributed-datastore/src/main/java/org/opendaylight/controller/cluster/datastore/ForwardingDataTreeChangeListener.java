@@ -9,6 +9,8 @@ package org.opendaylight.controller.cluster.datastore;
 
 import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
 import com.google.common.base.Preconditions;
 import java.util.Collection;
 import org.opendaylight.controller.cluster.datastore.messages.DataTreeChanged;
@@ -16,6 +18,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import scala.concurrent.Future;
 
 /**
  * Internal implementation of a {@link DOMDataTreeChangeListener} which
@@ -26,9 +29,24 @@ final class ForwardingDataTreeChangeListener implements DOMDataTreeChangeListene
     private static final Logger LOG = LoggerFactory.getLogger(ForwardingDataTreeChangeListener.class);
 
     private final ActorSelection actor;
+    private final boolean coalescing;
 
     ForwardingDataTreeChangeListener(final ActorSelection actor) {
+        this(actor, false);
+    }
+
+    ForwardingDataTreeChangeListener(final ActorSelection actor, final boolean coalescing) {
         this.actor = Preconditions.checkNotNull(actor, "actor should not be null");
+        this.coalescing = coalescing;
+    }
+
+    /**
+     * Indicate whether changes queued for the listener may be merged before delivery.
+     *
+     * @return True if the listener accepts aggregated changes
+     */
+    boolean isCoalescing() {
+        return coalescing;
     }
 
     @Override
@@ -37,8 +55,20 @@ final class ForwardingDataTreeChangeListener implements DOMDataTreeChangeListene
         actor.tell(new DataTreeChanged(changes), ActorRef.noSender());
     }
 
+    /**
+     * Forward a batch of changes and request an acknowledgement once the listener actor has processed it.
+     *
+     * @param changes Changes to forward
+     * @param timeout Acknowledgement timeout
+     * @return Future completing with the acknowledgement
+     */
+    Future<Object> forwardDataTreeChanged(final Collection<DataTreeCandidate> changes, final Timeout timeout) {
+        LOG.debug("Sending DataTreeChanged to {} with acknowledgement", actor);
+        return Patterns.ask(actor, new DataTreeChanged(changes), timeout);
+    }
+
     @Override
     public String toString() {
-        return "ForwardingDataTreeChangeListener [actor=" + actor + "]";
+        return "ForwardingDataTreeChangeListener [actor=" + actor + ", coalescing=" + coalescing + "]";
     }
 }
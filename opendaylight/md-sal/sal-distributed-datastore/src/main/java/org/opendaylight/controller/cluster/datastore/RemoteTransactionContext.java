@@ -9,10 +9,12 @@
 package org.opendaylight.controller.cluster.datastore;
 
 import akka.actor.ActorSelection;
+import akka.dispatch.Futures;
 import akka.dispatch.OnComplete;
 import akka.util.Timeout;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.SettableFuture;
+import java.io.IOException;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.AbstractRead;
 import org.opendaylight.controller.cluster.datastore.messages.BatchedModifications;
@@ -20,6 +22,7 @@ import org.opendaylight.controller.cluster.datastore.messages.CloseTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.SerializableMessage;
 import org.opendaylight.controller.cluster.datastore.modification.AbstractModification;
 import org.opendaylight.controller.cluster.datastore.modification.Modification;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeOutputDictionary;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.slf4j.Logger;
@@ -39,6 +42,9 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
     private final ActorSelection actor;
     private final OperationLimiter limiter;
 
+    // Dictionary shared by all BatchedModifications sent to the transaction actor, if it supports it
+    private final NormalizedNodeOutputDictionary dictionary;
+
     private BatchedModifications batchedModifications;
     private int totalBatchedModificationsSent;
 
@@ -48,6 +54,8 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
         this.limiter = Preconditions.checkNotNull(limiter);
         this.actor = actor;
         this.actorContext = actorContext;
+        this.dictionary = remoteTransactionVersion >= DataStoreVersions.NITROGEN_VERSION
+                ? new NormalizedNodeOutputDictionary() : null;
     }
 
     private Future<Object> completeOperation(Future<Object> operationFuture) {
@@ -126,6 +134,7 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
         return sendBatchedModifications(false, false);
     }
 
+    @SuppressWarnings("checkstyle:IllegalCatch")
     protected Future<Object> sendBatchedModifications(boolean ready, boolean doCommitOnReady) {
         Future<Object> sent = null;
         if (ready || batchedModifications != null && !batchedModifications.getModifications().isEmpty()) {
@@ -147,6 +156,16 @@ public class RemoteTransactionContext extends AbstractTransactionContext {
                 batchedModifications = newBatchedModifications();
             }
 
+            if (dictionary != null) {
+                // Encode now, so the messages are encoded in the order in which they are sent
+                try {
+                    toSend.encodeModifications(dictionary);
+                } catch (IOException | RuntimeException e) {
+                    LOG.debug("Tx {} failed to encode batched modifications", getIdentifier(), e);
+                    return completeOperation(Futures.<Object>failed(e));
+                }
+            }
+
             sent = executeOperationAsync(toSend, actorContext.getTransactionCommitOperationTimeout());
         }
 
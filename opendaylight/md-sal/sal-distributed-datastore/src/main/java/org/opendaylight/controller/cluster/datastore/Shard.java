@@ -29,8 +29,11 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.access.ABIVersion;
@@ -60,6 +63,7 @@ import org.opendaylight.controller.cluster.common.actor.MessageTracker.Error;
 import org.opendaylight.controller.cluster.common.actor.MeteringBehavior;
 import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
 import org.opendaylight.controller.cluster.datastore.identifiers.ShardIdentifier;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.DataTreeChangeListenerQueueInfo;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardDataTreeListenerInfoMXBeanImpl;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardMBeanFactory;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
@@ -72,6 +76,7 @@ import org.opendaylight.controller.cluster.datastore.messages.CommitTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.ForwardedReadyTransaction;
+import org.opendaylight.controller.cluster.datastore.messages.GetFollowerReplica;
 import org.opendaylight.controller.cluster.datastore.messages.GetShardDataTree;
 import org.opendaylight.controller.cluster.datastore.messages.MakeLeaderLocal;
 import org.opendaylight.controller.cluster.datastore.messages.OnDemandShardState;
@@ -82,9 +87,12 @@ import org.opendaylight.controller.cluster.datastore.messages.RegisterChangeList
 import org.opendaylight.controller.cluster.datastore.messages.RegisterDataTreeChangeListener;
 import org.opendaylight.controller.cluster.datastore.messages.ShardLeaderStateChanged;
 import org.opendaylight.controller.cluster.datastore.messages.UpdateSchemaContext;
+import org.opendaylight.controller.cluster.datastore.node.utils.offheap.OffHeapLeafArena;
 import org.opendaylight.controller.cluster.datastore.persisted.AbortTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.DatastoreSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.DatastoreSnapshot.ShardSnapshot;
+import org.opendaylight.controller.cluster.io.CompressionCodec;
+import org.opendaylight.controller.cluster.io.CompressionMetrics;
 import org.opendaylight.controller.cluster.messaging.MessageAssembler;
 import org.opendaylight.controller.cluster.messaging.MessageSlicer;
 import org.opendaylight.controller.cluster.messaging.SliceOptions;
@@ -199,6 +207,10 @@ public class Shard extends RaftActor {
 
     private final MessageAssembler requestMessageAssembler;
 
+    private final FollowerReplica followerReplica;
+
+    private final Collection<DataTreeChangeListenerQueue> listenerQueues = ConcurrentHashMap.newKeySet();
+
     protected Shard(final AbstractBuilder<?, ?> builder) {
         super(builder.getId().toString(), builder.getPeerAddresses(),
                 Optional.of(builder.getDatastoreContext().getShardRaftConfig()), DataStoreVersions.CURRENT_VERSION);
@@ -213,7 +225,9 @@ public class Shard extends RaftActor {
         LOG.info("Shard created : {}, persistent : {}", name, datastoreContext.isPersistent());
 
         ShardDataTreeChangeListenerPublisherActorProxy treeChangeListenerPublisher =
-                new ShardDataTreeChangeListenerPublisherActorProxy(getContext(), name + "-DTCL-publisher", name);
+                new ShardDataTreeChangeListenerPublisherActorProxy(getContext(), name + "-DTCL-publisher", name,
+                    datastoreContext.getDataTreeChangeListenerLanes(),
+                    datastoreContext.getDataTreeChangeListenerMaxQueueDepth(), listenerQueues);
         ShardDataChangeListenerPublisherActorProxy dataChangeListenerPublisher =
                 new ShardDataChangeListenerPublisherActorProxy(getContext(), name + "-DCL-publisher", name);
         if (builder.getDataTree() != null) {
@@ -225,6 +239,10 @@ public class Shard extends RaftActor {
                     dataChangeListenerPublisher, name, frontendMetadata);
         }
 
+        if (datastoreContext.isUseOffHeapLeafStorage()) {
+            store.setOffHeapLeafArena(new OffHeapLeafArena());
+        }
+
         shardMBean = ShardMBeanFactory.getShardStatsMBean(name, datastoreContext.getDataStoreMXBeanType(), this);
 
         if (isMetricsCaptureEnabled()) {
@@ -251,8 +269,10 @@ public class Shard extends RaftActor {
 
         messageRetrySupport = new ShardTransactionMessageRetrySupport(this);
 
+        final CompressionCodec compression = datastoreContext.getShardStreamCompression();
         responseMessageSlicer = MessageSlicer.builder().logContext(this.name)
                 .messageSliceSize(datastoreContext.getMaximumMessageSliceSize())
+                .compression(compression, CompressionMetrics.forContext(this.name + ".responses", compression))
                 .fileBackedStreamFactory(getRaftActorContext().getFileBackedOutputStreamFactory())
                 .expireStateAfterInactivity(2, TimeUnit.MINUTES).build();
 
@@ -264,6 +284,13 @@ public class Shard extends RaftActor {
         listenerInfoMXBean = new ShardDataTreeListenerInfoMXBeanImpl(name, datastoreContext.getDataStoreMXBeanType(),
                 self());
         listenerInfoMXBean.register();
+
+        followerReplica = new FollowerReplica(name, store.getDataTree(), maxLeaderContactAgeMillis());
+    }
+
+    private long maxLeaderContactAgeMillis() {
+        // A follower which has not heard from the leader for this long would start an election
+        return getRaftActorContext().getConfigParams().getElectionTimeOutInterval().toMillis();
     }
 
     private void setTransactionCommitTimeout() {
@@ -361,6 +388,8 @@ public class Shard extends RaftActor {
                 sender().tell(getShardMBean(), self());
             } else if (message instanceof GetShardDataTree) {
                 sender().tell(store.getDataTree(), self());
+            } else if (message instanceof GetFollowerReplica) {
+                sender().tell(followerReplica, self());
             } else if (message instanceof ServerRemoved) {
                 context().parent().forward(message, context());
             } else if (ShardTransactionMessageRetrySupport.TIMER_MESSAGE_CLASS.isInstance(message)) {
@@ -585,10 +614,19 @@ public class Shard extends RaftActor {
         return store.getQueueSize();
     }
 
+    public long getOffHeapLeafBytes() {
+        final OffHeapLeafArena arena = store.getOffHeapLeafArena();
+        return arena != null ? arena.getLiveBytes() : 0;
+    }
+
     public int getCohortCacheSize() {
         return commitCoordinator.getCohortCacheSize();
     }
 
+    public List<DataTreeChangeListenerQueueInfo> getDataTreeChangeListenerQueueInfo() {
+        return listenerQueues.stream().map(DataTreeChangeListenerQueue::toInfo).collect(Collectors.toList());
+    }
+
     @Override
     protected Optional<ActorRef> getRoleChangeNotifier() {
         return roleChangeNotifier;
@@ -609,6 +647,8 @@ public class Shard extends RaftActor {
         setPersistence(datastoreContext.isPersistent());
 
         updateConfigParams(datastoreContext.getShardRaftConfig());
+
+        followerReplica.setMaxLeaderContactAge(maxLeaderContactAgeMillis());
     }
 
     // applyState() will be invoked once consensus is reached on the payload
@@ -842,15 +882,17 @@ public class Shard extends RaftActor {
     @Nonnull
     protected RaftActorRecoveryCohort getRaftActorRecoveryCohort() {
         if (restoreFromSnapshot == null) {
-            return ShardRecoveryCoordinator.create(store, persistenceId(), LOG);
+            return ShardRecoveryCoordinator.create(store, persistenceId(), LOG, shardMBean);
         }
 
-        return ShardRecoveryCoordinator.forSnapshot(store, persistenceId(), LOG, restoreFromSnapshot.getSnapshot());
+        return ShardRecoveryCoordinator.forSnapshot(store, persistenceId(), LOG, shardMBean,
+            restoreFromSnapshot.getSnapshot());
     }
 
     @Override
     protected void onRecoveryComplete() {
         restoreFromSnapshot = null;
+        shardMBean.setRecoveryComplete();
 
         //notify shard manager
         getContext().parent().tell(new ActorInitialized(), getSelf());
@@ -879,8 +921,17 @@ public class Shard extends RaftActor {
         }
     }
 
+    @Override
+    protected void onLeaderCommitIndex(final long leaderCommitIndex) {
+        followerReplica.update(leaderCommitIndex, getRaftActorContext().getLastApplied());
+    }
+
     @Override
     protected void onStateChanged() {
+        if (getRaftState() != RaftState.Follower) {
+            followerReplica.invalidate();
+        }
+
         boolean isLeader = isLeader();
         boolean hasLeader = hasLeader();
         changeSupport.onLeadershipChange(isLeader, hasLeader);
@@ -906,6 +957,7 @@ public class Shard extends RaftActor {
     @Override
     protected void onLeaderChanged(final String oldLeader, final String newLeader) {
         shardMBean.incrementLeadershipChangeCount();
+        followerReplica.invalidate();
         paused = false;
 
         if (!isLeader()) {
@@ -950,6 +1002,11 @@ public class Shard extends RaftActor {
         }
     }
 
+    @Override
+    protected void onReplicationBatchSent(final int batchSize) {
+        shardMBean.recordReplicationBatch(batchSize);
+    }
+
     /**
      * Clears all pending transactions and converts them to messages to be forwarded to a new leader.
      *
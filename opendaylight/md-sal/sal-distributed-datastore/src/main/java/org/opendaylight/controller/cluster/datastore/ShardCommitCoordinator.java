@@ -136,6 +136,8 @@ final class ShardCommitCoordinator {
             cohortCache.put(cohortEntry.getTransactionId(), cohortEntry);
         }
 
+        cohortEntry.decodeModifications(batched);
+
         if (log.isDebugEnabled()) {
             log.debug("{}: Applying {} batched modifications for Tx {}", name,
                     batched.getModifications().size(), batched.getTransactionId());
@@ -210,6 +212,7 @@ final class ShardCommitCoordinator {
             return Collections.singletonList(from);
         }
 
+        cohortEntry.decodeModifications(from);
         cohortEntry.applyModifications(from.getModifications());
 
         final LinkedList<BatchedModifications> newModifications = new LinkedList<>();
@@ -45,7 +45,7 @@ class ShardDataChangeListenerPublisherActorProxy extends AbstractShardDataTreeNo
     }
 
     @Override
-    protected Props props() {
-        return ShardDataChangePublisherActor.props(actorName(), logContext());
+    protected Props props(String laneName) {
+        return ShardDataChangePublisherActor.props(laneName, logContext());
     }
 }
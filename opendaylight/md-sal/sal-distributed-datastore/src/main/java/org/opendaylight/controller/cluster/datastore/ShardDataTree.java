@@ -45,17 +45,21 @@ import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier
 import org.opendaylight.controller.cluster.datastore.DataTreeCohortActorRegistry.CohortRegistryCommand;
 import org.opendaylight.controller.cluster.datastore.ShardDataTreeCohort.State;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
+import org.opendaylight.controller.cluster.datastore.node.utils.offheap.OffHeapLeafArena;
 import org.opendaylight.controller.cluster.datastore.persisted.AbortTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.AbstractIdentifiablePayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CloseLocalHistoryPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CreateLocalHistoryPayload;
+import org.opendaylight.controller.cluster.datastore.persisted.IncrementalShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.MetadataShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.PurgeLocalHistoryPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.PurgeTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardDataTreeSnapshotMetadata;
 import org.opendaylight.controller.cluster.datastore.utils.DataTreeModificationOutput;
+import org.opendaylight.controller.cluster.datastore.utils.OffHeapDataTreeModification;
+import org.opendaylight.controller.cluster.datastore.utils.OffHeapDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.utils.PruningDataTreeModification;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker.DataChangeScope;
@@ -128,6 +132,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
     private final ShardDataTreeChangeListenerPublisher treeChangeListenerPublisher;
     private final ShardDataChangeListenerPublisher dataChangeListenerPublisher;
+    private final Collection<Consumer<DataTreeCandidate>> commitCallbacks = new ArrayList<>(1);
     private final Collection<ShardDataTreeMetadata<?>> metadata;
     private final TipProducingDataTree dataTree;
     private final String logContext;
@@ -146,6 +151,9 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
     private int currentTransactionBatch;
 
+    // Non-null if leaf values are stored off-heap
+    private OffHeapLeafArena leafArena;
+
     ShardDataTree(final Shard shard, final SchemaContext schemaContext, final TipProducingDataTree dataTree,
             final ShardDataTreeChangeListenerPublisher treeChangeListenerPublisher,
             final ShardDataChangeListenerPublisher dataChangeListenerPublisher, final String logContext,
@@ -237,6 +245,8 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         final Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> snapshotMeta;
         if (snapshot instanceof MetadataShardDataTreeSnapshot) {
             snapshotMeta = ((MetadataShardDataTreeSnapshot) snapshot).getMetadata();
+        } else if (snapshot instanceof IncrementalShardDataTreeSnapshot) {
+            snapshotMeta = ((IncrementalShardDataTreeSnapshot) snapshot).getMetadata();
         } else {
             snapshotMeta = ImmutableMap.of();
         }
@@ -254,10 +264,24 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         // delete everything first
         mod.delete(YangInstanceIdentifier.EMPTY);
 
-        final java.util.Optional<NormalizedNode<?, ?>> maybeNode = snapshot.getRootNode();
-        if (maybeNode.isPresent()) {
-            // Add everything from the remote node back
-            mod.write(YangInstanceIdentifier.EMPTY, maybeNode.get());
+        if (snapshot instanceof IncrementalShardDataTreeSnapshot) {
+            // Write the base snapshot and replay the changes made since then on top of it
+            final IncrementalShardDataTreeSnapshot incremental = (IncrementalShardDataTreeSnapshot) snapshot;
+            mod.write(YangInstanceIdentifier.EMPTY, incremental.getBaseRootNode());
+            for (Entry<YangInstanceIdentifier, java.util.Optional<NormalizedNode<?, ?>>> e :
+                    incremental.getChanges().entrySet()) {
+                if (e.getValue().isPresent()) {
+                    mod.write(e.getKey(), e.getValue().get());
+                } else {
+                    mod.delete(e.getKey());
+                }
+            }
+        } else {
+            final java.util.Optional<NormalizedNode<?, ?>> maybeNode = snapshot.getRootNode();
+            if (maybeNode.isPresent()) {
+                // Add everything from the remote node back
+                mod.write(YangInstanceIdentifier.EMPTY, maybeNode.get());
+            }
         }
         mod.ready();
 
@@ -278,16 +302,33 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
      * @throws DataValidationFailedException when the snapshot fails to apply
      */
     void applySnapshot(@Nonnull final ShardDataTreeSnapshot snapshot) throws DataValidationFailedException {
-        applySnapshot(snapshot, UnaryOperator.identity());
+        applySnapshot(snapshot, this::wrapWithOffHeap);
     }
 
     private PruningDataTreeModification wrapWithPruning(final DataTreeModification delegate) {
-        return new PruningDataTreeModification(delegate, dataTree, schemaContext);
+        // Pruning rebuilds the data it is given, hence it needs to happen before the leaves are stored off-heap
+        return new PruningDataTreeModification(wrapWithOffHeap(delegate), dataTree, schemaContext);
+    }
+
+    /**
+     * Wrap a modification so the leaf values written to it are stored off-heap, if enabled.
+     *
+     * @param delegate the modification to wrap
+     * @return the wrapped modification, or the modification itself if off-heap storage is disabled
+     */
+    DataTreeModification wrapWithOffHeap(final DataTreeModification delegate) {
+        if (leafArena == null || delegate instanceof OffHeapDataTreeModification) {
+            return delegate;
+        }
+        return new OffHeapDataTreeModification(delegate, leafArena);
     }
 
     private static DataTreeModification unwrap(final DataTreeModification modification) {
         if (modification instanceof PruningDataTreeModification) {
-            return ((PruningDataTreeModification)modification).delegate();
+            return unwrap(((PruningDataTreeModification)modification).delegate());
+        }
+        if (modification instanceof OffHeapDataTreeModification) {
+            return ((OffHeapDataTreeModification)modification).delegate();
         }
         return modification;
     }
@@ -309,7 +350,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         DataTreeCandidates.applyToModification(mod, candidate);
         mod.ready();
 
-        final DataTreeModification unwrapped = mod.delegate();
+        final DataTreeModification unwrapped = unwrap(mod);
         LOG.trace("{}: Applying recovery modification {}", logContext, unwrapped);
 
         try {
@@ -335,10 +376,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
      */
     void applyRecoveryPayload(@Nonnull final Payload payload) throws IOException, DataValidationFailedException {
         if (payload instanceof CommitTransactionPayload) {
-            final Entry<TransactionIdentifier, DataTreeCandidate> e =
-                    ((CommitTransactionPayload) payload).getCandidate();
-            applyRecoveryCandidate(e.getValue());
-            allMetadataCommittedTransaction(e.getKey());
+            applyRecoveryCommit(((CommitTransactionPayload) payload).getCandidate());
         } else if (payload instanceof AbortTransactionPayload) {
             allMetadataAbortedTransaction(((AbortTransactionPayload) payload).getIdentifier());
         } else if (payload instanceof PurgeTransactionPayload) {
@@ -354,17 +392,32 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         }
     }
 
+    /**
+     * Apply a commit coming from recovery, whose {@link CommitTransactionPayload} has already been decoded. This
+     * method does not assume the SchemaContexts match and performs data pruning in an attempt to adjust the state
+     * to our current SchemaContext.
+     *
+     * @param commit Decoded transaction identifier and candidate
+     * @throws DataValidationFailedException when the candidate fails to apply
+     */
+    void applyRecoveryCommit(@Nonnull final Entry<TransactionIdentifier, DataTreeCandidate> commit)
+            throws DataValidationFailedException {
+        applyRecoveryCandidate(commit.getValue());
+        allMetadataCommittedTransaction(commit.getKey());
+    }
+
     private void applyReplicatedCandidate(final Identifier identifier, final DataTreeCandidate foreign)
             throws DataValidationFailedException {
         LOG.debug("{}: Applying foreign transaction {}", logContext, identifier);
 
-        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        final DataTreeModification mod = wrapWithOffHeap(dataTree.takeSnapshot().newModification());
         DataTreeCandidates.applyToModification(mod, foreign);
         mod.ready();
 
-        LOG.trace("{}: Applying foreign modification {}", logContext, mod);
-        dataTree.validate(mod);
-        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        final DataTreeModification unwrapped = unwrap(mod);
+        LOG.trace("{}: Applying foreign modification {}", logContext, unwrapped);
+        dataTree.validate(unwrapped);
+        final DataTreeCandidate candidate = dataTree.prepare(unwrapped);
         dataTree.commit(candidate);
 
         notifyListeners(candidate);
@@ -537,7 +590,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
     ReadOnlyShardDataTreeTransaction newReadOnlyTransaction(final TransactionIdentifier txId) {
         if (txId.getHistoryId().getHistoryId() == 0) {
-            return new ReadOnlyShardDataTreeTransaction(this, txId, dataTree.takeSnapshot());
+            return new ReadOnlyShardDataTreeTransaction(this, txId, takeSnapshot());
         }
 
         return ensureTransactionChain(txId.getHistoryId(), null).newReadOnlyTransaction(txId);
@@ -545,8 +598,8 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
     ReadWriteShardDataTreeTransaction newReadWriteTransaction(final TransactionIdentifier txId) {
         if (txId.getHistoryId().getHistoryId() == 0) {
-            return new ReadWriteShardDataTreeTransaction(ShardDataTree.this, txId, dataTree.takeSnapshot()
-                    .newModification());
+            return new ReadWriteShardDataTreeTransaction(ShardDataTree.this, txId,
+                wrapWithOffHeap(dataTree.takeSnapshot().newModification()));
         }
 
         return ensureTransactionChain(txId.getHistoryId(), null).newReadWriteTransaction(txId);
@@ -554,6 +607,10 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
     @VisibleForTesting
     public void notifyListeners(final DataTreeCandidate candidate) {
+        for (Consumer<DataTreeCandidate> callback : commitCallbacks) {
+            callback.accept(candidate);
+        }
+
         treeChangeListenerPublisher.publishChanges(candidate);
         dataChangeListenerPublisher.publishChanges(candidate);
     }
@@ -619,12 +676,23 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     }
 
     Optional<DataTreeCandidate> readCurrentData() {
-        final Optional<NormalizedNode<?, ?>> currentState =
-                dataTree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY);
+        final Optional<NormalizedNode<?, ?>> currentState = readNode(YangInstanceIdentifier.EMPTY);
         return currentState.isPresent() ? Optional.of(DataTreeCandidates.fromNormalizedNode(
             YangInstanceIdentifier.EMPTY, currentState.get())) : Optional.<DataTreeCandidate>absent();
     }
 
+    /**
+     * Add a callback which is invoked synchronously with each candidate committed to the data tree, before it is
+     * published to change listeners. Unlike change listeners, the callback observes the data tree in lock-step, which
+     * makes it suitable for maintaining derived state such as indexes. Candidates applied during recovery are not
+     * reported.
+     *
+     * @param callback the callback to invoke
+     */
+    public void addCommitCallback(final Consumer<DataTreeCandidate> callback) {
+        commitCallbacks.add(Preconditions.checkNotNull(callback));
+    }
+
     public void registerTreeChangeListener(final YangInstanceIdentifier path, final DOMDataTreeChangeListener listener,
             final Optional<DataTreeCandidate> initialState,
             final Consumer<ListenerRegistration<DOMDataTreeChangeListener>> onRegistration) {
@@ -662,11 +730,18 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     }
 
     public Optional<NormalizedNode<?, ?>> readNode(final YangInstanceIdentifier path) {
-        return dataTree.takeSnapshot().readNode(path);
+        return takeSnapshot().readNode(path);
     }
 
+    /**
+     * Take a snapshot of the data tree. If leaf values are stored off-heap, data read from the snapshot has them moved
+     * back on heap.
+     *
+     * @return A new snapshot
+     */
     DataTreeSnapshot takeSnapshot() {
-        return dataTree.takeSnapshot();
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+        return leafArena == null ? snapshot : new OffHeapDataTreeSnapshot(snapshot, leafArena);
     }
 
     @VisibleForTesting
@@ -941,14 +1016,14 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     @Override
     ShardDataTreeCohort createFailedCohort(final TransactionIdentifier txId, final DataTreeModification mod,
             final Exception failure) {
-        final SimpleShardDataTreeCohort cohort = new SimpleShardDataTreeCohort(this, mod, txId, failure);
+        final SimpleShardDataTreeCohort cohort = new SimpleShardDataTreeCohort(this, unwrap(mod), txId, failure);
         pendingTransactions.add(new CommitEntry(cohort, readTime()));
         return cohort;
     }
 
     @Override
     ShardDataTreeCohort createReadyCohort(final TransactionIdentifier txId, final DataTreeModification mod) {
-        SimpleShardDataTreeCohort cohort = new SimpleShardDataTreeCohort(this, mod, txId,
+        SimpleShardDataTreeCohort cohort = new SimpleShardDataTreeCohort(this, unwrap(mod), txId,
                 cohortRegistry.createCohort(schemaContext, txId, COMMIT_STEP_TIMEOUT));
         pendingTransactions.add(new CommitEntry(cohort, readTime()));
         return cohort;
@@ -1145,6 +1220,21 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         }
     }
 
+    /**
+     * Enable storing committed leaf values in an off-heap arena. This affects only data committed afterwards, hence
+     * it should be invoked before the data tree is populated.
+     *
+     * @param arena the arena to store leaf values in, or null to disable off-heap storage
+     */
+    void setOffHeapLeafArena(@Nullable final OffHeapLeafArena arena) {
+        this.leafArena = arena;
+    }
+
+    @Nullable
+    OffHeapLeafArena getOffHeapLeafArena() {
+        return leafArena;
+    }
+
     void setRunOnPendingTransactionsComplete(final Runnable operation) {
         runOnPendingTransactionsComplete = operation;
         maybeRunOperationOnPendingTransactionsComplete();
@@ -11,6 +11,7 @@ import akka.actor.ActorContext;
 import akka.actor.ActorRef;
 import akka.actor.Props;
 import com.google.common.base.Optional;
+import java.util.Collection;
 import java.util.function.Consumer;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
@@ -20,7 +21,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 
 /**
  * Implementation of ShardDataTreeChangeListenerPublisher that offloads the generation and publication
- * of data tree change notifications to an actor.
+ * of data tree change notifications to an actor. Listeners are spread across delivery lanes based on their hash code.
  *
  * @author Thomas Pantelis
  */
@@ -28,8 +29,14 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 class ShardDataTreeChangeListenerPublisherActorProxy extends AbstractShardDataTreeNotificationPublisherActorProxy
         implements ShardDataTreeChangeListenerPublisher {
 
-    ShardDataTreeChangeListenerPublisherActorProxy(ActorContext actorContext, String actorName, String logContext) {
-        super(actorContext, actorName, logContext);
+    private final int maxQueueDepth;
+    private final Collection<DataTreeChangeListenerQueue> listenerQueues;
+
+    ShardDataTreeChangeListenerPublisherActorProxy(ActorContext actorContext, String actorName, String logContext,
+            int laneCount, int maxQueueDepth, Collection<DataTreeChangeListenerQueue> listenerQueues) {
+        super(actorContext, actorName, logContext, laneCount);
+        this.maxQueueDepth = maxQueueDepth;
+        this.listenerQueues = listenerQueues;
     }
 
     @Override
@@ -38,12 +45,13 @@ class ShardDataTreeChangeListenerPublisherActorProxy extends AbstractShardDataTr
             Consumer<ListenerRegistration<DOMDataTreeChangeListener>> onRegistration) {
         final ShardDataTreeChangePublisherActor.RegisterListener regMessage =
                 new ShardDataTreeChangePublisherActor.RegisterListener(treeId, listener, currentState, onRegistration);
-        log.debug("{}: Sending {} to publisher actor {}", logContext(), regMessage, publisherActor());
-        publisherActor().tell(regMessage, ActorRef.noSender());
+        final ActorRef publisherActor = publisherActor(Math.floorMod(listener.hashCode(), laneCount()));
+        log.debug("{}: Sending {} to publisher actor {}", logContext(), regMessage, publisherActor);
+        publisherActor.tell(regMessage, ActorRef.noSender());
     }
 
     @Override
-    protected Props props() {
-        return ShardDataTreeChangePublisherActor.props(actorName(), logContext());
+    protected Props props(String laneName) {
+        return ShardDataTreeChangePublisherActor.props(laneName, logContext(), maxQueueDepth, listenerQueues);
     }
 }
@@ -7,9 +7,15 @@
  */
 package org.opendaylight.controller.cluster.datastore;
 
+import akka.actor.ActorRef;
 import akka.actor.Props;
+import akka.dispatch.OnComplete;
+import akka.util.Timeout;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
@@ -17,15 +23,35 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 
 /**
- * Actor used to generate and publish DataTreeChange notifications.
+ * Actor used to generate and publish DataTreeChange notifications. A shard runs a number of these actors, each acting
+ * as a delivery lane for a subset of the listeners. Notifications to remote listeners are passed through a
+ * {@link DataTreeChangeListenerQueue} per listener, so that a slow listener receives coalesced batches instead of
+ * holding up the lane.
  *
  * @author Thomas Pantelis
  */
 public class ShardDataTreeChangePublisherActor
         extends ShardDataTreeNotificationPublisherActor<ShardDataTreeChangeListenerPublisher> {
+    private static final Timeout ACK_TIMEOUT = new Timeout(30, TimeUnit.SECONDS);
 
-    private ShardDataTreeChangePublisherActor(final String name, final String logContext) {
-        super(new DefaultShardDataTreeChangeListenerPublisher(logContext), name, logContext);
+    private final DataTreeChangeListenerQueues queues;
+
+    private ShardDataTreeChangePublisherActor(final String name, final String logContext, final int maxQueueDepth,
+            final Collection<DataTreeChangeListenerQueue> registry) {
+        this(name, logContext, new DataTreeChangeListenerQueues(name, maxQueueDepth, registry));
+    }
+
+    private ShardDataTreeChangePublisherActor(final String name, final String logContext,
+            final DataTreeChangeListenerQueues queues) {
+        super(new DefaultShardDataTreeChangeListenerPublisher(logContext, queues), name, logContext);
+        this.queues = queues;
+        queues.setDelivery(this::deliver);
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        queues.clear();
+        super.postStop();
     }
 
     @Override
@@ -39,13 +65,41 @@ public class ShardDataTreeChangePublisherActor
             }
 
             publisher().registerTreeChangeListener(reg.path, reg.listener, Optional.absent(), reg.onRegistration);
+        } else if (message instanceof ChangesDelivered) {
+            queues.onDelivered(((ChangesDelivered) message).queue);
         } else {
             super.handleReceive(message);
         }
     }
 
-    static Props props(final String name, final String logContext) {
-        return Props.create(ShardDataTreeChangePublisherActor.class, name, logContext);
+    private void deliver(final DataTreeChangeListenerQueue queue, final List<DataTreeCandidate> changes) {
+        final ForwardingDataTreeChangeListener listener = (ForwardingDataTreeChangeListener) queue.getListener();
+        final ActorRef self = getSelf();
+        listener.forwardDataTreeChanged(changes, ACK_TIMEOUT).onComplete(new OnComplete<Object>() {
+            @Override
+            public void onComplete(final Throwable failure, final Object success) {
+                if (failure != null) {
+                    LOG.debug("{}: Listener {} did not acknowledge {} changes", logContext(), listener,
+                        changes.size(), failure);
+                }
+
+                // Either way the batch is no longer in flight
+                self.tell(new ChangesDelivered(queue), ActorRef.noSender());
+            }
+        }, getContext().dispatcher());
+    }
+
+    static Props props(final String name, final String logContext, final int maxQueueDepth,
+            final Collection<DataTreeChangeListenerQueue> registry) {
+        return Props.create(ShardDataTreeChangePublisherActor.class, name, logContext, maxQueueDepth, registry);
+    }
+
+    private static final class ChangesDelivered {
+        private final DataTreeChangeListenerQueue queue;
+
+        ChangesDelivered(final DataTreeChangeListenerQueue queue) {
+            this.queue = queue;
+        }
     }
 
     static class RegisterListener {
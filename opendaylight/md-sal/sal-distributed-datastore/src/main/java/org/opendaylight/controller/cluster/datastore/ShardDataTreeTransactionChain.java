@@ -62,7 +62,8 @@ final class ShardDataTreeTransactionChain extends ShardDataTreeTransactionParent
         final DataTreeSnapshot snapshot = getSnapshot();
         LOG.debug("Allocated read-write transaction {} snapshot {}", txId, snapshot);
 
-        openTransaction = new ReadWriteShardDataTreeTransaction(this, txId, snapshot.newModification());
+        openTransaction = new ReadWriteShardDataTreeTransaction(this, txId,
+            dataTree.wrapWithOffHeap(snapshot.newModification()));
         return openTransaction;
     }
 
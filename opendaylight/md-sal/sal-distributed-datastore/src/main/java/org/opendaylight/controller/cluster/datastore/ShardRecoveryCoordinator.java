@@ -8,7 +8,24 @@
 package org.opendaylight.controller.cluster.datastore;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
+import org.opendaylight.controller.cluster.datastore.persisted.IncrementalShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
 import org.opendaylight.controller.cluster.datastore.utils.NormalizedNodeXMLOutput;
@@ -16,21 +33,36 @@ import org.opendaylight.controller.cluster.raft.RaftActorRecoveryCohort;
 import org.opendaylight.controller.cluster.raft.persisted.Snapshot;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.slf4j.Logger;
 
 /**
- * Coordinates persistence recovery of journal log entries and snapshots for a shard. Each snapshot
- * and journal log entry batch are de-serialized and applied to their own write transaction
- * instance in parallel on a thread pool for faster recovery time. However the transactions are
- * committed to the data store in the order the corresponding snapshot or log batch are received
- * to preserve data store integrity.
+ * Coordinates persistence recovery of journal log entries and snapshots for a shard. Journal log entries carrying
+ * a {@link CommitTransactionPayload} are de-serialized in parallel on a shared thread pool, running ahead of
+ * the entry being applied by up to {@link #MAX_PENDING_ENTRIES} entries. However the entries are applied to
+ * the data store in the order they are received to preserve data store integrity. All pending entries are
+ * applied by the time a log entry batch completes.
  *
  * @author Thomas Pantelis
  */
 abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
+    /**
+     * A recovered journal log entry, along with its de-serialized form if it is a {@link CommitTransactionPayload}.
+     */
+    private static final class PendingEntry {
+        final Payload payload;
+        final CompletableFuture<Entry<TransactionIdentifier, DataTreeCandidate>> commit;
+
+        PendingEntry(final Payload payload,
+                @Nullable final CompletableFuture<Entry<TransactionIdentifier, DataTreeCandidate>> commit) {
+            this.payload = payload;
+            this.commit = commit;
+        }
+    }
+
     private static final class Simple extends ShardRecoveryCoordinator {
-        Simple(final ShardDataTree store, final String shardName, final Logger log) {
-            super(store, shardName, log);
+        Simple(final ShardDataTree store, final String shardName, final Logger log, final ShardStats stats) {
+            super(store, shardName, log, stats);
         }
 
         @Override
@@ -42,8 +74,9 @@ abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     private static final class WithSnapshot extends ShardRecoveryCoordinator {
         private final Snapshot restoreFromSnapshot;
 
-        WithSnapshot(final ShardDataTree store, final String shardName, final Logger log, final Snapshot snapshot) {
-            super(store, shardName, log);
+        WithSnapshot(final ShardDataTree store, final String shardName, final Logger log, final ShardStats stats,
+                final Snapshot snapshot) {
+            super(store, shardName, log, stats);
             this.restoreFromSnapshot = Preconditions.checkNotNull(snapshot);
         }
 
@@ -53,25 +86,43 @@ abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
         }
     }
 
+    // Maximum number of entries which are de-serialized ahead of the entry being applied
+    private static final int MAX_PENDING_ENTRIES = 256;
+    private static final Executor DECODE_EXECUTOR = createDecodeExecutor();
+
+    private final Queue<PendingEntry> pendingEntries = new ArrayDeque<>();
     private final ShardDataTree store;
     private final String shardName;
     private final Logger log;
+    private final ShardStats stats;
 
     private boolean open;
 
-    ShardRecoveryCoordinator(final ShardDataTree store, final String shardName, final Logger log) {
+    ShardRecoveryCoordinator(final ShardDataTree store, final String shardName, final Logger log,
+            final ShardStats stats) {
         this.store = Preconditions.checkNotNull(store);
         this.shardName = Preconditions.checkNotNull(shardName);
         this.log = Preconditions.checkNotNull(log);
+        this.stats = Preconditions.checkNotNull(stats);
     }
 
-    static ShardRecoveryCoordinator create(final ShardDataTree store, final String shardName, final Logger log) {
-        return new Simple(store, shardName, log);
+    static ShardRecoveryCoordinator create(final ShardDataTree store, final String shardName, final Logger log,
+            final ShardStats stats) {
+        return new Simple(store, shardName, log, stats);
     }
 
     static ShardRecoveryCoordinator forSnapshot(final ShardDataTree store, final String shardName, final Logger log,
-            final Snapshot snapshot) {
-        return new WithSnapshot(store, shardName, log, snapshot);
+            final ShardStats stats, final Snapshot snapshot) {
+        return new WithSnapshot(store, shardName, log, stats, snapshot);
+    }
+
+    private static Executor createDecodeExecutor() {
+        final int threads = Runtime.getRuntime().availableProcessors();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("shard-recovery-decode-%d").build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     @Override
@@ -81,17 +132,53 @@ abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     }
 
     @Override
-    @SuppressWarnings("checkstyle:IllegalCatch")
     public void appendRecoveredLogEntry(final Payload payload) {
         Preconditions.checkState(open, "call startLogRecovery before calling appendRecoveredLogEntry");
 
+        if (payload instanceof CommitTransactionPayload) {
+            final CommitTransactionPayload commit = (CommitTransactionPayload) payload;
+            pendingEntries.add(new PendingEntry(payload, CompletableFuture.supplyAsync(() -> decode(commit),
+                DECODE_EXECUTOR)));
+        } else {
+            pendingEntries.add(new PendingEntry(payload, null));
+        }
+
+        // Apply whatever is ready without waiting, but do not let the decoders run too far ahead
+        PendingEntry first = pendingEntries.peek();
+        while (first != null && (first.commit == null || first.commit.isDone()
+                || pendingEntries.size() > MAX_PENDING_ENTRIES)) {
+            applyFirstPendingEntry();
+            first = pendingEntries.peek();
+        }
+    }
+
+    private static Entry<TransactionIdentifier, DataTreeCandidate> decode(final CommitTransactionPayload payload) {
         try {
-            store.applyRecoveryPayload(payload);
+            return payload.getCandidate();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void applyFirstPendingEntry() {
+        final PendingEntry entry = pendingEntries.remove();
+        try {
+            if (entry.commit != null) {
+                store.applyRecoveryCommit(entry.commit.join());
+            } else {
+                store.applyRecoveryPayload(entry.payload);
+            }
         } catch (Exception e) {
-            log.error("{}: failed to apply payload {}", shardName, payload, e);
+            pendingEntries.clear();
+
+            final Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            log.error("{}: failed to apply payload {}", shardName, entry.payload, cause);
             throw new IllegalStateException(String.format("%s: Failed to apply recovery payload %s",
-                shardName, payload), e);
+                shardName, entry.payload), cause);
         }
+
+        stats.incrementRecoveredLogEntryCount();
     }
 
     /**
@@ -100,6 +187,12 @@ abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     @Override
     public void applyCurrentLogRecoveryBatch() {
         Preconditions.checkState(open, "call startLogRecovery before calling applyCurrentLogRecoveryBatch");
+
+        while (!pendingEntries.isEmpty()) {
+            applyFirstPendingEntry();
+        }
+
+        log.debug("{}: recovered {} log entries so far", shardName, stats.getRecoveredLogEntryCount());
         open = false;
     }
 
@@ -110,6 +203,17 @@ abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
         return file;
     }
 
+    private static NormalizedNode<?, ?> failedSnapshotRoot(final ShardDataTreeSnapshot snapshot,
+            final Exception cause) {
+        try {
+            return snapshot.getRootNode().orElse(null);
+        } catch (IllegalArgumentException e) {
+            // The changes of an incremental snapshot cannot be applied, dump the state they are based on instead
+            cause.addSuppressed(e);
+            return ((IncrementalShardDataTreeSnapshot) snapshot).getBaseRootNode();
+        }
+    }
+
     /**
      * Applies a recovered snapshot to the data store.
      *
@@ -128,7 +232,7 @@ abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
         try {
             store.applyRecoverySnapshot(shardSnapshot);
         } catch (Exception e) {
-            final File f = writeRoot("snapshot", shardSnapshot.getRootNode().orElse(null));
+            final File f = writeRoot("snapshot", failedSnapshotRoot(shardSnapshot, e));
             throw new IllegalStateException(String.format(
                     "%s: Failed to apply recovery snapshot %s. Node data was written to file %s",
                     shardName, shardSnapshot, f), e);
@@ -36,6 +36,7 @@ import org.slf4j.Logger;
 class ShardSnapshotCohort implements RaftActorSnapshotCohort {
     private static final FrontendType SNAPSHOT_APPLY = FrontendType.forName("snapshot-apply");
 
+    private final ShardSnapshotDeltaTracker deltaTracker = new ShardSnapshotDeltaTracker();
     private final ActorRef snapshotActor;
     private final ShardDataTree store;
     private final String logId;
@@ -68,7 +69,8 @@ class ShardSnapshotCohort implements RaftActorSnapshotCohort {
         final ShardDataTreeSnapshot snapshot = store.takeStateSnapshot();
         log.debug("{}: requesting serialization of snapshot {}", logId, snapshot);
 
-        ShardSnapshotActor.requestSnapshot(snapshotActor, snapshot, installSnapshotStream, actorRef);
+        ShardSnapshotActor.requestSnapshot(snapshotActor, deltaTracker.newSnapshotState(snapshot),
+            installSnapshotStream, actorRef);
     }
 
     @Override
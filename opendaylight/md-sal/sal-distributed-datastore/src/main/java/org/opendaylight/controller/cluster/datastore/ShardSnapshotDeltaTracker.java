@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.Preconditions;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.controller.cluster.datastore.persisted.MetadataShardDataTreeSnapshot;
+import org.opendaylight.controller.cluster.datastore.persisted.ShardDataTreeSnapshot;
+import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotDeltaState;
+import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
+import org.opendaylight.controller.cluster.raft.persisted.Snapshot;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedNodeContainer;
+
+/**
+ * Tracks the root node of the last shard snapshot which was persisted in full, so subsequent snapshots can be
+ * persisted as a {@link ShardSnapshotDeltaState} against it.
+ *
+ * <p>
+ * The delta is computed by comparing the current root node with the base root node. Since the data tree shares
+ * unmodified subtrees between its versions, unchanged subtrees are identical objects and are skipped without
+ * being traversed. Changed subtrees are descended into up to {@link #MAX_DIFF_DEPTH} levels, below which they are
+ * recorded as a whole.
+ */
+@NotThreadSafe
+final class ShardSnapshotDeltaTracker {
+    private static final class TrackedShardSnapshotState extends ShardSnapshotState
+            implements Snapshot.IncrementalState {
+        private static final long serialVersionUID = 1L;
+
+        @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+                + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this "
+                + "class aren't serialized. FindBugs does not recognize this.")
+        private final ShardSnapshotDeltaTracker tracker;
+
+        TrackedShardSnapshotState(final ShardDataTreeSnapshot snapshot, final ShardSnapshotDeltaTracker tracker) {
+            super(snapshot);
+            this.tracker = Preconditions.checkNotNull(tracker);
+        }
+
+        @Override
+        public Snapshot.DeltaState toDeltaState() {
+            return tracker.toDeltaState(getSnapshot());
+        }
+
+        @Override
+        public void persistedInFull() {
+            tracker.persistedInFull(getSnapshot());
+        }
+    }
+
+    private static final int MAX_DIFF_DEPTH = 4;
+
+    private NormalizedNode<?, ?> baseRootNode;
+
+    /**
+     * Create the snapshot state for a snapshot, which can be persisted either in full or as a delta against the last
+     * snapshot persisted in full.
+     *
+     * @param snapshot the shard data tree snapshot
+     * @return A new ShardSnapshotState
+     */
+    @Nonnull ShardSnapshotState newSnapshotState(@Nonnull final ShardDataTreeSnapshot snapshot) {
+        return new TrackedShardSnapshotState(snapshot, this);
+    }
+
+    @Nullable ShardSnapshotDeltaState toDeltaState(@Nonnull final ShardDataTreeSnapshot snapshot) {
+        if (baseRootNode == null || !(snapshot instanceof MetadataShardDataTreeSnapshot)) {
+            return null;
+        }
+
+        final Optional<NormalizedNode<?, ?>> rootNode = snapshot.getRootNode();
+        if (!rootNode.isPresent()) {
+            return null;
+        }
+
+        final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> changes = new LinkedHashMap<>();
+        diff(YangInstanceIdentifier.EMPTY, baseRootNode, rootNode.get(), 0, changes);
+        return new ShardSnapshotDeltaState(((MetadataShardDataTreeSnapshot) snapshot).getMetadata(), changes);
+    }
+
+    void persistedInFull(@Nonnull final ShardDataTreeSnapshot snapshot) {
+        baseRootNode = snapshot.getRootNode().orElse(null);
+    }
+
+    private static void diff(final YangInstanceIdentifier path, final NormalizedNode<?, ?> base,
+            final NormalizedNode<?, ?> current, final int depth,
+            final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> changes) {
+        if (base == current) {
+            return;
+        }
+        if (depth >= MAX_DIFF_DEPTH || !isDiffable(base) || !isDiffable(current)) {
+            changes.put(path, Optional.of(current));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        final NormalizedNodeContainer<?, PathArgument, NormalizedNode<PathArgument, ?>> baseContainer =
+                (NormalizedNodeContainer<?, PathArgument, NormalizedNode<PathArgument, ?>>) base;
+        @SuppressWarnings("unchecked")
+        final NormalizedNodeContainer<?, PathArgument, NormalizedNode<PathArgument, ?>> currentContainer =
+                (NormalizedNodeContainer<?, PathArgument, NormalizedNode<PathArgument, ?>>) current;
+
+        for (NormalizedNode<PathArgument, ?> child : currentContainer.getValue()) {
+            final PathArgument id = child.getIdentifier();
+            final NormalizedNode<PathArgument, ?> baseChild = baseContainer.getChild(id).orNull();
+            if (baseChild != null) {
+                diff(path.node(id), baseChild, child, depth + 1, changes);
+            } else {
+                changes.put(path.node(id), Optional.of(child));
+            }
+        }
+
+        for (NormalizedNode<PathArgument, ?> baseChild : baseContainer.getValue()) {
+            final PathArgument id = baseChild.getIdentifier();
+            if (!currentContainer.getChild(id).isPresent()) {
+                changes.put(path.node(id), Optional.empty());
+            }
+        }
+    }
+
+    private static boolean isDiffable(final NormalizedNode<?, ?> node) {
+        // Children of ordered nodes cannot be written individually without losing their order
+        return (node instanceof DataContainerNode || node instanceof MapNode)
+                && !(node instanceof OrderedNodeContainer);
+    }
+}
@@ -19,6 +19,7 @@ import org.opendaylight.controller.cluster.datastore.messages.DataExists;
 import org.opendaylight.controller.cluster.datastore.messages.ForwardedReadyTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.ReadData;
 import org.opendaylight.controller.cluster.datastore.modification.Modification;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputDictionary;
 
 /**
  * Actor for a shard write-only transaction.
@@ -30,6 +31,7 @@ public class ShardWriteTransaction extends ShardTransaction {
     private int totalBatchedModificationsReceived;
     private Exception lastBatchedModificationsException;
     private final ReadWriteShardDataTreeTransaction transaction;
+    private final NormalizedNodeInputDictionary dictionary = new NormalizedNodeInputDictionary();
 
     public ShardWriteTransaction(ReadWriteShardDataTreeTransaction transaction, ActorRef shardActor,
             ShardStats shardStats) {
@@ -61,6 +63,8 @@ public class ShardWriteTransaction extends ShardTransaction {
         }
 
         try {
+            batched.decodeModifications(dictionary, totalBatchedModificationsReceived);
+
             for (Modification modification: batched.getModifications()) {
                 modification.apply(transaction.getSnapshot());
             }
@@ -15,6 +15,8 @@ import java.util.Arrays;
 import java.util.List;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.ReadCoalescer;
+import org.opendaylight.controller.cluster.datastore.utils.TransactionAdmissionController.Permit;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,13 +37,20 @@ class SingleCommitCohortProxy extends AbstractThreePhaseCommitCohort<Object> {
     private final TransactionIdentifier transactionId;
     private volatile DOMStoreThreePhaseCommitCohort delegateCohort = NoOpDOMStoreThreePhaseCommitCohort.INSTANCE;
     private final OperationCallback.Reference operationCallbackRef;
+    private final Permit permit;
 
     SingleCommitCohortProxy(ActorContext actorContext, Future<Object> cohortFuture, TransactionIdentifier transactionId,
             OperationCallback.Reference operationCallbackRef) {
+        this(actorContext, cohortFuture, transactionId, operationCallbackRef, Permit.NOOP);
+    }
+
+    SingleCommitCohortProxy(ActorContext actorContext, Future<Object> cohortFuture, TransactionIdentifier transactionId,
+            OperationCallback.Reference operationCallbackRef, Permit permit) {
         this.actorContext = actorContext;
         this.cohortFuture = cohortFuture;
         this.transactionId = Preconditions.checkNotNull(transactionId);
         this.operationCallbackRef = operationCallbackRef;
+        this.permit = Preconditions.checkNotNull(permit);
     }
 
     @Override
@@ -53,13 +62,16 @@ class SingleCommitCohortProxy extends AbstractThreePhaseCommitCohort<Object> {
         cohortFuture.onComplete(new OnComplete<Object>() {
             @Override
             public void onComplete(Throwable failure, Object cohortResponse) {
+                onCommitCompleted();
                 if (failure != null) {
                     operationCallbackRef.get().failure();
+                    permit.failed();
                     returnFuture.setException(failure);
                     return;
                 }
 
                 operationCallbackRef.get().success();
+                permit.succeeded();
 
                 LOG.debug("Tx {} successfully completed direct commit", transactionId);
 
@@ -82,6 +94,7 @@ class SingleCommitCohortProxy extends AbstractThreePhaseCommitCohort<Object> {
 
     @Override
     public ListenableFuture<Void> abort() {
+        permit.failed();
         return delegateCohort.abort();
     }
 
@@ -94,4 +107,11 @@ class SingleCommitCohortProxy extends AbstractThreePhaseCommitCohort<Object> {
     List<Future<Object>> getCohortFutures() {
         return Arrays.asList(cohortFuture);
     }
+
+    private void onCommitCompleted() {
+        final ReadCoalescer readCoalescer = actorContext.getReadCoalescer();
+        if (readCoalescer != null) {
+            readCoalescer.onCommitCompleted();
+        }
+    }
 }
@@ -30,6 +30,8 @@ import org.opendaylight.controller.cluster.datastore.messages.CanCommitTransacti
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransactionReply;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.ReadCoalescer;
+import org.opendaylight.controller.cluster.datastore.utils.TransactionAdmissionController.Permit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.Future;
@@ -69,13 +71,20 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
     private final List<CohortInfo> cohorts;
     private final SettableFuture<Void> cohortsResolvedFuture = SettableFuture.create();
     private final TransactionIdentifier transactionId;
+    private final Permit permit;
     private volatile OperationCallback commitOperationCallback;
 
     public ThreePhaseCommitCohortProxy(final ActorContext actorContext, final List<CohortInfo> cohorts,
             final TransactionIdentifier transactionId) {
+        this(actorContext, cohorts, transactionId, Permit.NOOP);
+    }
+
+    ThreePhaseCommitCohortProxy(final ActorContext actorContext, final List<CohortInfo> cohorts,
+            final TransactionIdentifier transactionId, final Permit permit) {
         this.actorContext = actorContext;
         this.cohorts = cohorts;
         this.transactionId = Preconditions.checkNotNull(transactionId);
+        this.permit = Preconditions.checkNotNull(permit);
 
         if (cohorts.isEmpty()) {
             cohortsResolvedFuture.set(null);
@@ -139,6 +148,21 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
             }
         }, MoreExecutors.directExecutor());
 
+        // Release admission if the transaction is not going to be committed
+        Futures.addCallback(returnFuture, new FutureCallback<Boolean>() {
+            @Override
+            public void onSuccess(final Boolean result) {
+                if (!result) {
+                    permit.failed();
+                }
+            }
+
+            @Override
+            public void onFailure(final Throwable failure) {
+                permit.failed();
+            }
+        }, MoreExecutors.directExecutor());
+
         return returnFuture;
     }
 
@@ -155,6 +179,11 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
         commitOperationCallback = new TransactionRateLimitingCallback(actorContext);
         commitOperationCallback.run();
 
+        if (cohorts.size() > 1 && actorContext.getDatastoreContext().isParallelCommitEnabled()) {
+            finishParallelCanCommit(returnFuture);
+            return;
+        }
+
         final Iterator<CohortInfo> iterator = cohorts.iterator();
 
         final OnComplete<Object> onComplete = new OnComplete<Object>() {
@@ -201,6 +230,50 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
         sendCanCommitTransaction(iterator.next(), onComplete);
     }
 
+    /**
+     * Send CanCommitTransaction to all cohorts at once, completing the future once all of them have replied, or as
+     * soon as one of them fails or refuses. Cohorts which have already agreed will be aborted by the caller.
+     */
+    private void finishParallelCanCommit(final SettableFuture<Boolean> returnFuture) {
+        final AtomicInteger remaining = new AtomicInteger(cohorts.size());
+        final OnComplete<Object> onComplete = new OnComplete<Object>() {
+            @Override
+            public void onComplete(final Throwable failure, final Object response) {
+                if (failure != null) {
+                    LOG.debug("Tx {}: a canCommit cohort Future failed", transactionId, failure);
+
+                    returnFuture.setException(failure);
+                    commitOperationCallback.failure();
+                    return;
+                }
+
+                if (!CanCommitTransactionReply.isSerializedType(response)) {
+                    LOG.error("Unexpected response type {}", response.getClass());
+                    returnFuture.setException(new IllegalArgumentException(
+                            String.format("Unexpected response type %s", response.getClass())));
+                    commitOperationCallback.failure();
+                    return;
+                }
+
+                LOG.debug("Tx {}: received {}", transactionId, response);
+                if (!CanCommitTransactionReply.fromSerializable(response).getCanCommit()) {
+                    LOG.debug("Tx {}: canCommit returning result: false", transactionId);
+                    returnFuture.set(Boolean.FALSE);
+                } else if (remaining.decrementAndGet() == 0) {
+                    // Time the canCommit phase as a whole
+                    commitOperationCallback.pause();
+
+                    LOG.debug("Tx {}: canCommit returning result: true", transactionId);
+                    returnFuture.set(Boolean.TRUE);
+                }
+            }
+        };
+
+        for (CohortInfo cohort : cohorts) {
+            sendCanCommitTransaction(cohort, onComplete);
+        }
+    }
+
     private void sendCanCommitTransaction(final CohortInfo toCohortInfo, final OnComplete<Object> onComplete) {
         CanCommitTransaction message = new CanCommitTransaction(transactionId, toCohortInfo.getActorVersion());
 
@@ -234,6 +307,8 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
 
     @Override
     public ListenableFuture<Void> abort() {
+        permit.failed();
+
         // Note - we pass false for propagateException. In the front-end data broker, this method
         // is called when one of the 3 phases fails with an exception. We'd rather have that
         // original exception propagated to the client. If our abort fails and we propagate the
@@ -249,8 +324,29 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
         OperationCallback operationCallback = commitOperationCallback != null ? commitOperationCallback :
             OperationCallback.NO_OP_CALLBACK;
 
-        return voidOperation("commit", COMMIT_MESSAGE_SUPPLIER,
+        final ListenableFuture<Void> ret = voidOperation("commit", COMMIT_MESSAGE_SUPPLIER,
                 CommitTransactionReply.class, true, operationCallback);
+        Futures.addCallback(ret, new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(final Void result) {
+                permit.succeeded();
+                onCommitCompleted();
+            }
+
+            @Override
+            public void onFailure(final Throwable failure) {
+                permit.failed();
+                onCommitCompleted();
+            }
+        }, MoreExecutors.directExecutor());
+        return ret;
+    }
+
+    private void onCommitCompleted() {
+        final ReadCoalescer readCoalescer = actorContext.getReadCoalescer();
+        if (readCoalescer != null) {
+            readCoalescer.onCommitCompleted();
+        }
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -23,6 +23,7 @@ import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifie
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.CloseTransactionChain;
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryShardInfo;
+import org.opendaylight.controller.cluster.datastore.utils.ReadCoalescer;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionChainClosedException;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
@@ -329,4 +330,10 @@ final class TransactionChainProxy extends AbstractTransactionContextFactory<Loca
             promise.success(null);
         }
     }
+
+    @Override
+    protected ReadCoalescer getReadCoalescer() {
+        // Reads need to observe the state left behind by previous transactions in the chain
+        return null;
+    }
 }
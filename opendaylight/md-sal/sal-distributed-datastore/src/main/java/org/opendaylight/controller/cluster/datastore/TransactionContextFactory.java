@@ -15,6 +15,7 @@ import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifie
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryShardInfo;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.ReadCoalescer;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionChain;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import scala.concurrent.Future;
@@ -59,4 +60,9 @@ final class TransactionContextFactory extends AbstractTransactionContextFactory<
     @Override
     protected void onTransactionContextCreated(final TransactionIdentifier transactionId) {
     }
+
+    @Override
+    protected ReadCoalescer getReadCoalescer() {
+        return getActorContext().getReadCoalescer();
+    }
 }
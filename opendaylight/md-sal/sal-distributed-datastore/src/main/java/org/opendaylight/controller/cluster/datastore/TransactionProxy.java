@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.exceptions.TransactionAdmissionException;
 import org.opendaylight.controller.cluster.datastore.messages.AbstractRead;
 import org.opendaylight.controller.cluster.datastore.messages.DataExists;
 import org.opendaylight.controller.cluster.datastore.messages.ReadData;
@@ -36,6 +37,8 @@ import org.opendaylight.controller.cluster.datastore.modification.MergeModificat
 import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.cluster.datastore.utils.NormalizedNodeAggregator;
+import org.opendaylight.controller.cluster.datastore.utils.ReadCoalescer;
+import org.opendaylight.controller.cluster.datastore.utils.TransactionAdmissionController.Permit;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.sal.core.spi.data.AbstractDOMStoreTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
@@ -64,6 +67,8 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
     private final Map<String, TransactionContextWrapper> txContextWrappers = new HashMap<>();
     private final AbstractTransactionContextFactory<?> txContextFactory;
     private final TransactionType type;
+    private final ReadCoalescer readCoalescer;
+    private final long readVersion;
     private TransactionState state = TransactionState.OPEN;
 
     @VisibleForTesting
@@ -72,6 +77,8 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
                 .isTransactionDebugContextEnabled());
         this.txContextFactory = txContextFactory;
         this.type = Preconditions.checkNotNull(type);
+        this.readCoalescer = type == TransactionType.READ_ONLY ? txContextFactory.getReadCoalescer() : null;
+        this.readVersion = readCoalescer == null ? 0 : readCoalescer.currentVersion();
 
         LOG.debug("New {} Tx - {}", type, getIdentifier());
     }
@@ -88,6 +95,18 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
         LOG.debug("Tx {} {} {}", getIdentifier(), readCmd.getClass().getSimpleName(), readCmd.getPath());
 
+        final ListenableFuture<T> future;
+        if (readCoalescer != null) {
+            future = readCoalescer.read(shardName, readCmd.getPath(), readCmd instanceof DataExists, readVersion,
+                () -> sendRead(shardName, readCmd));
+        } else {
+            future = sendRead(shardName, readCmd);
+        }
+
+        return MappingCheckedFuture.create(future, ReadFailedException.MAPPER);
+    }
+
+    private <T> ListenableFuture<T> sendRead(final String shardName, final AbstractRead<T> readCmd) {
         final SettableFuture<T> proxyFuture = SettableFuture.create();
         TransactionContextWrapper contextWrapper = getContextWrapper(shardName);
         contextWrapper.maybeExecuteTransactionOperation(new TransactionOperation() {
@@ -97,7 +116,7 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
             }
         });
 
-        return MappingCheckedFuture.create(proxyFuture, ReadFailedException.MAPPER);
+        return proxyFuture;
     }
 
     @Override
@@ -223,17 +242,21 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
         LOG.debug("Tx {} Readying {} components for commit", getIdentifier(), txContextWrappers.size());
 
         final AbstractThreePhaseCommitCohort<?> ret;
-        switch (txContextWrappers.size()) {
-            case 0:
-                ret = NoOpDOMStoreThreePhaseCommitCohort.INSTANCE;
-                break;
-            case 1:
+        if (txContextWrappers.isEmpty()) {
+            ret = NoOpDOMStoreThreePhaseCommitCohort.INSTANCE;
+        } else {
+            // This does not block, if any of the shards is at its concurrency limit the transaction fails
+            final Permit permit = txContextFactory.getActorContext().getTransactionAdmissionController().tryAdmit(
+                txContextWrappers.keySet());
+            if (permit == null) {
+                ret = rejectAdmission();
+            } else if (txContextWrappers.size() == 1) {
                 final Entry<String, TransactionContextWrapper> e = Iterables.getOnlyElement(
                         txContextWrappers.entrySet());
-                ret = createSingleCommitCohort(e.getKey(), e.getValue());
-                break;
-            default:
-                ret = createMultiCommitCohort(txContextWrappers.entrySet());
+                ret = createSingleCommitCohort(e.getKey(), e.getValue(), permit);
+            } else {
+                ret = createMultiCommitCohort(txContextWrappers.entrySet(), permit);
+            }
         }
 
         txContextFactory.onTransactionReady(getIdentifier(), ret.getCohortFutures());
@@ -242,9 +265,27 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
         return debugContext == null ? ret : new DebugThreePhaseCommitCohort(getIdentifier(), ret, debugContext);
     }
 
+    private AbstractThreePhaseCommitCohort<?> rejectAdmission() {
+        LOG.debug("Tx {} not admitted to shards {}, failing it", getIdentifier(), txContextWrappers.keySet());
+
+        // We are not going to commit, close the transaction on the shards
+        for (TransactionContextWrapper contextWrapper : txContextWrappers.values()) {
+            contextWrapper.maybeExecuteTransactionOperation(new TransactionOperation() {
+                @Override
+                public void invoke(final TransactionContext transactionContext) {
+                    transactionContext.closeTransaction();
+                }
+            });
+        }
+
+        return new FailedThreePhaseCommitCohort(new TransactionAdmissionException(String.format(
+            "Transaction %s not admitted, shards %s have reached their limit of concurrently committing transactions",
+            getIdentifier(), txContextWrappers.keySet())));
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private AbstractThreePhaseCommitCohort<?> createSingleCommitCohort(final String shardName,
-            final TransactionContextWrapper contextWrapper) {
+            final TransactionContextWrapper contextWrapper, final Permit permit) {
 
         LOG.debug("Tx {} Readying transaction for shard {}", getIdentifier(), shardName);
 
@@ -268,7 +309,7 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
         }
 
         return new SingleCommitCohortProxy(txContextFactory.getActorContext(), future, getIdentifier(),
-            operationCallbackRef);
+            operationCallbackRef, permit);
     }
 
     private Future<?> getDirectCommitFuture(final TransactionContext transactionContext,
@@ -281,7 +322,7 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
     }
 
     private AbstractThreePhaseCommitCohort<ActorSelection> createMultiCommitCohort(
-            final Set<Entry<String, TransactionContextWrapper>> txContextWrapperEntries) {
+            final Set<Entry<String, TransactionContextWrapper>> txContextWrapperEntries, final Permit permit) {
 
         final List<ThreePhaseCommitCohortProxy.CohortInfo> cohorts = new ArrayList<>(txContextWrapperEntries.size());
         for (Entry<String, TransactionContextWrapper> e : txContextWrapperEntries) {
@@ -297,7 +338,7 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
             cohorts.add(new ThreePhaseCommitCohortProxy.CohortInfo(wrapper.readyTransaction(), txVersionSupplier));
         }
 
-        return new ThreePhaseCommitCohortProxy(txContextFactory.getActorContext(), cohorts, getIdentifier());
+        return new ThreePhaseCommitCohortProxy(txContextFactory.getActorContext(), cohorts, getIdentifier(), permit);
     }
 
     private String shardNameFromIdentifier(final YangInstanceIdentifier path) {
@@ -28,19 +28,19 @@ import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshotRep
 public final class ShardSnapshotActor extends AbstractUntypedActorWithMetering {
     // Internal message
     private static final class SerializeSnapshot {
-        private final ShardDataTreeSnapshot snapshot;
+        private final ShardSnapshotState snapshotState;
         private final Optional<OutputStream> installSnapshotStream;
         private final ActorRef replyTo;
 
-        SerializeSnapshot(final ShardDataTreeSnapshot snapshot, final Optional<OutputStream> installSnapshotStream,
+        SerializeSnapshot(final ShardSnapshotState snapshotState, final Optional<OutputStream> installSnapshotStream,
                 final ActorRef replyTo) {
-            this.snapshot = Preconditions.checkNotNull(snapshot);
+            this.snapshotState = Preconditions.checkNotNull(snapshotState);
             this.installSnapshotStream = Preconditions.checkNotNull(installSnapshotStream);
             this.replyTo = Preconditions.checkNotNull(replyTo);
         }
 
-        ShardDataTreeSnapshot getSnapshot() {
-            return snapshot;
+        ShardSnapshotState getSnapshotState() {
+            return snapshotState;
         }
 
         Optional<OutputStream> getInstallSnapshotStream() {
@@ -72,15 +72,15 @@ public final class ShardSnapshotActor extends AbstractUntypedActorWithMetering {
         Optional<OutputStream> installSnapshotStream = request.getInstallSnapshotStream();
         if (installSnapshotStream.isPresent()) {
             try (ObjectOutputStream out = new ObjectOutputStream(installSnapshotStream.get())) {
-                request.getSnapshot().serialize(out);
+                request.getSnapshotState().getSnapshot().serialize(out);
             } catch (IOException e) {
                 // TODO - we should communicate the failure in the CaptureSnapshotReply.
                 LOG.error("Error serializing snapshot", e);
             }
         }
 
-        request.getReplyTo().tell(new CaptureSnapshotReply(new ShardSnapshotState(request.getSnapshot()),
-                installSnapshotStream), ActorRef.noSender());
+        request.getReplyTo().tell(new CaptureSnapshotReply(request.getSnapshotState(), installSnapshotStream),
+                ActorRef.noSender());
     }
 
     /**
@@ -94,7 +94,22 @@ public final class ShardSnapshotActor extends AbstractUntypedActorWithMetering {
      */
     public static void requestSnapshot(final ActorRef snapshotActor, final ShardDataTreeSnapshot snapshot,
             final Optional<OutputStream> installSnapshotStream, final ActorRef replyTo) {
-        snapshotActor.tell(new SerializeSnapshot(snapshot, installSnapshotStream, replyTo), ActorRef.noSender());
+        requestSnapshot(snapshotActor, new ShardSnapshotState(snapshot), installSnapshotStream, replyTo);
+    }
+
+    /**
+     * Sends a request to a ShardSnapshotActor to process a snapshot state and send a CaptureSnapshotReply carrying
+     * that state.
+     *
+     * @param snapshotActor the ShardSnapshotActor
+     * @param snapshotState the snapshot state to process
+     * @param installSnapshotStream Optional OutputStream that is present if the snapshot is to also be installed
+     *        on a follower.
+     * @param replyTo the actor to which to send the CaptureSnapshotReply
+     */
+    public static void requestSnapshot(final ActorRef snapshotActor, final ShardSnapshotState snapshotState,
+            final Optional<OutputStream> installSnapshotStream, final ActorRef replyTo) {
+        snapshotActor.tell(new SerializeSnapshot(snapshotState, installSnapshotStream, replyTo), ActorRef.noSender());
     }
 
     public static Props props() {
@@ -42,6 +42,15 @@ class EntityOwnerChangeListener extends AbstractEntityOwnerChangeListener {
 
     @Override
     public void onDataTreeChanged(final Collection<DataTreeCandidate> changes) {
+        publisher.startNotificationBatch();
+        try {
+            notifyChanges(changes);
+        } finally {
+            publisher.flushNotifications();
+        }
+    }
+
+    private void notifyChanges(final Collection<DataTreeCandidate> changes) {
         for (DataTreeCandidate change: changes) {
             DataTreeCandidateNode changeRoot = change.getRootNode();
             LeafNode<?> ownerLeaf = (LeafNode<?>) changeRoot.getDataAfter().get();
@@ -18,4 +18,19 @@ abstract class EntityOwnershipChangePublisher {
     abstract void notifyEntityOwnershipListeners(DOMEntity entity, boolean wasOwner, boolean isOwner, boolean hasOwner);
 
     abstract String getLogId();
+
+    /**
+     * Starts coalescing the notifications issued by the calling thread. They are delivered with a single message per
+     * listener when {@link #flushNotifications()} is invoked.
+     */
+    void startNotificationBatch() {
+        // No batching by default
+    }
+
+    /**
+     * Delivers the notifications coalesced since {@link #startNotificationBatch()} was invoked by the calling thread.
+     */
+    void flushNotifications() {
+        // No batching by default
+    }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.entityownership;
+
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.CANDIDATE_NAME_QNAME;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.CANDIDATE_NODE_ID;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_OWNERS_PATH;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_OWNER_NODE_ID;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_QNAME;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_TYPES_PATH;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * Secondary indexes of the entity ownership data, mapping owners and candidates to the paths of the entities they
+ * own or are candidates for. The indexes are maintained incrementally from committed {@link DataTreeCandidate}s, so
+ * finding the entities affected by a member going down or away does not require walking all entities.
+ *
+ * <p>
+ * An entity without an owner is indexed under the empty owner name, which matches how an owner is cleared.
+ */
+@NotThreadSafe
+class EntityOwnershipIndex implements Consumer<DataTreeCandidate> {
+    // entity-owners/entity-type/entity-type[type]/entity/entity[id]
+    private static final int ENTITY_DEPTH = ENTITY_TYPES_PATH.getPathArguments().size() + 3;
+    private static final List<PathArgument> ENTITY_TYPES_PATH_ARGS = ENTITY_TYPES_PATH.getPathArguments();
+
+    private final Map<String, Set<YangInstanceIdentifier>> ownerToEntities = new HashMap<>();
+    private final Map<String, Set<YangInstanceIdentifier>> candidateToEntities = new HashMap<>();
+    private final Map<YangInstanceIdentifier, String> entityToOwner = new HashMap<>();
+    private final Map<YangInstanceIdentifier, Collection<String>> entityToCandidates = new HashMap<>();
+
+    @Override
+    public void accept(final DataTreeCandidate candidate) {
+        update(candidate.getRootPath(), candidate.getRootNode());
+    }
+
+    /**
+     * Discards the current state and re-indexes the entity-owners container.
+     *
+     * @param entityOwners the entity-owners container, if present
+     */
+    void rebuild(final Optional<NormalizedNode<?, ?>> entityOwners) {
+        ownerToEntities.clear();
+        candidateToEntities.clear();
+        entityToOwner.clear();
+        entityToCandidates.clear();
+
+        if (entityOwners.isPresent()) {
+            addEntities(ENTITY_OWNERS_PATH, entityOwners.get());
+        }
+    }
+
+    /**
+     * Returns the paths of the entities owned by the specified member.
+     *
+     * @param owner the owner name, or an empty string for entities without an owner
+     * @return an immutable snapshot of the entity paths
+     */
+    Set<YangInstanceIdentifier> entitiesOwnedBy(final String owner) {
+        return snapshot(ownerToEntities.get(owner));
+    }
+
+    /**
+     * Returns the paths of the entities for which the specified member is a candidate.
+     *
+     * @param candidate the candidate name
+     * @return an immutable snapshot of the entity paths
+     */
+    Set<YangInstanceIdentifier> entitiesWithCandidate(final String candidate) {
+        return snapshot(candidateToEntities.get(candidate));
+    }
+
+    int size() {
+        return entityToOwner.size();
+    }
+
+    private void update(final YangInstanceIdentifier path, final DataTreeCandidateNode node) {
+        if (node.getModificationType() == ModificationType.UNMODIFIED || !isEntityAncestorOrSelf(path)) {
+            return;
+        }
+
+        if (path.getPathArguments().size() == ENTITY_DEPTH) {
+            updateEntity(path, node.getDataAfter());
+        } else if (node.getModificationType() == ModificationType.SUBTREE_MODIFIED) {
+            for (DataTreeCandidateNode child : node.getChildNodes()) {
+                update(path.node(child.getIdentifier()), child);
+            }
+        } else {
+            // The whole subtree has been replaced, e.g. by a snapshot
+            removeEntities(path);
+            if (node.getDataAfter().isPresent()) {
+                addEntities(path, node.getDataAfter().get());
+            }
+        }
+    }
+
+    private void addEntities(final YangInstanceIdentifier path, final NormalizedNode<?, ?> node) {
+        if (path.getPathArguments().size() == ENTITY_DEPTH) {
+            updateEntity(path, Optional.of(node));
+        } else if (node instanceof NormalizedNodeContainer) {
+            for (NormalizedNode<?, ?> child : ((NormalizedNodeContainer<?, ?, ?>) node).getValue()) {
+                final YangInstanceIdentifier childPath = path.node(child.getIdentifier());
+                if (isEntityAncestorOrSelf(childPath)) {
+                    addEntities(childPath, child);
+                }
+            }
+        }
+    }
+
+    private void removeEntities(final YangInstanceIdentifier path) {
+        final Iterator<YangInstanceIdentifier> it = entityToOwner.keySet().iterator();
+        while (it.hasNext()) {
+            final YangInstanceIdentifier entityPath = it.next();
+            if (path.contains(entityPath)) {
+                removeFromIndexes(entityPath, entityToOwner.get(entityPath), entityToCandidates.remove(entityPath));
+                it.remove();
+            }
+        }
+    }
+
+    private void updateEntity(final YangInstanceIdentifier entityPath, final Optional<NormalizedNode<?, ?>> entity) {
+        removeFromIndexes(entityPath, entityToOwner.remove(entityPath), entityToCandidates.remove(entityPath));
+        if (!entity.isPresent()) {
+            return;
+        }
+
+        final MapEntryNode entityNode = (MapEntryNode) entity.get();
+        final Optional<DataContainerChild<? extends PathArgument, ?>> possibleOwner =
+                entityNode.getChild(ENTITY_OWNER_NODE_ID);
+        final Object ownerValue = possibleOwner.isPresent() ? possibleOwner.get().getValue() : null;
+        final String owner = ownerValue != null ? ownerValue.toString() : "";
+
+        final Collection<String> candidates = new LinkedHashSet<>();
+        final Optional<DataContainerChild<? extends PathArgument, ?>> possibleCandidates =
+                entityNode.getChild(CANDIDATE_NODE_ID);
+        if (possibleCandidates.isPresent()) {
+            for (MapEntryNode candidate : ((MapNode) possibleCandidates.get()).getValue()) {
+                candidates.add(candidate.getIdentifier().getKeyValues().get(CANDIDATE_NAME_QNAME).toString());
+            }
+        }
+
+        entityToOwner.put(entityPath, owner);
+        ownerToEntities.computeIfAbsent(owner, k -> new HashSet<>()).add(entityPath);
+        entityToCandidates.put(entityPath, candidates);
+        for (String candidate : candidates) {
+            candidateToEntities.computeIfAbsent(candidate, k -> new HashSet<>()).add(entityPath);
+        }
+    }
+
+    private void removeFromIndexes(final YangInstanceIdentifier entityPath, final String owner,
+            final Collection<String> candidates) {
+        if (owner != null) {
+            removeFromIndex(ownerToEntities, owner, entityPath);
+        }
+        if (candidates != null) {
+            for (String candidate : candidates) {
+                removeFromIndex(candidateToEntities, candidate, entityPath);
+            }
+        }
+    }
+
+    private static void removeFromIndex(final Map<String, Set<YangInstanceIdentifier>> index, final String key,
+            final YangInstanceIdentifier entityPath) {
+        final Set<YangInstanceIdentifier> entities = index.get(key);
+        if (entities != null && entities.remove(entityPath) && entities.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static Set<YangInstanceIdentifier> snapshot(final Set<YangInstanceIdentifier> entities) {
+        return entities == null ? ImmutableSet.of() : ImmutableSet.copyOf(entities);
+    }
+
+    /**
+     * Checks whether a path is an entity path or a path to one of its ancestors.
+     */
+    private static boolean isEntityAncestorOrSelf(final YangInstanceIdentifier path) {
+        final List<PathArgument> args = path.getPathArguments();
+        final int size = args.size();
+        if (size > ENTITY_DEPTH) {
+            return false;
+        }
+
+        final int common = Math.min(size, ENTITY_TYPES_PATH_ARGS.size());
+        if (!args.subList(0, common).equals(ENTITY_TYPES_PATH_ARGS.subList(0, common))) {
+            return false;
+        }
+
+        // Below an entity type entry only the entity list is of interest
+        return size < ENTITY_DEPTH - 1 || (ENTITY_QNAME.equals(args.get(ENTITY_DEPTH - 2).getNodeType())
+                && (size < ENTITY_DEPTH || args.get(ENTITY_DEPTH - 1) instanceof NodeIdentifierWithPredicates));
+    }
+}
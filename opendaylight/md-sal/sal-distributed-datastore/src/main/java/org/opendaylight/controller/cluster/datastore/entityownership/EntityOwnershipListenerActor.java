@@ -10,7 +10,9 @@ package org.opendaylight.controller.cluster.datastore.entityownership;
 import akka.actor.Props;
 import akka.japi.Creator;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
 import org.opendaylight.mdsal.eos.dom.api.DOMEntityOwnershipChange;
 import org.opendaylight.mdsal.eos.dom.api.DOMEntityOwnershipListener;
@@ -31,6 +33,10 @@ class EntityOwnershipListenerActor extends AbstractUntypedActor {
     protected void handleReceive(Object message) {
         if (message instanceof DOMEntityOwnershipChange) {
             onEntityOwnershipChanged((DOMEntityOwnershipChange)message);
+        } else if (message instanceof ChangeBatch) {
+            for (DOMEntityOwnershipChange change : ((ChangeBatch) message).changes) {
+                onEntityOwnershipChanged(change);
+            }
         } else {
             unknownMessage(message);
         }
@@ -51,6 +57,22 @@ class EntityOwnershipListenerActor extends AbstractUntypedActor {
         return Props.create(new EntityOwnershipListenerCreator(listener));
     }
 
+    /**
+     * A batch of changes delivered with a single message.
+     */
+    static final class ChangeBatch {
+        private final List<DOMEntityOwnershipChange> changes;
+
+        ChangeBatch(final List<DOMEntityOwnershipChange> changes) {
+            this.changes = ImmutableList.copyOf(changes);
+        }
+
+        @Override
+        public String toString() {
+            return "ChangeBatch [size=" + changes.size() + "]";
+        }
+    }
+
     private static final class EntityOwnershipListenerCreator implements Creator<EntityOwnershipListenerActor> {
         private static final long serialVersionUID = 1L;
 
@@ -13,9 +13,13 @@ import akka.actor.PoisonPill;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -47,6 +51,10 @@ class EntityOwnershipListenerSupport extends EntityOwnershipChangePublisher {
     @GuardedBy("listenerLock")
     private final Multimap<String, DOMEntityOwnershipListener> entityTypeListenerMap = HashMultimap.create();
 
+    // Notifications coalesced by the current thread, non-null while a batch is in progress
+    private final ThreadLocal<Map<ListenerActorRefEntry, List<DOMEntityOwnershipChange>>> notificationBatch =
+            new ThreadLocal<>();
+
     private volatile boolean inJeopardy = false;
 
     EntityOwnershipListenerSupport(ActorContext actorContext, String logId) {
@@ -137,11 +145,62 @@ class EntityOwnershipListenerSupport extends EntityOwnershipChangePublisher {
         }
     }
 
+    @Override
+    void startNotificationBatch() {
+        if (notificationBatch.get() == null) {
+            notificationBatch.set(new LinkedHashMap<>());
+        }
+    }
+
+    @Override
+    void flushNotifications() {
+        final Map<ListenerActorRefEntry, List<DOMEntityOwnershipChange>> batch = notificationBatch.get();
+        if (batch == null) {
+            return;
+        }
+
+        notificationBatch.remove();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        listenerLock.readLock().lock();
+        try {
+            for (Entry<ListenerActorRefEntry, List<DOMEntityOwnershipChange>> e : batch.entrySet()) {
+                final ListenerActorRefEntry entry = e.getKey();
+                if (listenerActorMap.get(entry.listener) != entry) {
+                    // The listener has been unregistered since
+                    continue;
+                }
+
+                final List<DOMEntityOwnershipChange> changes = e.getValue();
+                final ActorRef listenerActor = entry.actorFor();
+
+                LOG.debug("{}: Notifying EntityOwnershipListenerActor {} with {} changes", logId, listenerActor,
+                    changes.size());
+
+                listenerActor.tell(changes.size() == 1 ? changes.get(0)
+                        : new EntityOwnershipListenerActor.ChangeBatch(changes), ActorRef.noSender());
+            }
+        } finally {
+            listenerLock.readLock().unlock();
+        }
+    }
+
     @GuardedBy("listenerLock")
     private void notifyListeners(DOMEntity entity, boolean wasOwner, boolean isOwner, boolean hasOwner,
             Collection<ListenerActorRefEntry> listenerEntries) {
         DOMEntityOwnershipChange changed = new DOMEntityOwnershipChange(entity,
                 EntityOwnershipChangeState.from(wasOwner, isOwner, hasOwner), inJeopardy);
+
+        final Map<ListenerActorRefEntry, List<DOMEntityOwnershipChange>> batch = notificationBatch.get();
+        if (batch != null) {
+            for (ListenerActorRefEntry entry: listenerEntries) {
+                batch.computeIfAbsent(entry, k -> new ArrayList<>()).add(changed);
+            }
+            return;
+        }
+
         for (ListenerActorRefEntry entry: listenerEntries) {
             ActorRef listenerActor = entry.actorFor();
 
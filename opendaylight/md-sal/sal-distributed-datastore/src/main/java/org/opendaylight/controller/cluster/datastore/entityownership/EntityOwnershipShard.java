@@ -38,11 +38,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.access.concepts.MemberName;
+import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
 import org.opendaylight.controller.cluster.datastore.DatastoreContext;
 import org.opendaylight.controller.cluster.datastore.Shard;
 import org.opendaylight.controller.cluster.datastore.entityownership.messages.CandidateAdded;
@@ -66,7 +69,6 @@ import org.opendaylight.controller.cluster.datastore.modification.WriteModificat
 import org.opendaylight.controller.cluster.raft.RaftState;
 import org.opendaylight.mdsal.eos.dom.api.DOMEntity;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
-import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
@@ -81,13 +83,22 @@ import scala.concurrent.duration.FiniteDuration;
  * @author Thomas Pantelis
  */
 class EntityOwnershipShard extends Shard {
+    private static final Object COMMIT_PENDING_OWNERS_MESSAGE = new Object() {
+        @Override
+        public String toString() {
+            return "commitPendingOwners";
+        }
+    };
+
     private final MemberName localMemberName;
     private final EntityOwnershipShardCommitCoordinator commitCoordinator;
     private final EntityOwnershipListenerSupport listenerSupport;
     private final Set<MemberName> downPeerMemberNames = new HashSet<>();
     private final EntityOwnerSelectionStrategyConfig strategyConfig;
     private final Map<YangInstanceIdentifier, Cancellable> entityToScheduledOwnershipTask = new HashMap<>();
+    private final Map<YangInstanceIdentifier, String> pendingOwnerWrites = new LinkedHashMap<>();
     private final EntityOwnershipStatistics entityOwnershipStatistics;
+    private final EntityOwnershipIndex entityIndex = new EntityOwnershipIndex();
     private boolean removeAllInitialCandidates = true;
 
     protected EntityOwnershipShard(final Builder builder) {
@@ -113,6 +124,9 @@ class EntityOwnershipShard extends Shard {
     protected void onRecoveryComplete() {
         super.onRecoveryComplete();
 
+        entityIndex.rebuild(getDataStore().readNode(ENTITY_OWNERS_PATH));
+        getDataStore().addCommitCallback(entityIndex);
+
         new CandidateListChangeListener(getSelf(), persistenceId()).init(getDataStore());
         new EntityOwnerChangeListener(localMemberName, listenerSupport).init(getDataStore());
     }
@@ -139,6 +153,8 @@ class EntityOwnershipShard extends Shard {
             onSelectOwner((SelectOwner) message);
         } else if (message instanceof RemoveAllCandidates) {
             onRemoveAllCandidates((RemoveAllCandidates) message);
+        } else if (COMMIT_PENDING_OWNERS_MESSAGE.equals(message)) {
+            commitPendingOwnerWrites();
         } else if (!commitCoordinator.handleMessage(message, this)) {
             super.handleNonRaftCommand(message);
         }
@@ -196,29 +212,34 @@ class EntityOwnershipShard extends Shard {
 
         getSender().tell(SuccessReply.INSTANCE, getSelf());
 
-        searchForEntities((entityTypeNode, entityNode) -> {
-            Optional<DataContainerChild<?, ?>> possibleType = entityTypeNode.getChild(ENTITY_TYPE_NODE_ID);
-            String entityType = possibleType.isPresent() ? possibleType.get().getValue().toString() : null;
-            if (registerListener.getEntityType().equals(entityType)) {
-                final boolean hasOwner;
-                final boolean isOwner;
-
-                Optional<DataContainerChild<?, ?>> possibleOwner = entityNode.getChild(ENTITY_OWNER_NODE_ID);
-                if (possibleOwner.isPresent()) {
-                    isOwner = localMemberName.getName().equals(possibleOwner.get().getValue().toString());
-                    hasOwner = true;
-                } else {
-                    isOwner = false;
-                    hasOwner = false;
+        listenerSupport.startNotificationBatch();
+        try {
+            searchForEntities((entityTypeNode, entityNode) -> {
+                Optional<DataContainerChild<?, ?>> possibleType = entityTypeNode.getChild(ENTITY_TYPE_NODE_ID);
+                String entityType = possibleType.isPresent() ? possibleType.get().getValue().toString() : null;
+                if (registerListener.getEntityType().equals(entityType)) {
+                    final boolean hasOwner;
+                    final boolean isOwner;
+
+                    Optional<DataContainerChild<?, ?>> possibleOwner = entityNode.getChild(ENTITY_OWNER_NODE_ID);
+                    if (possibleOwner.isPresent()) {
+                        isOwner = localMemberName.getName().equals(possibleOwner.get().getValue().toString());
+                        hasOwner = true;
+                    } else {
+                        isOwner = false;
+                        hasOwner = false;
+                    }
+
+                    DOMEntity entity = new DOMEntity(entityType,
+                        (YangInstanceIdentifier) entityNode.getChild(ENTITY_ID_NODE_ID).get().getValue());
+
+                    listenerSupport.notifyEntityOwnershipListener(entity, false, isOwner, hasOwner,
+                        registerListener.getListener());
                 }
-
-                DOMEntity entity = new DOMEntity(entityType,
-                    (YangInstanceIdentifier) entityNode.getChild(ENTITY_ID_NODE_ID).get().getValue());
-
-                listenerSupport.notifyEntityOwnershipListener(entity, false, isOwner, hasOwner,
-                    registerListener.getListener());
-            }
-        });
+            });
+        } finally {
+            listenerSupport.flushNotifications();
+        }
     }
 
     private void onUnregisterListenerLocal(final UnregisterListenerLocal unregisterListener) {
@@ -248,7 +269,14 @@ class EntityOwnershipShard extends Shard {
                 LOG.debug("{}: Sending BatchedModifications {} to leader {}", persistenceId(),
                         modifications.getTransactionId(), leader);
 
-                Future<Object> future = Patterns.ask(leader, modifications, TimeUnit.SECONDS.toMillis(
+                // The leader may be running an older version, which cannot read messages in our version
+                final short leaderVersion = getCurrentBehavior().getLeaderPayloadVersion();
+                BatchedModifications toSend = modifications;
+                if (leaderVersion >= DataStoreVersions.BORON_VERSION && leaderVersion < modifications.getVersion()) {
+                    toSend = modifications.asVersion(leaderVersion);
+                }
+
+                Future<Object> future = Patterns.ask(leader, toSend, TimeUnit.SECONDS.toMillis(
                         getDatastoreContext().getShardTransactionCommitTimeoutInSeconds()));
 
                 Patterns.pipe(future, getContext().dispatcher()).pipeTo(getSelf(), ActorRef.noSender());
@@ -296,27 +324,32 @@ class EntityOwnershipShard extends Shard {
     }
 
     private void notifyAllListeners() {
-        searchForEntities((entityTypeNode, entityNode) -> {
-            Optional<DataContainerChild<?, ?>> possibleType = entityTypeNode.getChild(ENTITY_TYPE_NODE_ID);
-            if (possibleType.isPresent()) {
-                final boolean hasOwner;
-                final boolean isOwner;
-
-                Optional<DataContainerChild<?, ?>> possibleOwner = entityNode.getChild(ENTITY_OWNER_NODE_ID);
-                if (possibleOwner.isPresent()) {
-                    isOwner = localMemberName.getName().equals(possibleOwner.get().getValue().toString());
-                    hasOwner = true;
-                } else {
-                    isOwner = false;
-                    hasOwner = false;
+        listenerSupport.startNotificationBatch();
+        try {
+            searchForEntities((entityTypeNode, entityNode) -> {
+                Optional<DataContainerChild<?, ?>> possibleType = entityTypeNode.getChild(ENTITY_TYPE_NODE_ID);
+                if (possibleType.isPresent()) {
+                    final boolean hasOwner;
+                    final boolean isOwner;
+
+                    Optional<DataContainerChild<?, ?>> possibleOwner = entityNode.getChild(ENTITY_OWNER_NODE_ID);
+                    if (possibleOwner.isPresent()) {
+                        isOwner = localMemberName.getName().equals(possibleOwner.get().getValue().toString());
+                        hasOwner = true;
+                    } else {
+                        isOwner = false;
+                        hasOwner = false;
+                    }
+
+                    DOMEntity entity = new DOMEntity(possibleType.get().getValue().toString(),
+                        (YangInstanceIdentifier) entityNode.getChild(ENTITY_ID_NODE_ID).get().getValue());
+
+                    listenerSupport.notifyEntityOwnershipListeners(entity, isOwner, isOwner, hasOwner);
                 }
-
-                DOMEntity entity = new DOMEntity(possibleType.get().getValue().toString(),
-                    (YangInstanceIdentifier) entityNode.getChild(ENTITY_ID_NODE_ID).get().getValue());
-
-                listenerSupport.notifyEntityOwnershipListeners(entity, isOwner, isOwner, hasOwner);
-            }
-        });
+            });
+        } finally {
+            listenerSupport.flushNotifications();
+        }
     }
 
     @Override
@@ -471,7 +504,6 @@ class EntityOwnershipShard extends Shard {
     }
 
     private void selectNewOwnerForEntitiesOwnedBy(final Set<String> ownedBy) {
-        final List<Modification> modifications = new ArrayList<>();
         searchForEntitiesOwnedBy(ownedBy, (entityTypeNode, entityNode) -> {
             YangInstanceIdentifier entityPath = YangInstanceIdentifier.builder(ENTITY_TYPES_PATH)
                     .node(entityTypeNode.getIdentifier()).node(ENTITY_NODE_ID).node(entityNode.getIdentifier())
@@ -480,18 +512,12 @@ class EntityOwnershipShard extends Shard {
                     getEntityOwnerElectionStrategy(entityPath));
 
             if (!newOwner.isEmpty()) {
-                LOG.debug("{}: Found entity {}, writing new owner {}", persistenceId(), entityPath, newOwner);
-
-                modifications.add(new WriteModification(entityPath,
-                    ImmutableNodes.leafNode(ENTITY_OWNER_NODE_ID, newOwner)));
-
+                writeNewOwner(entityPath.getParent(), newOwner);
             } else {
                 LOG.debug("{}: Found entity {} but no other candidates - not clearing owner", persistenceId(),
                         entityPath, newOwner);
             }
         });
-
-        commitCoordinator.commitModifications(modifications, this);
     }
 
     private void onPeerUp(final PeerUp peerUp) {
@@ -529,19 +555,16 @@ class EntityOwnershipShard extends Shard {
     private void searchForEntitiesOwnedBy(final Set<String> ownedBy, final EntityWalker walker) {
         LOG.debug("{}: Searching for entities owned by {}", persistenceId(), ownedBy);
 
-        searchForEntities((entityTypeNode, entityNode) -> {
-            Optional<DataContainerChild<? extends PathArgument, ?>> possibleOwner =
-                    entityNode.getChild(ENTITY_OWNER_NODE_ID);
-            String currentOwner = possibleOwner.isPresent() ? possibleOwner.get().getValue().toString() : "";
-            if (ownedBy.contains(currentOwner)) {
-                walker.onEntity(entityTypeNode, entityNode);
+        for (String owner : ownedBy) {
+            for (YangInstanceIdentifier entityPath : entityIndex.entitiesOwnedBy(owner)) {
+                visitEntity(entityPath, walker);
             }
-        });
+        }
     }
 
     private void removeCandidateFromEntities(final MemberName member) {
         final List<Modification> modifications = new ArrayList<>();
-        searchForEntities((entityTypeNode, entityNode) -> {
+        final EntityWalker walker = (entityTypeNode, entityNode) -> {
             if (hasCandidate(entityNode, member)) {
                 YangInstanceIdentifier entityId =
                         (YangInstanceIdentifier) entityNode.getIdentifier().getKeyValues().get(ENTITY_ID_QNAME);
@@ -554,7 +577,11 @@ class EntityOwnershipShard extends Shard {
 
                 modifications.add(new DeleteModification(candidatePath));
             }
-        });
+        };
+
+        for (YangInstanceIdentifier entityPath : entityIndex.entitiesWithCandidate(member.getName())) {
+            visitEntity(entityPath, walker);
+        }
 
         commitCoordinator.commitModifications(modifications, this);
     }
@@ -583,11 +610,47 @@ class EntityOwnershipShard extends Shard {
         }
     }
 
+    private void visitEntity(final YangInstanceIdentifier entityPath, final EntityWalker walker) {
+        // entity-type[type]/entity/entity[id]
+        final Optional<NormalizedNode<?, ?>> possibleEntityType =
+                getDataStore().readNode(entityPath.getParent().getParent());
+        final Optional<NormalizedNode<?, ?>> possibleEntity = getDataStore().readNode(entityPath);
+        if (possibleEntityType.isPresent() && possibleEntity.isPresent()) {
+            walker.onEntity((MapEntryNode) possibleEntityType.get(), (MapEntryNode) possibleEntity.get());
+        }
+    }
+
     private void writeNewOwner(final YangInstanceIdentifier entityPath, final String newOwner) {
         LOG.debug("{}: Writing new owner {} for entity {}", persistenceId(), newOwner, entityPath);
 
-        commitCoordinator.commitModification(new WriteModification(entityPath.node(ENTITY_OWNER_QNAME),
-                ImmutableNodes.leafNode(ENTITY_OWNER_NODE_ID, newOwner)), this);
+        // Owner changes are typically triggered in bursts, e.g. by a CandidateRemoved message for each entity of a
+        // member that went away. Rather than committing each of them separately, we collect them until the messages
+        // already queued up have been processed and commit them together. A later write for the same entity
+        // supersedes an earlier one.
+        if (pendingOwnerWrites.isEmpty()) {
+            getSelf().tell(COMMIT_PENDING_OWNERS_MESSAGE, ActorRef.noSender());
+        }
+        pendingOwnerWrites.put(entityPath, newOwner);
+    }
+
+    private void commitPendingOwnerWrites() {
+        if (!isLeader()) {
+            // The owners were selected while we were the leader, the new leader will make its own selection
+            LOG.debug("{}: Not leader, discarding {} pending owner writes", persistenceId(),
+                pendingOwnerWrites.size());
+            pendingOwnerWrites.clear();
+            return;
+        }
+
+        final List<Modification> modifications = new ArrayList<>(pendingOwnerWrites.size());
+        for (Entry<YangInstanceIdentifier, String> e : pendingOwnerWrites.entrySet()) {
+            modifications.add(new WriteModification(e.getKey().node(ENTITY_OWNER_QNAME),
+                ImmutableNodes.leafNode(ENTITY_OWNER_NODE_ID, e.getValue())));
+        }
+        pendingOwnerWrites.clear();
+
+        LOG.debug("{}: Committing {} owner writes", persistenceId(), modifications.size());
+        commitCoordinator.commitModifications(modifications, this);
     }
 
     /**
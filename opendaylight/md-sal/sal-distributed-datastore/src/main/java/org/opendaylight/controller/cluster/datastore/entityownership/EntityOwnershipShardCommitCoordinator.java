@@ -177,9 +177,10 @@ class EntityOwnershipShardCommitCoordinator {
 
             pendingModifications.addAll(modifications);
         } else {
-            inflightCommit = newBatchedModifications();
-            inflightCommit.addModifications(modifications);
-            shard.tryCommitModifications(inflightCommit);
+            // Large sets of modifications, e.g. owner changes after a member went down, are split into batches of
+            // at most shardBatchedModificationCount modifications
+            pendingModifications.addAll(modifications);
+            commitNextBatch(shard);
         }
     }
 
@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.exceptions;
+
+/**
+ * Exception indicating a transaction was not admitted for commit, because a shard it targets has reached its limit
+ * of concurrently committing transactions.
+ */
+public class TransactionAdmissionException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public TransactionAdmissionException(final String message) {
+        super(message);
+    }
+}
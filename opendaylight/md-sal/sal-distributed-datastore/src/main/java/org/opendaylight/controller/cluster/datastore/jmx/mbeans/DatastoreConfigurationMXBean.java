@@ -44,6 +44,20 @@ public interface DatastoreConfigurationMXBean {
 
     long getTransactionCreationInitialRateLimit();
 
+    boolean isTransactionAdmissionControlEnabled();
+
+    int getTransactionAdmissionMaxLimit();
+
+    boolean isReadCoalescingEnabled();
+
+    long getFollowerReadMaxLag();
+
+    int getDataTreeChangeListenerLanes();
+
+    int getDataTreeChangeListenerMaxQueueDepth();
+
+    boolean isParallelCommitEnabled();
+
     boolean getTransactionContextDebugEnabled();
 
     int getMaxShardDataChangeExecutorPoolSize();
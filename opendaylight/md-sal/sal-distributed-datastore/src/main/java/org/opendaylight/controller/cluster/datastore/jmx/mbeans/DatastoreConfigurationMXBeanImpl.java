@@ -104,6 +104,41 @@ public class DatastoreConfigurationMXBeanImpl extends AbstractMXBean implements
         return context.getTransactionCreationInitialRateLimit();
     }
 
+    @Override
+    public boolean isTransactionAdmissionControlEnabled() {
+        return context.isTransactionAdmissionControlEnabled();
+    }
+
+    @Override
+    public int getTransactionAdmissionMaxLimit() {
+        return context.getTransactionAdmissionMaxLimit();
+    }
+
+    @Override
+    public boolean isReadCoalescingEnabled() {
+        return context.isReadCoalescingEnabled();
+    }
+
+    @Override
+    public long getFollowerReadMaxLag() {
+        return context.getFollowerReadMaxLag();
+    }
+
+    @Override
+    public int getDataTreeChangeListenerLanes() {
+        return context.getDataTreeChangeListenerLanes();
+    }
+
+    @Override
+    public int getDataTreeChangeListenerMaxQueueDepth() {
+        return context.getDataTreeChangeListenerMaxQueueDepth();
+    }
+
+    @Override
+    public boolean isParallelCommitEnabled() {
+        return context.isParallelCommitEnabled();
+    }
+
     @Override
     public boolean getTransactionContextDebugEnabled() {
         return context.isTransactionDebugContextEnabled();
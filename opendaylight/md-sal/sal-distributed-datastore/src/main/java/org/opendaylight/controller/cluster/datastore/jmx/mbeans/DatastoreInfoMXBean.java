@@ -7,6 +7,8 @@
  */
 package org.opendaylight.controller.cluster.datastore.jmx.mbeans;
 
+import java.util.List;
+
 /**
  * JMX bean for general datastore info.
  *
@@ -14,4 +16,6 @@ package org.opendaylight.controller.cluster.datastore.jmx.mbeans;
  */
 public interface DatastoreInfoMXBean {
     double getTransactionCreationRateLimit();
+
+    List<ShardAdmissionInfo> getShardAdmissionInfo();
 }
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.controller.cluster.datastore.jmx.mbeans;
 
+import java.util.List;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
 
@@ -29,4 +30,9 @@ public class DatastoreInfoMXBeanImpl extends AbstractMXBean implements Datastore
     public double getTransactionCreationRateLimit() {
         return actorContext.getTxCreationLimit();
     }
+
+    @Override
+    public List<ShardAdmissionInfo> getShardAdmissionInfo() {
+        return actorContext.getTransactionAdmissionController().getShardAdmissionInfo();
+    }
 }
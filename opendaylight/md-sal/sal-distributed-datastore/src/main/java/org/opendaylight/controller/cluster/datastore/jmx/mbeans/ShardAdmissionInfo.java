@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * A bean class containing a snapshot of the transaction admission control state of a single shard.
+ */
+public class ShardAdmissionInfo {
+    private final String shardName;
+    private final int limit;
+    private final int inFlight;
+    private final long rejectedCount;
+    private final long commitLatencyMicros;
+
+    @ConstructorProperties({"shardName", "limit", "inFlight", "rejectedCount", "commitLatencyMicros"})
+    public ShardAdmissionInfo(final String shardName, final int limit, final int inFlight, final long rejectedCount,
+            final long commitLatencyMicros) {
+        this.shardName = shardName;
+        this.limit = limit;
+        this.inFlight = inFlight;
+        this.rejectedCount = rejectedCount;
+        this.commitLatencyMicros = commitLatencyMicros;
+    }
+
+    public String getShardName() {
+        return shardName;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public long getCommitLatencyMicros() {
+        return commitLatencyMicros;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * A bean class containing a snapshot of the notification delivery state of a single DataTreeChangeListener.
+ */
+public class DataTreeChangeListenerQueueInfo {
+    private final String listener;
+    private final String lane;
+    private final int queueDepth;
+    private final int inFlightBatches;
+    private final long lagMillis;
+    private final long maxLagMillis;
+    private final long deliveredBatchCount;
+    private final long coalescedChangeCount;
+    private final long overflowCount;
+
+    @ConstructorProperties({"listener", "lane", "queueDepth", "inFlightBatches", "lagMillis", "maxLagMillis",
+        "deliveredBatchCount", "coalescedChangeCount", "overflowCount"})
+    public DataTreeChangeListenerQueueInfo(final String listener, final String lane, final int queueDepth,
+            final int inFlightBatches, final long lagMillis, final long maxLagMillis, final long deliveredBatchCount,
+            final long coalescedChangeCount, final long overflowCount) {
+        this.listener = listener;
+        this.lane = lane;
+        this.queueDepth = queueDepth;
+        this.inFlightBatches = inFlightBatches;
+        this.lagMillis = lagMillis;
+        this.maxLagMillis = maxLagMillis;
+        this.deliveredBatchCount = deliveredBatchCount;
+        this.coalescedChangeCount = coalescedChangeCount;
+        this.overflowCount = overflowCount;
+    }
+
+    public String getListener() {
+        return listener;
+    }
+
+    public String getLane() {
+        return lane;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getInFlightBatches() {
+        return inFlightBatches;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    public long getDeliveredBatchCount() {
+        return deliveredBatchCount;
+    }
+
+    public long getCoalescedChangeCount() {
+        return coalescedChangeCount;
+    }
+
+    public long getOverflowCount() {
+        return overflowCount;
+    }
+}
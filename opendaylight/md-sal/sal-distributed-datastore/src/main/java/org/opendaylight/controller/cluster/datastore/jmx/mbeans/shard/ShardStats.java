@@ -12,8 +12,12 @@ import akka.actor.ActorRef;
 import com.google.common.base.Joiner;
 import com.google.common.base.Joiner.MapJoiner;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
@@ -34,6 +38,8 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
     @GuardedBy("DATE_FORMAT")
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
 
+    private static final int REPLICATION_BATCH_BUCKETS = 12;
+
     private static final MapJoiner MAP_JOINER = Joiner.on(", ").withKeyValueSeparator(": ");
 
     private final Shard shard;
@@ -64,6 +70,21 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
 
     private long lastLeadershipChangeTime;
 
+    private long replicationBatchCount;
+
+    private int maxReplicationBatchSize;
+
+    // Histogram of replication batch sizes, bucket N counts batches of 2^N to 2^(N+1)-1 entries, the last bucket
+    // counts everything above
+    private final long[] replicationBatchSizes = new long[REPLICATION_BATCH_BUCKETS];
+
+    private long recoveredLogEntryCount;
+
+    // System.nanoTime() of the first recovered log entry and of recovery completion, 0 if not known yet
+    private long recoveryStartNanos;
+
+    private long recoveryEndNanos;
+
     public ShardStats(final String shardName, final String mxBeanType, @Nullable final Shard shard) {
         super(shardName, mxBeanType, JMX_CATEGORY_SHARD);
         this.shard = shard;
@@ -324,6 +345,86 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
         return formatMillis(lastLeadershipChangeTime);
     }
 
+    @Override
+    public long getReplicationBatchCount() {
+        return replicationBatchCount;
+    }
+
+    @Override
+    public int getMaxReplicationBatchSize() {
+        return maxReplicationBatchSize;
+    }
+
+    @Override
+    public String getReplicationBatchSizeDistribution() {
+        final Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < replicationBatchSizes.length; ++i) {
+            if (replicationBatchSizes[i] != 0) {
+                final int low = 1 << i;
+                final String label;
+                if (i == replicationBatchSizes.length - 1) {
+                    label = low + "+";
+                } else if (i == 0) {
+                    label = "1";
+                } else {
+                    label = low + "-" + ((low << 1) - 1);
+                }
+                buckets.put(label, replicationBatchSizes[i]);
+            }
+        }
+        return MAP_JOINER.join(buckets);
+    }
+
+    public void recordReplicationBatch(final int batchSize) {
+        if (batchSize <= 0) {
+            return;
+        }
+
+        replicationBatchCount++;
+        maxReplicationBatchSize = Math.max(maxReplicationBatchSize, batchSize);
+        final int bucket = Math.min(31 - Integer.numberOfLeadingZeros(batchSize), replicationBatchSizes.length - 1);
+        replicationBatchSizes[bucket]++;
+    }
+
+    @Override
+    public long getRecoveredLogEntryCount() {
+        return recoveredLogEntryCount;
+    }
+
+    @Override
+    public long getRecoveryTimeInMillis() {
+        if (recoveryStartNanos == 0) {
+            return 0;
+        }
+
+        final long end = recoveryEndNanos != 0 ? recoveryEndNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - recoveryStartNanos);
+    }
+
+    @Override
+    public long getRecoveryThroughput() {
+        return recoveredLogEntryCount * 1000 / Math.max(getRecoveryTimeInMillis(), 1);
+    }
+
+    @Override
+    public boolean isRecoveryComplete() {
+        return recoveryEndNanos != 0;
+    }
+
+    public void incrementRecoveredLogEntryCount() {
+        if (recoveryStartNanos == 0) {
+            recoveryStartNanos = System.nanoTime();
+        }
+        recoveredLogEntryCount++;
+    }
+
+    public void setRecoveryComplete() {
+        recoveryEndNanos = System.nanoTime();
+        if (recoveryStartNanos == 0) {
+            recoveryStartNanos = recoveryEndNanos;
+        }
+    }
+
     @Override
     public int getPendingTxCommitQueueSize() {
         return shard != null ? shard.getPendingTxCommitQueueSize() : -1;
@@ -334,6 +435,16 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
         return shard != null ? shard.getCohortCacheSize() : -1;
     }
 
+    @Override
+    public long getOffHeapLeafBytes() {
+        return shard != null ? shard.getOffHeapLeafBytes() : -1;
+    }
+
+    @Override
+    public List<DataTreeChangeListenerQueueInfo> getDataTreeChangeListenerQueueInfo() {
+        return shard != null ? shard.getDataTreeChangeListenerQueueInfo() : Collections.emptyList();
+    }
+
     @Override
     public void captureSnapshot() {
         if (shard != null) {
@@ -88,9 +88,27 @@ public interface ShardStatsMXBean {
 
     String getLastLeadershipChangeTime();
 
+    long getReplicationBatchCount();
+
+    int getMaxReplicationBatchSize();
+
+    String getReplicationBatchSizeDistribution();
+
+    long getRecoveredLogEntryCount();
+
+    long getRecoveryTimeInMillis();
+
+    long getRecoveryThroughput();
+
+    boolean isRecoveryComplete();
+
     int getPendingTxCommitQueueSize();
 
     int getTxCohortCacheSize();
 
+    long getOffHeapLeafBytes();
+
+    List<DataTreeChangeListenerQueueInfo> getDataTreeChangeListenerQueueInfo();
+
     void captureSnapshot();
 }
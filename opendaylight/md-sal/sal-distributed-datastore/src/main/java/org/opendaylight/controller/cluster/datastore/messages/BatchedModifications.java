@@ -8,15 +8,36 @@
 package org.opendaylight.controller.cluster.datastore.messages;
 
 import com.google.common.base.Preconditions;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
+import org.opendaylight.controller.cluster.datastore.modification.AbstractModification;
+import org.opendaylight.controller.cluster.datastore.modification.DeleteModification;
+import org.opendaylight.controller.cluster.datastore.modification.MergeModification;
+import org.opendaylight.controller.cluster.datastore.modification.Modification;
 import org.opendaylight.controller.cluster.datastore.modification.MutableCompositeModification;
+import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputDictionary;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeOutputDictionary;
 
 /**
  * Message used to batch write, merge, delete modification operations to the  ShardTransaction actor.
  *
+ * <p>
+ * Starting with {@link DataStoreVersions#NITROGEN_VERSION}, the modifications may be encoded using a dictionary
+ * shared by all messages sent to the same transaction actor, see {@link #encodeModifications(
+ * NormalizedNodeOutputDictionary)}. The receiver then needs to {@link #decodeModifications(
+ * NormalizedNodeInputDictionary, int)} the messages in the order in which they were sent.
+ *
  * @author Thomas Pantelis
  */
 public class BatchedModifications extends MutableCompositeModification {
@@ -26,6 +47,7 @@ public class BatchedModifications extends MutableCompositeModification {
     private boolean doCommitOnReady;
     private int totalMessagesSent;
     private TransactionIdentifier transactionId;
+    private byte[] encodedModifications;
 
     public BatchedModifications() {
     }
@@ -63,6 +85,144 @@ public class BatchedModifications extends MutableCompositeModification {
         return transactionId;
     }
 
+    /**
+     * Return this message in the specified version, so it can be sent to a peer running an older version. Encoded
+     * modifications can only be sent to peers supporting them.
+     *
+     * @param version the version of the peer
+     * @return this message, or a copy of it in the specified version
+     * @throws IllegalStateException if the modifications are encoded and the version does not support encoding
+     */
+    public BatchedModifications asVersion(short version) {
+        if (version == getVersion()) {
+            return this;
+        }
+
+        Preconditions.checkState(encodedModifications == null || version >= DataStoreVersions.NITROGEN_VERSION,
+                "Version %s does not support encoded modifications", version);
+        final BatchedModifications ret = new BatchedModifications(transactionId, version);
+        ret.ready = ready;
+        ret.doCommitOnReady = doCommitOnReady;
+        ret.totalMessagesSent = totalMessagesSent;
+        ret.encodedModifications = encodedModifications;
+        ret.addModifications(getModifications());
+        return ret;
+    }
+
+    /**
+     * Check whether this message carries modifications encoded using a shared dictionary, which need to be decoded
+     * before they are accessed.
+     *
+     * @return True if the modifications are encoded
+     */
+    public boolean isEncoded() {
+        return encodedModifications != null;
+    }
+
+    /**
+     * Encode the modifications using specified dictionary, which is shared with previous messages sent to the same
+     * transaction actor. The encoded form is used when this message is serialized. If encoding fails, the dictionary
+     * is invalidated.
+     *
+     * @param dictionary the dictionary shared by messages sent to the transaction actor
+     * @throws IOException if the modifications cannot be encoded
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void encodeModifications(NormalizedNodeOutputDictionary dictionary) throws IOException {
+        Preconditions.checkState(getVersion() >= DataStoreVersions.NITROGEN_VERSION,
+                "Version %s does not support encoded modifications", getVersion());
+
+        final ByteArrayDataOutput bytes = ByteStreams.newDataOutput();
+        try {
+            final NormalizedNodeDataOutput out = NormalizedNodeInputOutput.newDataOutput(bytes, dictionary);
+            out.writeInt(getModifications().size());
+            for (Modification mod : getModifications()) {
+                out.writeByte(mod.getType());
+                out.writeYangInstanceIdentifier(((AbstractModification) mod).getPath());
+                if (mod instanceof WriteModification) {
+                    out.writeNormalizedNode(((WriteModification) mod).getData());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            dictionary.invalidate();
+            throw e;
+        }
+
+        encodedModifications = bytes.toByteArray();
+    }
+
+    /**
+     * Decode the modifications using specified dictionary, which is shared with previous messages received for the
+     * same transaction. This method does nothing if the modifications are not encoded.
+     *
+     * @param dictionary the dictionary shared by messages received for the transaction
+     * @param previouslyReceived the number of messages previously received for the transaction
+     * @throws IOException if the modifications cannot be decoded
+     * @throws IllegalStateException if a previous message has not been received
+     */
+    public void decodeModifications(NormalizedNodeInputDictionary dictionary, int previouslyReceived)
+            throws IOException {
+        if (encodedModifications == null) {
+            return;
+        }
+
+        // The encoding references the dictionary built up by all previous messages, so we can decode a message only
+        // after we have decoded all of them.
+        Preconditions.checkState(totalMessagesSent == previouslyReceived + 1,
+                "Received batched message %s out of order, %s messages were received previously", totalMessagesSent,
+                previouslyReceived);
+
+        final NormalizedNodeDataInput in = NormalizedNodeInputOutput.newDataInput(
+            ByteStreams.newDataInput(encodedModifications), dictionary);
+        final int size = in.readInt();
+        final List<Modification> decoded = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final byte type = in.readByte();
+            switch (type) {
+                case Modification.WRITE:
+                    decoded.add(new WriteModification(in.readYangInstanceIdentifier(), in.readNormalizedNode()));
+                    break;
+                case Modification.MERGE:
+                    decoded.add(new MergeModification(in.readYangInstanceIdentifier(), in.readNormalizedNode()));
+                    break;
+                case Modification.DELETE:
+                    decoded.add(new DeleteModification(in.readYangInstanceIdentifier()));
+                    break;
+                default:
+                    throw new IOException("Unhandled modification type " + type);
+            }
+        }
+
+        // When delivered locally this message still holds the original modifications
+        clearModifications();
+        addModifications(decoded);
+        encodedModifications = null;
+    }
+
+
+    @Override
+    protected void readModifications(ObjectInput in) throws IOException, ClassNotFoundException {
+        if (getVersion() >= DataStoreVersions.NITROGEN_VERSION && in.readBoolean()) {
+            encodedModifications = new byte[in.readInt()];
+            in.readFully(encodedModifications);
+        } else {
+            super.readModifications(in);
+        }
+    }
+
+    @Override
+    protected void writeModifications(ObjectOutput out) throws IOException {
+        if (getVersion() >= DataStoreVersions.NITROGEN_VERSION) {
+            out.writeBoolean(encodedModifications != null);
+            if (encodedModifications != null) {
+                out.writeInt(encodedModifications.length);
+                out.write(encodedModifications);
+                return;
+            }
+        }
+
+        super.writeModifications(out);
+    }
 
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
@@ -87,6 +247,7 @@ public class BatchedModifications extends MutableCompositeModification {
         return "BatchedModifications [transactionId=" + transactionId
                 + ", ready=" + ready
                 + ", totalMessagesSent=" + totalMessagesSent
-                + ", modifications size=" + getModifications().size() + "]";
+                + ", modifications size=" + getModifications().size()
+                + ", encoded=" + isEncoded() + "]";
     }
 }
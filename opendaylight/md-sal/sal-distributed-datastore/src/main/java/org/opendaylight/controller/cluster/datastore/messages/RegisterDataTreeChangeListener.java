@@ -26,6 +26,7 @@ public final class RegisterDataTreeChangeListener implements Externalizable, Lis
     private ActorRef dataTreeChangeListenerPath;
     private YangInstanceIdentifier path;
     private boolean registerOnAllInstances;
+    private boolean coalescing;
 
     public RegisterDataTreeChangeListener() {
         // For Externalizable
@@ -33,9 +34,15 @@ public final class RegisterDataTreeChangeListener implements Externalizable, Lis
 
     public RegisterDataTreeChangeListener(final YangInstanceIdentifier path, final ActorRef dataTreeChangeListenerPath,
             final boolean registerOnAllInstances) {
+        this(path, dataTreeChangeListenerPath, registerOnAllInstances, false);
+    }
+
+    public RegisterDataTreeChangeListener(final YangInstanceIdentifier path, final ActorRef dataTreeChangeListenerPath,
+            final boolean registerOnAllInstances, final boolean coalescing) {
         this.path = Preconditions.checkNotNull(path);
         this.dataTreeChangeListenerPath = Preconditions.checkNotNull(dataTreeChangeListenerPath);
         this.registerOnAllInstances = registerOnAllInstances;
+        this.coalescing = coalescing;
     }
 
     @Override
@@ -53,11 +60,21 @@ public final class RegisterDataTreeChangeListener implements Externalizable, Lis
         return registerOnAllInstances;
     }
 
+    /**
+     * Indicate whether changes queued for the listener may be merged before delivery.
+     *
+     * @return True if the listener has declared itself as coalescing
+     */
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
     @Override
     public void writeExternal(final ObjectOutput out) throws IOException {
         out.writeObject(dataTreeChangeListenerPath);
         SerializationUtils.serializePath(path, out);
         out.writeBoolean(registerOnAllInstances);
+        out.writeBoolean(coalescing);
     }
 
     @Override
@@ -65,11 +82,13 @@ public final class RegisterDataTreeChangeListener implements Externalizable, Lis
         dataTreeChangeListenerPath = (ActorRef) in.readObject();
         path = SerializationUtils.deserializePath(in);
         registerOnAllInstances = in.readBoolean();
+        // Registrations from members running a previous version do not carry the flag
+        coalescing = in.available() > 0 && in.readBoolean();
     }
 
     @Override
     public String toString() {
         return "RegisterDataTreeChangeListener [path=" + path + ", registerOnAllInstances=" + registerOnAllInstances
-                + ", dataTreeChangeListenerPath=" + dataTreeChangeListenerPath + "]";
+                + ", coalescing=" + coalescing + ", dataTreeChangeListenerPath=" + dataTreeChangeListenerPath + "]";
     }
 }
@@ -74,6 +74,10 @@ public class MutableCompositeModification extends VersionedExternalizableMessage
         }
     }
 
+    protected final void clearModifications() {
+        modifications.clear();
+    }
+
     @Override
     public List<Modification> getModifications() {
         if (immutableModifications == null) {
@@ -86,7 +90,10 @@ public class MutableCompositeModification extends VersionedExternalizableMessage
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
         super.readExternal(in);
+        readModifications(in);
+    }
 
+    protected void readModifications(ObjectInput in) throws IOException, ClassNotFoundException {
         int size = in.readInt();
 
         if (size > 1) {
@@ -120,7 +127,10 @@ public class MutableCompositeModification extends VersionedExternalizableMessage
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
         super.writeExternal(out);
+        writeModifications(out);
+    }
 
+    protected void writeModifications(ObjectOutput out) throws IOException {
         out.writeInt(modifications.size());
 
         if (modifications.size() > 1) {
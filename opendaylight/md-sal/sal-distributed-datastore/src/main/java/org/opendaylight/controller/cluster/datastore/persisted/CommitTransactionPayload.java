@@ -9,9 +9,10 @@ package org.opendaylight.controller.cluster.datastore.persisted;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Preconditions;
-import com.google.common.io.ByteArrayDataOutput;
-import com.google.common.io.ByteStreams;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -20,6 +21,8 @@ import java.io.Serializable;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Map.Entry;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.io.ChunkedByteArray;
+import org.opendaylight.controller.cluster.io.ChunkedOutputStream;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 
@@ -27,13 +30,17 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
  * Payload persisted when a transaction commits. It contains the transaction identifier and the
  * {@link DataTreeCandidate}
  *
+ * <p>
+ * The serialized form is held in a {@link ChunkedByteArray}, so that large candidates do not require a contiguous
+ * array and are not copied when the payload is written to the journal or sent to followers.
+ *
  * @author Robert Varga
  */
 @Beta
 public final class CommitTransactionPayload extends Payload implements Serializable {
     private static final class Proxy implements Externalizable {
         private static final long serialVersionUID = 1L;
-        private byte[] serialized;
+        private ChunkedByteArray serialized;
 
         // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
         // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
@@ -42,21 +49,21 @@ public final class CommitTransactionPayload extends Payload implements Serializa
             // For Externalizable
         }
 
-        Proxy(final byte[] serialized) {
+        Proxy(final ChunkedByteArray serialized) {
             this.serialized = Preconditions.checkNotNull(serialized);
         }
 
         @Override
         public void writeExternal(final ObjectOutput out) throws IOException {
-            out.writeInt(serialized.length);
-            out.write(serialized);
+            out.writeInt(serialized.size());
+            serialized.copyTo(out);
         }
 
         @Override
         public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
             final int length = in.readInt();
-            serialized = new byte[length];
-            in.readFully(serialized);
+            Preconditions.checkArgument(length >= 0, "Invalid serialized length %s", length);
+            serialized = ChunkedByteArray.readFrom(in, length, MAX_ARRAY_SIZE);
         }
 
         private Object readResolve() {
@@ -66,29 +73,38 @@ public final class CommitTransactionPayload extends Payload implements Serializa
 
     private static final long serialVersionUID = 1L;
 
-    private final byte[] serialized;
+    // Maximum size of a single chunk of the serialized form
+    private static final int MAX_ARRAY_SIZE = 256 * 1024;
+    private static final int INITIAL_SERIALIZED_BUFFER_CAPACITY = 512;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    private final ChunkedByteArray serialized;
 
-    CommitTransactionPayload(final byte[] serialized) {
+    CommitTransactionPayload(final ChunkedByteArray serialized) {
         this.serialized = Preconditions.checkNotNull(serialized);
     }
 
     public static CommitTransactionPayload create(final TransactionIdentifier transactionId,
             final DataTreeCandidate candidate) throws IOException {
-        final ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        transactionId.writeTo(out);
-        DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
-        return new CommitTransactionPayload(out.toByteArray());
+        final ChunkedOutputStream cos = new ChunkedOutputStream(INITIAL_SERIALIZED_BUFFER_CAPACITY, MAX_ARRAY_SIZE);
+        try (DataOutputStream out = new DataOutputStream(cos)) {
+            transactionId.writeTo(out);
+            DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
+        }
+        return new CommitTransactionPayload(cos.toChunkedByteArray());
     }
 
     public Entry<TransactionIdentifier, DataTreeCandidate> getCandidate() throws IOException {
-        final DataInput in = ByteStreams.newDataInput(serialized);
+        final DataInput in = new DataInputStream(serialized.openStream());
         return new SimpleImmutableEntry<>(TransactionIdentifier.readFrom(in),
                 DataTreeCandidateInputOutput.readDataTreeCandidate(in));
     }
 
     @Override
     public int size() {
-        return serialized.length;
+        return serialized.size();
     }
 
     private Object writeReplace() {
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.persisted;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.ObjectOutput;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableAugmentationNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableChoiceNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapEntryNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableUnkeyedListEntryNodeBuilder;
+
+/**
+ * A {@link ShardDataTreeSnapshot} resolved from a {@link ShardSnapshotDeltaState} and the full snapshot it is based
+ * on. The state it represents is the root node of the base snapshot, with the changes applied on top of it in order.
+ * Instances are used only for applying the state and cannot be serialized.
+ *
+ * <p>
+ * Users which apply the state to a data tree should write the {@link #getBaseRootNode()} and replay the
+ * {@link #getChanges()} on top of it, as that is cheaper than materializing the resulting root node via
+ * {@link #getRootNode()}.
+ */
+@Beta
+public final class IncrementalShardDataTreeSnapshot extends ShardDataTreeSnapshot {
+    private final Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> metadata;
+    private final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> changes;
+    private final NormalizedNode<?, ?> baseRootNode;
+
+    private Optional<NormalizedNode<?, ?>> rootNode;
+
+    IncrementalShardDataTreeSnapshot(final NormalizedNode<?, ?> baseRootNode,
+            final Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> metadata,
+            final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> changes) {
+        this.baseRootNode = Preconditions.checkNotNull(baseRootNode);
+        this.metadata = ImmutableMap.copyOf(metadata);
+        this.changes = ImmutableMap.copyOf(changes);
+    }
+
+    /**
+     * Return the root node of the base snapshot. Note this does not reflect the {@link #getChanges()}.
+     *
+     * @return The base root node.
+     */
+    public NormalizedNode<?, ?> getBaseRootNode() {
+        return baseRootNode;
+    }
+
+    /**
+     * Return the root node this snapshot represents, i.e. the base root node with the {@link #getChanges()} applied.
+     * The node is materialized on first access.
+     *
+     * @return The resulting root node.
+     * @throws IllegalArgumentException if a change cannot be applied to the base root node
+     */
+    @Override
+    public synchronized Optional<NormalizedNode<?, ?>> getRootNode() {
+        if (rootNode == null) {
+            NormalizedNode<?, ?> node = baseRootNode;
+            for (Entry<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> e : changes.entrySet()) {
+                node = applyChange(node, e.getKey().getPathArguments(), 0, e.getValue().orElse(null));
+            }
+            rootNode = Optional.ofNullable(node);
+        }
+        return rootNode;
+    }
+
+    public Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Return the changes to be applied on top of the base root node, in order. An absent node indicates the path
+     * should be deleted.
+     *
+     * @return The changes.
+     */
+    public Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> getChanges() {
+        return changes;
+    }
+
+    @Override
+    public void serialize(final ObjectOutput out) throws IOException {
+        throw new IOException("Incremental snapshot " + this + " cannot be serialized");
+    }
+
+    private static NormalizedNode<?, ?> applyChange(final NormalizedNode<?, ?> node, final List<PathArgument> path,
+            final int offset, final NormalizedNode<?, ?> change) {
+        if (offset == path.size()) {
+            return change;
+        }
+        Preconditions.checkArgument(node instanceof NormalizedNodeContainer && !(node instanceof OrderedNodeContainer),
+            "Cannot apply change to %s below %s", path, node);
+
+        final PathArgument arg = path.get(offset);
+        final NormalizedNode<?, ?> child;
+        if (offset + 1 == path.size()) {
+            child = change;
+        } else {
+            @SuppressWarnings("unchecked")
+            final com.google.common.base.Optional<NormalizedNode<?, ?>> existing =
+                ((NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) node).getChild(arg);
+            Preconditions.checkArgument(existing.isPresent(), "Cannot apply change to %s, %s has no child %s", path,
+                node.getIdentifier(), arg);
+            child = applyChange(existing.get(), path, offset + 1, change);
+        }
+
+        return replaceChild(node, arg, child);
+    }
+
+    private static NormalizedNode<?, ?> replaceChild(final NormalizedNode<?, ?> node, final PathArgument arg,
+            final NormalizedNode<?, ?> child) {
+        if (node instanceof MapNode) {
+            return child == null ? ImmutableMapNodeBuilder.create((MapNode) node).withoutChild(arg).build()
+                    : ImmutableMapNodeBuilder.create((MapNode) node).withChild((MapEntryNode) child).build();
+        }
+
+        final DataContainerNodeBuilder<?, ?> builder;
+        if (node instanceof ContainerNode) {
+            builder = ImmutableContainerNodeBuilder.create((ContainerNode) node);
+        } else if (node instanceof MapEntryNode) {
+            builder = ImmutableMapEntryNodeBuilder.create((MapEntryNode) node);
+        } else if (node instanceof AugmentationNode) {
+            builder = ImmutableAugmentationNodeBuilder.create((AugmentationNode) node);
+        } else if (node instanceof ChoiceNode) {
+            builder = ImmutableChoiceNodeBuilder.create((ChoiceNode) node);
+        } else if (node instanceof UnkeyedListEntryNode) {
+            builder = ImmutableUnkeyedListEntryNodeBuilder.create((UnkeyedListEntryNode) node);
+        } else {
+            throw new IllegalArgumentException("Unsupported node " + node);
+        }
+
+        return child == null ? builder.withoutChild(arg).build()
+                : builder.withChild((DataContainerChild<?, ?>) child).build();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("metadata", metadata).add("changes", changes.size()).toString();
+    }
+}
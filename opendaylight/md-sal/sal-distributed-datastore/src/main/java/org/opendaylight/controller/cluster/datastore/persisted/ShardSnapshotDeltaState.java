@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.persisted;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Verify;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMap.Builder;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
+import org.opendaylight.controller.cluster.raft.persisted.Snapshot;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Encapsulates the incremental snapshot State for a Shard. It holds the changes made to the data tree since the last
+ * {@link ShardSnapshotState} which was persisted in full, along with the complete snapshot metadata.
+ */
+@Beta
+public final class ShardSnapshotDeltaState implements Snapshot.DeltaState {
+    private static final long serialVersionUID = 1L;
+
+    private static final class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        private static final Logger LOG = LoggerFactory.getLogger(ShardSnapshotDeltaState.class);
+
+        private ShardSnapshotDeltaState deltaState;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+            // For Externalizable
+        }
+
+        Proxy(final ShardSnapshotDeltaState deltaState) {
+            this.deltaState = deltaState;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeInt(deltaState.metadata.size());
+            for (ShardDataTreeSnapshotMetadata<?> m : deltaState.metadata.values()) {
+                out.writeObject(m);
+            }
+
+            out.writeInt(deltaState.changes.size());
+            for (Entry<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> e : deltaState.changes.entrySet()) {
+                SerializationUtils.serializePath(e.getKey(), out);
+
+                final Optional<NormalizedNode<?, ?>> node = e.getValue();
+                out.writeBoolean(node.isPresent());
+                if (node.isPresent()) {
+                    SerializationUtils.serializeNormalizedNode(node.get(), out);
+                }
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            final int metaSize = in.readInt();
+            Preconditions.checkArgument(metaSize >= 0, "Invalid negative metadata map length %s", metaSize);
+
+            final Builder<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>>
+                    metaBuilder = ImmutableMap.builder();
+            for (int i = 0; i < metaSize; ++i) {
+                final ShardDataTreeSnapshotMetadata<?> m = (ShardDataTreeSnapshotMetadata<?>) in.readObject();
+                if (m != null) {
+                    metaBuilder.put(m.getType(), m);
+                } else {
+                    LOG.warn("Skipping null metadata");
+                }
+            }
+
+            final int changeSize = in.readInt();
+            Preconditions.checkArgument(changeSize >= 0, "Invalid negative change map length %s", changeSize);
+
+            final Builder<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> changeBuilder =
+                    ImmutableMap.builder();
+            for (int i = 0; i < changeSize; ++i) {
+                final YangInstanceIdentifier path = SerializationUtils.deserializePath(in);
+                if (in.readBoolean()) {
+                    changeBuilder.put(path, Optional.of(
+                        Verify.verifyNotNull(SerializationUtils.deserializeNormalizedNode(in))));
+                } else {
+                    changeBuilder.put(path, Optional.empty());
+                }
+            }
+
+            deltaState = new ShardSnapshotDeltaState(metaBuilder.build(), changeBuilder.build());
+        }
+
+        private Object readResolve() {
+            return deltaState;
+        }
+    }
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    private final Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> metadata;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "See above justification.")
+    private final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> changes;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param metadata the complete snapshot metadata
+     * @param changes the changes since the last full snapshot, in the order they need to be applied. An absent node
+     *        indicates the path has been deleted.
+     */
+    public ShardSnapshotDeltaState(
+            @Nonnull final Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>>
+                metadata, @Nonnull final Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> changes) {
+        this.metadata = ImmutableMap.copyOf(metadata);
+        this.changes = ImmutableMap.copyOf(changes);
+    }
+
+    @Nonnull
+    public Map<YangInstanceIdentifier, Optional<NormalizedNode<?, ?>>> getChanges() {
+        return changes;
+    }
+
+    @Override
+    public ShardSnapshotState resolve(final Snapshot.State base) throws IOException {
+        if (!(base instanceof ShardSnapshotState)) {
+            throw new IOException("Cannot resolve shard snapshot delta against " + base);
+        }
+
+        final Optional<NormalizedNode<?, ?>> baseRoot = ((ShardSnapshotState) base).getSnapshot().getRootNode();
+        if (!baseRoot.isPresent()) {
+            throw new IOException("Base snapshot " + base + " does not have a root node");
+        }
+
+        return new ShardSnapshotState(new IncrementalShardDataTreeSnapshot(baseRoot.get(), metadata, changes));
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("metadata", metadata).add("changes", changes.size()).toString();
+    }
+}
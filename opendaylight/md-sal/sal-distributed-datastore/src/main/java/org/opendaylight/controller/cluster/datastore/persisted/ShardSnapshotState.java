@@ -69,7 +69,8 @@ public class ShardSnapshotState implements Snapshot.State {
         return snapshot;
     }
 
-    private Object writeReplace() {
+    // Not private, so subclasses are serialized through the Proxy, too
+    protected final Object writeReplace() {
         return new Proxy(this);
     }
 }
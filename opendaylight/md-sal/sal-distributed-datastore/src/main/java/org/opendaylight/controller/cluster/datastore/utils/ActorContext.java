@@ -27,6 +27,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.access.concepts.MemberName;
 import org.opendaylight.controller.cluster.common.actor.Dispatchers;
 import org.opendaylight.controller.cluster.datastore.ClusterWrapper;
@@ -99,11 +100,13 @@ public class ActorContext {
     private Timeout operationTimeout;
     private final String selfAddressHostPort;
     private TransactionRateLimiter txRateLimiter;
+    private final TransactionAdmissionController admissionController;
     private Timeout transactionCommitOperationTimeout;
     private Timeout shardInitializationTimeout;
     private final Dispatchers dispatchers;
 
     private volatile SchemaContext schemaContext;
+    private volatile ReadCoalescer readCoalescer;
 
     // Used as a write memory barrier.
     @SuppressWarnings("unused")
@@ -136,6 +139,8 @@ public class ActorContext {
                 LogicalDatastoreType.valueOf(datastoreContext.getLogicalStoreType().name());
         this.shardStrategyFactory = new ShardStrategyFactory(configuration, convertedType);
 
+        this.admissionController = new TransactionAdmissionController(datastoreContext);
+
         setCachedProperties();
 
         Address selfAddress = clusterWrapper.getSelfAddress();
@@ -157,6 +162,14 @@ public class ActorContext {
                 datastoreContext.getShardTransactionCommitTimeoutInSeconds(), TimeUnit.SECONDS));
 
         shardInitializationTimeout = new Timeout(datastoreContext.getShardInitializationTimeout().duration().$times(2));
+
+        if (datastoreContext.isReadCoalescingEnabled()) {
+            if (readCoalescer == null) {
+                readCoalescer = new ReadCoalescer();
+            }
+        } else {
+            readCoalescer = null;
+        }
     }
 
     public DatastoreContext getDatastoreContext() {
@@ -503,10 +516,32 @@ public class ActorContext {
     }
 
     /**
-     * Try to acquire a transaction creation permit. Will block if no permits are available.
+     * Try to acquire a transaction creation permit. Will block if no permits are available. Transaction creation is
+     * not rate-limited if per-shard admission control is enabled, as that applies back pressure instead.
      */
     public void acquireTxCreationPermit() {
-        txRateLimiter.acquire();
+        if (!admissionController.isEnabled()) {
+            txRateLimiter.acquire();
+        }
+    }
+
+    /**
+     * Get the per-shard transaction admission controller.
+     *
+     * @return the admission controller
+     */
+    public TransactionAdmissionController getTransactionAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * Get the coalescer of reads issued by read-only transactions.
+     *
+     * @return the read coalescer, or null if read coalescing is disabled
+     */
+    @Nullable
+    public ReadCoalescer getReadCoalescer() {
+        return readCoalescer;
     }
 
     /**
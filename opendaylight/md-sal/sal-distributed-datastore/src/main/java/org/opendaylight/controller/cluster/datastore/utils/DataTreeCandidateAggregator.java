@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * Utility for merging a sequence of {@link DataTreeCandidate}s into fewer candidates with the same net effect. Each
+ * run of consecutive candidates rooted at the same path is merged into a single candidate, whose before-image is that
+ * of the first candidate and whose after-image is that of the last one. Nodes which end up in their original state
+ * are reported as {@link ModificationType#UNMODIFIED} and omitted from their parent's children.
+ *
+ * <p>
+ * Subtrees which were only ever reported as {@link ModificationType#SUBTREE_MODIFIED} are merged child by child.
+ * Subtrees which were replaced or removed by any of the candidates are reported as a difference between their
+ * before- and after-images, hence this requires the candidates to carry both.
+ */
+@Beta
+public final class DataTreeCandidateAggregator {
+    private DataTreeCandidateAggregator() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Merge a sequence of candidates.
+     *
+     * @param candidates Candidates, in the order in which they were produced
+     * @return Merged candidates, in the order of their first constituent
+     */
+    public static List<DataTreeCandidate> aggregate(final List<DataTreeCandidate> candidates) {
+        final List<DataTreeCandidate> ret = new ArrayList<>();
+        int start = 0;
+        while (start < candidates.size()) {
+            final YangInstanceIdentifier rootPath = candidates.get(start).getRootPath();
+            int end = start + 1;
+            while (end < candidates.size() && rootPath.equals(candidates.get(end).getRootPath())) {
+                end++;
+            }
+
+            if (end - start == 1) {
+                ret.add(candidates.get(start));
+            } else {
+                final List<DataTreeCandidateNode> nodes = new ArrayList<>(end - start);
+                for (DataTreeCandidate candidate : candidates.subList(start, end)) {
+                    nodes.add(candidate.getRootNode());
+                }
+
+                final DataTreeCandidateNode merged = mergeNodes(nodes);
+                ret.add(DataTreeCandidates.newDataTreeCandidate(rootPath,
+                    merged != null ? merged : new DeltaNode(nodes.get(0), Optional.absent(), Optional.absent())));
+            }
+
+            start = end;
+        }
+
+        return ret;
+    }
+
+    @Nullable
+    private static DataTreeCandidateNode mergeNodes(final List<DataTreeCandidateNode> nodes) {
+        final List<DataTreeCandidateNode> modified = new ArrayList<>(nodes.size());
+        boolean subtreeOnly = true;
+        for (DataTreeCandidateNode node : nodes) {
+            switch (node.getModificationType()) {
+                case UNMODIFIED:
+                    continue;
+                case SUBTREE_MODIFIED:
+                    break;
+                default:
+                    subtreeOnly = false;
+                    break;
+            }
+            modified.add(node);
+        }
+
+        switch (modified.size()) {
+            case 0:
+                return null;
+            case 1:
+                return modified.get(0);
+            default:
+                break;
+        }
+
+        final DataTreeCandidateNode first = modified.get(0);
+        final DataTreeCandidateNode last = modified.get(modified.size() - 1);
+        if (!subtreeOnly) {
+            final DeltaNode delta = new DeltaNode(first, first.getDataBefore(), last.getDataAfter());
+            return delta.getModificationType() == ModificationType.UNMODIFIED ? null : delta;
+        }
+
+        // Group children by their identifier, retaining the order in which they were first modified
+        final Map<PathArgument, List<DataTreeCandidateNode>> byChild = new LinkedHashMap<>();
+        for (DataTreeCandidateNode node : modified) {
+            for (DataTreeCandidateNode child : node.getChildNodes()) {
+                byChild.computeIfAbsent(child.getIdentifier(), key -> new ArrayList<>(modified.size())).add(child);
+            }
+        }
+
+        final Map<PathArgument, DataTreeCandidateNode> children = new LinkedHashMap<>(byChild.size());
+        byChild.forEach((identifier, chain) -> {
+            final DataTreeCandidateNode child = mergeNodes(chain);
+            if (child != null) {
+                children.put(identifier, child);
+            }
+        });
+
+        return children.isEmpty() ? null : new MergedNode(first, last, children);
+    }
+
+    private static boolean isContainer(final Optional<NormalizedNode<?, ?>> data) {
+        return data.isPresent() && data.get() instanceof NormalizedNodeContainer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<NormalizedNode<?, ?>> getChild(final Optional<NormalizedNode<?, ?>> data,
+            final PathArgument identifier) {
+        return isContainer(data)
+                ? ((NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) data.get()).getChild(identifier)
+                : Optional.absent();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<NormalizedNode<?, ?>> getChildren(final Optional<NormalizedNode<?, ?>> data) {
+        return isContainer(data)
+                ? ((NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) data.get()).getValue()
+                : Collections.emptyList();
+    }
+
+    /**
+     * Node resulting from merging a chain of {@link ModificationType#SUBTREE_MODIFIED} nodes.
+     */
+    private static final class MergedNode implements DataTreeCandidateNode {
+        private final DataTreeCandidateNode first;
+        private final DataTreeCandidateNode last;
+        private final Map<PathArgument, DataTreeCandidateNode> children;
+
+        MergedNode(final DataTreeCandidateNode first, final DataTreeCandidateNode last,
+                final Map<PathArgument, DataTreeCandidateNode> children) {
+            this.first = Preconditions.checkNotNull(first);
+            this.last = Preconditions.checkNotNull(last);
+            this.children = Preconditions.checkNotNull(children);
+        }
+
+        @Override
+        public PathArgument getIdentifier() {
+            return first.getIdentifier();
+        }
+
+        @Override
+        public Collection<DataTreeCandidateNode> getChildNodes() {
+            return children.values();
+        }
+
+        @Override
+        public DataTreeCandidateNode getModifiedChild(final PathArgument identifier) {
+            return children.get(identifier);
+        }
+
+        @Override
+        public ModificationType getModificationType() {
+            return ModificationType.SUBTREE_MODIFIED;
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> getDataAfter() {
+            return last.getDataAfter();
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> getDataBefore() {
+            return first.getDataBefore();
+        }
+    }
+
+    /**
+     * Node describing the difference between a before- and an after-image. Children are computed on demand.
+     */
+    private static final class DeltaNode implements DataTreeCandidateNode {
+        // Identifier of a merged node is taken from its first constituent, as root nodes may not have one
+        private final DataTreeCandidateNode identitySource;
+        private final PathArgument identifier;
+        private final Optional<NormalizedNode<?, ?>> before;
+        private final Optional<NormalizedNode<?, ?>> after;
+
+        DeltaNode(final DataTreeCandidateNode identitySource, final Optional<NormalizedNode<?, ?>> before,
+                final Optional<NormalizedNode<?, ?>> after) {
+            this.identitySource = Preconditions.checkNotNull(identitySource);
+            this.identifier = null;
+            this.before = Preconditions.checkNotNull(before);
+            this.after = Preconditions.checkNotNull(after);
+        }
+
+        DeltaNode(final PathArgument identifier, final Optional<NormalizedNode<?, ?>> before,
+                final Optional<NormalizedNode<?, ?>> after) {
+            this.identitySource = null;
+            this.identifier = Preconditions.checkNotNull(identifier);
+            this.before = Preconditions.checkNotNull(before);
+            this.after = Preconditions.checkNotNull(after);
+        }
+
+        @Override
+        public PathArgument getIdentifier() {
+            return identifier != null ? identifier : identitySource.getIdentifier();
+        }
+
+        @Override
+        public Collection<DataTreeCandidateNode> getChildNodes() {
+            final Map<PathArgument, DataTreeCandidateNode> ret = new LinkedHashMap<>();
+            for (NormalizedNode<?, ?> child : getChildren(before)) {
+                addChild(ret, child.getIdentifier());
+            }
+            for (NormalizedNode<?, ?> child : getChildren(after)) {
+                if (!ret.containsKey(child.getIdentifier())) {
+                    addChild(ret, child.getIdentifier());
+                }
+            }
+            return ret.values();
+        }
+
+        private void addChild(final Map<PathArgument, DataTreeCandidateNode> map, final PathArgument childId) {
+            final DataTreeCandidateNode child = getModifiedChild(childId);
+            if (child != null) {
+                map.put(childId, child);
+            }
+        }
+
+        @Override
+        public DataTreeCandidateNode getModifiedChild(final PathArgument childId) {
+            final DeltaNode child = new DeltaNode(childId, getChild(before, childId), getChild(after, childId));
+            return child.getModificationType() == ModificationType.UNMODIFIED ? null : child;
+        }
+
+        @Override
+        public ModificationType getModificationType() {
+            if (!after.isPresent()) {
+                return before.isPresent() ? ModificationType.DELETE : ModificationType.UNMODIFIED;
+            }
+            if (!before.isPresent()) {
+                return ModificationType.WRITE;
+            }
+            if (before.get() == after.get()) {
+                return ModificationType.UNMODIFIED;
+            }
+            if (isContainer(before) && isContainer(after)) {
+                return ModificationType.SUBTREE_MODIFIED;
+            }
+
+            // Leaf nodes are cheap to compare
+            return isContainer(before) || isContainer(after) || !before.get().equals(after.get())
+                    ? ModificationType.WRITE : ModificationType.UNMODIFIED;
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> getDataAfter() {
+            return after;
+        }
+
+        @Override
+        public Optional<NormalizedNode<?, ?>> getDataBefore() {
+            return before;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ForwardingObject;
+import org.opendaylight.controller.cluster.datastore.node.utils.offheap.OffHeapLeafArena;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
+
+/**
+ * The OffHeapDataTreeModification stores the leaf values of written and merged data in an {@link OffHeapLeafArena}
+ * before delegating to the actual DataTreeModification. Data read from it has the values moved back on heap.
+ */
+public final class OffHeapDataTreeModification extends ForwardingObject implements DataTreeModification {
+    private final DataTreeModification delegate;
+    private final OffHeapLeafArena arena;
+
+    public OffHeapDataTreeModification(final DataTreeModification delegate, final OffHeapLeafArena arena) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.arena = Preconditions.checkNotNull(arena);
+    }
+
+    @Override
+    public DataTreeModification delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void delete(final YangInstanceIdentifier path) {
+        delegate.delete(path);
+    }
+
+    @Override
+    public void merge(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data) {
+        delegate.merge(path, arena.offload(data));
+    }
+
+    @Override
+    public void write(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data) {
+        delegate.write(path, arena.offload(data));
+    }
+
+    @Override
+    public void ready() {
+        delegate.ready();
+    }
+
+    @Override
+    public void applyToCursor(final DataTreeModificationCursor cursor) {
+        delegate.applyToCursor(cursor);
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> readNode(final YangInstanceIdentifier path) {
+        return delegate.readNode(path).transform(OffHeapLeafArena::onHeap);
+    }
+
+    @Override
+    public DataTreeModification newModification() {
+        return new OffHeapDataTreeModification(delegate.newModification(), arena);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ForwardingObject;
+import org.opendaylight.controller.cluster.datastore.node.utils.offheap.OffHeapLeafArena;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+
+/**
+ * The OffHeapDataTreeSnapshot returns the data read from a snapshot of a tree with leaf values stored in an
+ * {@link OffHeapLeafArena} with those values moved back on heap, so it compares equal to the data users build
+ * themselves. Modifications created from it store their leaf values in the arena.
+ */
+public final class OffHeapDataTreeSnapshot extends ForwardingObject implements DataTreeSnapshot {
+    private final DataTreeSnapshot delegate;
+    private final OffHeapLeafArena arena;
+
+    public OffHeapDataTreeSnapshot(final DataTreeSnapshot delegate, final OffHeapLeafArena arena) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.arena = Preconditions.checkNotNull(arena);
+    }
+
+    @Override
+    public DataTreeSnapshot delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> readNode(final YangInstanceIdentifier path) {
+        return delegate.readNode(path).transform(OffHeapLeafArena::onHeap);
+    }
+
+    @Override
+    public DataTreeModification newModification() {
+        return new OffHeapDataTreeModification(delegate.newModification(), arena);
+    }
+}
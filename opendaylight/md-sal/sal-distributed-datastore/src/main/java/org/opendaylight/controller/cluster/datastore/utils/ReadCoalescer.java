@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * Coalesces identical reads issued by read-only transactions towards the same shard. A read which finds an identical
+ * read in flight shares its result instead of sending its own request to the backend, saving the round trip and the
+ * deserialization of the result.
+ *
+ * <p>
+ * Sharing a result is safe only if it reflects all commits the reader is required to observe. This object maintains
+ * a version, which is incremented every time a commit issued through the frontend completes. Each transaction records
+ * the {@link #currentVersion() current version} when it is allocated and a read result is shared only with readers
+ * whose version is not newer than the version of the transaction which issued it. The backend state observed by that
+ * transaction is established after it was allocated, hence it contains all commits which completed before either of
+ * the two transactions was allocated.
+ *
+ * <p>
+ * Results of completed reads are retained only if the caller supplies a backend version, such as the
+ * {@link org.opendaylight.controller.cluster.datastore.FollowerReplica.CommitVersion} of the shard, acquired before
+ * the read was issued. A retained result is served only to readers which present an equal backend version, hence it
+ * is never served once the backend reports a commit or a leader change.
+ *
+ * <p>
+ * Note that individual reads of a transaction may be satisfied by different transactions, hence they may observe
+ * different states of the shard, each of which is at least as recent as the transaction itself.
+ */
+public final class ReadCoalescer {
+    private static final class Key {
+        private final Object shard;
+        private final YangInstanceIdentifier path;
+        private final boolean exists;
+
+        Key(final Object shard, final YangInstanceIdentifier path, final boolean exists) {
+            this.shard = Preconditions.checkNotNull(shard);
+            this.path = Preconditions.checkNotNull(path);
+            this.exists = exists;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(shard, path, exists);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return exists == other.exists && shard.equals(other.shard) && path.equals(other.path);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("shard", shard).add("path", path).add("exists", exists)
+                    .toString();
+        }
+    }
+
+    private static final class Entry {
+        final ListenableFuture<?> future;
+        final long version;
+        final Object backendVersion;
+
+        Entry(final ListenableFuture<?> future, final long version, @Nullable final Object backendVersion) {
+            this.future = Preconditions.checkNotNull(future);
+            this.version = version;
+            this.backendVersion = backendVersion;
+        }
+
+        boolean canServe(final long readerVersion) {
+            return version >= readerVersion;
+        }
+
+        boolean canServe(final long readerVersion, @Nullable final Object readerBackendVersion) {
+            return canServe(readerVersion) && backendVersion != null && backendVersion.equals(readerBackendVersion);
+        }
+    }
+
+    // Upper bound on the number of retained reads, so large subtrees do not pile up on the heap
+    private static final int MAX_CACHED_ENTRIES = 1000;
+
+    private final ConcurrentMap<Key, Entry> inFlight = new ConcurrentHashMap<>();
+    private final Cache<Key, Entry> completed = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_ENTRIES).build();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong issuedReadCount = new AtomicLong();
+    private final AtomicLong sharedReadCount = new AtomicLong();
+    private final AtomicLong cachedReadCount = new AtomicLong();
+
+    /**
+     * Return the current version. Transactions need to acquire it when they are allocated and use it for all their
+     * subsequent reads.
+     *
+     * @return Current version
+     */
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * Invoked when a commit issued through the frontend has completed, either successfully or not. Reads issued prior
+     * to this call will not be shared with transactions allocated after it.
+     */
+    public void onCommitCompleted() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Perform a read, sharing the result of an identical in-flight read if possible. The result is not retained once
+     * the read completes.
+     *
+     * @param shard Identifier of the shard targeted by the read
+     * @param path Path being read
+     * @param exists True if this is an existence check
+     * @param readerVersion Version acquired by the reading transaction
+     * @param loader Supplier issuing the read to the backend, invoked if the read cannot be shared
+     * @return Future result of the read
+     */
+    @Nonnull
+    public <T> ListenableFuture<T> read(@Nonnull final Object shard, @Nonnull final YangInstanceIdentifier path,
+            final boolean exists, final long readerVersion,
+            @Nonnull final Supplier<? extends ListenableFuture<T>> loader) {
+        return read(shard, path, exists, readerVersion, null, loader);
+    }
+
+    /**
+     * Perform a read, sharing the result of an identical in-flight read, or of a completed read issued at the same
+     * backend version, if possible. The result is retained after it completes successfully if a backend version is
+     * supplied.
+     *
+     * @param shard Identifier of the shard targeted by the read
+     * @param path Path being read
+     * @param exists True if this is an existence check
+     * @param readerVersion Version acquired by the reading transaction
+     * @param backendVersion Version of the backend state, as known before the read is issued, or null if not known
+     * @param loader Supplier issuing the read to the backend, invoked if the read cannot be shared
+     * @return Future result of the read
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public <T> ListenableFuture<T> read(@Nonnull final Object shard, @Nonnull final YangInstanceIdentifier path,
+            final boolean exists, final long readerVersion, @Nullable final Object backendVersion,
+            @Nonnull final Supplier<? extends ListenableFuture<T>> loader) {
+        final Key key = new Key(shard, path, exists);
+        final Entry existing = inFlight.get(key);
+        if (existing != null && existing.canServe(readerVersion)) {
+            sharedReadCount.incrementAndGet();
+            return (ListenableFuture<T>) existing.future;
+        }
+
+        final Entry cached = completed.getIfPresent(key);
+        if (cached != null) {
+            if (cached.canServe(readerVersion, backendVersion)) {
+                cachedReadCount.incrementAndGet();
+                return (ListenableFuture<T>) cached.future;
+            }
+
+            // The backend has moved on, this entry will never be served again
+            completed.asMap().remove(key, cached);
+        }
+
+        issuedReadCount.incrementAndGet();
+        final ListenableFuture<T> future = loader.get();
+        final Entry entry = new Entry(future, readerVersion, backendVersion);
+        inFlight.put(key, entry);
+
+        // The read may have already completed, in which case this moves the entry immediately
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(final T result) {
+                inFlight.remove(key, entry);
+                if (backendVersion != null) {
+                    completed.put(key, entry);
+                }
+            }
+
+            @Override
+            public void onFailure(final Throwable failure) {
+                inFlight.remove(key, entry);
+            }
+        }, MoreExecutors.directExecutor());
+        return future;
+    }
+
+    /**
+     * Return the number of reads which have been sent to the backend.
+     *
+     * @return Number of issued reads
+     */
+    public long getIssuedReadCount() {
+        return issuedReadCount.get();
+    }
+
+    /**
+     * Return the number of reads which have been satisfied by the retained result of a completed read.
+     *
+     * @return Number of cached reads
+     */
+    public long getCachedReadCount() {
+        return cachedReadCount.get();
+    }
+
+    /**
+     * Return the number of reads which have been satisfied by sharing the result of another in-flight read.
+     *
+     * @return Number of shared reads
+     */
+    public long getSharedReadCount() {
+        return sharedReadCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("version", version.get()).add("inFlight", inFlight.size())
+                .add("completed", completed.size()).add("issued", issuedReadCount.get())
+                .add("shared", sharedReadCount.get()).add("cached", cachedReadCount.get()).toString();
+    }
+}
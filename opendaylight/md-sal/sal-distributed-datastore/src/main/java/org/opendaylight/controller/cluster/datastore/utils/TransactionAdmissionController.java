@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.access.client.AdaptiveConcurrencyLimit;
+import org.opendaylight.controller.cluster.datastore.DatastoreContext;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.ShardAdmissionInfo;
+
+/**
+ * Per-shard admission control for transactions committed through a data store. Each shard has its own
+ * {@link AdaptiveConcurrencyLimit}, which adapts to the commit latency observed for that shard, hence a slow shard
+ * applies back pressure only to the transactions which target it. Admission control is enabled through
+ * {@link DatastoreContext#isTransactionAdmissionControlEnabled()}, otherwise all transactions are admitted and back
+ * pressure is applied by {@link TransactionRateLimiter} when transactions are created.
+ *
+ * <p>
+ * The ask-based protocol admits transactions when they are readied through {@link #tryAdmit(Collection)}, which does
+ * not block. The tell-based protocol shares the same limits through {@link #getBackendLimit(String)}, reporting the
+ * latency of commit requests to them without enforcing them, as its backend connections already cap the number of
+ * requests in flight.
+ */
+public class TransactionAdmissionController {
+    /**
+     * A set of admissions held by a single transaction. Releasing it is idempotent.
+     */
+    public static final class Permit {
+        public static final Permit NOOP = new Permit(ImmutableMap.of());
+
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final Map<AdaptiveConcurrencyLimit, Long> admissions;
+
+        Permit(final Map<AdaptiveConcurrencyLimit, Long> admissions) {
+            this.admissions = Preconditions.checkNotNull(admissions);
+        }
+
+        /**
+         * Release this permit after the transaction committed successfully, recording its commit latency.
+         */
+        public void succeeded() {
+            if (released.compareAndSet(false, true)) {
+                final long now = System.nanoTime();
+                admissions.forEach((limit, admitted) -> limit.release(admitted, now));
+            }
+        }
+
+        /**
+         * Release this permit after the transaction failed or was aborted.
+         */
+        public void failed() {
+            if (released.compareAndSet(false, true)) {
+                admissions.keySet().forEach(AdaptiveConcurrencyLimit::releaseDropped);
+            }
+        }
+    }
+
+    private final ConcurrentMap<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int maxLimit;
+
+    public TransactionAdmissionController(final DatastoreContext datastoreContext) {
+        this.enabled = datastoreContext.isTransactionAdmissionControlEnabled();
+        this.maxLimit = datastoreContext.getTransactionAdmissionMaxLimit();
+    }
+
+    /**
+     * Return true if admission control is enabled, in which case it replaces the rate limiting of transaction
+     * creation.
+     *
+     * @return True if admission control is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Return the concurrency limit of a shard.
+     *
+     * @param shardName the name of the shard
+     * @return Concurrency limit of the shard
+     */
+    @Nonnull
+    public AdaptiveConcurrencyLimit getLimit(@Nonnull final String shardName) {
+        return limits.computeIfAbsent(shardName, name -> new AdaptiveConcurrencyLimit(maxLimit));
+    }
+
+    /**
+     * Return the concurrency limit of a shard to be used by a tell-based backend connection, if admission control is
+     * enabled.
+     *
+     * @param shardName the name of the shard
+     * @return Concurrency limit of the shard, or empty if admission control is disabled
+     */
+    @Nonnull
+    public Optional<AdaptiveConcurrencyLimit> getBackendLimit(@Nonnull final String shardName) {
+        return enabled ? Optional.of(getLimit(shardName)) : Optional.empty();
+    }
+
+    /**
+     * Admit a transaction towards a set of shards. This method does not block: if any of the shards is at its limit,
+     * the transaction is not admitted to any of them.
+     *
+     * @param shardNames names of the shards the transaction targets
+     * @return A permit, which needs to be released once the transaction completes, or null if the transaction was
+     *         not admitted
+     */
+    @Nullable
+    public Permit tryAdmit(@Nonnull final Collection<String> shardNames) {
+        if (!enabled || shardNames.isEmpty()) {
+            return Permit.NOOP;
+        }
+
+        final Map<AdaptiveConcurrencyLimit, Long> admissions = new HashMap<>(shardNames.size());
+        for (String shardName : shardNames) {
+            final AdaptiveConcurrencyLimit limit = getLimit(shardName);
+            final OptionalLong admitted = limit.tryAdmit();
+            if (!admitted.isPresent()) {
+                admissions.keySet().forEach(AdaptiveConcurrencyLimit::cancel);
+                return null;
+            }
+            admissions.put(limit, admitted.getAsLong());
+        }
+        return new Permit(admissions);
+    }
+
+    /**
+     * Return the current state of all per-shard limits.
+     *
+     * @return Snapshot of admission control state of each shard
+     */
+    @Nonnull
+    public List<ShardAdmissionInfo> getShardAdmissionInfo() {
+        final List<ShardAdmissionInfo> ret = new ArrayList<>(limits.size());
+        limits.forEach((shardName, limit) -> ret.add(new ShardAdmissionInfo(shardName, limit.getLimit(),
+            limit.getInFlight(), limit.getRejectedCount(), limit.getSmoothedLatency(TimeUnit.MICROSECONDS))));
+        return ret;
+    }
+}
@@ -91,6 +91,14 @@ public class DistributedConfigDataStoreProviderModule extends AbstractDistribute
                     props.getShardIsolatedLeaderCheckIntervalInMillis().getValue())
                 .shardElectionTimeoutFactor(props.getShardElectionTimeoutFactor().getValue())
                 .transactionCreationInitialRateLimit(props.getTransactionCreationInitialRateLimit().getValue())
+                .transactionAdmissionControlEnabled(props.getTransactionAdmissionControlEnabled())
+                .transactionAdmissionMaxLimit(props.getTransactionAdmissionMaxLimit().getValue().intValue())
+                .readCoalescingEnabled(props.getReadCoalescingEnabled())
+                .followerReadMaxLag(props.getFollowerReadMaxLag())
+                .dataTreeChangeListenerLanes(props.getDataTreeChangeListenerLanes().getValue().intValue())
+                .dataTreeChangeListenerMaxQueueDepth(
+                        props.getDataTreeChangeListenerMaxQueueDepth().getValue().intValue())
+                .parallelCommitEnabled(props.getParallelCommitEnabled())
                 .shardBatchedModificationCount(props.getShardBatchedModificationCount().getValue().intValue())
                 .shardCommitQueueExpiryTimeoutInSeconds(
                         props.getShardCommitQueueExpiryTimeoutInSeconds().getValue().intValue())
@@ -98,7 +106,11 @@ public class DistributedConfigDataStoreProviderModule extends AbstractDistribute
                 .customRaftPolicyImplementation(props.getCustomRaftPolicyImplementation())
                 .maximumMessageSliceSize(props.getMaximumMessageSliceSize().getValue().intValue())
                 .useTellBasedProtocol(props.getUseTellBasedProtocol())
+                .useOffHeapLeafStorage(props.getUseOffHeapLeafStorage())
                 .syncIndexThreshold(props.getSyncIndexThreshold().getValue())
+                .shardReplicationBatchDelayInMillis(props.getShardReplicationBatchDelayInMillis())
+                .shardMaxIncrementalSnapshots(props.getShardMaxIncrementalSnapshots())
+                .shardStreamCompression(props.getShardStreamCompression())
                 .backendAlivenessTimerIntervalInSeconds(props.getBackendAlivenessTimerIntervalInSeconds().getValue())
                 .frontendRequestTimeoutInSeconds(props.getFrontendRequestTimeoutInSeconds().getValue())
                 .frontendNoProgressTimeoutInSeconds(props.getFrontendNoProgressTimeoutInSeconds().getValue())
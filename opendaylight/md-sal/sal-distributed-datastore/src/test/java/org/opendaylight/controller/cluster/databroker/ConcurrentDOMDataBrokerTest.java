@@ -68,6 +68,7 @@ import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionChain;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeCommitCohort;
 import org.opendaylight.mdsal.dom.api.DOMDataTreeIdentifier;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
@@ -211,6 +212,62 @@ public class ConcurrentDOMDataBrokerTest {
         }
     }
 
+    @Test
+    public void testParallelSubmit() throws Exception {
+        final DurationStatisticsTracker tracker = DurationStatisticsTracker.createConcurrent();
+        final ConcurrentDOMDataBroker parallelCoordinator = newParallelCoordinator(tracker);
+
+        final SettableFuture<Boolean> canCommit1 = SettableFuture.create();
+        doReturn(canCommit1).when(mockCohort1).canCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort1).preCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort1).commit();
+
+        doReturn(Futures.immediateFuture(true)).when(mockCohort2).canCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort2).preCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort2).commit();
+
+        final ListenableFuture<Void> future = parallelCoordinator.submit(transaction,
+            Arrays.asList(mockCohort1, mockCohort2));
+
+        // Both cohorts are asked before the first one answers, but no cohort moves on until both have agreed
+        verify(mockCohort1).canCommit();
+        verify(mockCohort2).canCommit();
+        verify(mockCohort2, never()).preCommit();
+
+        canCommit1.set(true);
+        future.get(5, TimeUnit.SECONDS);
+
+        verify(mockCohort1).preCommit();
+        verify(mockCohort2).preCommit();
+        verify(mockCohort1).commit();
+        verify(mockCohort2).commit();
+        assertEquals("Total durations", 1, tracker.getTotalDurations());
+    }
+
+    @Test
+    public void testParallelSubmitWithNegativeCanCommitResponse() throws Exception {
+        final ConcurrentDOMDataBroker parallelCoordinator = newParallelCoordinator(
+            DurationStatisticsTracker.createConcurrent());
+
+        doReturn(Futures.immediateFuture(false)).when(mockCohort1).canCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort1).abort();
+
+        doReturn(Futures.immediateFuture(false)).when(mockCohort2).canCommit();
+        doReturn(Futures.immediateFuture(null)).when(mockCohort2).abort();
+
+        CheckedFuture<Void, TransactionCommitFailedException> future = parallelCoordinator.submit(
+                transaction, Arrays.asList(mockCohort1, mockCohort2));
+
+        assertFailure(future, null, mockCohort1, mockCohort2);
+        verify(mockCohort1, never()).preCommit();
+        verify(mockCohort2, never()).preCommit();
+    }
+
+    private ConcurrentDOMDataBroker newParallelCoordinator(final DurationStatisticsTracker tracker) {
+        return new ConcurrentDOMDataBroker(ImmutableMap.of(LogicalDatastoreType.OPERATIONAL,
+            new InMemoryDOMDataStore("OPER", MoreExecutors.newDirectExecutorService())), futureExecutor, tracker, true);
+    }
+
     @Test
     public void testSubmitWithCanCommitException() throws Exception {
         doReturn(Futures.immediateFuture(true)).when(mockCohort1).canCommit();
@@ -28,8 +28,10 @@ import org.opendaylight.controller.cluster.access.client.AccessClientUtil;
 import org.opendaylight.controller.cluster.access.client.ClientActorContext;
 import org.opendaylight.controller.cluster.access.client.ConnectedClientConnection;
 import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.datastore.DatastoreContext;
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryShardInfo;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.TransactionAdmissionController;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import scala.concurrent.Promise;
@@ -182,6 +184,8 @@ public abstract class AbstractClientHistoryTest<T extends AbstractClientHistory>
         final PrimaryShardInfo shardInfo = new PrimaryShardInfo(selection, (short) 0);
         promise.success(shardInfo);
         when(mock.findPrimaryShardAsync(any())).thenReturn(promise.future());
+        when(mock.getTransactionAdmissionController()).thenReturn(
+            new TransactionAdmissionController(DatastoreContext.newBuilder().build()));
         return mock;
     }
 }
\ No newline at end of file
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.databroker.actors.dds;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.opendaylight.controller.cluster.databroker.actors.dds.TestUtils.CLIENT_ID;
+import static org.opendaylight.controller.cluster.databroker.actors.dds.TestUtils.getWithTimeout;
+
+import akka.actor.ActorSystem;
+import akka.testkit.JavaTestKit;
+import akka.testkit.TestProbe;
+import com.google.common.base.Optional;
+import com.google.common.primitives.UnsignedLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.cluster.access.ABIVersion;
+import org.opendaylight.controller.cluster.access.client.AccessClientUtil;
+import org.opendaylight.controller.cluster.access.client.ClientActorContext;
+import org.opendaylight.controller.cluster.access.client.InternalCommand;
+import org.opendaylight.controller.cluster.datastore.DatastoreContext;
+import org.opendaylight.controller.cluster.datastore.FollowerReplica;
+import org.opendaylight.controller.cluster.datastore.FollowerReplicaUtil;
+import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+
+/**
+ * Tests {@link ClientSnapshot} reads being served from the local follower replica of a shard. Shard 0 has a replica
+ * within the configured lag, shard 1 has one lagging too far behind its leader.
+ */
+public class ClientSnapshotFollowerReadTest {
+    private static final String PERSISTENCE_ID = "per-1";
+    private static final long MAX_LAG = 10;
+    private static final Long REPLICA_SHARD = 0L;
+    private static final Long LEADER_SHARD = 1L;
+    private static final YangInstanceIdentifier REPLICA_PATH = YangInstanceIdentifier.of(
+        QName.create("urn:test", "2017-10-17", "replica"));
+    private static final YangInstanceIdentifier LEADER_PATH = YangInstanceIdentifier.of(
+        QName.create("urn:test", "2017-10-17", "leader"));
+
+    @Mock
+    private DataTree leaderTree;
+    @Mock
+    private DataTreeSnapshot leaderSnapshot;
+    @Mock
+    private DataTree replicaTree;
+    @Mock
+    private DataTreeSnapshot replicaSnapshot;
+    @Mock
+    private DataTree laggingReplicaTree;
+    @Mock
+    private DataTreeSnapshot laggingReplicaSnapshot;
+    @Mock
+    private NormalizedNode<?, ?> leaderData;
+    @Mock
+    private NormalizedNode<?, ?> replicaData;
+
+    private ActorSystem system;
+    private TestProbe clientContextProbe;
+    private TestProbe backendProbe;
+    private FollowerReplica replica;
+    private FollowerReplica laggingReplica;
+    private AbstractDataStoreClientBehavior client;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        system = ActorSystem.apply();
+        clientContextProbe = new TestProbe(system, "client-context");
+        backendProbe = new TestProbe(system, "backend");
+
+        doReturn(leaderSnapshot).when(leaderTree).takeSnapshot();
+        doReturn(replicaSnapshot).when(replicaTree).takeSnapshot();
+        doReturn(laggingReplicaSnapshot).when(laggingReplicaTree).takeSnapshot();
+        doReturn(Optional.of(leaderData)).when(leaderSnapshot).readNode(REPLICA_PATH);
+        doReturn(Optional.of(leaderData)).when(leaderSnapshot).readNode(LEADER_PATH);
+        doReturn(Optional.of(replicaData)).when(replicaSnapshot).readNode(REPLICA_PATH);
+        doReturn(Optional.absent()).when(laggingReplicaSnapshot).readNode(LEADER_PATH);
+
+        replica = FollowerReplicaUtil.newFollowerReplica("replica", replicaTree, 12, 10);
+        laggingReplica = FollowerReplicaUtil.newFollowerReplica("leader", laggingReplicaTree, 100, 10);
+
+        final ActorContext actorContext = mock(ActorContext.class);
+        doReturn(DatastoreContext.newBuilder().followerReadMaxLag(MAX_LAG).build()).when(actorContext)
+            .getDatastoreContext();
+
+        final ClientActorContext clientContext = AccessClientUtil.createClientActorContext(system,
+            clientContextProbe.ref(), CLIENT_ID, PERSISTENCE_ID);
+        client = new AbstractDataStoreClientBehavior(clientContext, new TestResolver(actorContext)) {
+            @Override
+            Long resolveShardForPath(final YangInstanceIdentifier path) {
+                return REPLICA_PATH.equals(path) ? REPLICA_SHARD : LEADER_SHARD;
+            }
+        };
+
+        connect(REPLICA_SHARD);
+        connect(LEADER_SHARD);
+    }
+
+    @After
+    public void tearDown() {
+        JavaTestKit.shutdownActorSystem(system);
+    }
+
+    @Test
+    public void testShardBoundToReplica() throws Exception {
+        final ClientSnapshot snapshot = client.createSnapshot();
+        assertFalse(snapshot.getFollowerSnapshot(REPLICA_PATH).isPresent());
+
+        assertEquals(Optional.of(replicaData), getWithTimeout(snapshot.read(REPLICA_PATH)));
+        final FollowerReplica.Snapshot follower = snapshot.getFollowerSnapshot(REPLICA_PATH).get();
+        assertSame(replicaSnapshot, follower.getDataTreeSnapshot());
+        assertEquals(2, follower.getLagEntries());
+
+        // The replica falling behind does not move the shard to the leader, reads keep observing the same state
+        FollowerReplicaUtil.update(replica, 100, 10);
+        assertTrue(getWithTimeout(snapshot.exists(REPLICA_PATH)));
+        assertEquals(Optional.of(replicaData), getWithTimeout(snapshot.read(REPLICA_PATH)));
+        verify(replicaSnapshot, times(3)).readNode(REPLICA_PATH);
+        verify(replicaTree, times(1)).takeSnapshot();
+        verify(leaderTree, never()).takeSnapshot();
+        assertSame(follower, snapshot.getFollowerSnapshot(REPLICA_PATH).get());
+    }
+
+    @Test
+    public void testShardBoundToLeader() throws Exception {
+        final ClientSnapshot snapshot = client.createSnapshot();
+
+        assertEquals(Optional.of(leaderData), getWithTimeout(snapshot.read(LEADER_PATH)));
+        assertFalse(snapshot.getFollowerSnapshot(LEADER_PATH).isPresent());
+
+        // The replica catching up does not move the shard to the replica, reads keep observing the same state
+        FollowerReplicaUtil.update(laggingReplica, 12, 10);
+        assertTrue(getWithTimeout(snapshot.exists(LEADER_PATH)));
+        assertFalse(snapshot.getFollowerSnapshot(LEADER_PATH).isPresent());
+        verify(leaderSnapshot, times(2)).readNode(LEADER_PATH);
+        verify(laggingReplicaTree, never()).takeSnapshot();
+
+        // A new snapshot picks up the replica
+        final ClientSnapshot nextSnapshot = client.createSnapshot();
+        assertEquals(Optional.absent(), getWithTimeout(nextSnapshot.read(LEADER_PATH)));
+        assertTrue(nextSnapshot.getFollowerSnapshot(LEADER_PATH).isPresent());
+        verify(laggingReplicaTree).takeSnapshot();
+    }
+
+    @Test
+    public void testShardsBoundIndependently() throws Exception {
+        final ClientSnapshot snapshot = client.createSnapshot();
+
+        assertEquals(Optional.of(leaderData), getWithTimeout(snapshot.read(LEADER_PATH)));
+        assertEquals(Optional.of(replicaData), getWithTimeout(snapshot.read(REPLICA_PATH)));
+        assertFalse(snapshot.getFollowerSnapshot(LEADER_PATH).isPresent());
+        assertTrue(snapshot.getFollowerSnapshot(REPLICA_PATH).isPresent());
+        verify(leaderSnapshot, never()).readNode(REPLICA_PATH);
+    }
+
+    @Test
+    public void testLocalHistorySnapshotUsesLeader() throws Exception {
+        final ClientSnapshot snapshot = client.createLocalHistory().takeSnapshot();
+
+        assertEquals(Optional.of(leaderData), getWithTimeout(snapshot.read(REPLICA_PATH)));
+        assertFalse(snapshot.getFollowerSnapshot(REPLICA_PATH).isPresent());
+        verify(replicaTree, never()).takeSnapshot();
+    }
+
+    private void connect(final Long shard) {
+        client.getConnection(shard);
+        final InternalCommand<ShardBackendInfo> command = clientContextProbe.expectMsgClass(InternalCommand.class);
+        command.execute(client);
+    }
+
+    private final class TestResolver extends AbstractShardBackendResolver {
+        TestResolver(final ActorContext actorContext) {
+            super(CLIENT_ID, actorContext);
+        }
+
+        @Override
+        public CompletionStage<ShardBackendInfo> getBackendInfo(final Long cookie) {
+            final FollowerReplica follower = REPLICA_SHARD.equals(cookie) ? replica : laggingReplica;
+            return CompletableFuture.completedFuture(new ShardBackendInfo(backendProbe.ref(), 0, ABIVersion.current(),
+                follower.getShardName(), UnsignedLong.fromLongBits(cookie), java.util.Optional.of(leaderTree), 3,
+                java.util.Optional.empty(), java.util.Optional.of(follower)));
+        }
+
+        @Override
+        public CompletionStage<ShardBackendInfo> refreshBackendInfo(final Long cookie,
+                final ShardBackendInfo staleInfo) {
+            return getBackendInfo(cookie);
+        }
+    }
+}
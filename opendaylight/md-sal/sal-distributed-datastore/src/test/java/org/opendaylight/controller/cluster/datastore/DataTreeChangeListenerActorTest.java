@@ -64,7 +64,8 @@ public class DataTreeChangeListenerActorTest extends AbstractActorTest {
                 new Within(duration("1 seconds")) {
                     @Override
                     protected void run() {
-                        expectNoMsg();
+                        // The notification is dropped, but still acknowledged so the publisher does not stall
+                        expectMsgClass(DataTreeChangedReply.class);
 
                         Mockito.verify(mockListener, Mockito.never())
                                 .onDataTreeChanged(Matchers.anyCollectionOf(DataTreeCandidate.class));
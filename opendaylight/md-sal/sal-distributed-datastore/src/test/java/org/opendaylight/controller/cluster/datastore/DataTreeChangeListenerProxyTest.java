@@ -131,6 +131,36 @@ public class DataTreeChangeListenerProxyTest extends AbstractActorTest {
         };
     }
 
+    @Test(timeout = 10000)
+    public void testSuccessfulRegistrationForCoalescingListener() {
+        new JavaTestKit(getSystem()) {
+            {
+                ActorContext actorContext = new ActorContext(getSystem(), getRef(), mock(ClusterWrapper.class),
+                        mock(Configuration.class));
+
+                CoalescingDOMDataTreeChangeListener mockCoalescingListener = mock(
+                        CoalescingDOMDataTreeChangeListener.class);
+
+                final YangInstanceIdentifier path = YangInstanceIdentifier.of(TestModel.TEST_QNAME);
+                final DataTreeChangeListenerProxy<CoalescingDOMDataTreeChangeListener> proxy =
+                        new DataTreeChangeListenerProxy<>(actorContext, mockCoalescingListener, path);
+
+                new Thread(() -> proxy.init("shard-1")).start();
+
+                FiniteDuration timeout = duration("5 seconds");
+                expectMsgClass(timeout, FindLocalShard.class);
+                reply(new LocalShardFound(getRef()));
+
+                RegisterDataTreeChangeListener registerMsg = expectMsgClass(timeout,
+                        RegisterDataTreeChangeListener.class);
+                Assert.assertEquals("isRegisterOnAllInstances", false, registerMsg.isRegisterOnAllInstances());
+                Assert.assertEquals("isCoalescing", true, registerMsg.isCoalescing());
+
+                proxy.close();
+            }
+        };
+    }
+
     @Test(timeout = 10000)
     public void testLocalShardNotFound() {
         new JavaTestKit(getSystem()) {
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.DataTreeChangeListenerQueueInfo;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+public class DataTreeChangeListenerQueueTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+    private final List<List<DataTreeCandidate>> delivered = new ArrayList<>();
+
+    private DataTreeChangeListenerQueue queue;
+
+    @Before
+    public void setUp() {
+        queue = new DataTreeChangeListenerQueue(mock(DOMDataTreeChangeListener.class), "lane", 3,
+            (unused, changes) -> delivered.add(changes), ticker);
+    }
+
+    @Test
+    public void testImmediateDelivery() {
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        queue.enqueue(ImmutableList.of(candidate));
+
+        assertEquals(1, delivered.size());
+        assertEquals(ImmutableList.of(candidate), delivered.get(0));
+
+        DataTreeChangeListenerQueueInfo info = queue.toInfo();
+        assertEquals(0, info.getQueueDepth());
+        assertEquals(1, info.getInFlightBatches());
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+        queue.onDelivered();
+
+        info = queue.toInfo();
+        assertEquals(0, info.getInFlightBatches());
+        assertEquals(0, info.getLagMillis());
+        assertEquals(5, info.getMaxLagMillis());
+        assertEquals(1, info.getDeliveredBatchCount());
+    }
+
+    @Test
+    public void testCoalescing() {
+        final DataTreeCandidate first = mock(DataTreeCandidate.class);
+        final DataTreeCandidate second = mock(DataTreeCandidate.class);
+        final DataTreeCandidate third = mock(DataTreeCandidate.class);
+
+        queue.enqueue(ImmutableList.of(first));
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        queue.enqueue(ImmutableList.of(second));
+        queue.enqueue(ImmutableList.of(third));
+        assertEquals(1, delivered.size());
+
+        DataTreeChangeListenerQueueInfo info = queue.toInfo();
+        assertEquals(2, info.getQueueDepth());
+        assertEquals(10, info.getLagMillis());
+
+        queue.onDelivered();
+        assertEquals(2, delivered.size());
+        assertEquals(ImmutableList.of(second, third), delivered.get(1));
+
+        info = queue.toInfo();
+        assertEquals(0, info.getQueueDepth());
+        assertEquals(1, info.getInFlightBatches());
+        assertEquals(2, info.getCoalescedChangeCount());
+        assertEquals(0, info.getOverflowCount());
+    }
+
+    @Test
+    public void testOverflow() {
+        queue.enqueue(ImmutableList.of(mock(DataTreeCandidate.class)));
+        queue.enqueue(ImmutableList.of(mock(DataTreeCandidate.class), mock(DataTreeCandidate.class)));
+        assertEquals(1, delivered.size());
+
+        queue.enqueue(ImmutableList.of(mock(DataTreeCandidate.class)));
+        assertEquals(2, delivered.size());
+        assertEquals(3, delivered.get(1).size());
+
+        final DataTreeChangeListenerQueueInfo info = queue.toInfo();
+        assertEquals(0, info.getQueueDepth());
+        assertEquals(2, info.getInFlightBatches());
+        assertEquals(1, info.getOverflowCount());
+
+        queue.onDelivered();
+        queue.onDelivered();
+        assertEquals(0, queue.toInfo().getInFlightBatches());
+        assertEquals(2, delivered.size());
+    }
+
+    @Test
+    public void testCoalescingListener() {
+        queue = new DataTreeChangeListenerQueue(mock(DOMDataTreeChangeListener.class), "lane", 3, true,
+            (unused, changes) -> delivered.add(changes), ticker);
+
+        queue.enqueue(ImmutableList.of(unmodifiedCandidate()));
+        queue.enqueue(ImmutableList.of(unmodifiedCandidate(), unmodifiedCandidate()));
+        queue.enqueue(ImmutableList.of(unmodifiedCandidate()));
+        assertEquals(1, delivered.size());
+
+        // The queue has been merged instead of being sent
+        final DataTreeChangeListenerQueueInfo info = queue.toInfo();
+        assertEquals(1, info.getQueueDepth());
+        assertEquals(0, info.getOverflowCount());
+
+        queue.onDelivered();
+        assertEquals(2, delivered.size());
+        assertEquals(1, delivered.get(1).size());
+        assertEquals(ModificationType.UNMODIFIED, delivered.get(1).get(0).getRootNode().getModificationType());
+    }
+
+    private static DataTreeCandidate unmodifiedCandidate() {
+        final DataTreeCandidateNode node = mock(DataTreeCandidateNode.class);
+        doReturn(ModificationType.UNMODIFIED).when(node).getModificationType();
+
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        doReturn(TestModel.TEST_PATH).when(candidate).getRootPath();
+        doReturn(node).when(candidate).getRootNode();
+        return candidate;
+    }
+}
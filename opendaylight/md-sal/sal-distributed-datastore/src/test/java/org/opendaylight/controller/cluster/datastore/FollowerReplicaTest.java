@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Ticker;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+
+public class FollowerReplicaTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    @Mock
+    private DataTree dataTree;
+    @Mock
+    private DataTreeSnapshot dataTreeSnapshot;
+
+    private FollowerReplica replica;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doReturn(dataTreeSnapshot).when(dataTree).takeSnapshot();
+        replica = new FollowerReplica("shard", dataTree, 1000, ticker);
+    }
+
+    @Test
+    public void testNotFollower() {
+        assertFalse(replica.takeSnapshot(10).isPresent());
+        verify(dataTree, never()).takeSnapshot();
+    }
+
+    @Test
+    public void testSnapshotWithinLag() {
+        replica.update(15, 10);
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+
+        final Optional<FollowerReplica.Snapshot> snapshot = replica.takeSnapshot(10);
+        assertTrue(snapshot.isPresent());
+        assertSame(dataTreeSnapshot, snapshot.get().getDataTreeSnapshot());
+        assertEquals(5, snapshot.get().getLagEntries());
+        assertEquals(200, snapshot.get().getLeaderContactAge(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testSnapshotLagging() {
+        replica.update(20, 10);
+        assertFalse(replica.takeSnapshot(10).isPresent());
+        assertTrue(replica.takeSnapshot(11).isPresent());
+    }
+
+    @Test
+    public void testLeaderContactExpired() {
+        replica.update(10, 10);
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+        assertFalse(replica.takeSnapshot(10).isPresent());
+
+        replica.update(11, 11);
+        assertTrue(replica.takeSnapshot(10).isPresent());
+    }
+
+    @Test
+    public void testInvalidate() {
+        replica.update(10, 10);
+        replica.invalidate();
+        assertFalse(replica.takeSnapshot(10).isPresent());
+
+        replica.update(10, 10);
+        assertEquals(0, replica.takeSnapshot(10).get().getLagEntries());
+    }
+
+    @Test
+    public void testCommitVersion() {
+        assertFalse(replica.getCommitVersion().isPresent());
+
+        replica.update(10, 8);
+        final FollowerReplica.CommitVersion version = replica.getCommitVersion().get();
+        replica.update(10, 10);
+        assertEquals(version, replica.getCommitVersion().get());
+
+        // A commit on the leader changes the version
+        replica.update(11, 10);
+        assertNotEquals(version, replica.getCommitVersion().get());
+
+        // So does a leader change, even if the commit index is the same
+        replica.invalidate();
+        assertFalse(replica.getCommitVersion().isPresent());
+        replica.update(10, 10);
+        assertNotEquals(version, replica.getCommitVersion().get());
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+        assertFalse(replica.getCommitVersion().isPresent());
+    }
+}
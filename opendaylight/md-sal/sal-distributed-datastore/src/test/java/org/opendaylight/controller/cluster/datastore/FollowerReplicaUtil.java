@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+
+/**
+ * Util class to access package private members of {@link FollowerReplica} for test purposes.
+ */
+public final class FollowerReplicaUtil {
+    private static final long MAX_LEADER_CONTACT_AGE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private FollowerReplicaUtil() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static FollowerReplica newFollowerReplica(final String shardName, final DataTree dataTree,
+            final long leaderCommitIndex, final long lastAppliedIndex) {
+        final FollowerReplica replica = new FollowerReplica(shardName, dataTree, MAX_LEADER_CONTACT_AGE_MILLIS);
+        replica.update(leaderCommitIndex, lastAppliedIndex);
+        return replica;
+    }
+
+    public static void update(final FollowerReplica replica, final long leaderCommitIndex,
+            final long lastAppliedIndex) {
+        replica.update(leaderCommitIndex, lastAppliedIndex);
+    }
+
+    public static void invalidate(final FollowerReplica replica) {
+        replica.invalidate();
+    }
+}
@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.datastore;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
@@ -33,7 +34,9 @@ import static org.opendaylight.controller.cluster.datastore.ShardDataTreeMocking
 import static org.opendaylight.controller.cluster.datastore.ShardDataTreeMocking.immediatePreCommit;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Strings;
 import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.primitives.UnsignedLong;
 import com.google.common.util.concurrent.FutureCallback;
@@ -44,18 +47,27 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
+import org.opendaylight.controller.cluster.datastore.node.utils.offheap.OffHeapLeafArena;
 import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
+import org.opendaylight.controller.cluster.datastore.persisted.ShardDataTreeSnapshot;
+import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotDeltaState;
+import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
+import org.opendaylight.controller.cluster.raft.persisted.Snapshot;
 import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
 import org.opendaylight.controller.md.cluster.datastore.model.PeopleModel;
 import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
@@ -64,6 +76,8 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 public class ShardDataTreeTest extends AbstractTest {
@@ -213,6 +227,66 @@ public class ShardDataTreeTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void testApplyIncrementalSnapshot() throws Exception {
+        immediatePayloadReplication(shardDataTree, mockShard);
+
+        addCar(shardDataTree, "altima");
+        addCar(shardDataTree, "optima");
+
+        final ShardSnapshotDeltaTracker tracker = new ShardSnapshotDeltaTracker();
+        final ShardSnapshotState baseState = tracker.newSnapshotState(shardDataTree.takeStateSnapshot());
+        assertNull(tracker.toDeltaState(shardDataTree.takeStateSnapshot()));
+        ((Snapshot.IncrementalState) baseState).persistedInFull();
+
+        addCar(shardDataTree, "murano");
+        removeCar(shardDataTree);
+
+        final ShardSnapshotDeltaState deltaState = SerializationUtils.clone(
+            tracker.toDeltaState(shardDataTree.takeStateSnapshot()));
+        assertEquals(ImmutableSet.of(CarsModel.newCarPath("murano"), CarsModel.newCarPath("altima")),
+            deltaState.getChanges().keySet());
+        assertEquals(false, deltaState.getChanges().get(CarsModel.newCarPath("altima")).isPresent());
+
+        final ShardDataTreeSnapshot resolved = deltaState.resolve(SerializationUtils.clone(baseState)).getSnapshot();
+        final ShardDataTree newDataTree = new ShardDataTree(mockShard, fullSchema, TreeType.OPERATIONAL);
+        newDataTree.applySnapshot(resolved);
+
+        assertEquals(getCars(shardDataTree), getCars(newDataTree));
+        assertEquals(shardDataTree.readNode(YangInstanceIdentifier.EMPTY).get(), resolved.getRootNode().get());
+    }
+
+    @Test
+    public void testOffHeapLeafStorage() throws Exception {
+        immediatePayloadReplication(shardDataTree, mockShard);
+        final OffHeapLeafArena arena = new OffHeapLeafArena();
+        shardDataTree.setOffHeapLeafArena(arena);
+
+        final String desc = Strings.repeat("description", 10);
+        final ContainerNode testNode = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+                .withChild(ImmutableNodes.leafNode(TestModel.DESC_QNAME, desc)).build();
+        doTransaction(shardDataTree, snapshot -> snapshot.write(TestModel.TEST_PATH, testNode));
+        assertEquals(1, arena.getStoredValues());
+
+        final YangInstanceIdentifier descPath = TestModel.TEST_PATH.node(TestModel.DESC_QNAME);
+        assertEquals(desc, shardDataTree.readNode(descPath).get().getValue());
+
+        // Data read back compares equal to the data written, either way
+        final NormalizedNode<?, ?> read = shardDataTree.readNode(TestModel.TEST_PATH).get();
+        assertEquals(testNode, read);
+        assertEquals(read, testNode);
+
+        // Snapshots carry the materialized values and are stored off-heap when applied
+        final ShardDataTree newDataTree = new ShardDataTree(mockShard, fullSchema, TreeType.OPERATIONAL);
+        final OffHeapLeafArena newArena = new OffHeapLeafArena();
+        newDataTree.setOffHeapLeafArena(newArena);
+        newDataTree.applySnapshot(SerializationUtils.clone(
+            new ShardSnapshotState(shardDataTree.takeStateSnapshot())).getSnapshot());
+        assertEquals(1, newArena.getStoredValues());
+        assertEquals(desc, newDataTree.readNode(descPath).get().getValue());
+    }
+
     @Test
     public void testPipelinedTransactionsWithCoordinatedCommits() throws Exception {
         final ShardDataTreeCohort cohort1 = newShardDataTreeCohort(snapshot ->
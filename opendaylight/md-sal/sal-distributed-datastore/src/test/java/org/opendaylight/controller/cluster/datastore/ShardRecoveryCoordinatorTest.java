@@ -8,6 +8,7 @@
 
 package org.opendaylight.controller.cluster.datastore;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -17,6 +18,7 @@ import java.io.IOException;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
 import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.MetadataShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
@@ -43,6 +45,7 @@ public class ShardRecoveryCoordinatorTest extends AbstractTest {
     private SchemaContext peopleSchemaContext;
     private SchemaContext carsSchemaContext;
     private ShardRecoveryCoordinator coordinator;
+    private ShardStats shardStats;
 
     @Before
     public void setUp() {
@@ -52,7 +55,8 @@ public class ShardRecoveryCoordinatorTest extends AbstractTest {
         final Shard mockShard = Mockito.mock(Shard.class);
 
         peopleDataTree = new ShardDataTree(mockShard, peopleSchemaContext, TreeType.OPERATIONAL);
-        coordinator = ShardRecoveryCoordinator.create(peopleDataTree, "foobar", FOO_LOGGER);
+        shardStats = new ShardStats("foobar", "DataStore", null);
+        coordinator = ShardRecoveryCoordinator.create(peopleDataTree, "foobar", FOO_LOGGER, shardStats);
         coordinator.startLogRecoveryBatch(10);
     }
 
@@ -67,6 +71,35 @@ public class ShardRecoveryCoordinatorTest extends AbstractTest {
         coordinator.applyCurrentLogRecoveryBatch();
     }
 
+    @Test
+    public void testAppendRecoveredLogEntriesAppliedInOrder() throws IOException {
+        final TipProducingDataTree dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(peopleSchemaContext);
+
+        for (int i = 0; i < 100; ++i) {
+            final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+            if (i % 2 == 0) {
+                modification.merge(PeopleModel.BASE_PATH, PeopleModel.create());
+            } else {
+                modification.delete(PeopleModel.BASE_PATH);
+            }
+            modification.ready();
+
+            final DataTreeCandidateTip candidate = dataTree.prepare(modification);
+            dataTree.commit(candidate);
+            coordinator.appendRecoveredLogEntry(CommitTransactionPayload.create(nextTransactionId(), candidate));
+        }
+
+        coordinator.applyCurrentLogRecoveryBatch();
+
+        assertFalse(readPeople(peopleDataTree).isPresent());
+        assertEquals(100, shardStats.getRecoveredLogEntryCount());
+        assertFalse(shardStats.isRecoveryComplete());
+
+        shardStats.setRecoveryComplete();
+        assertTrue(shardStats.isRecoveryComplete());
+    }
+
     @Test
     public void testApplyRecoverySnapshot() {
         coordinator.applyRecoverySnapshot(createSnapshot());
@@ -23,8 +23,10 @@ import akka.testkit.TestActorRef;
 import com.codahale.metrics.Snapshot;
 import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
 import com.google.common.base.Throwables;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -36,6 +38,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.cluster.access.client.AdaptiveConcurrencyLimit;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.ThreePhaseCommitCohortProxy.CohortInfo;
 import org.opendaylight.controller.cluster.datastore.messages.AbortTransaction;
@@ -49,6 +52,8 @@ import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.cluster.datastore.utils.MockClusterWrapper;
 import org.opendaylight.controller.cluster.datastore.utils.MockConfiguration;
 import org.opendaylight.controller.cluster.datastore.utils.PrimaryShardInfoFutureCache;
+import org.opendaylight.controller.cluster.datastore.utils.TransactionAdmissionController;
+import org.opendaylight.controller.cluster.datastore.utils.TransactionAdmissionController.Permit;
 import org.opendaylight.controller.cluster.raft.TestActorFactory;
 import org.opendaylight.controller.cluster.raft.utils.DoNothingActor;
 
@@ -85,11 +90,6 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
             public Timer getOperationTimer(final String operationName) {
                 return commitTimer;
             }
-
-            @Override
-            public double getTxCreationLimit() {
-                return 10.0;
-            }
         };
 
         doReturn(commitTimerContext).when(commitTimer).time();
@@ -148,6 +148,32 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
         verifyCohortActors();
     }
 
+    @Test
+    public void testParallelCanCommitYesWithTwoCohorts() throws Exception {
+        List<CohortInfo> cohorts = Arrays.asList(
+                newCohortInfo(new CohortActor.Builder(tx).expectCanCommit(
+                        CanCommitTransactionReply.yes(CURRENT_VERSION))),
+                newCohortInfo(new CohortActor.Builder(tx).expectCanCommit(
+                        CanCommitTransactionReply.yes(CURRENT_VERSION))));
+        ThreePhaseCommitCohortProxy proxy = new ThreePhaseCommitCohortProxy(newParallelActorContext(), cohorts, tx);
+
+        verifyCanCommit(proxy.canCommit(), true);
+        verifyCohortActors();
+    }
+
+    @Test
+    public void testParallelCanCommitNoWithTwoCohorts() throws Exception {
+        List<CohortInfo> cohorts = Arrays.asList(
+                newCohortInfo(new CohortActor.Builder(tx).expectCanCommit(
+                        CanCommitTransactionReply.yes(CURRENT_VERSION))),
+                newCohortInfo(new CohortActor.Builder(tx).expectCanCommit(
+                        CanCommitTransactionReply.no(CURRENT_VERSION))));
+        ThreePhaseCommitCohortProxy proxy = new ThreePhaseCommitCohortProxy(newParallelActorContext(), cohorts, tx);
+
+        verifyCanCommit(proxy.canCommit(), false);
+        verifyCohortActors();
+    }
+
     @Test(expected = TestException.class)
     public void testCanCommitWithExceptionFailure() throws Exception {
         ThreePhaseCommitCohortProxy proxy = new ThreePhaseCommitCohortProxy(actorContext, Arrays.asList(
@@ -192,6 +218,47 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
         verifyCohortActors();
     }
 
+    @Test
+    public void testAdmissionReleasedOnCommit() throws Exception {
+        final TransactionAdmissionController admission = new TransactionAdmissionController(
+            DatastoreContext.newBuilder().transactionAdmissionControlEnabled(true).build());
+        final Permit permit = admission.tryAdmit(Collections.singleton("shard"));
+        final AdaptiveConcurrencyLimit limit = admission.getLimit("shard");
+        assertEquals("getInFlight", 1, limit.getInFlight());
+
+        ThreePhaseCommitCohortProxy proxy = new ThreePhaseCommitCohortProxy(actorContext, Arrays.asList(
+                newCohortInfo(new CohortActor.Builder(tx).expectCanCommit(
+                        CanCommitTransactionReply.yes(CURRENT_VERSION)).expectCommit(
+                                CommitTransactionReply.instance(CURRENT_VERSION)))), tx, permit);
+
+        verifyCanCommit(proxy.canCommit(), true);
+        assertEquals("getInFlight", 1, limit.getInFlight());
+        verifySuccessfulFuture(proxy.preCommit());
+        verifySuccessfulFuture(proxy.commit());
+        verifyInFlight(limit, 0);
+        verifyCohortActors();
+
+        // Releasing is idempotent
+        proxy.abort();
+        assertEquals("getInFlight", 0, limit.getInFlight());
+    }
+
+    @Test
+    public void testAdmissionReleasedOnCanCommitNo() throws Exception {
+        final TransactionAdmissionController admission = new TransactionAdmissionController(
+            DatastoreContext.newBuilder().transactionAdmissionControlEnabled(true).build());
+        final AdaptiveConcurrencyLimit limit = admission.getLimit("shard");
+
+        ThreePhaseCommitCohortProxy proxy = new ThreePhaseCommitCohortProxy(actorContext, Arrays.asList(
+                newCohortInfo(new CohortActor.Builder(tx).expectCanCommit(
+                        CanCommitTransactionReply.no(CURRENT_VERSION)))), tx,
+                admission.tryAdmit(Collections.singleton("shard")));
+
+        verifyCanCommit(proxy.canCommit(), false);
+        verifyInFlight(limit, 0);
+        verifyCohortActors();
+    }
+
     @Test(expected = TestException.class)
     public void testCommitWithExceptionFailure() throws Exception {
         List<CohortInfo> cohorts = Arrays.asList(
@@ -272,6 +339,17 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
         }
     }
 
+    private ActorContext newParallelActorContext() {
+        return new ActorContext(getSystem(), actorFactory.createActor(Props.create(DoNothingActor.class)),
+                new MockClusterWrapper(), new MockConfiguration(),
+                DatastoreContext.newBuilder().parallelCommitEnabled(true).build(), new PrimaryShardInfoFutureCache()) {
+            @Override
+            public Timer getOperationTimer(final String operationName) {
+                return commitTimer;
+            }
+        };
+    }
+
     private CohortInfo newCohortInfo(final CohortActor.Builder builder, final short version) {
         TestActorRef<CohortActor> actor = actorFactory.createTestActor(builder.props()
                 .withDispatcher(Dispatchers.DefaultDispatcherId()), actorFactory.generateActorId("cohort"));
@@ -303,6 +381,15 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
         }
     }
 
+    private static void verifyInFlight(final AdaptiveConcurrencyLimit limit, final int expected) {
+        // Admission is released by a future callback, which may run after the caller observes completion
+        final Stopwatch sw = Stopwatch.createStarted();
+        while (limit.getInFlight() != expected && sw.elapsed(TimeUnit.SECONDS) < 5) {
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+        assertEquals("getInFlight", expected, limit.getInFlight());
+    }
+
     private void verifyCanCommit(final ListenableFuture<Boolean> future, final boolean expected) throws Exception {
         Boolean actual = verifySuccessfulFuture(future);
         assertEquals("canCommit", expected, actual);
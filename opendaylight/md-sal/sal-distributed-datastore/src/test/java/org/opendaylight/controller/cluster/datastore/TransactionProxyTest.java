@@ -18,6 +18,7 @@ import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.opendaylight.controller.cluster.datastore.TransactionType.READ_ONLY;
 import static org.opendaylight.controller.cluster.datastore.TransactionType.READ_WRITE;
@@ -57,11 +58,13 @@ import org.opendaylight.controller.cluster.datastore.messages.CloseTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryShardInfo;
+import org.opendaylight.controller.cluster.datastore.messages.ReadDataReply;
 import org.opendaylight.controller.cluster.datastore.modification.DeleteModification;
 import org.opendaylight.controller.cluster.datastore.modification.MergeModification;
 import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.DefaultShardStrategy;
 import org.opendaylight.controller.cluster.datastore.utils.NormalizedNodeAggregatorTest;
+import org.opendaylight.controller.cluster.datastore.utils.ReadCoalescer;
 import org.opendaylight.controller.cluster.raft.utils.DoNothingActor;
 import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
 import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
@@ -115,6 +118,71 @@ public class TransactionProxyTest extends AbstractTransactionProxyTest {
         assertEquals("Response NormalizedNode", expectedNode, readOptional.get());
     }
 
+    @Test
+    public void testCoalescedRead() throws Exception {
+        final ReadCoalescer readCoalescer = new ReadCoalescer();
+        doReturn(readCoalescer).when(mockActorContext).getReadCoalescer();
+
+        ActorRef actorRef = setupActorContextWithInitialCreateTransaction(getSystem(), READ_ONLY);
+
+        Promise<Object> readPromise = akka.dispatch.Futures.promise();
+        doReturn(readPromise.future()).when(mockActorContext).executeOperationAsync(
+                eq(actorSelection(actorRef)), eqReadData(), any(Timeout.class));
+
+        TransactionProxy first = new TransactionProxy(mockComponentFactory, READ_ONLY);
+        TransactionProxy second = new TransactionProxy(mockComponentFactory, READ_ONLY);
+
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> firstRead =
+                first.read(TestModel.TEST_PATH);
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> secondRead =
+                second.read(TestModel.TEST_PATH);
+
+        verify(mockActorContext, times(1)).executeOperationAsync(
+                eq(actorSelection(actorRef)), eqReadData(), any(Timeout.class));
+        assertEquals(1, readCoalescer.getSharedReadCount());
+
+        // A transaction allocated after a commit has completed has to issue its own read
+        readCoalescer.onCommitCompleted();
+
+        TransactionProxy third = new TransactionProxy(mockComponentFactory, READ_ONLY);
+        final CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> thirdRead =
+                third.read(TestModel.TEST_PATH);
+
+        verify(mockActorContext, times(2)).executeOperationAsync(
+                eq(actorSelection(actorRef)), eqReadData(), any(Timeout.class));
+
+        NormalizedNode<?, ?> expectedNode = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+        readPromise.success(new ReadDataReply(expectedNode, DataStoreVersions.CURRENT_VERSION));
+
+        assertEquals("Response NormalizedNode", expectedNode, firstRead.get(5, TimeUnit.SECONDS).get());
+        assertEquals("Response NormalizedNode", expectedNode, secondRead.get(5, TimeUnit.SECONDS).get());
+        assertEquals("Response NormalizedNode", expectedNode, thirdRead.get(5, TimeUnit.SECONDS).get());
+
+        // Completed reads are not shared
+        TransactionProxy fourth = new TransactionProxy(mockComponentFactory, READ_ONLY);
+        fourth.read(TestModel.TEST_PATH).get(5, TimeUnit.SECONDS);
+
+        verify(mockActorContext, times(3)).executeOperationAsync(
+                eq(actorSelection(actorRef)), eqReadData(), any(Timeout.class));
+    }
+
+    @Test
+    public void testReadWriteReadNotCoalesced() throws Exception {
+        doReturn(new ReadCoalescer()).when(mockActorContext).getReadCoalescer();
+
+        ActorRef actorRef = setupActorContextWithInitialCreateTransaction(getSystem(), READ_WRITE);
+
+        doReturn(readDataReply(null)).when(mockActorContext).executeOperationAsync(
+                eq(actorSelection(actorRef)), eqReadData(), any(Timeout.class));
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockComponentFactory, READ_WRITE);
+        transactionProxy.read(TestModel.TEST_PATH).get(5, TimeUnit.SECONDS);
+        transactionProxy.read(TestModel.TEST_PATH).get(5, TimeUnit.SECONDS);
+
+        verify(mockActorContext, times(2)).executeOperationAsync(
+                eq(actorSelection(actorRef)), eqReadData(), any(Timeout.class));
+    }
+
     @Test(expected = ReadFailedException.class)
     public void testReadWithInvalidReplyMessageType() throws Exception {
         ActorRef actorRef = setupActorContextWithInitialCreateTransaction(getSystem(), READ_ONLY);
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.entityownership;
+
+import static org.junit.Assert.assertEquals;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.ENTITY_OWNERS_PATH;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.candidatePath;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.entityEntryWithOwner;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.entityOwnersWithCandidate;
+import static org.opendaylight.controller.cluster.datastore.entityownership.EntityOwnersModel.entityPath;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.controller.cluster.datastore.AbstractActorTest;
+import org.opendaylight.controller.cluster.datastore.Shard;
+import org.opendaylight.controller.cluster.datastore.ShardDataTree;
+import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+
+public class EntityOwnershipIndexTest extends AbstractActorTest {
+    private static final String MEMBER_1 = "member-1";
+    private static final String MEMBER_2 = "member-2";
+    private static final String ENTITY_TYPE = "test";
+    private static final YangInstanceIdentifier ENTITY_ID1 =
+            YangInstanceIdentifier.of(QName.create("test", "2015-08-14", "entity1"));
+    private static final YangInstanceIdentifier ENTITY_ID2 =
+            YangInstanceIdentifier.of(QName.create("test", "2015-08-14", "entity2"));
+    private static final YangInstanceIdentifier ENTITY_PATH1 = entityPath(ENTITY_TYPE, ENTITY_ID1);
+    private static final YangInstanceIdentifier ENTITY_PATH2 = entityPath(ENTITY_TYPE, ENTITY_ID2);
+
+    private final ShardDataTree shardDataTree = new ShardDataTree(Mockito.mock(Shard.class),
+        SchemaContextHelper.entityOwners(), TreeType.OPERATIONAL);
+    private final EntityOwnershipIndex index = new EntityOwnershipIndex();
+
+    @Before
+    public void setup() {
+        shardDataTree.addCommitCallback(index);
+    }
+
+    @Test
+    public void testIncrementalUpdates() throws Exception {
+        writeNode(ENTITY_OWNERS_PATH, entityOwnersWithCandidate(ENTITY_TYPE, ENTITY_ID1, MEMBER_1));
+        writeNode(ENTITY_OWNERS_PATH, entityOwnersWithCandidate(ENTITY_TYPE, ENTITY_ID2, MEMBER_1));
+        writeNode(ENTITY_OWNERS_PATH, entityOwnersWithCandidate(ENTITY_TYPE, ENTITY_ID2, MEMBER_2));
+
+        assertEquals(2, index.size());
+        assertEquals(ImmutableSet.of(ENTITY_PATH1, ENTITY_PATH2), index.entitiesOwnedBy(""));
+        assertEquals(ImmutableSet.of(ENTITY_PATH1, ENTITY_PATH2), index.entitiesWithCandidate(MEMBER_1));
+        assertEquals(ImmutableSet.of(ENTITY_PATH2), index.entitiesWithCandidate(MEMBER_2));
+
+        writeNode(ENTITY_PATH1, entityEntryWithOwner(ENTITY_ID1, MEMBER_1));
+        writeNode(ENTITY_PATH2, entityEntryWithOwner(ENTITY_ID2, MEMBER_2));
+        assertEquals(ImmutableSet.of(ENTITY_PATH1), index.entitiesOwnedBy(MEMBER_1));
+        assertEquals(ImmutableSet.of(ENTITY_PATH2), index.entitiesOwnedBy(MEMBER_2));
+        assertEquals(ImmutableSet.of(), index.entitiesOwnedBy(""));
+
+        // Clearing the owner moves the entity back to the empty owner
+        writeNode(ENTITY_PATH2, entityEntryWithOwner(ENTITY_ID2, null));
+        assertEquals(ImmutableSet.of(), index.entitiesOwnedBy(MEMBER_2));
+        assertEquals(ImmutableSet.of(ENTITY_PATH2), index.entitiesOwnedBy(""));
+
+        deleteNode(candidatePath(ENTITY_TYPE, ENTITY_ID2, MEMBER_1));
+        assertEquals(ImmutableSet.of(ENTITY_PATH1), index.entitiesWithCandidate(MEMBER_1));
+        assertEquals(ImmutableSet.of(ENTITY_PATH2), index.entitiesWithCandidate(MEMBER_2));
+
+        deleteNode(ENTITY_PATH1);
+        assertEquals(1, index.size());
+        assertEquals(ImmutableSet.of(), index.entitiesOwnedBy(MEMBER_1));
+        assertEquals(ImmutableSet.of(), index.entitiesWithCandidate(MEMBER_1));
+
+        deleteNode(ENTITY_OWNERS_PATH);
+        assertEquals(0, index.size());
+        assertEquals(ImmutableSet.of(), index.entitiesWithCandidate(MEMBER_2));
+    }
+
+    @Test
+    public void testRebuild() throws Exception {
+        writeNode(ENTITY_OWNERS_PATH, entityOwnersWithCandidate(ENTITY_TYPE, ENTITY_ID1, MEMBER_1));
+        writeNode(ENTITY_PATH1, entityEntryWithOwner(ENTITY_ID1, MEMBER_1));
+
+        final EntityOwnershipIndex rebuilt = new EntityOwnershipIndex();
+        rebuilt.rebuild(shardDataTree.readNode(ENTITY_OWNERS_PATH));
+        assertEquals(1, rebuilt.size());
+        assertEquals(ImmutableSet.of(ENTITY_PATH1), rebuilt.entitiesOwnedBy(MEMBER_1));
+        assertEquals(ImmutableSet.of(ENTITY_PATH1), rebuilt.entitiesWithCandidate(MEMBER_1));
+    }
+
+    @Test
+    public void testReplaceRoot() throws Exception {
+        writeNode(ENTITY_OWNERS_PATH, entityOwnersWithCandidate(ENTITY_TYPE, ENTITY_ID1, MEMBER_1));
+        writeNode(ENTITY_OWNERS_PATH, entityOwnersWithCandidate(ENTITY_TYPE, ENTITY_ID2, MEMBER_2));
+
+        final ShardDataTree other = new ShardDataTree(Mockito.mock(Shard.class), SchemaContextHelper.entityOwners(),
+            TreeType.OPERATIONAL);
+        AbstractEntityOwnershipTest.writeNode(ENTITY_OWNERS_PATH,
+            entityOwnersWithCandidate(ENTITY_TYPE, ENTITY_ID1, MEMBER_2), other);
+
+        // Replace the whole tree, as is done when a snapshot is applied
+        final DataTreeModification mod = shardDataTree.newModification();
+        mod.delete(YangInstanceIdentifier.EMPTY);
+        mod.write(YangInstanceIdentifier.EMPTY, other.readNode(YangInstanceIdentifier.EMPTY).get());
+        AbstractEntityOwnershipTest.commit(shardDataTree, mod);
+
+        assertEquals(1, index.size());
+        assertEquals(ImmutableSet.of(), index.entitiesWithCandidate(MEMBER_1));
+        assertEquals(ImmutableSet.of(ENTITY_PATH1), index.entitiesWithCandidate(MEMBER_2));
+    }
+
+    private void writeNode(final YangInstanceIdentifier path, final NormalizedNode<?, ?> node)
+            throws DataValidationFailedException {
+        AbstractEntityOwnershipTest.writeNode(path, node, shardDataTree);
+    }
+
+    private void deleteNode(final YangInstanceIdentifier path) throws DataValidationFailedException {
+        AbstractEntityOwnershipTest.deleteNode(path, shardDataTree);
+    }
+}
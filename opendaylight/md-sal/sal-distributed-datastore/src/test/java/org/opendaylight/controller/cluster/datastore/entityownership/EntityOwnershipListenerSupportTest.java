@@ -9,6 +9,7 @@ package org.opendaylight.controller.cluster.datastore.entityownership;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -27,6 +28,7 @@ import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.opendaylight.controller.cluster.raft.TestActorFactory;
 import org.opendaylight.controller.cluster.raft.utils.DoNothingActor;
 import org.opendaylight.mdsal.eos.dom.api.DOMEntity;
@@ -161,4 +163,34 @@ public class EntityOwnershipListenerSupportTest extends AbstractEntityOwnershipT
         support.addEntityOwnershipListener(entityType1, mockListener2);
         support.removeEntityOwnershipListener(entityType1, mockListener2);
     }
+
+    @Test
+    public void testNotificationBatch() {
+        EntityOwnershipListenerSupport support = new EntityOwnershipListenerSupport(actorContext, "test");
+
+        DOMEntityOwnershipListener mockListener = mock(DOMEntityOwnershipListener.class);
+        String entityType = "type";
+        final DOMEntity entity1 = new DOMEntity(entityType, YangInstanceIdentifier.of(QName.create("test", "id1")));
+        final DOMEntity entity2 = new DOMEntity(entityType, YangInstanceIdentifier.of(QName.create("test", "id2")));
+        support.addEntityOwnershipListener(entityType, mockListener);
+
+        support.startNotificationBatch();
+        support.notifyEntityOwnershipListeners(entity1, false, true, true);
+        support.notifyEntityOwnershipListeners(entity2, true, false, true);
+
+        Uninterruptibles.sleepUninterruptibly(300, TimeUnit.MILLISECONDS);
+        verify(mockListener, never()).ownershipChanged(any(DOMEntityOwnershipChange.class));
+
+        support.flushNotifications();
+
+        verify(mockListener, timeout(5000)).ownershipChanged(ownershipChange(entity2, true, false, true));
+        InOrder inOrder = inOrder(mockListener);
+        inOrder.verify(mockListener).ownershipChanged(ownershipChange(entity1, false, true, true));
+        inOrder.verify(mockListener).ownershipChanged(ownershipChange(entity2, true, false, true));
+
+        // Notifications after the flush are delivered immediately
+        reset(mockListener);
+        support.notifyEntityOwnershipListeners(entity1, true, false, true);
+        verify(mockListener, timeout(5000)).ownershipChanged(ownershipChange(entity1, true, false, true));
+    }
 }
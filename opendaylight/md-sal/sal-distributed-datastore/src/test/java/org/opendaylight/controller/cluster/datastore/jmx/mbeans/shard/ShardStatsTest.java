@@ -118,6 +118,20 @@ public class ShardStatsTest {
         Assert.assertEquals(attribute, 2L);
     }
 
+    @Test
+    public void testReplicationBatchStatistics() throws Exception {
+        shardStats.recordReplicationBatch(1);
+        shardStats.recordReplicationBatch(1);
+        shardStats.recordReplicationBatch(5);
+        shardStats.recordReplicationBatch(100000);
+        shardStats.recordReplicationBatch(0);
+
+        Assert.assertEquals(4L, mbeanServer.getAttribute(testMBeanName, "ReplicationBatchCount"));
+        Assert.assertEquals(100000, mbeanServer.getAttribute(testMBeanName, "MaxReplicationBatchSize"));
+        Assert.assertEquals("1: 2, 4-7: 1, 2048+: 1",
+            mbeanServer.getAttribute(testMBeanName, "ReplicationBatchSizeDistribution"));
+    }
+
     @Test
     public void testResetTransactionCounters() throws Exception {
 
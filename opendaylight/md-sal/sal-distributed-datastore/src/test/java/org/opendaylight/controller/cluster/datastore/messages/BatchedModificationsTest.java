@@ -8,7 +8,11 @@
 package org.opendaylight.controller.cluster.datastore.messages;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
 import java.io.Serializable;
 import org.apache.commons.lang.SerializationUtils;
 import org.junit.Test;
@@ -18,6 +22,8 @@ import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
 import org.opendaylight.controller.cluster.datastore.modification.DeleteModification;
 import org.opendaylight.controller.cluster.datastore.modification.MergeModification;
 import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputDictionary;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeOutputDictionary;
 import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -57,7 +63,7 @@ public class BatchedModificationsTest extends AbstractTest {
 
         assertEquals("getVersion", DataStoreVersions.CURRENT_VERSION, clone.getVersion());
         assertEquals("getTransactionID", tx1, clone.getTransactionId());
-        assertEquals("isReady", true, clone.isReady());
+        assertTrue("isReady", clone.isReady());
         assertEquals("getTotalMessagesSent", 5, clone.getTotalMessagesSent());
 
         assertEquals("getModifications size", 3, clone.getModifications().size());
@@ -90,6 +96,95 @@ public class BatchedModificationsTest extends AbstractTest {
 
     }
 
+    @Test
+    public void testEncodedSerialization() throws IOException {
+        final NormalizedNode<?, ?> writeData = ImmutableContainerNodeBuilder.create().withNodeIdentifier(
+                new YangInstanceIdentifier.NodeIdentifier(TestModel.TEST_QNAME))
+                .withChild(ImmutableNodes.leafNode(TestModel.DESC_QNAME, "foo")).build();
+        final NormalizedNodeOutputDictionary outputDictionary = new NormalizedNodeOutputDictionary();
+
+        final TransactionIdentifier tx = nextTransactionId();
+        final BatchedModifications first = new BatchedModifications(tx, DataStoreVersions.CURRENT_VERSION);
+        first.addModification(new WriteModification(TestModel.TEST_PATH, writeData));
+        first.setTotalMessagesSent(1);
+        first.encodeModifications(outputDictionary);
+
+        final BatchedModifications second = new BatchedModifications(tx, DataStoreVersions.CURRENT_VERSION);
+        second.addModification(new MergeModification(TestModel.TEST_PATH, writeData));
+        second.addModification(new DeleteModification(TestModel.OUTER_LIST_PATH));
+        second.setTotalMessagesSent(2);
+        second.setReady(true);
+        second.encodeModifications(outputDictionary);
+
+        final BatchedModifications firstClone = (BatchedModifications) SerializationUtils.clone(
+                (Serializable) first.toSerializable());
+        final BatchedModifications secondClone = (BatchedModifications) SerializationUtils.clone(
+                (Serializable) second.toSerializable());
+        assertTrue("isEncoded", firstClone.isEncoded());
+        assertEquals("getModifications size", 0, firstClone.getModifications().size());
+
+        final NormalizedNodeInputDictionary inputDictionary = new NormalizedNodeInputDictionary();
+        firstClone.decodeModifications(inputDictionary, 0);
+        secondClone.decodeModifications(inputDictionary, 1);
+        assertFalse("isEncoded", secondClone.isEncoded());
+        assertEquals("isReady", true, secondClone.isReady());
+
+        final WriteModification write = (WriteModification) firstClone.getModifications().get(0);
+        assertEquals("getPath", TestModel.TEST_PATH, write.getPath());
+        assertEquals("getData", writeData, write.getData());
+
+        assertEquals("getModifications size", 2, secondClone.getModifications().size());
+        final MergeModification merge = (MergeModification) secondClone.getModifications().get(0);
+        assertEquals("getPath", TestModel.TEST_PATH, merge.getPath());
+        assertEquals("getData", writeData, merge.getData());
+        final DeleteModification delete = (DeleteModification) secondClone.getModifications().get(1);
+        assertEquals("getPath", TestModel.OUTER_LIST_PATH, delete.getPath());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEncodedOutOfOrder() throws IOException {
+        final BatchedModifications batched = new BatchedModifications(nextTransactionId(),
+            DataStoreVersions.CURRENT_VERSION);
+        batched.addModification(new DeleteModification(TestModel.TEST_PATH));
+        batched.setTotalMessagesSent(2);
+        batched.encodeModifications(new NormalizedNodeOutputDictionary());
+
+        batched.decodeModifications(new NormalizedNodeInputDictionary(), 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEncodeForPreviousVersion() throws IOException {
+        new BatchedModifications(nextTransactionId(), DataStoreVersions.BORON_VERSION).encodeModifications(
+            new NormalizedNodeOutputDictionary());
+    }
+
+    @Test
+    public void testAsPreviousVersion() {
+        final BatchedModifications batched = new BatchedModifications(nextTransactionId(),
+            DataStoreVersions.CURRENT_VERSION);
+        batched.addModification(new DeleteModification(TestModel.TEST_PATH));
+        batched.setReady(true);
+        batched.setTotalMessagesSent(5);
+        assertSame(batched, batched.asVersion(DataStoreVersions.CURRENT_VERSION));
+
+        final BatchedModifications clone = (BatchedModifications) SerializationUtils.clone(
+            (Serializable) batched.asVersion(DataStoreVersions.BORON_VERSION).toSerializable());
+        assertEquals("getVersion", DataStoreVersions.BORON_VERSION, clone.getVersion());
+        assertEquals("getTransactionID", batched.getTransactionId(), clone.getTransactionId());
+        assertTrue("isReady", clone.isReady());
+        assertEquals("getTotalMessagesSent", 5, clone.getTotalMessagesSent());
+        assertEquals("getModifications size", 1, clone.getModifications().size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEncodedAsPreviousVersion() throws IOException {
+        final BatchedModifications batched = new BatchedModifications(nextTransactionId(),
+            DataStoreVersions.CURRENT_VERSION);
+        batched.addModification(new DeleteModification(TestModel.TEST_PATH));
+        batched.encodeModifications(new NormalizedNodeOutputDictionary());
+        batched.asVersion(DataStoreVersions.BORON_VERSION);
+    }
+
     @Test
     public void testBatchedModificationsReplySerialization() {
         BatchedModificationsReply clone = (BatchedModificationsReply) SerializationUtils.clone(
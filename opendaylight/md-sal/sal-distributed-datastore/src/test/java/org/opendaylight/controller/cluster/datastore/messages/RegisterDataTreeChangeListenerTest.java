@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+
+/**
+ * Unit tests for RegisterDataTreeChangeListener.
+ */
+public class RegisterDataTreeChangeListenerTest {
+
+    @Test
+    public void testSerialization() throws Exception {
+        final RegisterDataTreeChangeListener actual = deserialize(true);
+        assertEquals("getPath", TestModel.TEST_PATH, actual.getPath());
+        assertTrue("isRegisterOnAllInstances", actual.isRegisterOnAllInstances());
+        assertTrue("isCoalescing", actual.isCoalescing());
+    }
+
+    @Test
+    public void testPreviousVersionSerialization() throws Exception {
+        final RegisterDataTreeChangeListener actual = deserialize(false);
+        assertEquals("getPath", TestModel.TEST_PATH, actual.getPath());
+        assertTrue("isRegisterOnAllInstances", actual.isRegisterOnAllInstances());
+        assertFalse("isCoalescing", actual.isCoalescing());
+    }
+
+    // Produces the same data as writeExternal(), without needing an actor system to serialize the listener
+    // reference, optionally omitting the coalescing flag as previous versions did. The data is followed by another
+    // object, so we also check the message does not read past its own data.
+    private static RegisterDataTreeChangeListener deserialize(final boolean withCoalescing) throws IOException,
+            ClassNotFoundException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            out.writeObject((Serializable) null);
+            SerializationUtils.serializePath(TestModel.TEST_PATH, out);
+            out.writeBoolean(true);
+            if (withCoalescing) {
+                out.writeBoolean(true);
+            }
+            out.writeObject(new Trailer(42));
+        }
+
+        final RegisterDataTreeChangeListener ret = new RegisterDataTreeChangeListener();
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            ret.readExternal(in);
+            assertEquals("Trailer", 42, ((Trailer) in.readObject()).value);
+        }
+        return ret;
+    }
+
+    private static final class Trailer implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final int value;
+
+        Trailer(final int value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+
+public class DataTreeCandidateAggregatorTest {
+    private TipProducingDataTree dataTree;
+    private NormalizedNode<?, ?> initialTestNode;
+
+    @Before
+    public void setUp() throws DataValidationFailedException {
+        dataTree = InMemoryDataTreeFactory.getInstance().create(TreeType.OPERATIONAL);
+        dataTree.setSchemaContext(TestModel.createTestContext());
+
+        initialTestNode = TestModel.testNodeWithOuter();
+        commit(mod -> mod.write(TestModel.TEST_PATH, initialTestNode));
+    }
+
+    @Test
+    public void testMergeDistinctChildren() throws DataValidationFailedException {
+        final DataTreeCandidate first = commit(mod -> mod.write(TestModel.outerEntryPath(1),
+            ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1)));
+        final DataTreeCandidate second = commit(mod -> mod.write(TestModel.outerEntryPath(2),
+            ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2)));
+
+        final List<DataTreeCandidate> merged = DataTreeCandidateAggregator.aggregate(ImmutableList.of(first, second));
+        assertEquals(1, merged.size());
+
+        final DataTreeCandidateNode outerList = merged.get(0).getRootNode()
+                .getModifiedChild(TestModel.TEST_PATH.getLastPathArgument())
+                .getModifiedChild(TestModel.OUTER_LIST_PATH.getLastPathArgument());
+        assertNotNull(outerList);
+        assertEquals(ModificationType.SUBTREE_MODIFIED, outerList.getModificationType());
+        assertEquals(2, outerList.getChildNodes().size());
+        assertEquals(ModificationType.WRITE,
+            outerList.getModifiedChild(TestModel.outerEntryKey(1)).getModificationType());
+        assertEquals(ModificationType.WRITE,
+            outerList.getModifiedChild(TestModel.outerEntryKey(2)).getModificationType());
+        assertSame(second.getRootNode().getDataAfter().get(), merged.get(0).getRootNode().getDataAfter().get());
+    }
+
+    @Test
+    public void testMergeCancellingChanges() throws DataValidationFailedException {
+        final DataTreeCandidate first = commit(mod -> mod.write(TestModel.outerEntryPath(1),
+            ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1)));
+        final DataTreeCandidate second = commit(mod -> mod.delete(TestModel.outerEntryPath(1)));
+
+        final List<DataTreeCandidate> merged = DataTreeCandidateAggregator.aggregate(ImmutableList.of(first, second));
+        assertEquals(1, merged.size());
+        assertEquals(ModificationType.UNMODIFIED, merged.get(0).getRootNode().getModificationType());
+    }
+
+    @Test
+    public void testMergeReplacedSubtree() throws DataValidationFailedException {
+        final DataTreeCandidate first = commit(mod -> mod.write(TestModel.outerEntryPath(1),
+            ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1)));
+        final NormalizedNode<?, ?> replacement = TestModel.testNodeWithOuter(2);
+        final DataTreeCandidate second = commit(mod -> mod.write(TestModel.TEST_PATH, replacement));
+
+        final List<DataTreeCandidate> merged = DataTreeCandidateAggregator.aggregate(ImmutableList.of(first, second));
+        assertEquals(1, merged.size());
+
+        final DataTreeCandidateNode test = merged.get(0).getRootNode()
+                .getModifiedChild(TestModel.TEST_PATH.getLastPathArgument());
+        assertEquals(initialTestNode, test.getDataBefore().get());
+        assertEquals(replacement, test.getDataAfter().get());
+
+        final DataTreeCandidateNode outerList = test.getModifiedChild(
+            TestModel.OUTER_LIST_PATH.getLastPathArgument());
+        assertEquals(1, outerList.getChildNodes().size());
+        final DataTreeCandidateNode entry = outerList.getModifiedChild(TestModel.outerEntryKey(2));
+        assertEquals(ModificationType.WRITE, entry.getModificationType());
+        assertFalse(entry.getDataBefore().isPresent());
+    }
+
+    @Test
+    public void testDifferentRootPathsNotMerged() {
+        final DataTreeCandidate first = mockCandidate(TestModel.TEST_PATH);
+        final DataTreeCandidate second = mockCandidate(TestModel.TEST2_PATH);
+        final DataTreeCandidate third = mockCandidate(TestModel.TEST_PATH);
+
+        assertEquals(ImmutableList.of(first, second, third),
+            DataTreeCandidateAggregator.aggregate(ImmutableList.of(first, second, third)));
+    }
+
+    private DataTreeCandidate commit(final Consumer<DataTreeModification> operation)
+            throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        operation.accept(mod);
+        mod.ready();
+        dataTree.validate(mod);
+
+        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        dataTree.commit(candidate);
+        return candidate;
+    }
+
+    private static DataTreeCandidate mockCandidate(final YangInstanceIdentifier rootPath) {
+        final DataTreeCandidate candidate = mock(DataTreeCandidate.class);
+        doReturn(rootPath).when(candidate).getRootPath();
+        return candidate;
+    }
+}
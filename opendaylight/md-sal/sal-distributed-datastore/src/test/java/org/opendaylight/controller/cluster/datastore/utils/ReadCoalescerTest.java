@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.FollowerReplica;
+import org.opendaylight.controller.cluster.datastore.FollowerReplicaUtil;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+
+public class ReadCoalescerTest {
+    private static final String SHARD = "shard";
+
+    private ReadCoalescer readCoalescer;
+    private FollowerReplica replica;
+
+    @Before
+    public void setUp() {
+        readCoalescer = new ReadCoalescer();
+        replica = FollowerReplicaUtil.newFollowerReplica(SHARD, mock(DataTree.class), 10, 10);
+    }
+
+    private ListenableFuture<Boolean> read(final long version, final SettableFuture<Boolean> backend) {
+        return readCoalescer.read(SHARD, TestModel.TEST_PATH, true, version, () -> backend);
+    }
+
+    private ListenableFuture<Boolean> cachedRead(final long version, final SettableFuture<Boolean> backend) {
+        return readCoalescer.read(SHARD, TestModel.TEST_PATH, true, version, replica.getCommitVersion().get(),
+            () -> backend);
+    }
+
+    @Test
+    public void testInFlightReadShared() {
+        final SettableFuture<Boolean> first = SettableFuture.create();
+        final long version = readCoalescer.currentVersion();
+
+        assertSame(first, read(version, first));
+        assertSame(first, read(version, SettableFuture.create()));
+        assertEquals(1, readCoalescer.getIssuedReadCount());
+        assertEquals(1, readCoalescer.getSharedReadCount());
+    }
+
+    @Test
+    public void testDistinctReadsNotShared() {
+        final SettableFuture<Boolean> first = SettableFuture.create();
+        final SettableFuture<Boolean> second = SettableFuture.create();
+        final SettableFuture<Boolean> third = SettableFuture.create();
+
+        assertSame(first, readCoalescer.read(SHARD, TestModel.TEST_PATH, true, 0, () -> first));
+        assertSame(second, readCoalescer.read(SHARD, TestModel.TEST_PATH, false, 0, () -> second));
+        assertSame(third, readCoalescer.read("other", TestModel.TEST_PATH, true, 0, () -> third));
+        assertEquals(3, readCoalescer.getIssuedReadCount());
+    }
+
+    @Test
+    public void testCompletedReadNotShared() {
+        final SettableFuture<Boolean> first = SettableFuture.create();
+        read(0, first);
+        first.set(Boolean.TRUE);
+
+        final SettableFuture<Boolean> second = SettableFuture.create();
+        assertSame(second, read(0, second));
+        assertEquals(2, readCoalescer.getIssuedReadCount());
+        assertEquals(0, readCoalescer.getSharedReadCount());
+    }
+
+    @Test
+    public void testCommitInvalidatesSharing() {
+        final SettableFuture<Boolean> first = SettableFuture.create();
+        final long oldVersion = readCoalescer.currentVersion();
+        read(oldVersion, first);
+
+        readCoalescer.onCommitCompleted();
+        final long newVersion = readCoalescer.currentVersion();
+
+        // A reader allocated after the commit cannot use the old result ...
+        final SettableFuture<Boolean> second = SettableFuture.create();
+        assertSame(second, read(newVersion, second));
+
+        // ... but a reader allocated before it can use the new one
+        assertSame(second, read(oldVersion, SettableFuture.create()));
+    }
+
+    @Test
+    public void testFailedReadNotShared() {
+        final SettableFuture<Boolean> first = SettableFuture.create();
+        read(0, first);
+        first.setException(new IllegalStateException("mock"));
+
+        final SettableFuture<Boolean> second = SettableFuture.create();
+        assertSame(second, read(0, second));
+    }
+
+    @Test
+    public void testCompletedReadCached() {
+        final SettableFuture<Boolean> first = SettableFuture.create();
+        cachedRead(0, first);
+        first.set(Boolean.TRUE);
+
+        // The replica hearing from the leader without a new commit does not invalidate the result
+        FollowerReplicaUtil.update(replica, 10, 10);
+        assertSame(first, cachedRead(0, SettableFuture.create()));
+        assertEquals(1, readCoalescer.getIssuedReadCount());
+        assertEquals(1, readCoalescer.getCachedReadCount());
+
+        // A read which does not know the backend version is not served from the cache
+        final SettableFuture<Boolean> second = SettableFuture.create();
+        assertSame(second, read(0, second));
+    }
+
+    @Test
+    public void testBackendCommitInvalidatesCache() {
+        final SettableFuture<Boolean> first = SettableFuture.create();
+        cachedRead(0, first);
+        first.set(Boolean.TRUE);
+
+        FollowerReplicaUtil.update(replica, 11, 10);
+        final SettableFuture<Boolean> second = SettableFuture.create();
+        assertSame(second, cachedRead(0, second));
+        second.set(Boolean.FALSE);
+
+        // The new result is cached at the new version
+        assertSame(second, cachedRead(0, SettableFuture.create()));
+        assertEquals(2, readCoalescer.getIssuedReadCount());
+        assertEquals(1, readCoalescer.getCachedReadCount());
+    }
+
+    @Test
+    public void testFrontendCommitInvalidatesCache() {
+        final SettableFuture<Boolean> first = SettableFuture.create();
+        cachedRead(readCoalescer.currentVersion(), first);
+        first.set(Boolean.TRUE);
+
+        // The backend has not reported the commit yet, but the frontend knows about it
+        readCoalescer.onCommitCompleted();
+        final SettableFuture<Boolean> second = SettableFuture.create();
+        assertSame(second, cachedRead(readCoalescer.currentVersion(), second));
+    }
+
+    @Test
+    public void testLeaderChangeInvalidatesCache() {
+        final SettableFuture<Boolean> first = SettableFuture.create();
+        cachedRead(0, first);
+        first.set(Boolean.TRUE);
+
+        // The new leader reports the same commit index
+        FollowerReplicaUtil.invalidate(replica);
+        FollowerReplicaUtil.update(replica, 10, 10);
+
+        final SettableFuture<Boolean> second = SettableFuture.create();
+        assertSame(second, cachedRead(0, second));
+        assertEquals(0, readCoalescer.getCachedReadCount());
+    }
+
+    @Test
+    public void testFailedReadNotCached() {
+        final SettableFuture<Boolean> first = SettableFuture.create();
+        cachedRead(0, first);
+        first.setException(new IllegalStateException("mock"));
+
+        final SettableFuture<Boolean> second = SettableFuture.create();
+        assertSame(second, cachedRead(0, second));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.access.client.AdaptiveConcurrencyLimit;
+import org.opendaylight.controller.cluster.datastore.DatastoreContext;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.ShardAdmissionInfo;
+import org.opendaylight.controller.cluster.datastore.utils.TransactionAdmissionController.Permit;
+
+public class TransactionAdmissionControllerTest {
+    private TransactionAdmissionController controller;
+
+    @Before
+    public void setUp() {
+        controller = new TransactionAdmissionController(DatastoreContext.newBuilder()
+            .transactionAdmissionControlEnabled(true).transactionAdmissionMaxLimit(50).build());
+    }
+
+    @Test
+    public void testGetLimit() {
+        final AdaptiveConcurrencyLimit limit = controller.getLimit("cars");
+        assertSame(limit, controller.getLimit("cars"));
+        assertNotSame(limit, controller.getLimit("people"));
+        assertSame(limit, controller.getBackendLimit("cars").get());
+        assertTrue(controller.isEnabled());
+    }
+
+    @Test
+    public void testDisabled() {
+        controller = new TransactionAdmissionController(DatastoreContext.newBuilder().build());
+        assertFalse(controller.isEnabled());
+        assertFalse(controller.getBackendLimit("cars").isPresent());
+        assertSame(Permit.NOOP, controller.tryAdmit(ImmutableList.of("cars")));
+        assertTrue(controller.getShardAdmissionInfo().isEmpty());
+    }
+
+    @Test
+    public void testAdmitEmpty() {
+        assertSame(Permit.NOOP, controller.tryAdmit(Collections.emptyList()));
+        assertTrue(controller.getShardAdmissionInfo().isEmpty());
+    }
+
+    @Test
+    public void testPermitSucceeded() {
+        final Permit permit = controller.tryAdmit(ImmutableList.of("cars", "people"));
+        assertEquals(1, controller.getLimit("cars").getInFlight());
+        assertEquals(1, controller.getLimit("people").getInFlight());
+
+        permit.succeeded();
+        permit.succeeded();
+        permit.failed();
+        assertEquals(0, controller.getLimit("cars").getInFlight());
+        assertEquals(0, controller.getLimit("people").getInFlight());
+    }
+
+    @Test
+    public void testPermitFailed() {
+        final int initial = controller.getLimit("cars").getLimit();
+        final Permit permit = controller.tryAdmit(ImmutableList.of("cars"));
+
+        permit.failed();
+        permit.failed();
+        assertEquals(0, controller.getLimit("cars").getInFlight());
+        assertTrue(controller.getLimit("cars").getLimit() < initial);
+    }
+
+    @Test
+    public void testShardIsolation() {
+        final int initial = controller.getLimit("people").getLimit();
+        for (int i = 0; i < 10; ++i) {
+            controller.tryAdmit(ImmutableList.of("cars")).failed();
+        }
+
+        assertEquals(initial, controller.getLimit("people").getLimit());
+        assertEquals(0, controller.getLimit("people").getRejectedCount());
+    }
+
+    @Test
+    public void testAdmitRejected() {
+        final AdaptiveConcurrencyLimit limit = controller.getLimit("cars");
+        final int count = limit.getLimit();
+        for (int i = 0; i < count; ++i) {
+            assertNotNull(controller.tryAdmit(ImmutableList.of("cars")));
+        }
+
+        // The transaction is not admitted to either shard and the rejection does not affect the limit
+        assertNull(controller.tryAdmit(ImmutableList.of("people", "cars")));
+        assertEquals(count, limit.getInFlight());
+        assertEquals(count, limit.getLimit());
+        assertEquals(1, limit.getRejectedCount());
+        assertEquals(0, controller.getLimit("people").getInFlight());
+    }
+
+    @Test
+    public void testGetShardAdmissionInfo() {
+        controller.tryAdmit(ImmutableList.of("cars"));
+
+        final List<ShardAdmissionInfo> infos = controller.getShardAdmissionInfo();
+        assertEquals(1, infos.size());
+
+        final ShardAdmissionInfo info = infos.get(0);
+        assertEquals("cars", info.getShardName());
+        assertEquals(1, info.getInFlight());
+        assertEquals(AdaptiveConcurrencyLimit.DEFAULT_INITIAL_LIMIT, info.getLimit());
+    }
+}
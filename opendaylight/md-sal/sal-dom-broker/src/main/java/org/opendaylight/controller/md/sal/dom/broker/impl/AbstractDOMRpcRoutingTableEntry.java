@@ -8,24 +8,29 @@
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.CheckedFuture;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcAvailabilityListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.yangtools.triemap.TrieMap;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
+/**
+ * An entry in the {@link DOMRpcRoutingTable}, holding the implementations of a single RPC type, indexed by their
+ * context. The index is an immutable {@link TrieMap} snapshot: adding or removing implementations takes a mutable
+ * snapshot of it, which shares structure with the original, so the cost of an update is proportional to the number
+ * of contexts it touches, not to the number of contexts already registered.
+ */
 abstract class AbstractDOMRpcRoutingTableEntry {
     private final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls;
     private final SchemaPath schemaPath;
@@ -41,7 +46,8 @@ abstract class AbstractDOMRpcRoutingTableEntry {
     }
 
     final List<DOMRpcImplementation> getImplementations(final YangInstanceIdentifier context) {
-        return impls.get(context);
+        // TrieMap does not allow null keys, RPCs without a context are registered with an empty identifier
+        return context == null ? null : impls.get(context);
     }
 
     final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> getImplementations() {
@@ -49,7 +55,7 @@ abstract class AbstractDOMRpcRoutingTableEntry {
     }
 
     final boolean containsContext(final YangInstanceIdentifier contextReference) {
-        return impls.containsKey(contextReference);
+        return contextReference != null && impls.containsKey(contextReference);
     }
 
     final Set<YangInstanceIdentifier> registeredIdentifiers(final DOMRpcAvailabilityListener listener) {
@@ -60,53 +66,71 @@ abstract class AbstractDOMRpcRoutingTableEntry {
      * Adds an entry to the DOM RPC routing table.
      *
      * @param implementation RPC implementation
-     * @param newRpcs List of new RPCs, must be mutable
+     * @param newRpcs Collection of new RPC contexts
      */
     final AbstractDOMRpcRoutingTableEntry add(final DOMRpcImplementation implementation,
-            final List<YangInstanceIdentifier> newRpcs) {
-        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-        for (final Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : impls.entrySet()) {
-            if (newRpcs.remove(ve.getKey())) {
-                final List<DOMRpcImplementation> i = new ArrayList<>(ve.getValue().size() + 1);
-                i.addAll(ve.getValue());
+            final Collection<YangInstanceIdentifier> newRpcs) {
+        final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = mutableCopy(impls);
+        for (final YangInstanceIdentifier ii : newRpcs) {
+            final List<DOMRpcImplementation> existing = vb.get(ii);
+            final List<DOMRpcImplementation> i;
+            if (existing != null) {
+                i = new ArrayList<>(existing.size() + 1);
+                i.addAll(existing);
                 i.add(implementation);
 
                 // New implementation is at the end, this will move it to be the last among implementations
                 // with equal cost -- relying on sort() being stable.
                 i.sort(Comparator.comparingLong(DOMRpcImplementation::invocationCost));
-                vb.put(ve.getKey(), i);
             } else {
-                vb.put(ve);
+                i = new ArrayList<>(1);
+                i.add(implementation);
             }
-        }
-        for (final YangInstanceIdentifier ii : newRpcs) {
-            final List<DOMRpcImplementation> impl = new ArrayList<>(1);
-            impl.add(implementation);
-            vb.put(ii, impl);
+            vb.put(ii, i);
         }
 
-        return newInstance(vb.build());
+        return newInstance(vb.immutableSnapshot());
     }
 
     final AbstractDOMRpcRoutingTableEntry remove(final DOMRpcImplementation implementation,
-            final List<YangInstanceIdentifier> removed) {
-        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-        for (final Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : impls.entrySet()) {
-            if (removed.remove(ve.getKey())) {
-                final List<DOMRpcImplementation> i = new ArrayList<>(ve.getValue());
+            final Collection<YangInstanceIdentifier> removed) {
+        final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = mutableCopy(impls);
+        for (final YangInstanceIdentifier ii : removed) {
+            final List<DOMRpcImplementation> existing = vb.get(ii);
+            if (existing != null) {
+                final List<DOMRpcImplementation> i = new ArrayList<>(existing);
                 i.remove(implementation);
                 // We could trimToSize(), but that may perform another copy just to get rid
                 // of a single element. That is probably not worth the trouble.
                 if (!i.isEmpty()) {
-                    vb.put(ve.getKey(), i);
+                    vb.put(ii, i);
+                } else {
+                    vb.remove(ii);
                 }
-            } else {
-                vb.put(ve);
             }
         }
 
-        final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> v = vb.build();
-        return v.isEmpty() ? null : newInstance(v);
+        // Checking the iterator avoids computing the size of the map
+        final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> v = vb.immutableSnapshot();
+        return v.keySet().iterator().hasNext() ? newInstance(v) : null;
+    }
+
+    /**
+     * Create a mutable copy of an implementation map. {@link TrieMap}s are snapshotted in constant time, other maps
+     * are copied.
+     *
+     * @param impls Implementation map
+     * @return A mutable {@link TrieMap}
+     */
+    static TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> mutableCopy(
+            final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
+        if (impls instanceof TrieMap) {
+            return ((TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>>) impls).mutableSnapshot();
+        }
+
+        final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> ret = TrieMap.create();
+        ret.putAll(impls);
+        return ret;
     }
 
     protected abstract CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(NormalizedNode<?, ?> input);
@@ -22,6 +22,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -37,6 +38,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistrati
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
+import org.opendaylight.controller.md.sal.dom.broker.impl.jmx.RpcAvailabilityStatsMXBeanImpl;
 import org.opendaylight.controller.md.sal.dom.spi.AbstractDOMRpcImplementationRegistration;
 import org.opendaylight.controller.sal.core.api.model.SchemaService;
 import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
@@ -47,6 +49,16 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
+/**
+ * Router dispatching RPC invocations to registered {@link DOMRpcImplementation}s.
+ *
+ * <p>
+ * Changes to RPC availability are reported to {@link DOMRpcAvailabilityListener}s from a single notification thread.
+ * Changes made while a notification is pending are coalesced into it, so that each listener receives a single
+ * callback with the net set of identifiers which became unavailable, followed by a single callback with those which
+ * became available. Batch sizes and the delay between a change and its delivery are exposed through
+ * {@link org.opendaylight.controller.md.sal.dom.broker.impl.jmx.RpcAvailabilityStatsMXBean}.
+ */
 public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcProviderService, SchemaContextListener {
     private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
             .setNameFormat("DOMRpcRouter-listener-%s").setDaemon(true).build();
@@ -56,11 +68,22 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
     @GuardedBy("this")
     private Collection<Registration<?>> listeners = Collections.emptyList();
 
+    /**
+     * Notification which has been scheduled, but has not been picked up by the notification thread yet. Further
+     * changes are coalesced into it.
+     */
+    @GuardedBy("this")
+    private PendingNotification pendingNotification;
+
+    private final RpcAvailabilityStatsMXBeanImpl availabilityStats =
+            new RpcAvailabilityStatsMXBeanImpl("DOMRpcRouter");
+
     private volatile DOMRpcRoutingTable routingTable = DOMRpcRoutingTable.EMPTY;
 
     public static DOMRpcRouter newInstance(final SchemaService schemaService) {
         final DOMRpcRouter rpcRouter = new DOMRpcRouter();
         schemaService.registerSchemaContextListener(rpcRouter);
+        rpcRouter.availabilityStats.registerMBean();
         return rpcRouter;
     }
 
@@ -77,7 +100,7 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         final DOMRpcRoutingTable newTable = oldTable.add(implementation, rpcs);
         routingTable = newTable;
 
-        listenerNotifier.execute(() -> notifyAdded(newTable, implementation));
+        scheduleNotification(newTable, implementation);
 
         return new AbstractDOMRpcImplementationRegistration<T>(implementation) {
             @Override
@@ -93,7 +116,7 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         final DOMRpcRoutingTable newTable = oldTable.remove(implementation, rpcs);
         routingTable = newTable;
 
-        listenerNotifier.execute(() -> notifyRemoved(newTable, implementation));
+        scheduleNotification(newTable, implementation);
     }
 
     @Override
@@ -106,15 +129,29 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         listeners = ImmutableList.copyOf(Collections2.filter(listeners, i -> !reg.equals(i)));
     }
 
-    private synchronized void notifyAdded(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
-        for (Registration<?> l : listeners) {
-            l.addRpc(newTable, impl);
+    @GuardedBy("this")
+    private void scheduleNotification(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+        PendingNotification pending = pendingNotification;
+        if (pending == null) {
+            final PendingNotification created = new PendingNotification(System.nanoTime());
+            listenerNotifier.execute(() -> notifyListeners(created));
+            pendingNotification = created;
+            pending = created;
         }
+
+        pending.table = newTable;
+        pending.impls.add(impl);
+        pending.changes++;
     }
 
-    private synchronized void notifyRemoved(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+    private synchronized void notifyListeners(final PendingNotification pending) {
+        if (pendingNotification == pending) {
+            pendingNotification = null;
+        }
+
+        availabilityStats.batchDelivered(pending.changes, System.nanoTime() - pending.startNanos);
         for (Registration<?> l : listeners) {
-            l.removeRpc(newTable, impl);
+            l.changeRpcs(pending.table, pending.impls);
         }
     }
 
@@ -127,6 +164,9 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         b.add(ret);
         listeners = b.build();
 
+        // Subsequent changes need to be reported after the initial table, hence they must not be coalesced into
+        // a notification scheduled before it
+        pendingNotification = null;
         listenerNotifier.execute(ret::initialTable);
         return ret;
     }
@@ -141,6 +181,19 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
     @Override
     public void close() {
         listenerNotifier.shutdown();
+        availabilityStats.unregisterMBean();
+    }
+
+    private static final class PendingNotification {
+        final Set<DOMRpcImplementation> impls = new HashSet<>();
+        final long startNanos;
+
+        DOMRpcRoutingTable table;
+        int changes;
+
+        PendingNotification(final long startNanos) {
+            this.startNanos = startNanos;
+        }
     }
 
     private static final class Registration<T extends DOMRpcAvailabilityListener> extends
@@ -174,9 +227,9 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
             }
         }
 
-        void addRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+        void changeRpcs(final DOMRpcRoutingTable newTable, final Set<DOMRpcImplementation> impls) {
             final T l = getInstance();
-            if (!l.acceptsImplementation(impl)) {
+            if (impls.stream().noneMatch(l::acceptsImplementation)) {
                 return;
             }
 
@@ -184,37 +237,18 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
             final MapDifference<SchemaPath, Set<YangInstanceIdentifier>> diff = Maps.difference(prevRpcs, rpcs);
 
             final Collection<DOMRpcIdentifier> added = new ArrayList<>();
+            final Collection<DOMRpcIdentifier> removed = new ArrayList<>();
             for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : diff.entriesOnlyOnRight().entrySet()) {
                 added.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
             }
-            for (Entry<SchemaPath, ValueDifference<Set<YangInstanceIdentifier>>> e : diff.entriesDiffering()
-                    .entrySet()) {
-                for (YangInstanceIdentifier i : Sets.difference(e.getValue().rightValue(), e.getValue().leftValue())) {
-                    added.add(DOMRpcIdentifier.create(e.getKey(), i));
-                }
-            }
-
-            prevRpcs = rpcs;
-            if (!added.isEmpty()) {
-                l.onRpcAvailable(added);
-            }
-        }
-
-        void removeRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
-            final T l = getInstance();
-            if (!l.acceptsImplementation(impl)) {
-                return;
-            }
-
-            final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs = Verify.verifyNotNull(newTable.getRpcs(l));
-            final MapDifference<SchemaPath, Set<YangInstanceIdentifier>> diff = Maps.difference(prevRpcs, rpcs);
-
-            final Collection<DOMRpcIdentifier> removed = new ArrayList<>();
             for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : diff.entriesOnlyOnLeft().entrySet()) {
                 removed.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
             }
             for (Entry<SchemaPath, ValueDifference<Set<YangInstanceIdentifier>>> e : diff.entriesDiffering()
                     .entrySet()) {
+                for (YangInstanceIdentifier i : Sets.difference(e.getValue().rightValue(), e.getValue().leftValue())) {
+                    added.add(DOMRpcIdentifier.create(e.getKey(), i));
+                }
                 for (YangInstanceIdentifier i : Sets.difference(e.getValue().leftValue(), e.getValue().rightValue())) {
                     removed.add(DOMRpcIdentifier.create(e.getKey(), i));
                 }
@@ -224,6 +258,9 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
             if (!removed.isEmpty()) {
                 l.onRpcUnavailable(removed);
             }
+            if (!added.isEmpty()) {
+                l.onRpcAvailable(added);
+            }
         }
     }
 }
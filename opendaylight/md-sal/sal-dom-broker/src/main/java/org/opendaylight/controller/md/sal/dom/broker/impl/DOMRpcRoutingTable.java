@@ -8,13 +8,10 @@
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,6 +26,7 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationNotAvailableException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.broker.spi.rpc.RpcRoutingStrategy;
+import org.opendaylight.yangtools.triemap.TrieMap;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -37,14 +35,22 @@ import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
+/**
+ * An immutable snapshot of RPC implementations, indexed by RPC type. Both this index and the per-type index of
+ * contexts kept by each {@link AbstractDOMRpcRoutingTableEntry} are immutable {@link TrieMap} snapshots, hence
+ * {@link #add(DOMRpcImplementation, Set)} and {@link #remove(DOMRpcImplementation, Set)} derive a new table by
+ * touching only the affected types and contexts, while invocations continue to read the previous table without
+ * any locking.
+ */
 final class DOMRpcRoutingTable {
 
-    static final DOMRpcRoutingTable EMPTY = new DOMRpcRoutingTable(ImmutableMap.of(), null);
+    static final DOMRpcRoutingTable EMPTY = new DOMRpcRoutingTable(
+        TrieMap.<SchemaPath, AbstractDOMRpcRoutingTableEntry>create().immutableSnapshot(), null);
 
-    private final Map<SchemaPath, AbstractDOMRpcRoutingTableEntry> rpcs;
+    private final TrieMap<SchemaPath, AbstractDOMRpcRoutingTableEntry> rpcs;
     private final SchemaContext schemaContext;
 
-    private DOMRpcRoutingTable(final Map<SchemaPath, AbstractDOMRpcRoutingTableEntry> rpcs,
+    private DOMRpcRoutingTable(final TrieMap<SchemaPath, AbstractDOMRpcRoutingTableEntry> rpcs,
                                final SchemaContext schemaContext) {
         this.rpcs = Preconditions.checkNotNull(rpcs);
         this.schemaContext = schemaContext;
@@ -66,30 +72,24 @@ final class DOMRpcRoutingTable {
         // First decompose the identifiers to a multimap
         final ListMultimap<SchemaPath, YangInstanceIdentifier> toAdd = decomposeIdentifiers(rpcs);
 
-        // Now iterate over existing entries, modifying them as appropriate...
-        final Builder<SchemaPath, AbstractDOMRpcRoutingTableEntry> mb = ImmutableMap.builder();
-        for (Entry<SchemaPath, AbstractDOMRpcRoutingTableEntry> re : this.rpcs.entrySet()) {
-            List<YangInstanceIdentifier> newRpcs = new ArrayList<>(toAdd.removeAll(re.getKey()));
-            if (!newRpcs.isEmpty()) {
-                final AbstractDOMRpcRoutingTableEntry ne = re.getValue().add(implementation, newRpcs);
-                mb.put(re.getKey(), ne);
+        // Now update the affected entries, creating them as needed
+        final TrieMap<SchemaPath, AbstractDOMRpcRoutingTableEntry> mb = rpcs.mutableSnapshot();
+        for (Entry<SchemaPath, Collection<YangInstanceIdentifier>> e : toAdd.asMap().entrySet()) {
+            final AbstractDOMRpcRoutingTableEntry existing = mb.get(e.getKey());
+            if (existing != null) {
+                mb.put(e.getKey(), existing.add(implementation, e.getValue()));
             } else {
-                mb.put(re);
-            }
-        }
+                final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = TrieMap.create();
+                final List<DOMRpcImplementation> v = Collections.singletonList(implementation);
+                for (YangInstanceIdentifier i : e.getValue()) {
+                    vb.put(i, v);
+                }
 
-        // Finally add whatever is left in the decomposed multimap
-        for (Entry<SchemaPath, Collection<YangInstanceIdentifier>> e : toAdd.asMap().entrySet()) {
-            final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-            final List<DOMRpcImplementation> v = Collections.singletonList(implementation);
-            for (YangInstanceIdentifier i : e.getValue()) {
-                vb.put(i, v);
+                mb.put(e.getKey(), createRpcEntry(schemaContext, e.getKey(), vb.immutableSnapshot()));
             }
-
-            mb.put(e.getKey(), createRpcEntry(schemaContext, e.getKey(), vb.build()));
         }
 
-        return new DOMRpcRoutingTable(mb.build(), schemaContext);
+        return new DOMRpcRoutingTable(mb.immutableSnapshot(), schemaContext);
     }
 
     DOMRpcRoutingTable remove(final DOMRpcImplementation implementation, final Set<DOMRpcIdentifier> rpcs) {
@@ -100,22 +100,21 @@ final class DOMRpcRoutingTable {
         // First decompose the identifiers to a multimap
         final ListMultimap<SchemaPath, YangInstanceIdentifier> toRemove = decomposeIdentifiers(rpcs);
 
-        // Now iterate over existing entries, modifying them as appropriate...
-        final Builder<SchemaPath, AbstractDOMRpcRoutingTableEntry> b = ImmutableMap.builder();
-        for (Entry<SchemaPath, AbstractDOMRpcRoutingTableEntry> e : this.rpcs.entrySet()) {
-            final List<YangInstanceIdentifier> removed = new ArrayList<>(toRemove.removeAll(e.getKey()));
-            if (!removed.isEmpty()) {
-                final AbstractDOMRpcRoutingTableEntry ne = e.getValue().remove(implementation, removed);
+        // Now update the affected entries, whatever is not present was not there in the first place
+        final TrieMap<SchemaPath, AbstractDOMRpcRoutingTableEntry> b = rpcs.mutableSnapshot();
+        for (Entry<SchemaPath, Collection<YangInstanceIdentifier>> e : toRemove.asMap().entrySet()) {
+            final AbstractDOMRpcRoutingTableEntry existing = b.get(e.getKey());
+            if (existing != null) {
+                final AbstractDOMRpcRoutingTableEntry ne = existing.remove(implementation, e.getValue());
                 if (ne != null) {
                     b.put(e.getKey(), ne);
+                } else {
+                    b.remove(e.getKey());
                 }
-            } else {
-                b.put(e);
             }
         }
 
-        // All done, whatever is in toRemove, was not there in the first place
-        return new DOMRpcRoutingTable(b.build(), schemaContext);
+        return new DOMRpcRoutingTable(b.immutableSnapshot(), schemaContext);
     }
 
     boolean contains(final DOMRpcIdentifier input) {
@@ -179,12 +178,12 @@ final class DOMRpcRoutingTable {
     }
 
     DOMRpcRoutingTable setSchemaContext(final SchemaContext context) {
-        final Builder<SchemaPath, AbstractDOMRpcRoutingTableEntry> b = ImmutableMap.builder();
+        final TrieMap<SchemaPath, AbstractDOMRpcRoutingTableEntry> b = TrieMap.create();
 
         for (Entry<SchemaPath, AbstractDOMRpcRoutingTableEntry> e : rpcs.entrySet()) {
             b.put(e.getKey(), createRpcEntry(context, e.getKey(), e.getValue().getImplementations()));
         }
 
-        return new DOMRpcRoutingTable(b.build(), context);
+        return new DOMRpcRoutingTable(b.immutableSnapshot(), context);
     }
 }
@@ -7,7 +7,6 @@
  */
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
-import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Futures;
@@ -20,43 +19,54 @@ import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationNotAvailab
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
-import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 final class RoutedDOMRpcRoutingTableEntry extends AbstractDOMRpcRoutingTableEntry {
     private static final Logger LOG = LoggerFactory.getLogger(RoutedDOMRpcRoutingTableEntry.class);
+
+    // Number of slots in the context lookup cache, must be a power of two
+    private static final int LOOKUP_CACHE_SIZE = 64;
+
     private final DOMRpcIdentifier globalRpcId;
-    private final YangInstanceIdentifier keyId;
+    private final RoutingContextExtractor keyExtractor;
+
+    /**
+     * Results of recent context lookups, indexed by the identity of the context. Callers routing many invocations
+     * to the same context tend to reuse the same identifier instance, which then does not need to be hashed and
+     * compared. Since this entry is immutable, so are the results, hence slots are overwritten without any
+     * synchronization: a stale or missing slot only causes a regular lookup.
+     */
+    private final CachedLookup[] lookupCache = new CachedLookup[LOOKUP_CACHE_SIZE];
 
-    private RoutedDOMRpcRoutingTableEntry(final DOMRpcIdentifier globalRpcId, final YangInstanceIdentifier keyId,
+    private RoutedDOMRpcRoutingTableEntry(final DOMRpcIdentifier globalRpcId,
+                                          final RoutingContextExtractor keyExtractor,
                                           final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
         super(globalRpcId.getType(), impls);
-        this.keyId = Preconditions.checkNotNull(keyId);
+        this.keyExtractor = Preconditions.checkNotNull(keyExtractor);
         this.globalRpcId = Preconditions.checkNotNull(globalRpcId);
     }
 
     RoutedDOMRpcRoutingTableEntry(final RpcDefinition def, final YangInstanceIdentifier keyId,
                                   final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
         super(def.getPath(), impls);
-        this.keyId = Preconditions.checkNotNull(keyId);
+        this.keyExtractor = RoutingContextExtractor.create(keyId);
         this.globalRpcId = DOMRpcIdentifier.create(def.getPath());
     }
 
     @Override
     protected CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final NormalizedNode<?, ?> input) {
-        final Optional<NormalizedNode<?, ?>> maybeKey = NormalizedNodes.findNode(input, keyId);
+        final NormalizedNode<?, ?> key = keyExtractor.extract(input);
 
         // Routing key is present, attempt to deliver as a routed RPC
-        if (maybeKey.isPresent()) {
-            final NormalizedNode<?, ?> key = maybeKey.get();
+        if (key != null) {
             final Object value = key.getValue();
             if (value instanceof YangInstanceIdentifier) {
                 final YangInstanceIdentifier iid = (YangInstanceIdentifier) value;
 
                 // Find a DOMRpcImplementation for a specific iid
-                final List<DOMRpcImplementation> specificImpls = getImplementations(iid);
+                final List<DOMRpcImplementation> specificImpls = lookupContext(iid);
                 if (specificImpls != null) {
                     return specificImpls.get(0).invokeRpc(DOMRpcIdentifier.create(getSchemaPath(), iid), input);
                 }
@@ -86,9 +96,31 @@ final class RoutedDOMRpcRoutingTableEntry extends AbstractDOMRpcRoutingTableEntr
         }
     }
 
+    private List<DOMRpcImplementation> lookupContext(final YangInstanceIdentifier iid) {
+        final int slot = System.identityHashCode(iid) & (LOOKUP_CACHE_SIZE - 1);
+        final CachedLookup cached = lookupCache[slot];
+        if (cached != null && cached.context == iid) {
+            return cached.impls;
+        }
+
+        final List<DOMRpcImplementation> impls = getImplementations(iid);
+        lookupCache[slot] = new CachedLookup(iid, impls);
+        return impls;
+    }
+
     @Override
     protected RoutedDOMRpcRoutingTableEntry newInstance(
             final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
-        return new RoutedDOMRpcRoutingTableEntry(globalRpcId, keyId, impls);
+        return new RoutedDOMRpcRoutingTableEntry(globalRpcId, keyExtractor, impls);
+    }
+
+    private static final class CachedLookup {
+        final YangInstanceIdentifier context;
+        final List<DOMRpcImplementation> impls;
+
+        CachedLookup(final YangInstanceIdentifier context, final List<DOMRpcImplementation> impls) {
+            this.context = context;
+            this.impls = impls;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import com.google.common.base.Preconditions;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+
+/**
+ * Extracts the node holding the routing context from the input of a routed RPC. Instances are created once per RPC
+ * definition, so that the location of the context reference leaf is resolved ahead of invocations.
+ */
+abstract class RoutingContextExtractor {
+    /**
+     * The context reference leaf is a direct child of the input, which is the case for all RPCs defined in YANG.
+     */
+    private static final class Direct extends RoutingContextExtractor {
+        private final PathArgument leaf;
+
+        Direct(final PathArgument leaf) {
+            this.leaf = Preconditions.checkNotNull(leaf);
+        }
+
+        @Override
+        NormalizedNode<?, ?> extract(final NormalizedNode<?, ?> input) {
+            return input instanceof DataContainerNode ? ((DataContainerNode<?>) input).getChild(leaf).orNull() : null;
+        }
+    }
+
+    private static final class Generic extends RoutingContextExtractor {
+        private final YangInstanceIdentifier keyId;
+
+        Generic(final YangInstanceIdentifier keyId) {
+            this.keyId = Preconditions.checkNotNull(keyId);
+        }
+
+        @Override
+        NormalizedNode<?, ?> extract(final NormalizedNode<?, ?> input) {
+            return NormalizedNodes.findNode(input, keyId).orNull();
+        }
+    }
+
+    static RoutingContextExtractor create(final YangInstanceIdentifier keyId) {
+        final List<PathArgument> args = keyId.getPathArguments();
+        return args.size() == 1 ? new Direct(args.get(0)) : new Generic(keyId);
+    }
+
+    /**
+     * Extract the routing context node.
+     *
+     * @param input RPC input
+     * @return Node holding the routing context, or null if it is not present
+     */
+    @Nullable
+    abstract NormalizedNode<?, ?> extract(@Nullable NormalizedNode<?, ?> input);
+}
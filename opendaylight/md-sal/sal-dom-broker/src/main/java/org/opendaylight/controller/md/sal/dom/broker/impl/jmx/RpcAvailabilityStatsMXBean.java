@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl.jmx;
+
+/**
+ * MXBean interface for retrieving statistics about batched RPC availability notifications.
+ */
+public interface RpcAvailabilityStatsMXBean {
+
+    /**
+     * Returns the number of notification batches delivered to RPC availability listeners.
+     *
+     * @return number of delivered batches
+     */
+    long getDeliveredBatchCount();
+
+    /**
+     * Returns the total number of RPC registration changes which have been delivered in batches.
+     *
+     * @return number of delivered changes
+     */
+    long getDeliveredChangeCount();
+
+    /**
+     * Returns the largest number of RPC registration changes coalesced into a single batch.
+     *
+     * @return largest batch size
+     */
+    long getLargestBatchSize();
+
+    /**
+     * Returns a string representing the longest time between the first RPC registration change of a batch and the start
+     * of its delivery, in the appropriate scaled units, along with the date/time that it occurred.
+     *
+     * @return string
+     */
+    String getLongestListenerLag();
+
+    /**
+     * Returns a string representing the average time between the first RPC registration change of a batch and the
+     * start of its delivery, in the appropriate scaled units.
+     *
+     * @return string
+     */
+    String getAverageListenerLag();
+
+    /**
+     * Clears the current stats to their defaults.
+     */
+    void clearStats();
+}
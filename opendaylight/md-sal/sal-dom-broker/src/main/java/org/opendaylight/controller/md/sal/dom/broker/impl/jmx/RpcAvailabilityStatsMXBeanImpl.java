@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl.jmx;
+
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+
+/**
+ * Implementation of the RpcAvailabilityStatsMXBean interface. Statistics are recorded through
+ * {@link #batchDelivered(int, long)}.
+ */
+public class RpcAvailabilityStatsMXBeanImpl extends AbstractMXBean implements RpcAvailabilityStatsMXBean {
+    private final DurationStatisticsTracker lagTracker = DurationStatisticsTracker.createConcurrent();
+    private final AtomicLong deliveredBatches = new AtomicLong();
+    private final AtomicLong deliveredChanges = new AtomicLong();
+    private final AtomicLong largestBatch = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param mbeantype mBeanType Used as the <code>type</code> property in the bean's ObjectName.
+     */
+    public RpcAvailabilityStatsMXBeanImpl(@Nonnull final String mbeantype) {
+        super("RpcAvailabilityStats", mbeantype, null);
+    }
+
+    /**
+     * Record the delivery of a batch of availability changes.
+     *
+     * @param changes number of registration changes coalesced in the batch
+     * @param lagNanos time elapsed between the first change and the start of delivery, in nanoseconds
+     */
+    public void batchDelivered(final int changes, final long lagNanos) {
+        deliveredBatches.incrementAndGet();
+        deliveredChanges.addAndGet(changes);
+        largestBatch.accumulateAndGet(changes, Math::max);
+        lagTracker.addDuration(lagNanos);
+    }
+
+    @Override
+    public long getDeliveredBatchCount() {
+        return deliveredBatches.get();
+    }
+
+    @Override
+    public long getDeliveredChangeCount() {
+        return deliveredChanges.get();
+    }
+
+    @Override
+    public long getLargestBatchSize() {
+        return largestBatch.get();
+    }
+
+    @Override
+    public String getLongestListenerLag() {
+        return lagTracker.getDisplayableLongestDuration();
+    }
+
+    @Override
+    public String getAverageListenerLag() {
+        return lagTracker.getDisplayableAverageDuration();
+    }
+
+    @Override
+    public void clearStats() {
+        deliveredBatches.set(0);
+        deliveredChanges.set(0);
+        largestBatch.set(0);
+        lagTracker.reset();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcAvailabilityListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcRouterTest {
+    private static final QName RPC_QNAME = QName.create("urn:test", "2017-01-01", "rpc");
+    private static final SchemaPath RPC_TYPE = SchemaPath.create(true, RPC_QNAME);
+    private static final DOMRpcIdentifier INITIAL_RPC = rpcId("initial");
+
+    private DOMRpcRouter router;
+    private DOMRpcImplementationRegistration<?> initialReg;
+    private BlockingListener listener;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        router = new DOMRpcRouter();
+        initialReg = router.registerRpcImplementation(mock(DOMRpcImplementation.class), INITIAL_RPC);
+
+        // The listener blocks the notification thread while reporting the initial table
+        listener = new BlockingListener();
+        router.registerRpcListener(listener);
+        assertTrue(listener.entered.await(5, TimeUnit.SECONDS));
+    }
+
+    @After
+    public void tearDown() {
+        router.close();
+    }
+
+    @Test
+    public void testCoalescedNotifications() throws InterruptedException {
+        final DOMRpcImplementation impl = mock(DOMRpcImplementation.class);
+        final Collection<DOMRpcIdentifier> expected = new HashSet<>();
+        for (int i = 0; i < 100; ++i) {
+            final DOMRpcIdentifier id = rpcId("device-" + i);
+            router.registerRpcImplementation(impl, id);
+            expected.add(id);
+        }
+
+        // Registered and unregistered while blocked, hence never reported
+        final DOMRpcImplementationRegistration<?> transientReg = router.registerRpcImplementation(
+            mock(DOMRpcImplementation.class), rpcId("transient"));
+        transientReg.close();
+
+        listener.release.countDown();
+        waitForEvents(101);
+
+        assertEquals(ImmutableSet.of(INITIAL_RPC), new HashSet<>(listener.available.get(0)));
+        assertEquals(expected, new HashSet<>(listener.available.get(1)));
+        assertTrue(listener.unavailable.isEmpty());
+    }
+
+    @Test
+    public void testRemovalReportedBeforeAddition() throws InterruptedException {
+        final DOMRpcIdentifier added = rpcId("added");
+        router.registerRpcImplementation(mock(DOMRpcImplementation.class), added);
+        initialReg.close();
+
+        listener.release.countDown();
+        waitForEvents(3);
+
+        assertEquals(ImmutableList.of("+" + INITIAL_RPC, "-" + INITIAL_RPC, "+" + added), listener.events);
+    }
+
+    private void waitForEvents(final int count) throws InterruptedException {
+        for (int i = 0; i < 50 && listener.events.size() < count; ++i) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    private static DOMRpcIdentifier rpcId(final String context) {
+        return DOMRpcIdentifier.create(RPC_TYPE, YangInstanceIdentifier.of(QName.create(RPC_QNAME, context)));
+    }
+
+    private static final class BlockingListener implements DOMRpcAvailabilityListener {
+        final List<Collection<DOMRpcIdentifier>> available = new CopyOnWriteArrayList<>();
+        final List<Collection<DOMRpcIdentifier>> unavailable = new CopyOnWriteArrayList<>();
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void onRpcAvailable(@Nonnull final Collection<DOMRpcIdentifier> rpcs) {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            available.add(rpcs);
+            rpcs.forEach(rpc -> events.add("+" + rpc));
+        }
+
+        @Override
+        public void onRpcUnavailable(@Nonnull final Collection<DOMRpcIdentifier> rpcs) {
+            unavailable.add(rpcs);
+            rpcs.forEach(rpc -> events.add("-" + rpc));
+        }
+    }
+}
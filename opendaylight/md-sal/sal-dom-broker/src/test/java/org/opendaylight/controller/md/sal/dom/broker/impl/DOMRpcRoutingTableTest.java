@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcAvailabilityListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcRoutingTableTest {
+    private static final QName RPC_QNAME = QName.create("urn:test", "2017-01-01", "rpc");
+    private static final SchemaPath RPC_TYPE = SchemaPath.create(true, RPC_QNAME);
+    private static final DOMRpcIdentifier CONTEXT_ONE = DOMRpcIdentifier.create(RPC_TYPE,
+        YangInstanceIdentifier.of(QName.create(RPC_QNAME, "one")));
+    private static final DOMRpcIdentifier CONTEXT_TWO = DOMRpcIdentifier.create(RPC_TYPE,
+        YangInstanceIdentifier.of(QName.create(RPC_QNAME, "two")));
+
+    @Test
+    public void testAddAndRemove() {
+        final DOMRpcImplementation first = mock(DOMRpcImplementation.class);
+        final DOMRpcImplementation second = mock(DOMRpcImplementation.class);
+
+        final DOMRpcRoutingTable withFirst = DOMRpcRoutingTable.EMPTY.add(first, ImmutableSet.of(CONTEXT_ONE));
+        assertTrue(withFirst.contains(CONTEXT_ONE));
+        assertFalse(withFirst.contains(CONTEXT_TWO));
+        assertFalse(DOMRpcRoutingTable.EMPTY.contains(CONTEXT_ONE));
+
+        final DOMRpcRoutingTable withBoth = withFirst.add(second, ImmutableSet.of(CONTEXT_ONE, CONTEXT_TWO));
+        assertTrue(withBoth.contains(CONTEXT_ONE));
+        assertTrue(withBoth.contains(CONTEXT_TWO));
+
+        // Earlier snapshots are not affected by later modifications
+        assertFalse(withFirst.contains(CONTEXT_TWO));
+
+        final DOMRpcRoutingTable removedSecond = withBoth.remove(second, ImmutableSet.of(CONTEXT_ONE, CONTEXT_TWO));
+        assertTrue(removedSecond.contains(CONTEXT_ONE));
+        assertFalse(removedSecond.contains(CONTEXT_TWO));
+        assertTrue(withBoth.contains(CONTEXT_TWO));
+
+        final DOMRpcRoutingTable empty = removedSecond.remove(first, ImmutableSet.of(CONTEXT_ONE));
+        assertFalse(empty.contains(CONTEXT_ONE));
+        assertTrue(empty.getRpcs(acceptingListener()).isEmpty());
+    }
+
+    @Test
+    public void testGetRpcs() {
+        final DOMRpcImplementation first = mock(DOMRpcImplementation.class);
+        final DOMRpcImplementation second = mock(DOMRpcImplementation.class);
+        final DOMRpcRoutingTable table = DOMRpcRoutingTable.EMPTY.add(first, ImmutableSet.of(CONTEXT_ONE))
+                .add(second, ImmutableSet.of(CONTEXT_TWO));
+
+        final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs = table.getRpcs(acceptingListener());
+        assertEquals(1, rpcs.size());
+        assertEquals(ImmutableSet.of(CONTEXT_ONE.getContextReference(), CONTEXT_TWO.getContextReference()),
+            rpcs.get(RPC_TYPE));
+
+        final DOMRpcAvailabilityListener onlyFirst = mock(DOMRpcAvailabilityListener.class);
+        doReturn(true).when(onlyFirst).acceptsImplementation(first);
+        assertEquals(ImmutableSet.of(CONTEXT_ONE.getContextReference()), table.getRpcs(onlyFirst).get(RPC_TYPE));
+    }
+
+    @Test
+    public void testEmptyModifications() {
+        final DOMRpcImplementation impl = mock(DOMRpcImplementation.class);
+        assertSame(DOMRpcRoutingTable.EMPTY, DOMRpcRoutingTable.EMPTY.add(impl, ImmutableSet.of()));
+        assertSame(DOMRpcRoutingTable.EMPTY, DOMRpcRoutingTable.EMPTY.remove(impl, ImmutableSet.of()));
+        assertFalse(DOMRpcRoutingTable.EMPTY.remove(impl, ImmutableSet.of(CONTEXT_ONE)).contains(CONTEXT_ONE));
+    }
+
+    private static DOMRpcAvailabilityListener acceptingListener() {
+        final DOMRpcAvailabilityListener listener = mock(DOMRpcAvailabilityListener.class);
+        doReturn(true).when(listener).acceptsImplementation(any(DOMRpcImplementation.class));
+        return listener;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+
+public class RoutingContextExtractorTest {
+    private static final QName INPUT_QNAME = QName.create("urn:test", "2017-01-01", "input");
+    private static final QName NESTED_QNAME = QName.create(INPUT_QNAME, "nested");
+    private static final QName ROUTE_QNAME = QName.create(INPUT_QNAME, "route");
+    private static final LeafNode<YangInstanceIdentifier> ROUTE = ImmutableNodes.leafNode(ROUTE_QNAME,
+        YangInstanceIdentifier.of(QName.create(INPUT_QNAME, "context")));
+
+    @Test
+    public void testDirect() {
+        final RoutingContextExtractor extractor = RoutingContextExtractor.create(
+            YangInstanceIdentifier.of(ROUTE_QNAME));
+        assertSame(ROUTE, extractor.extract(container(INPUT_QNAME).withChild(ROUTE).build()));
+        assertNull(extractor.extract(container(INPUT_QNAME).build()));
+        assertNull(extractor.extract(ROUTE));
+        assertNull(extractor.extract(null));
+    }
+
+    @Test
+    public void testGeneric() {
+        final RoutingContextExtractor extractor = RoutingContextExtractor.create(
+            YangInstanceIdentifier.create(new NodeIdentifier(NESTED_QNAME), new NodeIdentifier(ROUTE_QNAME)));
+        assertSame(ROUTE, extractor.extract(container(INPUT_QNAME)
+            .withChild(container(NESTED_QNAME).withChild(ROUTE).build()).build()));
+        assertNull(extractor.extract(container(INPUT_QNAME).withChild(ROUTE).build()));
+    }
+
+    private static DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> container(final QName qname) {
+        return ImmutableContainerNodeBuilder.create().withNodeIdentifier(new NodeIdentifier(qname));
+    }
+}
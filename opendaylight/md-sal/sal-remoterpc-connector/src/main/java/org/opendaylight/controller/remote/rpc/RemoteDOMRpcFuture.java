@@ -48,6 +48,14 @@ class RemoteDOMRpcFuture extends AbstractFuture<DOMRpcResult> implements Checked
         future.onComplete(new FutureUpdater(), ExecutionContext.Implicits$.MODULE$.global());
     }
 
+    void complete(final RpcResponse response) {
+        final NormalizedNode<?, ?> result = response.getResultNormalizedNode();
+        LOG.debug("Received response for rpc {}: result is {}", rpcName, result);
+
+        set(new DefaultDOMRpcResult(result));
+        LOG.debug("Future {} for rpc {} successfully completed", this, rpcName);
+    }
+
     @Override
     public DOMRpcResult checkedGet() throws DOMRpcException {
         try {
@@ -85,14 +93,7 @@ class RemoteDOMRpcFuture extends AbstractFuture<DOMRpcResult> implements Checked
             if (error != null) {
                 RemoteDOMRpcFuture.this.failNow(error);
             } else if (reply instanceof RpcResponse) {
-                final RpcResponse rpcReply = (RpcResponse) reply;
-                final NormalizedNode<?, ?> result = rpcReply.getResultNormalizedNode();
-
-                LOG.debug("Received response for rpc {}: result is {}", rpcName, result);
-
-                RemoteDOMRpcFuture.this.set(new DefaultDOMRpcResult(result));
-
-                LOG.debug("Future {} for rpc {} successfully completed", RemoteDOMRpcFuture.this, rpcName);
+                RemoteDOMRpcFuture.this.complete((RpcResponse) reply);
             } else {
                 RemoteDOMRpcFuture.this.failNow(new IllegalStateException("Incorrect reply type " + reply
                         + "from Akka"));
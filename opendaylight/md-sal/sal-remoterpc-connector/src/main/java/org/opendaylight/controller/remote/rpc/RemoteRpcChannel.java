@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import akka.actor.ActorRef;
+import akka.actor.Cancellable;
+import akka.actor.Props;
+import akka.pattern.AskTimeoutException;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Actor multiplexing RPC invocations towards a single remote {@link RpcInvoker}. Each invocation is assigned
+ * a correlation ID and requests are sent in {@link ExecuteRpcBatch} frames, which are flushed either when they reach
+ * the configured size or once all invocations queued in the mailbox have been processed. Responses are received in
+ * {@link RpcResponseBatch} frames and matched to pending invocations by their correlation IDs.
+ *
+ * <p>
+ * This avoids the cost of a temporary ask actor and a separately-serialized message for each invocation.
+ */
+final class RemoteRpcChannel extends AbstractUntypedActor {
+    /**
+     * Request to invoke an RPC through the channel. This message is local to the JVM.
+     */
+    static final class Invoke {
+        private final ExecuteRpc request;
+        private final RemoteDOMRpcFuture future;
+
+        Invoke(final ExecuteRpc request, final RemoteDOMRpcFuture future) {
+            this.request = Preconditions.checkNotNull(request);
+            this.future = Preconditions.checkNotNull(future);
+        }
+    }
+
+    private static final class Pending {
+        final RemoteDOMRpcFuture future;
+        final long deadline;
+
+        Pending(final RemoteDOMRpcFuture future, final long deadline) {
+            this.future = future;
+            this.deadline = deadline;
+        }
+    }
+
+    private static final Object FLUSH = new Object() {
+        @Override
+        public String toString() {
+            return "flush";
+        }
+    };
+
+    private static final Object TIMEOUT_TICK = new Object() {
+        @Override
+        public String toString() {
+            return "timeout tick";
+        }
+    };
+
+    // Invocations awaiting a response, in the order of their correlation IDs, hence also their deadlines
+    private final Map<Long, Pending> pending = new LinkedHashMap<>();
+    private final ActorRef remoteInvoker;
+    private final long timeoutNanos;
+    private final int maxBatchSize;
+
+    private Map<Long, ExecuteRpc> batch = new LinkedHashMap<>();
+    private Cancellable timeoutTask;
+    private long nextId;
+
+    private RemoteRpcChannel(final ActorRef remoteInvoker, final RemoteRpcProviderConfig config) {
+        this.remoteInvoker = Preconditions.checkNotNull(remoteInvoker);
+        this.timeoutNanos = config.getAskDuration().duration().toNanos();
+        this.maxBatchSize = config.getRpcChannelMaxBatchSize();
+    }
+
+    static Props props(final ActorRef remoteInvoker, final RemoteRpcProviderConfig config) {
+        return Props.create(RemoteRpcChannel.class, remoteInvoker, config);
+    }
+
+    @Override
+    public void preStart() throws Exception {
+        super.preStart();
+
+        final FiniteDuration interval = FiniteDuration.create(Math.max(timeoutNanos / 4,
+            TimeUnit.MILLISECONDS.toNanos(100)), TimeUnit.NANOSECONDS);
+        timeoutTask = getContext().system().scheduler().schedule(interval, interval, getSelf(), TIMEOUT_TICK,
+            getContext().dispatcher(), ActorRef.noSender());
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        if (timeoutTask != null) {
+            timeoutTask.cancel();
+        }
+
+        final RemoteDOMRpcException cause = new RemoteDOMRpcException("RPC channel to " + remoteInvoker + " closed",
+            null);
+        pending.values().forEach(p -> p.future.failNow(cause));
+        pending.clear();
+
+        super.postStop();
+    }
+
+    @Override
+    protected void handleReceive(final Object message) {
+        if (message instanceof Invoke) {
+            invoke((Invoke) message);
+        } else if (message instanceof RpcResponseBatch) {
+            responsesReceived((RpcResponseBatch) message);
+        } else if (FLUSH.equals(message)) {
+            flush();
+        } else if (TIMEOUT_TICK.equals(message)) {
+            timeoutPending();
+        } else {
+            unknownMessage(message);
+        }
+    }
+
+    private void invoke(final Invoke invoke) {
+        final long id = nextId++;
+        pending.put(id, new Pending(invoke.future, System.nanoTime() + timeoutNanos));
+        batch.put(id, invoke.request);
+
+        if (batch.size() >= maxBatchSize) {
+            flush();
+        } else if (batch.size() == 1) {
+            // Flush once the invocations already in our mailbox have been added to the batch
+            getSelf().tell(FLUSH, ActorRef.noSender());
+        }
+    }
+
+    private void flush() {
+        if (!batch.isEmpty()) {
+            LOG.debug("Sending {} requests to {}", batch.size(), remoteInvoker);
+            remoteInvoker.tell(new ExecuteRpcBatch(batch), getSelf());
+            batch = new LinkedHashMap<>();
+        }
+    }
+
+    private void responsesReceived(final RpcResponseBatch responses) {
+        for (Entry<Long, RpcResponse> e : responses.getResponses().entrySet()) {
+            final Pending p = pending.remove(e.getKey());
+            if (p != null) {
+                p.future.complete(e.getValue());
+            } else {
+                LOG.debug("Ignoring response to unknown request {}", e.getKey());
+            }
+        }
+        for (Entry<Long, Throwable> e : responses.getFailures().entrySet()) {
+            final Pending p = pending.remove(e.getKey());
+            if (p != null) {
+                p.future.failNow(e.getValue());
+            } else {
+                LOG.debug("Ignoring failure of unknown request {}", e.getKey());
+            }
+        }
+    }
+
+    private void timeoutPending() {
+        final long now = System.nanoTime();
+        final List<Pending> expired = new ArrayList<>();
+        final Iterator<Pending> it = pending.values().iterator();
+        while (it.hasNext()) {
+            final Pending p = it.next();
+            if (now - p.deadline < 0) {
+                break;
+            }
+            expired.add(p);
+            it.remove();
+        }
+
+        if (!expired.isEmpty()) {
+            LOG.debug("{} requests to {} timed out", expired.size(), remoteInvoker);
+            final AskTimeoutException cause = new AskTimeoutException("Timed out waiting for response from "
+                    + remoteInvoker);
+            expired.forEach(p -> p.future.failNow(cause));
+        }
+    }
+}
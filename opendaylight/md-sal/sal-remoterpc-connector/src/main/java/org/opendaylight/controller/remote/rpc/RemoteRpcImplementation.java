@@ -21,7 +21,8 @@ import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 /**
- * A {@link DOMRpcImplementation} which routes invocation requests to a remote invoker actor.
+ * A {@link DOMRpcImplementation} which routes invocation requests to a remote invoker actor, either directly or
+ * through a {@link RemoteRpcChannel}.
  *
  * @author Robert Varga
  */
@@ -30,10 +31,24 @@ final class RemoteRpcImplementation implements DOMRpcImplementation {
     private static final long COST = 2;
 
     private final ActorRef remoteInvoker;
+    private final ActorRef channel;
     private final Timeout askDuration;
 
     RemoteRpcImplementation(final ActorRef remoteInvoker, final RemoteRpcProviderConfig config) {
+        this(remoteInvoker, null, config);
+    }
+
+    /**
+     * Create an implementation which sends requests through a {@link RemoteRpcChannel}.
+     *
+     * @param remoteInvoker Remote invoker actor
+     * @param channel Channel actor to the remote invoker, or null to ask the invoker directly
+     * @param config Provider configuration
+     */
+    RemoteRpcImplementation(final ActorRef remoteInvoker, final ActorRef channel,
+            final RemoteRpcProviderConfig config) {
         this.remoteInvoker = Preconditions.checkNotNull(remoteInvoker);
+        this.channel = channel;
         this.askDuration = config.getAskDuration();
     }
 
@@ -41,7 +56,11 @@ final class RemoteRpcImplementation implements DOMRpcImplementation {
     public CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final DOMRpcIdentifier rpc,
             final NormalizedNode<?, ?> input) {
         final RemoteDOMRpcFuture ret = RemoteDOMRpcFuture.create(rpc.getType().getLastComponent());
-        ret.completeWith(Patterns.ask(remoteInvoker, ExecuteRpc.from(rpc, input), askDuration));
+        if (channel != null) {
+            channel.tell(new RemoteRpcChannel.Invoke(ExecuteRpc.from(rpc, input), ret), ActorRef.noSender());
+        } else {
+            ret.completeWith(Patterns.ask(remoteInvoker, ExecuteRpc.from(rpc, input), askDuration));
+        }
         return ret;
     }
 
@@ -8,6 +8,7 @@
 package org.opendaylight.controller.remote.rpc;
 
 import akka.util.Timeout;
+import com.google.common.base.Preconditions;
 import com.typesafe.config.Config;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.concurrent.TimeUnit;
@@ -27,6 +28,8 @@ public class RemoteRpcProviderConfig extends CommonConfig {
 
     private static final String TAG_GOSSIP_TICK_INTERVAL = "gossip-tick-interval";
     private static final String TAG_RPC_REGISTRY_PERSISTENCE_ID = "rpc-registry-persistence-id";
+    private static final String TAG_RPC_CHANNEL_ENABLED = "rpc-channel-enabled";
+    private static final String TAG_RPC_CHANNEL_MAX_BATCH_SIZE = "rpc-channel-max-batch-size";
 
     //locally cached values
     private Timeout cachedAskDuration;
@@ -90,6 +93,25 @@ public class RemoteRpcProviderConfig extends CommonConfig {
         return cachedGossipTickInterval;
     }
 
+    /**
+     * Return whether remote RPC invocations should be multiplexed over per-peer channels, which batch requests and
+     * responses into frames, instead of being sent as individual asks.
+     *
+     * @return true if RPC channels are enabled
+     */
+    public boolean isRpcChannelEnabled() {
+        return get().getBoolean(TAG_RPC_CHANNEL_ENABLED);
+    }
+
+    /**
+     * Return the maximum number of requests or responses carried in a single RPC channel frame.
+     *
+     * @return maximum batch size
+     */
+    public int getRpcChannelMaxBatchSize() {
+        return get().getInt(TAG_RPC_CHANNEL_MAX_BATCH_SIZE);
+    }
+
     /**
      * This is called via blueprint xml as the builder pattern can't be used.
      */
@@ -103,6 +125,19 @@ public class RemoteRpcProviderConfig extends CommonConfig {
                 .mailboxCapacity(mailboxCapacity).build();
     }
 
+    /**
+     * This is called via blueprint xml as the builder pattern can't be used.
+     */
+    @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE",
+            justification = "Findbugs flags this as an unconfirmed cast of return value but the build method clearly "
+                + "returns RemoteRpcProviderConfig. Perhaps it's confused b/c the build method is overloaded and "
+                + "and differs in return type from the base class.")
+    public static RemoteRpcProviderConfig newInstance(final String actorSystemName, final boolean metricCaptureEnabled,
+            final int mailboxCapacity, final boolean rpcChannelEnabled) {
+        return new Builder(actorSystemName).metricCaptureEnabled(metricCaptureEnabled)
+                .mailboxCapacity(mailboxCapacity).rpcChannelEnabled(rpcChannelEnabled).build();
+    }
+
     public static class Builder extends CommonConfig.Builder<Builder> {
 
         public Builder(final String actorSystemName) {
@@ -125,6 +160,10 @@ public class RemoteRpcProviderConfig extends CommonConfig {
 
             // persistence
             configHolder.put(TAG_RPC_REGISTRY_PERSISTENCE_ID, "remote-rpc-registry");
+
+            // RPC channels
+            configHolder.put(TAG_RPC_CHANNEL_ENABLED, "false");
+            configHolder.put(TAG_RPC_CHANNEL_MAX_BATCH_SIZE, "64");
         }
 
         public Builder gossipTickInterval(final String interval) {
@@ -132,6 +171,17 @@ public class RemoteRpcProviderConfig extends CommonConfig {
             return this;
         }
 
+        public Builder rpcChannelEnabled(final boolean enabled) {
+            configHolder.put(TAG_RPC_CHANNEL_ENABLED, String.valueOf(enabled));
+            return this;
+        }
+
+        public Builder rpcChannelMaxBatchSize(final int maxBatchSize) {
+            Preconditions.checkArgument(maxBatchSize > 0, "RPC channel batch size must be >0");
+            configHolder.put(TAG_RPC_CHANNEL_MAX_BATCH_SIZE, String.valueOf(maxBatchSize));
+            return this;
+        }
+
         @Override
         public RemoteRpcProviderConfig build() {
             return new RemoteRpcProviderConfig(merge());
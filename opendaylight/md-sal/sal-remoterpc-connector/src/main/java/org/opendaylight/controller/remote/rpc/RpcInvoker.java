@@ -16,52 +16,149 @@ import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Consumer;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
 import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
 /**
  * Actor receiving invocation requests from remote nodes, routing them to
  * {@link DOMRpcService#invokeRpc(SchemaPath, NormalizedNode)}.
+ *
+ * <p>
+ * Requests arriving in {@link ExecuteRpcBatch} frames from a {@link RemoteRpcChannel} are answered with
+ * {@link RpcResponseBatch} frames. Responses completed while processing the mailbox are collected per channel
+ * and sent together.
  */
 final class RpcInvoker extends AbstractUntypedActor {
+    /**
+     * Outcome of a request received in a batch, reported back to the actor.
+     */
+    private static final class BatchedReply {
+        final ActorRef channel;
+        final long id;
+        final Object reply;
+
+        BatchedReply(final ActorRef channel, final long id, final Object reply) {
+            this.channel = channel;
+            this.id = id;
+            this.reply = reply;
+        }
+    }
+
+    private static final class ReplyBatch {
+        final Map<Long, RpcResponse> responses = new HashMap<>();
+        final Map<Long, Throwable> failures = new HashMap<>();
+
+        int size() {
+            return responses.size() + failures.size();
+        }
+    }
+
+    // Matches the default of RemoteRpcProviderConfig
+    private static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+    private static final Object FLUSH = new Object() {
+        @Override
+        public String toString() {
+            return "flush";
+        }
+    };
+
+    private final Map<ActorRef, ReplyBatch> replyBatches = new HashMap<>();
     private final DOMRpcService rpcService;
+    private final int maxBatchSize;
 
-    private RpcInvoker(final DOMRpcService rpcService) {
+    private RpcInvoker(final DOMRpcService rpcService, final Integer maxBatchSize) {
         this.rpcService = Preconditions.checkNotNull(rpcService);
+        this.maxBatchSize = maxBatchSize;
     }
 
     public static Props props(final DOMRpcService rpcService) {
+        return props(rpcService, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public static Props props(final DOMRpcService rpcService, final int maxBatchSize) {
         Preconditions.checkNotNull(rpcService, "DOMRpcService can not be null");
-        return Props.create(RpcInvoker.class, rpcService);
+        return Props.create(RpcInvoker.class, rpcService, maxBatchSize);
     }
 
     @Override
     protected void handleReceive(final Object message) {
         if (message instanceof ExecuteRpc) {
-            executeRpc((ExecuteRpc) message);
+            final ActorRef sender = getSender();
+            final ActorRef self = self();
+            executeRpc((ExecuteRpc) message, reply -> sender.tell(reply, self));
+        } else if (message instanceof ExecuteRpcBatch) {
+            executeRpcBatch((ExecuteRpcBatch) message);
+        } else if (message instanceof BatchedReply) {
+            batchedReply((BatchedReply) message);
+        } else if (FLUSH.equals(message)) {
+            replyBatches.forEach(this::sendReplyBatch);
+            replyBatches.clear();
         } else {
             unknownMessage(message);
         }
     }
 
+    private void executeRpcBatch(final ExecuteRpcBatch batch) {
+        LOG.debug("Executing {} batched rpcs", batch.getRequests().size());
+        final ActorRef channel = getSender();
+        final ActorRef self = self();
+        for (Entry<Long, ExecuteRpc> e : batch.getRequests().entrySet()) {
+            final long id = e.getKey();
+            executeRpc(e.getValue(), reply -> self.tell(new BatchedReply(channel, id, reply), ActorRef.noSender()));
+        }
+    }
+
+    private void batchedReply(final BatchedReply reply) {
+        ReplyBatch batch = replyBatches.get(reply.channel);
+        if (batch == null) {
+            if (replyBatches.isEmpty()) {
+                // Flush once the replies already in our mailbox have been added to the batches
+                self().tell(FLUSH, ActorRef.noSender());
+            }
+            batch = new ReplyBatch();
+            replyBatches.put(reply.channel, batch);
+        }
+
+        if (reply.reply instanceof RpcResponse) {
+            batch.responses.put(reply.id, (RpcResponse) reply.reply);
+        } else {
+            batch.failures.put(reply.id, ((akka.actor.Status.Failure) reply.reply).cause());
+        }
+
+        if (batch.size() >= maxBatchSize) {
+            sendReplyBatch(reply.channel, batch);
+            replyBatches.remove(reply.channel);
+        }
+    }
+
+    private void sendReplyBatch(final ActorRef channel, final ReplyBatch batch) {
+        LOG.debug("Sending {} batched responses to {}", batch.size(), channel);
+        channel.tell(new RpcResponseBatch(batch.responses, batch.failures), self());
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
-    private void executeRpc(final ExecuteRpc msg) {
+    private void executeRpc(final ExecuteRpc msg, final Consumer<Object> replyCallback) {
         LOG.debug("Executing rpc {}", msg.getRpc());
         final SchemaPath schemaPath = SchemaPath.create(true, msg.getRpc());
-        final ActorRef sender = getSender();
-        final ActorRef self = self();
 
         final ListenableFuture<DOMRpcResult> future;
         try {
             future = rpcService.invokeRpc(schemaPath, msg.getInputNormalizedNode());
         } catch (final RuntimeException e) {
             LOG.debug("Failed to invoke RPC {}", msg.getRpc(), e);
-            sender.tell(new akka.actor.Status.Failure(e), sender);
+            replyCallback.accept(new akka.actor.Status.Failure(e));
             return;
         }
 
@@ -72,17 +169,17 @@ final class RpcInvoker extends AbstractUntypedActor {
                     // This shouldn't happen but the FutureCallback annotates the result param with Nullable so
                     // handle null here to avoid FindBugs warning.
                     LOG.debug("Got null DOMRpcResult - sending null response for execute rpc : {}", msg.getRpc());
-                    sender.tell(new RpcResponse(null), self);
+                    replyCallback.accept(new RpcResponse(null));
                     return;
                 }
 
                 if (!result.getErrors().isEmpty()) {
                     final String message = String.format("Execution of RPC %s failed", msg.getRpc());
-                    sender.tell(new akka.actor.Status.Failure(new RpcErrorsException(message, result.getErrors())),
-                        self);
+                    replyCallback.accept(new akka.actor.Status.Failure(new RpcErrorsException(message,
+                        result.getErrors())));
                 } else {
                     LOG.debug("Sending response for execute rpc : {}", msg.getRpc());
-                    sender.tell(new RpcResponse(result.getResult()), self);
+                    replyCallback.accept(new RpcResponse(result.getResult()));
                 }
             }
 
@@ -91,7 +188,7 @@ final class RpcInvoker extends AbstractUntypedActor {
                 LOG.debug("Failed to execute RPC {}", msg.getRpc(), failure);
                 LOG.error("Failed to execute RPC {} due to {}. More details are available on DEBUG level.",
                     msg.getRpc(), Throwables.getRootCause(failure));
-                sender.tell(new akka.actor.Status.Failure(failure), self);
+                replyCallback.accept(new akka.actor.Status.Failure(failure));
             }
         }, MoreExecutors.directExecutor());
     }
@@ -54,7 +54,7 @@ public class RpcManager extends AbstractUntypedActor {
     public void preStart() throws Exception {
         super.preStart();
 
-        rpcInvoker = getContext().actorOf(RpcInvoker.props(rpcServices)
+        rpcInvoker = getContext().actorOf(RpcInvoker.props(rpcServices, config.getRpcChannelMaxBatchSize())
             .withMailbox(config.getMailBoxName()), config.getRpcBrokerName());
         LOG.debug("Listening for RPC invocation requests with {}", rpcInvoker);
 
@@ -7,19 +7,29 @@
  */
 package org.opendaylight.controller.remote.rpc;
 
+import akka.actor.ActorRef;
 import akka.actor.Address;
 import akka.actor.Props;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.UpdateRemoteEndpoints;
+import org.opendaylight.controller.remote.rpc.registry.RoutingTableDelta;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.RemoteRpcEndpoint;
 
 /**
@@ -28,7 +38,118 @@ import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.RemoteRpcEndp
  * @author Robert Varga
  */
 final class RpcRegistrar extends AbstractUntypedActor {
-    private final Map<Address, DOMRpcImplementationRegistration<?>> regs = new HashMap<>();
+    /**
+     * A set of RPCs registered with the {@link DOMRpcProviderService} as a single registration.
+     */
+    private static final class RegistrationBatch {
+        final Set<DOMRpcIdentifier> rpcs;
+        final DOMRpcImplementationRegistration<?> reg;
+
+        RegistrationBatch(final Set<DOMRpcIdentifier> rpcs, final DOMRpcImplementationRegistration<?> reg) {
+            this.rpcs = Preconditions.checkNotNull(rpcs);
+            this.reg = Preconditions.checkNotNull(reg);
+        }
+    }
+
+    /**
+     * Maximum number of RPCs registered as a single {@link RegistrationBatch}. Removing an RPC re-registers
+     * the other RPCs of its batch, hence this bounds the work done for a removal.
+     */
+    @VisibleForTesting
+    static final int MAX_BATCH_SIZE = 16;
+
+    /**
+     * Registrations of the RPCs available at a single remote endpoint. RPCs are registered in batches of at most
+     * {@link #MAX_BATCH_SIZE}, so that a delta can be applied without re-registering all of the endpoint's RPCs.
+     */
+    private final class EndpointRegistrations {
+        private final Map<DOMRpcIdentifier, RegistrationBatch> rpcToBatch = new HashMap<>();
+        private final Set<RegistrationBatch> batches = new HashSet<>();
+        private final RemoteRpcImplementation impl;
+        private final ActorRef router;
+        private final ActorRef channel;
+
+        EndpointRegistrations(final ActorRef router) {
+            this.router = Preconditions.checkNotNull(router);
+            // The channel uses the default, unbounded mailbox: invocations are told to it without a timeout of their
+            // own, hence an invocation dropped by a bounded mailbox would never complete. The channel times out the
+            // invocations it has accepted.
+            this.channel = config.isRpcChannelEnabled() ? getContext().actorOf(RemoteRpcChannel.props(router, config))
+                : null;
+            this.impl = new RemoteRpcImplementation(router, channel, config);
+        }
+
+        ActorRef getRouter() {
+            return router;
+        }
+
+        int size() {
+            return rpcToBatch.size();
+        }
+
+        void register(final Set<DOMRpcIdentifier> rpcs) {
+            if (rpcs.size() <= MAX_BATCH_SIZE) {
+                registerBatch(rpcs);
+            } else {
+                for (List<DOMRpcIdentifier> chunk : Iterables.partition(rpcs, MAX_BATCH_SIZE)) {
+                    registerBatch(ImmutableSet.copyOf(chunk));
+                }
+            }
+        }
+
+        private void registerBatch(final Set<DOMRpcIdentifier> rpcs) {
+            final RegistrationBatch batch = new RegistrationBatch(rpcs,
+                rpcProviderService.registerRpcImplementation(impl, rpcs));
+            batches.add(batch);
+            for (DOMRpcIdentifier rpc : rpcs) {
+                rpcToBatch.put(rpc, batch);
+            }
+        }
+
+        /**
+         * Apply a delta. Batches containing removed RPCs are replaced by batches with the remaining RPCs, added RPCs
+         * are registered as new batches. Registrations which need to be closed are added to the supplied collection.
+         */
+        void applyDelta(final RoutingTableDelta delta, final Collection<DOMRpcImplementationRegistration<?>> toClose) {
+            final Map<RegistrationBatch, Set<DOMRpcIdentifier>> affected = new HashMap<>();
+            for (DOMRpcIdentifier rpc : delta.getRemovedRpcs()) {
+                final RegistrationBatch batch = rpcToBatch.get(rpc);
+                if (batch != null) {
+                    affected.computeIfAbsent(batch, k -> new HashSet<>()).add(rpc);
+                }
+            }
+
+            for (Entry<RegistrationBatch, Set<DOMRpcIdentifier>> e : affected.entrySet()) {
+                final RegistrationBatch batch = e.getKey();
+                batches.remove(batch);
+                batch.rpcs.forEach(rpcToBatch::remove);
+
+                final Set<DOMRpcIdentifier> remaining = ImmutableSet.copyOf(Sets.difference(batch.rpcs, e.getValue()));
+                if (!remaining.isEmpty()) {
+                    register(remaining);
+                }
+                toClose.add(batch.reg);
+            }
+
+            final Set<DOMRpcIdentifier> added = ImmutableSet.copyOf(
+                Sets.filter(delta.getAddedRpcs(), rpc -> !rpcToBatch.containsKey(rpc)));
+            if (!added.isEmpty()) {
+                register(added);
+            }
+        }
+
+        void collectRegistrations(final Collection<DOMRpcImplementationRegistration<?>> toClose) {
+            batches.forEach(batch -> toClose.add(batch.reg));
+        }
+
+        void stopChannel() {
+            if (channel != null) {
+                getContext().stop(channel);
+            }
+        }
+    }
+
+    private final Map<Address, EndpointRegistrations> regs = new HashMap<>();
     private final DOMRpcProviderService rpcProviderService;
     private final RemoteRpcProviderConfig config;
 
@@ -44,7 +165,9 @@ final class RpcRegistrar extends AbstractUntypedActor {
 
     @Override
     public void postStop() throws Exception {
-        regs.values().forEach(DOMRpcImplementationRegistration::close);
+        final Collection<DOMRpcImplementationRegistration<?>> toClose = new ArrayList<>();
+        regs.values().forEach(endpoint -> endpoint.collectRegistrations(toClose));
+        toClose.forEach(DOMRpcImplementationRegistration::close);
         regs.clear();
 
         super.postStop();
@@ -53,13 +176,15 @@ final class RpcRegistrar extends AbstractUntypedActor {
     @Override
     protected void handleReceive(final Object message) throws Exception {
         if (message instanceof UpdateRemoteEndpoints) {
-            updateRemoteEndpoints(((UpdateRemoteEndpoints) message).getEndpoints());
+            final UpdateRemoteEndpoints update = (UpdateRemoteEndpoints) message;
+            updateRemoteEndpoints(update.getEndpoints(), update.getDeltas());
         } else {
             unknownMessage(message);
         }
     }
 
-    private void updateRemoteEndpoints(final Map<Address, Optional<RemoteRpcEndpoint>> endpoints) {
+    private void updateRemoteEndpoints(final Map<Address, Optional<RemoteRpcEndpoint>> endpoints,
+            final Map<Address, RoutingTableDelta> deltas) {
         /*
          * Updating RPC providers is a two-step process. We first add the newly-discovered RPCs and then close
          * the old registration. This minimizes churn observed by listeners, as they will not observe RPC
@@ -67,30 +192,53 @@ final class RpcRegistrar extends AbstractUntypedActor {
          *
          * Note that when an RPC moves from one remote node to another, we also do not want to expose the gap,
          * hence we register all new implementations before closing all registrations.
+         *
+         * Where we have a delta against the registrations we hold for an endpoint, we register and unregister only
+         * the affected RPCs.
          */
         final Collection<DOMRpcImplementationRegistration<?>> prevRegs = new ArrayList<>(endpoints.size());
+        final Collection<EndpointRegistrations> prevEndpoints = new ArrayList<>();
 
         for (Entry<Address, Optional<RemoteRpcEndpoint>> e : endpoints.entrySet()) {
             LOG.debug("Updating RPC registrations for {}", e.getKey());
 
-            final DOMRpcImplementationRegistration<?> prevReg;
             final Optional<RemoteRpcEndpoint> maybeEndpoint = e.getValue();
-            if (maybeEndpoint.isPresent()) {
-                final RemoteRpcEndpoint endpoint = maybeEndpoint.get();
-                final RemoteRpcImplementation impl = new RemoteRpcImplementation(endpoint.getRouter(), config);
-                prevReg = regs.put(e.getKey(), rpcProviderService.registerRpcImplementation(impl,
-                    endpoint.getRpcs()));
-            } else {
-                prevReg = regs.remove(e.getKey());
+            if (!maybeEndpoint.isPresent()) {
+                final EndpointRegistrations prev = regs.remove(e.getKey());
+                if (prev != null) {
+                    prev.collectRegistrations(prevRegs);
+                    prevEndpoints.add(prev);
+                }
+                continue;
             }
 
-            if (prevReg != null) {
-                prevRegs.add(prevReg);
+            final RemoteRpcEndpoint endpoint = maybeEndpoint.get();
+            final EndpointRegistrations current = regs.get(e.getKey());
+            final RoutingTableDelta delta = deltas.get(e.getKey());
+            if (delta != null && current != null && current.getRouter().equals(endpoint.getRouter())) {
+                current.applyDelta(delta, prevRegs);
+                if (current.size() == endpoint.getRpcs().size()) {
+                    continue;
+                }
+
+                LOG.warn("RPC registrations for {} do not match endpoint {}, re-registering", e.getKey(),
+                    endpoint.getRpcs());
+            }
+
+            final EndpointRegistrations next = new EndpointRegistrations(endpoint.getRouter());
+            next.register(endpoint.getRpcs());
+            final EndpointRegistrations prev = regs.put(e.getKey(), next);
+            if (prev != null) {
+                prev.collectRegistrations(prevRegs);
+                prevEndpoints.add(prev);
             }
         }
 
         for (DOMRpcImplementationRegistration<?> r : prevRegs) {
             r.close();
         }
+
+        // Channels are stopped only once nothing is routed to them, failing any requests still in flight
+        prevEndpoints.forEach(EndpointRegistrations::stopChannel);
     }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * A frame of RPC invocation requests sent over an RPC channel, each identified by a correlation ID unique within
+ * the channel. All requests are serialized into a single stream, so the stream's dictionary is shared by all of
+ * their inputs.
+ */
+public final class ExecuteRpcBatch implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    private final Map<Long, ExecuteRpc> requests;
+
+    public ExecuteRpcBatch(@Nonnull final Map<Long, ExecuteRpc> requests) {
+        this.requests = ImmutableMap.copyOf(requests);
+    }
+
+    /**
+     * Return requests in this frame, keyed by their correlation IDs.
+     *
+     * @return Immutable map of requests
+     */
+    @Nonnull
+    public Map<Long, ExecuteRpc> getRequests() {
+        return requests;
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("requests", requests).toString();
+    }
+
+    private static class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private ExecuteRpcBatch batch;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+        }
+
+        Proxy(final ExecuteRpcBatch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            final NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(out);
+            nnout.writeInt(batch.requests.size());
+            for (Entry<Long, ExecuteRpc> e : batch.requests.entrySet()) {
+                final ExecuteRpc request = e.getValue();
+                nnout.writeLong(e.getKey());
+                nnout.writeSchemaPath(SchemaPath.create(true, request.getRpc()));
+
+                final NormalizedNode<?, ?> input = request.getInputNormalizedNode();
+                nnout.writeBoolean(input != null);
+                if (input != null) {
+                    nnout.writeNormalizedNode(input);
+                }
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException {
+            final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(in);
+            final int size = nnin.readInt();
+            final Map<Long, ExecuteRpc> requests = new LinkedHashMap<>(size);
+            for (int i = 0; i < size; ++i) {
+                final long id = nnin.readLong();
+                final SchemaPath rpc = nnin.readSchemaPath();
+                final NormalizedNode<?, ?> input = nnin.readBoolean() ? nnin.readNormalizedNode() : null;
+                requests.put(id, ExecuteRpc.from(rpc.getLastComponent(), input));
+            }
+            batch = new ExecuteRpcBatch(requests);
+        }
+
+        private Object readResolve() {
+            return batch;
+        }
+    }
+}
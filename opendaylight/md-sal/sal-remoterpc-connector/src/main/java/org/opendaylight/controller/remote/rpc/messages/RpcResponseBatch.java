@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A frame of RPC invocation outcomes sent back over an RPC channel, keyed by the correlation IDs of the requests
+ * in {@link ExecuteRpcBatch}es. Successful results are serialized into a single stream, so the stream's dictionary
+ * is shared by all of them.
+ */
+public final class RpcResponseBatch implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    private final Map<Long, RpcResponse> responses;
+    private final Map<Long, Throwable> failures;
+
+    public RpcResponseBatch(@Nonnull final Map<Long, RpcResponse> responses,
+            @Nonnull final Map<Long, Throwable> failures) {
+        this.responses = ImmutableMap.copyOf(responses);
+        this.failures = ImmutableMap.copyOf(failures);
+    }
+
+    /**
+     * Return successful responses in this frame, keyed by their correlation IDs.
+     *
+     * @return Immutable map of responses
+     */
+    @Nonnull
+    public Map<Long, RpcResponse> getResponses() {
+        return responses;
+    }
+
+    /**
+     * Return failures in this frame, keyed by their correlation IDs.
+     *
+     * @return Immutable map of failures
+     */
+    @Nonnull
+    public Map<Long, Throwable> getFailures() {
+        return failures;
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("responses", responses).add("failures", failures).toString();
+    }
+
+    private static class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private RpcResponseBatch batch;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+        }
+
+        Proxy(final RpcResponseBatch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            // Failures are rare, hence we use plain Java serialization for them
+            out.writeInt(batch.failures.size());
+            for (Entry<Long, Throwable> e : batch.failures.entrySet()) {
+                out.writeLong(e.getKey());
+                out.writeObject(e.getValue());
+            }
+
+            final NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(out);
+            nnout.writeInt(batch.responses.size());
+            for (Entry<Long, RpcResponse> e : batch.responses.entrySet()) {
+                nnout.writeLong(e.getKey());
+
+                final NormalizedNode<?, ?> result = e.getValue().getResultNormalizedNode();
+                nnout.writeBoolean(result != null);
+                if (result != null) {
+                    nnout.writeNormalizedNode(result);
+                }
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            final int failureCount = in.readInt();
+            final Map<Long, Throwable> failures = new HashMap<>(failureCount);
+            for (int i = 0; i < failureCount; ++i) {
+                final long id = in.readLong();
+                failures.put(id, (Throwable) in.readObject());
+            }
+
+            final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(in);
+            final int responseCount = nnin.readInt();
+            final Map<Long, RpcResponse> responses = new HashMap<>(responseCount);
+            for (int i = 0; i < responseCount; ++i) {
+                final long id = nnin.readLong();
+                responses.put(id, new RpcResponse(nnin.readBoolean() ? nnin.readNormalizedNode() : null));
+            }
+
+            batch = new RpcResponseBatch(responses, failures);
+        }
+
+        private Object readResolve() {
+            return batch;
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.opendaylight.controller.cluster.datastore.node.utils.stream.Normalize
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.remote.rpc.registry.gossip.BucketData;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDelta;
 
 public final class RoutingTable implements BucketData<RoutingTable>, Serializable {
     private static final class Proxy implements Externalizable {
@@ -95,6 +96,15 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
         return Optional.of(rpcInvoker);
     }
 
+    @Override
+    public Optional<BucketDelta<RoutingTable>> diffFrom(final RoutingTable base) {
+        // Deltas are meaningful only as long as the same invoker is reachable
+        if (!rpcInvoker.equals(base.rpcInvoker)) {
+            return Optional.empty();
+        }
+        return Optional.of(RoutingTableDelta.between(base.rpcs, rpcs));
+    }
+
     public Set<DOMRpcIdentifier> getRoutes() {
         return rpcs;
     }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDelta;
+
+/**
+ * Difference between two {@link RoutingTable}s of the same RPC invoker, expressed as the RPCs which have been added
+ * and removed. The two sets are always disjoint.
+ */
+public final class RoutingTableDelta implements BucketDelta<RoutingTable> {
+    private static final class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+        private Collection<DOMRpcIdentifier> added;
+        @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+        private Collection<DOMRpcIdentifier> removed;
+
+        // checkstyle flags the public modifier as redundant however it is explicitly needed for Java serialization to
+        // be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+            // For Externalizable
+        }
+
+        Proxy(final RoutingTableDelta delta) {
+            added = delta.getAddedRpcs();
+            removed = delta.getRemovedRpcs();
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            final NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(out);
+            writeRpcs(nnout, added);
+            writeRpcs(nnout, removed);
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(in);
+            added = readRpcs(nnin);
+            removed = readRpcs(nnin);
+        }
+
+        private static void writeRpcs(final NormalizedNodeDataOutput out, final Collection<DOMRpcIdentifier> rpcs)
+                throws IOException {
+            out.writeInt(rpcs.size());
+            for (DOMRpcIdentifier id : rpcs) {
+                out.writeSchemaPath(id.getType());
+                out.writeYangInstanceIdentifier(id.getContextReference());
+            }
+        }
+
+        private static Collection<DOMRpcIdentifier> readRpcs(final NormalizedNodeDataInput in) throws IOException {
+            final int size = in.readInt();
+            final Collection<DOMRpcIdentifier> rpcs = new ArrayList<>(size);
+            for (int i = 0; i < size; ++i) {
+                rpcs.add(DOMRpcIdentifier.create(in.readSchemaPath(), in.readYangInstanceIdentifier()));
+            }
+            return rpcs;
+        }
+
+        private Object readResolve() {
+            return new RoutingTableDelta(added, removed);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+    private final Set<DOMRpcIdentifier> added;
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+    private final Set<DOMRpcIdentifier> removed;
+
+    @VisibleForTesting
+    public RoutingTableDelta(final Collection<DOMRpcIdentifier> added, final Collection<DOMRpcIdentifier> removed) {
+        this.added = ImmutableSet.copyOf(added);
+        this.removed = ImmutableSet.copyOf(removed);
+        Preconditions.checkArgument(Sets.intersection(this.added, this.removed).isEmpty(),
+            "Added %s and removed %s RPCs overlap", this.added, this.removed);
+    }
+
+    static RoutingTableDelta between(final Set<DOMRpcIdentifier> before, final Set<DOMRpcIdentifier> after) {
+        return new RoutingTableDelta(Sets.difference(after, before), Sets.difference(before, after));
+    }
+
+    public Set<DOMRpcIdentifier> getAddedRpcs() {
+        return added;
+    }
+
+    public Set<DOMRpcIdentifier> getRemovedRpcs() {
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public RoutingTable applyTo(final RoutingTable base) {
+        final Set<DOMRpcIdentifier> rpcs = new HashSet<>(base.getRoutes());
+        rpcs.removeAll(removed);
+        rpcs.addAll(added);
+        return new RoutingTable(base.getRpcInvoker(), rpcs);
+    }
+
+    @Override
+    public RoutingTableDelta andThen(final BucketDelta<RoutingTable> next) {
+        final RoutingTableDelta other = (RoutingTableDelta) next;
+
+        // RPCs added by us and not removed afterwards, plus those added afterwards
+        final Set<DOMRpcIdentifier> newAdded = new HashSet<>(Sets.difference(added, other.removed));
+        newAdded.addAll(other.added);
+
+        // Everything removed by either, unless it ends up being added
+        final Set<DOMRpcIdentifier> newRemoved = new HashSet<>(removed);
+        newRemoved.addAll(other.removed);
+        newRemoved.removeAll(newAdded);
+
+        return new RoutingTableDelta(newAdded, newRemoved);
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return "RoutingTableDelta{" + "added=" + added + ", removed=" + removed + '}';
+    }
+}
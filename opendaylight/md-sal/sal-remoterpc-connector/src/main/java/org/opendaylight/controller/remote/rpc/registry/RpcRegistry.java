@@ -28,6 +28,7 @@ import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.AddO
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.RemoveRoutes;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.UpdateRemoteEndpoints;
 import org.opendaylight.controller.remote.rpc.registry.gossip.Bucket;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDelta;
 import org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor;
 
 /**
@@ -90,19 +91,30 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
     }
 
     @Override
-    protected void onBucketsUpdated(final Map<Address, Bucket<RoutingTable>> buckets) {
+    protected void onBucketsUpdated(final Map<Address, Bucket<RoutingTable>> buckets,
+            final Map<Address, BucketDelta<RoutingTable>> deltas) {
         final Map<Address, Optional<RemoteRpcEndpoint>> endpoints = new HashMap<>(buckets.size());
+        final Map<Address, RoutingTableDelta> endpointDeltas = new HashMap<>(deltas.size());
 
         for (Entry<Address, Bucket<RoutingTable>> e : buckets.entrySet()) {
-            final RoutingTable table = e.getValue().getData();
+            final Address address = e.getKey();
+            final RoutingTableDelta delta = (RoutingTableDelta) deltas.get(address);
+            if (delta != null) {
+                if (delta.isEmpty()) {
+                    // Nothing changed as far as the registrar is concerned
+                    continue;
+                }
+                endpointDeltas.put(address, delta);
+            }
 
+            final RoutingTable table = e.getValue().getData();
             final Collection<DOMRpcIdentifier> rpcs = table.getRoutes();
-            endpoints.put(e.getKey(), rpcs.isEmpty() ? Optional.empty()
+            endpoints.put(address, rpcs.isEmpty() ? Optional.empty()
                     : Optional.of(new RemoteRpcEndpoint(table.getRpcInvoker(), rpcs)));
         }
 
         if (!endpoints.isEmpty()) {
-            rpcRegistrar.tell(new UpdateRemoteEndpoints(endpoints), ActorRef.noSender());
+            rpcRegistrar.tell(new UpdateRemoteEndpoints(endpoints, endpointDeltas), ActorRef.noSender());
         }
     }
 
@@ -160,17 +172,34 @@ public class RpcRegistry extends BucketStoreActor<RoutingTable> {
             }
         }
 
+        /**
+         * Update of remote endpoints. Each endpoint carries the complete set of RPCs available at an address. Where
+         * the previous endpoint of an address is known, the update also carries the delta from it, so that only
+         * the changed RPCs need to be registered or unregistered.
+         */
         public static final class UpdateRemoteEndpoints {
             private final Map<Address, Optional<RemoteRpcEndpoint>> endpoints;
+            private final Map<Address, RoutingTableDelta> deltas;
 
             @VisibleForTesting
             public UpdateRemoteEndpoints(final Map<Address, Optional<RemoteRpcEndpoint>> endpoints) {
+                this(endpoints, ImmutableMap.of());
+            }
+
+            @VisibleForTesting
+            public UpdateRemoteEndpoints(final Map<Address, Optional<RemoteRpcEndpoint>> endpoints,
+                    final Map<Address, RoutingTableDelta> deltas) {
                 this.endpoints = ImmutableMap.copyOf(endpoints);
+                this.deltas = ImmutableMap.copyOf(deltas);
             }
 
             public Map<Address, Optional<RemoteRpcEndpoint>> getEndpoints() {
                 return endpoints;
             }
+
+            public Map<Address, RoutingTableDelta> getDeltas() {
+                return deltas;
+            }
         }
     }
 }
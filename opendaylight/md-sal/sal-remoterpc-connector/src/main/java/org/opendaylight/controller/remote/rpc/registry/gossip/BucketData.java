@@ -26,4 +26,15 @@ public interface BucketData<T extends BucketData<T>> extends Immutable {
      * @return Optional ActorRef.
      */
     Optional<ActorRef> getWatchActor();
+
+    /**
+     * Compute the {@link BucketDelta} which transforms the specified base into this data. Data types which do not
+     * support incremental updates return an empty Optional, in which case whole buckets are gossiped.
+     *
+     * @param base Base data
+     * @return Optional delta from base to this data.
+     */
+    default Optional<BucketDelta<T>> diffFrom(final T base) {
+        return Optional.empty();
+    }
 }
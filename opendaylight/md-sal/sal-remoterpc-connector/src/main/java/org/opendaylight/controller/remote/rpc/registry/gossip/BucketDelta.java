@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import java.io.Serializable;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * Incremental change between two versions of {@link BucketData}. Deltas are gossiped instead of whole buckets when
+ * the remote peer is known to hold the base version, hence implementations need to be {@link Serializable}.
+ *
+ * @param <T> Bucket data type
+ */
+public interface BucketDelta<T extends BucketData<T>> extends Immutable, Serializable {
+    /**
+     * Apply this delta to the base data.
+     *
+     * @param base Data this delta was computed against
+     * @return Resulting data
+     */
+    @Nonnull T applyTo(@Nonnull T base);
+
+    /**
+     * Compose this delta with a subsequent delta, such that applying the result is equivalent to applying this delta
+     * followed by the next one.
+     *
+     * @param next Delta following this one
+     * @return Composed delta
+     */
+    @Nonnull BucketDelta<T> andThen(@Nonnull BucketDelta<T> next);
+}
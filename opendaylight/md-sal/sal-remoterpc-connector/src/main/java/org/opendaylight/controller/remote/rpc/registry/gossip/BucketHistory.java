@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Optional;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Bounded history of consecutive {@link VersionedBucketDelta}s of a single bucket. It allows a peer which holds
+ * a recent version of the bucket to be brought up to date with a delta. Peers which are too far behind, or whose
+ * version is not part of the history, need to be sent the whole bucket.
+ */
+@NotThreadSafe
+final class BucketHistory<T extends BucketData<T>> {
+    /**
+     * Maximum number of deltas retained. Older deltas are discarded, forcing full bucket updates to peers which
+     * have not caught up with them.
+     */
+    static final int MAX_DELTAS = 32;
+
+    private final Deque<VersionedBucketDelta<T>> deltas = new ArrayDeque<>(MAX_DELTAS);
+
+    /**
+     * Record a transition from one version to another. If the transition does not continue the recorded history,
+     * the history is restarted.
+     *
+     * @param delta Delta describing the transition
+     */
+    void record(final VersionedBucketDelta<T> delta) {
+        final VersionedBucketDelta<T> last = deltas.peekLast();
+        if (last != null && last.getVersion() != delta.getBaseVersion()) {
+            deltas.clear();
+        }
+        if (deltas.size() == MAX_DELTAS) {
+            deltas.removeFirst();
+        }
+        deltas.addLast(delta);
+    }
+
+    /**
+     * Return the delta which brings a bucket from the specified version to the latest recorded version.
+     *
+     * @param version Version held by the peer
+     * @return Optional delta, empty if the version is not covered by this history
+     */
+    Optional<VersionedBucketDelta<T>> deltaSince(final long version) {
+        final Iterator<VersionedBucketDelta<T>> it = deltas.iterator();
+        while (it.hasNext()) {
+            final VersionedBucketDelta<T> first = it.next();
+            if (first.getBaseVersion() == version) {
+                VersionedBucketDelta<T> ret = first;
+                while (it.hasNext()) {
+                    ret = ret.andThen(it.next());
+                }
+                return Optional.of(ret);
+            }
+        }
+        return Optional.empty();
+    }
+
+    void clear() {
+        deltas.clear();
+    }
+}
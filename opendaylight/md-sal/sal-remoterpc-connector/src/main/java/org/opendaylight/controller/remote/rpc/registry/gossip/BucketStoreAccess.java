@@ -7,6 +7,7 @@
  */
 package org.opendaylight.controller.remote.rpc.registry.gossip;
 
+import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.getBucketUpdatesMessage;
 import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.getBucketsByMembersMessage;
 import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.removeBucketMessage;
 import static org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.updateRemoteBucketsMessage;
@@ -54,6 +55,19 @@ public final class BucketStoreAccess {
             }, context.dispatcher());
     }
 
+    void getBucketUpdates(final Address to, final Collection<Address> members, final Map<Address, Long> peerVersions,
+            final boolean peerSupportsDeltas, final Consumer<GossipEnvelope> callback) {
+        Patterns.ask(context.parent(), getBucketUpdatesMessage(to, members, peerVersions, peerSupportsDeltas), timeout)
+            .onComplete(new OnComplete<Object>() {
+                @Override
+                public void onComplete(final Throwable failure, final Object success) {
+                    if (failure == null) {
+                        callback.accept((GossipEnvelope) success);
+                    }
+                }
+            }, context.dispatcher());
+    }
+
     void getBucketVersions(final Consumer<Map<Address, Long>> callback) {
         Patterns.ask(context.parent(), Singletons.GET_BUCKET_VERSIONS, timeout).onComplete(new OnComplete<Object>() {
             @SuppressWarnings("unchecked")
@@ -67,8 +81,10 @@ public final class BucketStoreAccess {
     }
 
     @SuppressWarnings("unchecked")
-    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets) {
-        context.parent().tell(updateRemoteBucketsMessage((Map<Address, Bucket<?>>) buckets), ActorRef.noSender());
+    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets,
+            final Map<Address, ? extends VersionedBucketDelta<?>> deltas) {
+        context.parent().tell(updateRemoteBucketsMessage((Map<Address, Bucket<?>>) buckets,
+            (Map<Address, VersionedBucketDelta<?>>) deltas), ActorRef.noSender());
     }
 
     void removeRemoteBucket(final Address addr) {
@@ -66,6 +66,11 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
      */
     private final Map<Address, Long> versions = new HashMap<>();
 
+    /**
+     * Recent deltas of remote buckets, used to relay incremental updates to other nodes.
+     */
+    private final Map<Address, BucketHistory<T>> remoteHistories = new HashMap<>();
+
     /**
      * {@link ActorRef}s being watched for liveness due to being referenced in bucket data. Each actor is monitored
      * once, possibly being tied to multiple addresses (and by extension, buckets).
@@ -98,12 +103,18 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         return actor -> actor.getBucketsByMembers(members);
     }
 
+    static ExecuteInActor getBucketUpdatesMessage(final Address to, final Collection<Address> members,
+            final Map<Address, Long> peerVersions, final boolean peerSupportsDeltas) {
+        return actor -> actor.getBucketUpdates(to, members, peerVersions, peerSupportsDeltas);
+    }
+
     static ExecuteInActor removeBucketMessage(final Address addr) {
         return actor -> actor.removeBucket(addr);
     }
 
-    static ExecuteInActor updateRemoteBucketsMessage(final Map<Address, Bucket<?>> buckets) {
-        return actor -> actor.updateRemoteBuckets(buckets);
+    static ExecuteInActor updateRemoteBucketsMessage(final Map<Address, Bucket<?>> buckets,
+            final Map<Address, VersionedBucketDelta<?>> deltas) {
+        return actor -> actor.updateRemoteBuckets(buckets, deltas);
     }
 
     public final T getLocalData() {
@@ -233,11 +244,15 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
     protected abstract void onBucketRemoved(Address address, Bucket<T> bucket);
 
     /**
-     * Callback to subclasses invoked when the set of remote buckets is updated.
+     * Callback to subclasses invoked when the set of remote buckets is updated. For buckets which replaced a known
+     * previous bucket the change is also reported as a delta, allowing subclasses to process only the difference.
      *
      * @param newBuckets Map of address to new bucket. Never null, but can be empty.
+     * @param deltas Map of address to the delta from the previous bucket. Never null, keys are a subset of
+     *               newBuckets' keys.
      */
-    protected abstract void onBucketsUpdated(Map<Address, Bucket<T>> newBuckets);
+    protected abstract void onBucketsUpdated(Map<Address, Bucket<T>> newBuckets,
+            Map<Address, BucketDelta<T>> deltas);
 
     /**
      * Helper to collect all known buckets.
@@ -279,6 +294,60 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         getSender().tell(buckets, getSelf());
     }
 
+    private void getBucketUpdates(final Address to, final Collection<Address> members,
+            final Map<Address, Long> peerVersions, final boolean peerSupportsDeltas) {
+        getSender().tell(collectBucketUpdates(to, members, peerVersions, peerSupportsDeltas), getSelf());
+    }
+
+    /**
+     * Helper to collect updates of requested members for a peer. If the peer supports deltas, buckets whose version
+     * held by the peer is covered by recorded history are sent as deltas, all others are sent whole.
+     *
+     * @param to peer address
+     * @param members requested members
+     * @param peerVersions bucket versions known to the peer
+     * @param peerSupportsDeltas whether the peer can apply bucket deltas
+     * @return envelope carrying the updates
+     */
+    @VisibleForTesting
+    GossipEnvelope collectBucketUpdates(final Address to, final Collection<Address> members,
+            final Map<Address, Long> peerVersions, final boolean peerSupportsDeltas) {
+        final Map<Address, Bucket<T>> buckets = new HashMap<>();
+        final Map<Address, VersionedBucketDelta<T>> deltas = new HashMap<>();
+
+        for (Address address : members) {
+            // Members without delta support cannot even deserialize a delta, do not consult history for them
+            final Long peerVersion = peerSupportsDeltas ? peerVersions.get(address) : null;
+            if (selfAddress.equals(address)) {
+                final LocalBucket<T> local = getLocalBucket();
+                final Optional<VersionedBucketDelta<T>> delta = peerVersion == null ? Optional.empty()
+                        : local.deltaSince(peerVersion);
+                if (delta.isPresent()) {
+                    deltas.put(address, delta.get());
+                } else {
+                    buckets.put(address, local.snapshot());
+                }
+                continue;
+            }
+
+            final Bucket<T> bucket = remoteBuckets.get(address);
+            if (bucket == null) {
+                continue;
+            }
+
+            final BucketHistory<T> history = remoteHistories.get(address);
+            final Optional<VersionedBucketDelta<T>> delta = peerVersion == null || history == null ? Optional.empty()
+                    : history.deltaSince(peerVersion);
+            if (delta.isPresent() && delta.get().getVersion() == bucket.getVersion()) {
+                deltas.put(address, delta.get());
+            } else {
+                buckets.put(address, bucket);
+            }
+        }
+
+        return new GossipEnvelope(selfAddress, to, buckets, deltas);
+    }
+
     private void removeBucket(final Address addr) {
         final Bucket<T> bucket = remoteBuckets.remove(addr);
         if (bucket != null) {
@@ -286,6 +355,7 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
             onBucketRemoved(addr, bucket);
         }
         versions.remove(addr);
+        remoteHistories.remove(addr);
     }
 
     /**
@@ -296,54 +366,125 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
      */
     @VisibleForTesting
     void updateRemoteBuckets(final Map<Address, Bucket<?>> receivedBuckets) {
-        LOG.debug("{}: receiveUpdateRemoteBuckets: {}", selfAddress, receivedBuckets);
-        if (receivedBuckets == null || receivedBuckets.isEmpty()) {
+        updateRemoteBuckets(receivedBuckets, ImmutableMap.of());
+    }
+
+    /**
+     * Update local copy of remote buckets where local copy's version is older. Deltas are applied only if they are
+     * based on the local copy's version, otherwise they are ignored and the bucket is brought up to date by
+     * a subsequent gossip round.
+     *
+     * @param receivedBuckets buckets sent by remote
+     *                        {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
+     * @param receivedDeltas bucket deltas sent by remote
+     *                       {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
+     */
+    @VisibleForTesting
+    void updateRemoteBuckets(final Map<Address, Bucket<?>> receivedBuckets,
+            final Map<Address, VersionedBucketDelta<?>> receivedDeltas) {
+        LOG.debug("{}: receiveUpdateRemoteBuckets: {} deltas: {}", selfAddress, receivedBuckets, receivedDeltas);
+        if ((receivedBuckets == null || receivedBuckets.isEmpty())
+                && (receivedDeltas == null || receivedDeltas.isEmpty())) {
             //nothing to do
             return;
         }
 
-        final Map<Address, Bucket<T>> newBuckets = new HashMap<>(receivedBuckets.size());
-        for (Entry<Address, Bucket<?>> entry : receivedBuckets.entrySet()) {
-            final Address addr = entry.getKey();
-
-            if (selfAddress.equals(addr)) {
-                // Remote cannot update our bucket
-                continue;
-            }
-
-            @SuppressWarnings("unchecked")
-            final Bucket<T> receivedBucket = (Bucket<T>) entry.getValue();
-            if (receivedBucket == null) {
-                LOG.debug("Ignoring null bucket from {}", addr);
-                continue;
+        final Map<Address, Bucket<T>> newBuckets = new HashMap<>();
+        final Map<Address, BucketDelta<T>> newDeltas = new HashMap<>();
+        if (receivedBuckets != null) {
+            for (Entry<Address, Bucket<?>> entry : receivedBuckets.entrySet()) {
+                final Address addr = entry.getKey();
+
+                if (selfAddress.equals(addr)) {
+                    // Remote cannot update our bucket
+                    continue;
+                }
+
+                @SuppressWarnings("unchecked")
+                final Bucket<T> receivedBucket = (Bucket<T>) entry.getValue();
+                if (receivedBucket == null) {
+                    LOG.debug("Ignoring null bucket from {}", addr);
+                    continue;
+                }
+
+                // update only if remote version is newer
+                final long remoteVersion = receivedBucket.getVersion();
+                final Long localVersion = versions.get(addr);
+                if (localVersion != null && remoteVersion <= localVersion.longValue()) {
+                    LOG.debug("Ignoring down-versioned bucket from {} ({} local {} remote)", addr, localVersion,
+                        remoteVersion);
+                    continue;
+                }
+                newBuckets.put(addr, receivedBucket);
+                final Bucket<T> prevBucket = putRemoteBucket(addr, receivedBucket);
+
+                // Keep the delta history going, so we can relay deltas to others
+                final Optional<BucketDelta<T>> delta = prevBucket == null ? Optional.empty()
+                        : receivedBucket.getData().diffFrom(prevBucket.getData());
+                if (delta.isPresent()) {
+                    newDeltas.put(addr, delta.get());
+                    remoteHistories.computeIfAbsent(addr, k -> new BucketHistory<>()).record(
+                        new VersionedBucketDelta<>(prevBucket.getVersion(), remoteVersion, delta.get()));
+                } else {
+                    remoteHistories.remove(addr);
+                }
+
+                LOG.debug("Updating bucket from {} to version {}", addr, remoteVersion);
             }
+        }
 
-            // update only if remote version is newer
-            final long remoteVersion = receivedBucket.getVersion();
-            final Long localVersion = versions.get(addr);
-            if (localVersion != null && remoteVersion <= localVersion.longValue()) {
-                LOG.debug("Ignoring down-versioned bucket from {} ({} local {} remote)", addr, localVersion,
-                    remoteVersion);
-                continue;
-            }
-            newBuckets.put(addr, receivedBucket);
-            versions.put(addr, remoteVersion);
-            final Bucket<T> prevBucket = remoteBuckets.put(addr, receivedBucket);
-
-            // Deal with DeathWatch subscriptions
-            final Optional<ActorRef> prevRef = prevBucket != null ? prevBucket.getWatchActor() : Optional.empty();
-            final Optional<ActorRef> curRef = receivedBucket.getWatchActor();
-            if (!curRef.equals(prevRef)) {
-                prevRef.ifPresent(ref -> removeWatch(addr, ref));
-                curRef.ifPresent(ref -> addWatch(addr, ref));
+        if (receivedDeltas != null) {
+            for (Entry<Address, VersionedBucketDelta<?>> entry : receivedDeltas.entrySet()) {
+                final Address addr = entry.getKey();
+
+                if (selfAddress.equals(addr)) {
+                    // Remote cannot update our bucket
+                    continue;
+                }
+
+                @SuppressWarnings("unchecked")
+                final VersionedBucketDelta<T> receivedDelta = (VersionedBucketDelta<T>) entry.getValue();
+                if (receivedDelta == null) {
+                    LOG.debug("Ignoring null delta from {}", addr);
+                    continue;
+                }
+
+                // apply only if the delta is based on our version
+                final Bucket<T> prevBucket = remoteBuckets.get(addr);
+                if (prevBucket == null || prevBucket.getVersion() != receivedDelta.getBaseVersion()) {
+                    LOG.debug("Ignoring delta from {} based on version {} (local {})", addr,
+                        receivedDelta.getBaseVersion(), prevBucket == null ? null : prevBucket.getVersion());
+                    continue;
+                }
+
+                final Bucket<T> newBucket = new BucketImpl<>(receivedDelta.getVersion(),
+                        receivedDelta.getDelta().applyTo(prevBucket.getData()));
+                newBuckets.put(addr, newBucket);
+                newDeltas.put(addr, receivedDelta.getDelta());
+                putRemoteBucket(addr, newBucket);
+                remoteHistories.computeIfAbsent(addr, k -> new BucketHistory<>()).record(receivedDelta);
+
+                LOG.debug("Updating bucket from {} to version {} using delta", addr, receivedDelta.getVersion());
             }
-
-            LOG.debug("Updating bucket from {} to version {}", entry.getKey(), remoteVersion);
         }
 
         LOG.debug("State after update - Local Bucket [{}], Remote Buckets [{}]", localBucket, remoteBuckets);
 
-        onBucketsUpdated(newBuckets);
+        onBucketsUpdated(newBuckets, newDeltas);
+    }
+
+    private Bucket<T> putRemoteBucket(final Address addr, final Bucket<T> bucket) {
+        versions.put(addr, bucket.getVersion());
+        final Bucket<T> prevBucket = remoteBuckets.put(addr, bucket);
+
+        // Deal with DeathWatch subscriptions
+        final Optional<ActorRef> prevRef = prevBucket != null ? prevBucket.getWatchActor() : Optional.empty();
+        final Optional<ActorRef> curRef = bucket.getWatchActor();
+        if (!curRef.equals(prevRef)) {
+            prevRef.ifPresent(ref -> removeWatch(addr, ref));
+            curRef.ifPresent(ref -> addWatch(addr, ref));
+        }
+        return prevBucket;
     }
 
     private void addWatch(final Address addr, final ActorRef ref) {
@@ -367,6 +508,7 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
 
         for (Address addr : watchedActors.removeAll(message.getActor())) {
             versions.remove(addr);
+            remoteHistories.remove(addr);
             final Bucket<T> bucket = remoteBuckets.remove(addr);
             if (bucket != null) {
                 LOG.debug("Source actor dead, removing bucket {} from ", bucket, addr);
@@ -8,6 +8,7 @@
 package org.opendaylight.controller.remote.rpc.registry.gossip;
 
 import akka.actor.Address;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import java.io.Serializable;
 import java.util.Map;
@@ -18,9 +19,21 @@ final class GossipStatus implements Serializable {
     private final Map<Address, Long> versions;
     private final Address from;
 
+    /**
+     * Whether the sender can apply bucket deltas. Statuses sent by members running a version without delta gossip
+     * do not carry this field and deserialize with it set to false, hence such members are sent whole buckets only.
+     */
+    private final boolean supportsDeltas;
+
     GossipStatus(final Address from, final Map<Address, Long> versions) {
+        this(from, versions, true);
+    }
+
+    @VisibleForTesting
+    GossipStatus(final Address from, final Map<Address, Long> versions, final boolean supportsDeltas) {
         this.versions = ImmutableMap.copyOf(versions);
         this.from = from;
+        this.supportsDeltas = supportsDeltas;
     }
 
     Address from() {
@@ -30,4 +43,8 @@ final class GossipStatus implements Serializable {
     Map<Address, Long> versions() {
         return versions;
     }
+
+    boolean supportsDeltas() {
+        return supportsDeltas;
+    }
 }
\ No newline at end of file
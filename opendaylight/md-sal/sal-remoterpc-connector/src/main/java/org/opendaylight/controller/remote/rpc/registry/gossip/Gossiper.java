@@ -20,6 +20,7 @@ import akka.cluster.Member;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -47,6 +48,9 @@ import scala.concurrent.duration.FiniteDuration;
  * with bucket store's bucket versions. Which ever buckets are newer
  * locally, are sent to remote gossiper. If any bucket is older in bucket store,
  * a gossip status is sent to remote gossiper so that it can send the newer buckets.
+ * Newer buckets are sent as deltas against the remote versions when the remote gossiper
+ * advertises delta support in its gossip status and the bucket store still has the history
+ * covering them, otherwise they are sent whole.
  *
  * <p>
  * When a bucket is received from a remote gossiper, its sent to the bucket store
@@ -303,11 +307,13 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
         }
 
         if (!localIsNewer.isEmpty()) {
-            //send newer buckets to remote
-            bucketStore.getBucketsByMembers(localIsNewer, buckets -> {
-                LOG.trace("Buckets to send from {}: {}", selfAddress, buckets);
-                remote.tell(new GossipEnvelope(selfAddress, remote.path().address(), buckets), getSelf());
-            });
+            //send newer buckets to remote, as deltas against the remote versions where possible
+            bucketStore.getBucketUpdates(remote.path().address(), localIsNewer, remoteVersions,
+                status.supportsDeltas(), envelope -> {
+                    LOG.trace("Buckets to send from {}: {} deltas: {}", selfAddress, envelope.buckets(),
+                        envelope.deltas());
+                    remote.tell(envelope, getSelf());
+                });
         }
     }
 
@@ -324,7 +330,7 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
             return;
         }
 
-        updateRemoteBuckets(envelope.buckets());
+        updateRemoteBuckets(envelope.buckets(), envelope.deltas());
     }
 
     /**
@@ -334,8 +340,21 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
      */
     @VisibleForTesting
     void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets) {
+        updateRemoteBuckets(buckets, ImmutableMap.of());
+    }
+
+    /**
+     * Helper to send received buckets and bucket deltas to bucket store.
+     *
+     * @param buckets map of Buckets to update
+     * @param deltas map of bucket deltas to apply
+     */
+    @VisibleForTesting
+    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets,
+            final Map<Address, ? extends VersionedBucketDelta<?>> deltas) {
         // filter this so we only handle buckets for known peers
-        bucketStore.updateRemoteBuckets(Maps.filterKeys(buckets, peers::containsKey));
+        bucketStore.updateRemoteBuckets(Maps.filterKeys(buckets, peers::containsKey),
+            Maps.filterKeys(deltas, peers::containsKey));
     }
 
     /**
@@ -8,6 +8,7 @@
 package org.opendaylight.controller.remote.rpc.registry.gossip;
 
 import com.google.common.base.Preconditions;
+import java.util.Optional;
 
 /**
  * Local bucket implementation. Unlike a full-blown {@link Bucket}, this class is mutable and tracks when it has been
@@ -29,6 +30,11 @@ final class LocalBucket<T extends BucketData<T>> {
     // We bump versions only if we took a snapshot since last data update
     private boolean bumpVersion;
 
+    // Deltas between published snapshots, along with the last published data and its version
+    private final BucketHistory<T> history = new BucketHistory<>();
+    private T publishedData;
+    private long publishedVersion;
+
     LocalBucket(final int incarnation, final T data) {
         Preconditions.checkArgument(incarnation >= 0);
         this.version = ((long)incarnation) << Integer.SIZE;
@@ -45,9 +51,38 @@ final class LocalBucket<T extends BucketData<T>> {
 
     Bucket<T> snapshot() {
         bumpVersion = true;
+        if (publishedData == null || publishedVersion != version) {
+            publish();
+        }
         return new BucketImpl<>(version, data);
     }
 
+    /**
+     * Return a delta which brings a peer holding specified version of this bucket to the current version.
+     *
+     * @param peerVersion Version held by the peer
+     * @return Optional delta, empty if the peer needs to be sent a {@link #snapshot()}
+     */
+    Optional<VersionedBucketDelta<T>> deltaSince(final long peerVersion) {
+        // Make sure the current version is published and part of the history
+        snapshot();
+        return history.deltaSince(peerVersion);
+    }
+
+    private void publish() {
+        if (publishedData != null) {
+            final Optional<BucketDelta<T>> delta = data.diffFrom(publishedData);
+            if (delta.isPresent()) {
+                history.record(new VersionedBucketDelta<>(publishedVersion, version, delta.get()));
+            } else {
+                history.clear();
+            }
+        }
+
+        publishedData = data;
+        publishedVersion = version;
+    }
+
     boolean setData(final T data) {
         this.data = Preconditions.checkNotNull(data);
         if (!bumpVersion) {
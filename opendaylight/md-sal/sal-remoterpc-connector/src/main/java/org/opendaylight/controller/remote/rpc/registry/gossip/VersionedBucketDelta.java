@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Verify;
+import java.io.Serializable;
+
+/**
+ * A {@link BucketDelta} between two versions of a bucket, as gossiped to peers which are known to hold the base
+ * version.
+ */
+final class VersionedBucketDelta<T extends BucketData<T>> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long baseVersion;
+    private final long version;
+
+    // Guaranteed to be non-null
+    private final BucketDelta<T> delta;
+
+    VersionedBucketDelta(final long baseVersion, final long version, final BucketDelta<T> delta) {
+        Preconditions.checkArgument(baseVersion < version, "Base version %s is not older than %s", baseVersion,
+            version);
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.delta = Preconditions.checkNotNull(delta);
+    }
+
+    long getBaseVersion() {
+        return baseVersion;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    BucketDelta<T> getDelta() {
+        return delta;
+    }
+
+    VersionedBucketDelta<T> andThen(final VersionedBucketDelta<T> next) {
+        Preconditions.checkArgument(version == next.baseVersion, "Delta %s does not follow %s", next, this);
+        return new VersionedBucketDelta<>(baseVersion, next.version, delta.andThen(next.delta));
+    }
+
+    @Override
+    public String toString() {
+        return "VersionedBucketDelta{" + "baseVersion=" + baseVersion + ", version=" + version + ", delta=" + delta
+                + '}';
+    }
+
+    private Object readResolve() {
+        Verify.verifyNotNull(delta);
+        return this;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import akka.actor.ActorRef;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * Unit tests for RemoteRpcChannel.
+ */
+public class RemoteRpcChannelTest extends AbstractRpcTest {
+    private ActorRef channel;
+    private RemoteRpcImplementation channelRpcImpl;
+
+    @Before
+    public void setUpChannel() {
+        final RemoteRpcProviderConfig config = new RemoteRpcProviderConfig.Builder("memberA")
+                .rpcChannelEnabled(true).rpcChannelMaxBatchSize(4).build();
+        channel = node1.actorOf(RemoteRpcChannel.props(rpcInvoker2, config));
+        channelRpcImpl = new RemoteRpcImplementation(rpcInvoker2, channel, config);
+    }
+
+    @After
+    public void tearDownChannel() {
+        node1.stop(channel);
+    }
+
+    @Test
+    public void testInvokeRpcs() throws Exception {
+        doAnswer(invocation -> {
+            final NormalizedNode<?, ?> input = invocation.getArgumentAt(1, NormalizedNode.class);
+            final String data = input == null ? "null" : "out-" + ((ContainerNode) input).getValue().iterator().next()
+                    .getValue();
+            return Futures.<DOMRpcResult, DOMRpcException>immediateCheckedFuture(
+                new DefaultDOMRpcResult(makeRPCOutput(data)));
+        }).when(domRpcService2).invokeRpc(eq(TEST_RPC_TYPE), any(NormalizedNode.class));
+
+        // More than a single batch worth of invocations
+        final List<CheckedFuture<DOMRpcResult, DOMRpcException>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            futures.add(channelRpcImpl.invokeRpc(TEST_RPC_ID, makeRPCInput("in-" + i)));
+        }
+        final CheckedFuture<DOMRpcResult, DOMRpcException> nullInput = channelRpcImpl.invokeRpc(TEST_RPC_ID, null);
+
+        for (int i = 0; i < 10; ++i) {
+            final DOMRpcResult result = futures.get(i).checkedGet(5, TimeUnit.SECONDS);
+            assertEquals(makeRPCOutput("out-in-" + i), result.getResult());
+        }
+        assertEquals(makeRPCOutput("null"), nullInput.checkedGet(5, TimeUnit.SECONDS).getResult());
+    }
+
+    @Test(expected = DOMRpcException.class)
+    public void testInvokeRpcWithRemoteFailedFuture() throws Exception {
+        when(domRpcService2.invokeRpc(eq(TEST_RPC_TYPE), any(NormalizedNode.class))).thenReturn(
+                Futures.<DOMRpcResult, DOMRpcException>immediateFailedCheckedFuture(new RemoteDOMRpcException(
+                        "Test Exception", null)));
+
+        channelRpcImpl.invokeRpc(TEST_RPC_ID, makeRPCInput("foo")).checkedGet(5, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = DOMRpcException.class)
+    public void testInvokeRpcWithLookupException() throws Exception {
+        when(domRpcService2.invokeRpc(any(SchemaPath.class), any(NormalizedNode.class)))
+            .thenThrow(new RuntimeException("test"));
+
+        channelRpcImpl.invokeRpc(TEST_RPC_ID, makeRPCInput("foo")).checkedGet(5, TimeUnit.SECONDS);
+    }
+}
@@ -7,6 +7,9 @@
  */
 package org.opendaylight.controller.remote.rpc;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.actor.Address;
@@ -14,12 +17,16 @@ import akka.actor.Props;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -27,6 +34,7 @@ import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
+import org.opendaylight.controller.remote.rpc.registry.RoutingTableDelta;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.UpdateRemoteEndpoints;
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.RemoteRpcEndpoint;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -136,4 +144,70 @@ public class RpcRegistrarTest {
 
         Mockito.verifyNoMoreInteractions(service, oldReg, newReg);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testHandleReceiveEndpointDelta() throws Exception {
+        final InOrder inOrder = Mockito.inOrder(service, oldReg, newReg);
+
+        testActorRef.tell(new UpdateRemoteEndpoints(ImmutableMap.of(endpointAddress, Optional.of(firstEndpoint))),
+                ActorRef.noSender());
+        inOrder.verify(service).registerRpcImplementation(
+                Mockito.any(RemoteRpcImplementation.class), Mockito.eq(firstEndpoint.getRpcs()));
+
+        // Add the second RPC: only it should be registered, the first registration has to stay intact
+        final RemoteRpcEndpoint bothEndpoint = new RemoteRpcEndpoint(firstEndpoint.getRouter(),
+            ImmutableSet.<DOMRpcIdentifier>builder().addAll(firstEndpoint.getRpcs())
+                .addAll(secondEndpoint.getRpcs()).build());
+        final RoutingTableDelta addDelta = new RoutingTableDelta(secondEndpoint.getRpcs(), ImmutableSet.of());
+        testActorRef.tell(new UpdateRemoteEndpoints(ImmutableMap.of(endpointAddress, Optional.of(bothEndpoint)),
+            ImmutableMap.of(endpointAddress, addDelta)), ActorRef.noSender());
+        inOrder.verify(service).registerRpcImplementation(
+                Mockito.any(RemoteRpcImplementation.class), Mockito.eq(secondEndpoint.getRpcs()));
+        Mockito.verifyNoMoreInteractions(service, oldReg, newReg);
+
+        // Remove the first RPC: only its registration should be closed
+        final RoutingTableDelta removeDelta = new RoutingTableDelta(ImmutableSet.of(), firstEndpoint.getRpcs());
+        testActorRef.tell(new UpdateRemoteEndpoints(ImmutableMap.of(endpointAddress, Optional.of(secondEndpoint)),
+            ImmutableMap.of(endpointAddress, removeDelta)), ActorRef.noSender());
+        inOrder.verify(oldReg).close();
+        Mockito.verifyNoMoreInteractions(service, oldReg, newReg);
+
+        rpcRegistrar.postStop();
+        inOrder.verify(newReg).close();
+    }
+
+    @Test
+    public void testRemovalReregistersOnlyItsBatch() throws Exception {
+        Mockito.doReturn(oldReg).when(service).registerRpcImplementation(
+                Mockito.any(RemoteRpcImplementation.class), Mockito.anySetOf(DOMRpcIdentifier.class));
+
+        final ImmutableSet.Builder<DOMRpcIdentifier> builder = ImmutableSet.builder();
+        for (int i = 0; i < 4 * RpcRegistrar.MAX_BATCH_SIZE; ++i) {
+            builder.add(DOMRpcIdentifier.create(SchemaPath.create(true, QName.create("many:identifier", "rpc" + i))));
+        }
+        final Set<DOMRpcIdentifier> rpcs = builder.build();
+        final RemoteRpcEndpoint endpoint = new RemoteRpcEndpoint(firstEndpoint.getRouter(), rpcs);
+
+        testActorRef.tell(new UpdateRemoteEndpoints(ImmutableMap.of(endpointAddress, Optional.of(endpoint))),
+                ActorRef.noSender());
+        Mockito.verify(service, Mockito.times(4)).registerRpcImplementation(
+                Mockito.any(RemoteRpcImplementation.class), Mockito.anySetOf(DOMRpcIdentifier.class));
+
+        // Removing a single RPC should re-register only the remainder of its batch
+        final DOMRpcIdentifier removed = rpcs.iterator().next();
+        final RemoteRpcEndpoint reduced = new RemoteRpcEndpoint(endpoint.getRouter(),
+            ImmutableSet.copyOf(Sets.difference(rpcs, ImmutableSet.of(removed))));
+        testActorRef.tell(new UpdateRemoteEndpoints(ImmutableMap.of(endpointAddress, Optional.of(reduced)),
+            ImmutableMap.of(endpointAddress, new RoutingTableDelta(ImmutableSet.of(), ImmutableSet.of(removed)))),
+            ActorRef.noSender());
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Set<DOMRpcIdentifier>> captor = ArgumentCaptor.forClass(Set.class);
+        Mockito.verify(service, Mockito.times(5)).registerRpcImplementation(
+                Mockito.any(RemoteRpcImplementation.class), captor.capture());
+        final Set<DOMRpcIdentifier> reregistered = captor.getAllValues().get(4);
+        assertEquals(RpcRegistrar.MAX_BATCH_SIZE - 1, reregistered.size());
+        assertFalse(reregistered.contains(removed));
+        Mockito.verify(oldReg).close();
+    }
+}
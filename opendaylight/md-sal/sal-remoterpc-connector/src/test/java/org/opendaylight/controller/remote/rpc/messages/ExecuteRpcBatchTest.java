@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.remote.rpc.AbstractRpcTest;
+
+/**
+ * Unit tests for ExecuteRpcBatch.
+ */
+public class ExecuteRpcBatchTest {
+
+    @Test
+    public void testSerialization() {
+        ExecuteRpcBatch expected = new ExecuteRpcBatch(ImmutableMap.of(
+            1L, ExecuteRpc.from(AbstractRpcTest.TEST_RPC_ID, AbstractRpcTest.makeRPCInput("first")),
+            2L, ExecuteRpc.from(AbstractRpcTest.TEST_RPC_ID, null),
+            5L, ExecuteRpc.from(AbstractRpcTest.TEST_RPC_ID, AbstractRpcTest.makeRPCInput("second"))));
+
+        ExecuteRpcBatch actual = (ExecuteRpcBatch) SerializationUtils.clone(expected);
+
+        final Map<Long, ExecuteRpc> requests = actual.getRequests();
+        assertEquals("size", 3, requests.size());
+        for (Map.Entry<Long, ExecuteRpc> e : expected.getRequests().entrySet()) {
+            final ExecuteRpc request = requests.get(e.getKey());
+            assertEquals("getRpc", e.getValue().getRpc(), request.getRpc());
+            assertEquals("getInputNormalizedNode", e.getValue().getInputNormalizedNode(),
+                request.getInputNormalizedNode());
+        }
+        assertNull(requests.get(2L).getInputNormalizedNode());
+    }
+}
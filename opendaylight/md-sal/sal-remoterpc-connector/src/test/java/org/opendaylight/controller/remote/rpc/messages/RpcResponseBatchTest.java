@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.remote.rpc.AbstractRpcTest;
+
+/**
+ * Unit tests for RpcResponseBatch.
+ */
+public class RpcResponseBatchTest {
+
+    @Test
+    public void testSerialization() {
+        RpcResponseBatch expected = new RpcResponseBatch(ImmutableMap.of(
+            1L, new RpcResponse(AbstractRpcTest.makeRPCOutput("first")),
+            2L, new RpcResponse(null),
+            4L, new RpcResponse(AbstractRpcTest.makeRPCOutput("second"))),
+            ImmutableMap.of(3L, new IllegalStateException("failed")));
+
+        RpcResponseBatch actual = (RpcResponseBatch) SerializationUtils.clone(expected);
+
+        assertEquals("responses size", 3, actual.getResponses().size());
+        assertEquals(AbstractRpcTest.makeRPCOutput("first"), actual.getResponses().get(1L).getResultNormalizedNode());
+        assertNull(actual.getResponses().get(2L).getResultNormalizedNode());
+        assertEquals(AbstractRpcTest.makeRPCOutput("second"), actual.getResponses().get(4L).getResultNormalizedNode());
+        assertEquals("failures size", 1, actual.getFailures().size());
+        assertEquals("failed", actual.getFailures().get(3L).getMessage());
+    }
+}
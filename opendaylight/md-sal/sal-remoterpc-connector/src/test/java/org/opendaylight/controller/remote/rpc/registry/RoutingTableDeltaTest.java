@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.ActorRef;
+import com.google.common.collect.ImmutableSet;
+import java.util.Optional;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDelta;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class RoutingTableDeltaTest {
+    private static final DOMRpcIdentifier RPC1 = rpc("rpc1");
+    private static final DOMRpcIdentifier RPC2 = rpc("rpc2");
+    private static final DOMRpcIdentifier RPC3 = rpc("rpc3");
+
+    private final ActorRef invoker = Mockito.mock(ActorRef.class);
+
+    @Test
+    public void testDiffAndApply() {
+        final RoutingTable base = new RoutingTable(invoker, ImmutableSet.of(RPC1, RPC2));
+        final RoutingTable updated = base.addRpcs(ImmutableSet.of(RPC3)).removeRpcs(ImmutableSet.of(RPC1));
+
+        final Optional<BucketDelta<RoutingTable>> maybeDelta = updated.diffFrom(base);
+        assertTrue(maybeDelta.isPresent());
+
+        final RoutingTableDelta delta = (RoutingTableDelta) maybeDelta.get();
+        assertEquals(ImmutableSet.of(RPC3), delta.getAddedRpcs());
+        assertEquals(ImmutableSet.of(RPC1), delta.getRemovedRpcs());
+        assertEquals(updated.getRoutes(), delta.applyTo(base).getRoutes());
+    }
+
+    @Test
+    public void testDiffDifferentInvoker() {
+        final RoutingTable base = new RoutingTable(invoker, ImmutableSet.of(RPC1));
+        final RoutingTable other = new RoutingTable(Mockito.mock(ActorRef.class), ImmutableSet.of(RPC1));
+        assertFalse(other.diffFrom(base).isPresent());
+    }
+
+    @Test
+    public void testAndThen() {
+        final RoutingTable base = new RoutingTable(invoker, ImmutableSet.of(RPC1));
+
+        // add RPC2, then remove it again along with RPC1 and add RPC3
+        final RoutingTableDelta first = new RoutingTableDelta(ImmutableSet.of(RPC2), ImmutableSet.of());
+        final RoutingTableDelta second = new RoutingTableDelta(ImmutableSet.of(RPC3), ImmutableSet.of(RPC1, RPC2));
+        final RoutingTableDelta composed = (RoutingTableDelta) first.andThen(second);
+
+        assertEquals(ImmutableSet.of(RPC3), composed.getAddedRpcs());
+        assertEquals(ImmutableSet.of(RPC1, RPC2), composed.getRemovedRpcs());
+        assertEquals(second.applyTo(first.applyTo(base)).getRoutes(), composed.applyTo(base).getRoutes());
+
+        // removing and re-adding an RPC results in it being added
+        final RoutingTableDelta readd = (RoutingTableDelta) second.andThen(
+            new RoutingTableDelta(ImmutableSet.of(RPC1), ImmutableSet.of()));
+        assertEquals(ImmutableSet.of(RPC1, RPC3), readd.getAddedRpcs());
+        assertEquals(ImmutableSet.of(RPC2), readd.getRemovedRpcs());
+    }
+
+    @Test
+    public void testSerialization() {
+        final RoutingTableDelta delta = new RoutingTableDelta(ImmutableSet.of(RPC1, RPC2), ImmutableSet.of(RPC3));
+        final RoutingTableDelta cloned = (RoutingTableDelta) SerializationUtils.clone(delta);
+        assertEquals(delta.getAddedRpcs(), cloned.getAddedRpcs());
+        assertEquals(delta.getRemovedRpcs(), cloned.getRemovedRpcs());
+    }
+
+    private static DOMRpcIdentifier rpc(final String name) {
+        return DOMRpcIdentifier.create(SchemaPath.create(true, QName.create("urn:test", "2017-01-01", name)));
+    }
+}
@@ -14,6 +14,7 @@ import akka.actor.Props;
 import akka.testkit.JavaTestKit;
 import akka.testkit.TestActorRef;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.typesafe.config.ConfigFactory;
 import java.util.HashMap;
 import java.util.Map;
@@ -40,6 +41,20 @@ public class BucketStoreTest {
         }
     }
 
+    private static final class TDelta implements BucketDelta<T> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public T applyTo(final T base) {
+            return new T();
+        }
+
+        @Override
+        public BucketDelta<T> andThen(final BucketDelta<T> next) {
+            return next;
+        }
+    }
+
     private static ActorSystem system;
 
     @BeforeClass
@@ -59,7 +74,7 @@ public class BucketStoreTest {
     @Test
     public void testReceiveUpdateRemoteBuckets() {
 
-        final BucketStoreActor<T> store = createStore();
+        final BucketStoreActor<T> store = createStore("testStore");
 
         Address localAddress = system.provider().getDefaultAddress();
         Bucket<T> localBucket = new BucketImpl<>(0L, new T());
@@ -133,15 +148,47 @@ public class BucketStoreTest {
 
     }
 
+    /**
+     * Given a remote bucket with recorded delta history, peers which support deltas should be sent the delta and
+     * peers which do not should be sent the whole bucket.
+     */
+    @Test
+    public void testBucketUpdatesForPeerWithoutDeltaSupport() {
+        final BucketStoreActor<T> store = createStore("testDeltaStore");
+
+        final Address a1 = new Address("tcp", "system1");
+        final Address peer = new Address("tcp", "peer");
+        final Bucket<T> b1 = new BucketImpl<>(1L, new T());
+
+        store.updateRemoteBuckets(ImmutableMap.of(a1, b1));
+        store.updateRemoteBuckets(ImmutableMap.of(), ImmutableMap.of(a1, new VersionedBucketDelta<>(1L, 2L,
+            new TDelta())));
+        Assert.assertEquals(Long.valueOf(2L), store.getVersions().get(a1));
+
+        final GossipEnvelope withDeltas = store.collectBucketUpdates(peer, ImmutableSet.of(a1),
+            ImmutableMap.of(a1, 1L), true);
+        Assert.assertTrue(withDeltas.buckets().isEmpty());
+        Assert.assertEquals(1, withDeltas.deltas().size());
+        Assert.assertEquals(1L, withDeltas.deltas().get(a1).getBaseVersion());
+        Assert.assertEquals(2L, withDeltas.deltas().get(a1).getVersion());
+
+        final GossipEnvelope withoutDeltas = store.collectBucketUpdates(peer, ImmutableSet.of(a1),
+            ImmutableMap.of(a1, 1L), false);
+        Assert.assertTrue(withoutDeltas.deltas().isEmpty());
+        Assert.assertEquals(1, withoutDeltas.buckets().size());
+        Assert.assertEquals(2L, withoutDeltas.buckets().get(a1).getVersion());
+    }
+
     /**
      * Create BucketStore actor and returns the underlying instance of BucketStore class.
      *
+     * @param name actor name
      * @return instance of BucketStore class
      */
-    private static BucketStoreActor<T> createStore() {
+    private static BucketStoreActor<T> createStore(final String name) {
         final Props props = Props.create(TestingBucketStoreActor.class,
                 new RemoteRpcProviderConfig(system.settings().config()), "testing-store",new T());
-        return TestActorRef.<BucketStoreActor<T>>create(system, props, "testStore").underlyingActor();
+        return TestActorRef.<BucketStoreActor<T>>create(system, props, name).underlyingActor();
     }
 
     private static final class TestingBucketStoreActor extends BucketStoreActor<T> {
@@ -158,7 +205,8 @@ public class BucketStoreTest {
         }
 
         @Override
-        protected void onBucketsUpdated(final Map<Address, Bucket<T>> newBuckets) {
+        protected void onBucketsUpdated(final Map<Address, Bucket<T>> newBuckets,
+                final Map<Address, BucketDelta<T>> deltas) {
 
         }
     }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.Address;
+import com.google.common.collect.ImmutableMap;
+import java.lang.reflect.Field;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+
+public class GossipEnvelopeTest {
+    private static final Address FROM = new Address("akka.tcp", "system", "from", 2550);
+    private static final Address TO = new Address("akka.tcp", "system", "to", 2550);
+
+    @Test
+    public void testSerialization() {
+        final GossipEnvelope clone = (GossipEnvelope) SerializationUtils.clone(
+            new GossipEnvelope(FROM, TO, ImmutableMap.of()));
+        assertEquals(FROM, clone.from());
+        assertEquals(TO, clone.to());
+        assertTrue(clone.buckets().isEmpty());
+        assertTrue(clone.deltas().isEmpty());
+    }
+
+    @Test
+    public void testEnvelopeWithoutDeltas() throws ReflectiveOperationException {
+        // An envelope from a member running a version without delta gossip deserializes with no deltas field
+        final GossipEnvelope envelope = new GossipEnvelope(FROM, TO, ImmutableMap.of());
+        final Field field = GossipEnvelope.class.getDeclaredField("deltas");
+        field.setAccessible(true);
+        field.set(envelope, null);
+
+        assertTrue(envelope.deltas().isEmpty());
+    }
+
+    @Test
+    public void testStatusSerialization() {
+        final GossipStatus clone = (GossipStatus) SerializationUtils.clone(
+            new GossipStatus(FROM, ImmutableMap.of(TO, 1L)));
+        assertEquals(FROM, clone.from());
+        assertEquals(ImmutableMap.of(TO, 1L), clone.versions());
+        assertTrue(clone.supportsDeltas());
+
+        assertFalse(((GossipStatus) SerializationUtils.clone(new GossipStatus(FROM, ImmutableMap.of(), false)))
+            .supportsDeltas());
+    }
+}